@@ -0,0 +1,60 @@
+#!/bin/bash
+
+# ==================================================
+# SCRIPT PARA EJECUTAR UN JOB BATCH DESDE LÍNEA DE COMANDOS
+# ==================================================
+# Arranca solo la infraestructura batch y el job pedido (BankBatchCli, perfil
+# cli): sin Tomcat, BFFs, seguridad ni OpenAPI. Pensado para cron.
+#
+# Uso: ./run-job.sh <nombreJob> [clave=valor[,tipo] ...] [--propiedad=valor ...]
+#   ./run-job.sh calculoInteresesJob
+#   ./run-job.sh reprocesoDeadLetterCuentasJob archivos=data/dead-letter/cuentas-12.dlq
+#   ./run-job.sh reporteTransaccionesJob --spring.profiles.active=oracle
+#
+# La primera ejecución extrae el jar y genera un archivo CDS (Class Data
+# Sharing) con una ejecución de entrenamiento que solo arranca el contexto;
+# las siguientes cargan las clases desde ese archivo. Se regeneran al cambiar
+# el jar o con RECONSTRUIR=1. Opciones de la JVM en JAVA_OPTS.
+# Código de salida: 0 COMPLETED, 1 otro estado o error, 2 uso incorrecto.
+
+cd "$(dirname "$0")" || exit 1
+
+DIRECTORIO=target/cli
+CDS="$DIRECTORIO/batch-cli.jsa"
+
+jar_aplicacion() {
+    ls target/batch-demo-*.jar 2>/dev/null | grep -v '\.original$' | head -1
+}
+
+JAR=$(jar_aplicacion)
+if [ -z "$JAR" ] || [ "$RECONSTRUIR" = "1" ]; then
+    echo "🚀 Empaquetando aplicación..." >&2
+    ./mvnw -q -DskipTests package || { echo "❌ Error al empaquetar" >&2; exit 1; }
+    JAR=$(jar_aplicacion)
+fi
+
+# Jar extraído (app + lib/): requisito para CDS, que no admite el fat jar
+APP="$DIRECTORIO/$(basename "$JAR")"
+if [ ! -f "$APP" ] || [ "$JAR" -nt "$APP" ]; then
+    rm -rf "$DIRECTORIO"
+    java -Djarmode=tools -jar "$JAR" extract --destination "$DIRECTORIO" >&2 || exit 1
+fi
+
+# Solo las opciones --propiedad=valor (perfil, datasource...) para el entrenamiento
+OPCIONES=()
+for arg in "$@"; do
+    [[ $arg == --* ]] && OPCIONES+=("$arg")
+done
+
+if [ ! -f "$CDS" ]; then
+    echo "📦 Generando archivo CDS (arranque de entrenamiento, no ejecuta jobs)..." >&2
+    java -XX:ArchiveClassesAtExit="$CDS" -Dspring.context.exit=onRefresh \
+        -cp "$APP" com.duoc.batch_demo.BankBatchCli "${OPCIONES[@]}" > "$DIRECTORIO/cds-entrenamiento.log" 2>&1
+    [ -f "$CDS" ] || echo "⚠️  No se generó el archivo CDS, se ejecuta sin él (ver $DIRECTORIO/cds-entrenamiento.log)" >&2
+fi
+
+CDS_OPTS=()
+[ -f "$CDS" ] && CDS_OPTS=(-XX:SharedArchiveFile="$CDS")
+
+# shellcheck disable=SC2086
+exec java "${CDS_OPTS[@]}" $JAVA_OPTS -cp "$APP" com.duoc.batch_demo.BankBatchCli "$@"
@@ -0,0 +1,98 @@
+package com.duoc.batch_demo;
+
+import java.util.Arrays;
+import java.util.Properties;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.converter.DefaultJobParametersConverter;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.boot.Banner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Punto de entrada de línea de comandos para ejecutar un único job.
+ *
+ * Arranca la misma aplicación sin servidor web (sin Tomcat, BFFs ni
+ * OpenAPI) y con el perfil "cli" (application-cli.properties), que activa la
+ * inicialización diferida: solo se crean la infraestructura de Spring Batch
+ * y los executors que use el job pedido. Los steps, readers y writers del job
+ * se cargan en su contexto hijo al ejecutarlo (JobsModularesConfig).
+ *
+ * Uso: BankBatchCli <nombreJob> [clave=valor[,tipo[,identificante]] ...]
+ * [--propiedad=valor ...]. Sin argumentos lista los jobs disponibles.
+ * Código de salida 0 si el job termina COMPLETED, 1 si no, 2 ante un uso
+ * incorrecto. Ver run-job.sh.
+ */
+public class BankBatchCli {
+
+    public static void main(String[] args) {
+        // Sin reinicio de devtools: el proceso ejecuta un job y termina
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        ConfigurableApplicationContext context = new SpringApplicationBuilder(BankBatchSpringBootApplication.class)
+                .web(WebApplicationType.NONE)
+                .bannerMode(Banner.Mode.OFF)
+                .profiles("cli")
+                .logStartupInfo(false)
+                .run(args);
+
+        // Las opciones --propiedad=valor son para Spring; el resto, job y parámetros
+        String[] argumentos = Arrays.stream(args).filter(arg -> !arg.startsWith("--")).toArray(String[]::new);
+        int codigo = ejecutar(context, argumentos);
+        System.exit(SpringApplication.exit(context, () -> codigo));
+    }
+
+    private static int ejecutar(ConfigurableApplicationContext context, String[] args) {
+        String[] jobs = context.getBeanNamesForType(Job.class);
+        if (args.length == 0 || !Arrays.asList(jobs).contains(args[0])) {
+            if (args.length > 0) {
+                System.err.println("❌ Job desconocido: " + args[0]);
+            }
+            System.err.println("Uso: BankBatchCli <nombreJob> [clave=valor[,tipo[,identificante]] ...]");
+            System.err.println("Jobs disponibles: " + String.join(", ", jobs));
+            return 2;
+        }
+
+        Job job = context.getBean(args[0], Job.class);
+        try {
+            JobExecution ejecucion = context.getBean(JobLauncher.class)
+                    .run(job, parametros(job, context.getBean(JobExplorer.class), args));
+            System.out.println("🏁 " + job.getName() + " (ejecución " + ejecucion.getId() + "): " +
+                             ejecucion.getStatus() + " / " + ejecucion.getExitStatus().getExitCode());
+            return ejecucion.getStatus() == BatchStatus.COMPLETED ? 0 : 1;
+        } catch (Exception e) {
+            System.err.println("❌ No se pudo ejecutar " + job.getName() + ": " + e.getMessage());
+            return 1;
+        }
+    }
+
+    /**
+     * Parámetros de la línea de comandos; si el job tiene incrementer se
+     * parte de los siguientes parámetros de su historial.
+     */
+    private static JobParameters parametros(Job job, JobExplorer jobExplorer, String[] args) {
+        Properties propiedades = new Properties();
+        for (String arg : Arrays.copyOfRange(args, 1, args.length)) {
+            int igual = arg.indexOf('=');
+            if (igual > 0) {
+                propiedades.setProperty(arg.substring(0, igual), arg.substring(igual + 1));
+            }
+        }
+        JobParameters deLinea = new DefaultJobParametersConverter().getJobParameters(propiedades);
+        if (job.getJobParametersIncrementer() == null) {
+            return deLinea;
+        }
+        return new JobParametersBuilder(jobExplorer)
+                .getNextJobParameters(job)
+                .addJobParameters(deLinea)
+                .toJobParameters();
+    }
+}
@@ -11,6 +11,7 @@ public class DataSourceConfiguration {
 
 	// DataSource se configurará automáticamente desde application.properties
 	// No necesitamos override manual aquí para MySQL
+	// El JobRepository (tablas BATCH_*) puede usar una base propia: ver RepositorioBatchConfig
 
 	@Bean
 	public JdbcTransactionManager transactionManager(DataSource dataSource) {
@@ -0,0 +1,74 @@
+package com.duoc.batch_demo.audit;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Archivo de auditoría con rotación por tamaño (archivo.log, archivo.log.1 ... archivo.log.N).
+ * No es thread-safe: lo usa únicamente el hilo que drena el buffer.
+ */
+final class ArchivoAuditoriaRotativo implements AutoCloseable {
+
+    private final Path archivo;
+    private final long tamanoMaximo;
+    private final int historial;
+    private BufferedWriter writer;
+    private long tamanoActual;
+
+    ArchivoAuditoriaRotativo(Path archivo, long tamanoMaximo, int historial) throws IOException {
+        this.archivo = archivo;
+        this.tamanoMaximo = tamanoMaximo;
+        this.historial = Math.max(1, historial);
+        Path directorio = archivo.toAbsolutePath().getParent();
+        if (directorio != null) {
+            Files.createDirectories(directorio);
+        }
+        abrir();
+    }
+
+    void escribir(String linea) throws IOException {
+        // Aproximación en chars: suficiente para decidir la rotación
+        if (tamanoActual + linea.length() + 1 > tamanoMaximo && tamanoActual > 0) {
+            rotar();
+        }
+        writer.write(linea);
+        writer.newLine();
+        tamanoActual += linea.length() + 1;
+    }
+
+    void flush() throws IOException {
+        writer.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+
+    private void abrir() throws IOException {
+        writer = Files.newBufferedWriter(archivo, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        tamanoActual = Files.size(archivo);
+    }
+
+    private void rotar() throws IOException {
+        writer.close();
+        for (int i = historial - 1; i >= 1; i--) {
+            Path origen = respaldo(i);
+            if (Files.exists(origen)) {
+                Files.move(origen, respaldo(i + 1), StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(archivo, respaldo(1), StandardCopyOption.REPLACE_EXISTING);
+        abrir();
+    }
+
+    private Path respaldo(int indice) {
+        return archivo.resolveSibling(archivo.getFileName() + "." + indice);
+    }
+}
@@ -0,0 +1,201 @@
+package com.duoc.batch_demo.audit;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+/**
+ * Auditoría asíncrona por item para los processors batch.
+ *
+ * Reemplaza los System.out por item: los processors publican eventos ya
+ * formateados en un buffer circular sin locks y un hilo daemon los escribe
+ * en un archivo rotativo, sin competir por el lock de stdout.
+ *
+ * Nivel y muestreo se configuran globalmente y por step:
+ *   banco.batch.auditoria.nivel / banco.batch.auditoria.muestreo
+ *   banco.batch.auditoria.pasos.&lt;step&gt;.nivel / .muestreo
+ * El muestreo solo aplica a eventos bajo WARN; advertencias y errores se registran siempre.
+ *
+ * Uso en caliente (evita armar el mensaje si no se va a registrar):
+ * <pre>
+ * if (auditoria.debeRegistrar(NivelAuditoria.INFO)) {
+ *     auditoria.publicar(NivelAuditoria.INFO, "TIPO", "mensaje " + dato);
+ * }
+ * </pre>
+ */
+@Component
+public class AuditoriaBatch implements DisposableBean {
+
+    private static final String SIN_STEP = "-";
+    private static final long ESPERA_SIN_EVENTOS_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+    private static final DateTimeFormatter FORMATO_FECHA =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private final Environment environment;
+    private final boolean habilitada;
+    private final NivelAuditoria nivelGlobal;
+    private final double muestreoGlobal;
+    private final BufferAnilloAuditoria buffer;
+    private final Map<String, ConfiguracionStep> configuracionPorStep = new ConcurrentHashMap<>();
+    private final Thread hiloEscritor;
+    private volatile boolean activa = true;
+
+    public AuditoriaBatch(Environment environment,
+                          @Value("${banco.batch.auditoria.enabled:true}") boolean habilitada,
+                          @Value("${banco.batch.auditoria.nivel:INFO}") String nivel,
+                          @Value("${banco.batch.auditoria.muestreo:1.0}") double muestreo,
+                          @Value("${banco.batch.auditoria.capacidad:8192}") int capacidad,
+                          @Value("${banco.batch.auditoria.archivo:logs/auditoria-batch.log}") String archivo,
+                          @Value("${banco.batch.auditoria.tamano-maximo-mb:50}") long tamanoMaximoMb,
+                          @Value("${banco.batch.auditoria.historial:5}") int historial) throws IOException {
+        this.environment = environment;
+        this.habilitada = habilitada;
+        this.nivelGlobal = NivelAuditoria.desdeTexto(nivel, NivelAuditoria.INFO);
+        this.muestreoGlobal = muestreo;
+        this.buffer = new BufferAnilloAuditoria(capacidad);
+
+        if (habilitada) {
+            Path ruta = Paths.get(archivo);
+            ArchivoAuditoriaRotativo destino = new ArchivoAuditoriaRotativo(ruta, tamanoMaximoMb * 1024 * 1024, historial);
+            this.hiloEscritor = new Thread(() -> drenar(destino), "auditoria-batch-writer");
+            this.hiloEscritor.setDaemon(true);
+            this.hiloEscritor.start();
+
+            System.out.println("📝 Auditoría batch asíncrona: " + ruta.toAbsolutePath() +
+                             " (nivel " + nivelGlobal + ", muestreo " + muestreoGlobal +
+                             ", buffer " + buffer.capacidad() + " eventos)");
+        } else {
+            this.hiloEscritor = null;
+            System.out.println("📝 Auditoría batch deshabilitada");
+        }
+    }
+
+    /**
+     * Decide, según nivel y muestreo del step actual, si el evento se registra.
+     * Se llama antes de formatear el mensaje para no pagar la concatenación en vano.
+     */
+    public boolean debeRegistrar(NivelAuditoria nivel) {
+        if (!habilitada) {
+            return false;
+        }
+        ConfiguracionStep configuracion = configuracionPorStep.computeIfAbsent(stepActual(), this::resolverConfiguracion);
+        if (!configuracion.nivel.incluye(nivel)) {
+            return false;
+        }
+        return nivel.compareTo(NivelAuditoria.WARN) >= 0
+                || configuracion.muestreo >= 1.0
+                || ThreadLocalRandom.current().nextDouble() < configuracion.muestreo;
+    }
+
+    /**
+     * Publica un evento sin bloquear; si el buffer está lleno el evento se descarta y se contabiliza.
+     */
+    public void publicar(NivelAuditoria nivel, String tipo, String mensaje) {
+        if (!habilitada) {
+            return;
+        }
+        buffer.ofrecer(new EventoAuditoria(System.currentTimeMillis(), nivel, stepActual(),
+                Thread.currentThread().getName(), tipo, mensaje));
+    }
+
+    public long getEventosPendientes() {
+        return buffer.pendientes();
+    }
+
+    public long getEventosDescartados() {
+        return buffer.descartados();
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        activa = false;
+        if (hiloEscritor != null) {
+            LockSupport.unpark(hiloEscritor);
+            hiloEscritor.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    private void drenar(ArchivoAuditoriaRotativo destino) {
+        StringBuilder linea = new StringBuilder(256);
+        long descartadosInformados = 0;
+        boolean sinVolcar = false;
+        try (destino) {
+            while (activa || buffer.pendientes() > 0) {
+                EventoAuditoria evento = buffer.tomar();
+                if (evento == null) {
+                    // Buffer vacío: volcar a disco y esperar sin ocupar CPU
+                    long descartados = buffer.descartados();
+                    if (descartados != descartadosInformados) {
+                        destino.escribir(FORMATO_FECHA.format(Instant.now()) + " WARN  [auditoria] BUFFER_LLENO eventos descartados: "
+                                + (descartados - descartadosInformados));
+                        descartadosInformados = descartados;
+                        sinVolcar = true;
+                    }
+                    if (sinVolcar) {
+                        destino.flush();
+                        sinVolcar = false;
+                    }
+                    if (!activa) {
+                        break;
+                    }
+                    LockSupport.parkNanos(ESPERA_SIN_EVENTOS_NANOS);
+                    continue;
+                }
+                linea.setLength(0);
+                FORMATO_FECHA.formatTo(Instant.ofEpochMilli(evento.getTimestamp()), linea);
+                String nivel = evento.getNivel().name();
+                linea.append(' ').append(nivel);
+                for (int i = nivel.length(); i < 5; i++) {
+                    linea.append(' ');
+                }
+                linea.append(" [").append(evento.getStep()).append("] [").append(evento.getHilo()).append("] ")
+                     .append(evento.getTipo()).append(' ').append(evento.getMensaje());
+                destino.escribir(linea.toString());
+                sinVolcar = true;
+            }
+            destino.flush();
+        } catch (IOException e) {
+            System.err.println("❌ Error escribiendo auditoría batch, se detiene el registro: " + e.getMessage());
+        }
+    }
+
+    private ConfiguracionStep resolverConfiguracion(String step) {
+        // Las particiones (worker:partitionN) heredan la configuración de su step
+        int separador = step.indexOf(':');
+        String base = separador > 0 ? step.substring(0, separador) : step;
+        String prefijo = "banco.batch.auditoria.pasos." + base + ".";
+        NivelAuditoria nivel = NivelAuditoria.desdeTexto(environment.getProperty(prefijo + "nivel"), nivelGlobal);
+        double muestreo = environment.getProperty(prefijo + "muestreo", Double.class, muestreoGlobal);
+        return new ConfiguracionStep(nivel, muestreo);
+    }
+
+    private static String stepActual() {
+        StepContext contexto = StepSynchronizationManager.getContext();
+        return contexto != null ? contexto.getStepName() : SIN_STEP;
+    }
+
+    private static final class ConfiguracionStep {
+        private final NivelAuditoria nivel;
+        private final double muestreo;
+
+        private ConfiguracionStep(NivelAuditoria nivel, double muestreo) {
+            this.nivel = nivel;
+            this.muestreo = muestreo;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.duoc.batch_demo.audit;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Buffer circular sin locks: múltiples productores, un único consumidor.
+ * 
+ * Los productores reservan una secuencia con CAS y publican el evento en su
+ * slot; el consumidor libera el slot antes de avanzar. Si el buffer está lleno
+ * el evento se descarta y se cuenta: el hilo de procesamiento nunca espera.
+ */
+final class BufferAnilloAuditoria {
+
+    private final AtomicReferenceArray<EventoAuditoria> slots;
+    private final int mascara;
+    private final AtomicLong siguiente = new AtomicLong();
+    private final AtomicLong consumido = new AtomicLong();
+    private final LongAdder descartados = new LongAdder();
+
+    BufferAnilloAuditoria(int capacidadSolicitada) {
+        int capacidad = Integer.highestOneBit(Math.max(2, capacidadSolicitada - 1)) << 1;
+        this.slots = new AtomicReferenceArray<>(capacidad);
+        this.mascara = capacidad - 1;
+    }
+
+    boolean ofrecer(EventoAuditoria evento) {
+        long secuencia;
+        do {
+            secuencia = siguiente.get();
+            if (secuencia - consumido.get() > mascara) {
+                descartados.increment();
+                return false;
+            }
+        } while (!siguiente.compareAndSet(secuencia, secuencia + 1));
+
+        slots.lazySet((int) (secuencia & mascara), evento);
+        return true;
+    }
+
+    /**
+     * Solo lo invoca el hilo consumidor.
+     * 
+     * @return el siguiente evento publicado, o null si no hay ninguno listo
+     */
+    EventoAuditoria tomar() {
+        long posicion = consumido.get();
+        int indice = (int) (posicion & mascara);
+        EventoAuditoria evento = slots.get(indice);
+        if (evento == null) {
+            return null;
+        }
+        slots.lazySet(indice, null);
+        consumido.lazySet(posicion + 1);
+        return evento;
+    }
+
+    int capacidad() {
+        return mascara + 1;
+    }
+
+    long pendientes() {
+        return siguiente.get() - consumido.get();
+    }
+
+    long descartados() {
+        return descartados.sum();
+    }
+}
@@ -0,0 +1,33 @@
+package com.duoc.batch_demo.audit;
+
+/**
+ * Evento de auditoría inmutable publicado desde los processors.
+ * 
+ * El mensaje llega ya formateado por el productor; la fecha y el resto
+ * del formato de línea los agrega el hilo que escribe el archivo.
+ */
+public final class EventoAuditoria {
+
+    private final long timestamp;
+    private final NivelAuditoria nivel;
+    private final String step;
+    private final String hilo;
+    private final String tipo;
+    private final String mensaje;
+
+    public EventoAuditoria(long timestamp, NivelAuditoria nivel, String step, String hilo, String tipo, String mensaje) {
+        this.timestamp = timestamp;
+        this.nivel = nivel;
+        this.step = step;
+        this.hilo = hilo;
+        this.tipo = tipo;
+        this.mensaje = mensaje;
+    }
+
+    public long getTimestamp() { return timestamp; }
+    public NivelAuditoria getNivel() { return nivel; }
+    public String getStep() { return step; }
+    public String getHilo() { return hilo; }
+    public String getTipo() { return tipo; }
+    public String getMensaje() { return mensaje; }
+}
@@ -0,0 +1,29 @@
+package com.duoc.batch_demo.audit;
+
+import java.util.Locale;
+
+/**
+ * Niveles de los eventos de auditoría, de menor a mayor severidad.
+ */
+public enum NivelAuditoria {
+    DEBUG,
+    INFO,
+    WARN,
+    ERROR,
+    OFF;
+
+    public boolean incluye(NivelAuditoria nivelEvento) {
+        return this != OFF && nivelEvento.ordinal() >= ordinal();
+    }
+
+    public static NivelAuditoria desdeTexto(String texto, NivelAuditoria porDefecto) {
+        if (texto == null || texto.isBlank()) {
+            return porDefecto;
+        }
+        try {
+            return valueOf(texto.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return porDefecto;
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.duoc.batch_demo.bff.web.controller;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersInvalidException;
+import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.CrossOrigin;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.duoc.batch_demo.service.EjecucionJobsService;
+
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+/**
+ * Controlador BFF Web para operar los jobs batch.
+ * Lanza jobs de forma asíncrona y expone su progreso (foto o stream SSE).
+ */
+@RestController
+@RequestMapping("/api/web/batch")
+@Tag(name = "Web Batch", description = "Lanzamiento y seguimiento de jobs batch")
+@CrossOrigin(origins = {"http://localhost:3000", "http://localhost:4200"})
+public class WebBatchController {
+
+    @Autowired
+    private EjecucionJobsService ejecucionJobsService;
+
+    @Operation(summary = "Listar jobs registrados",
+               description = "Nombres de los jobs que se pueden lanzar")
+    @GetMapping("/jobs")
+    @PreAuthorize("hasRole('WEB')")
+    public ResponseEntity<Map<String, Object>> listarJobs() {
+        return ResponseEntity.ok(Map.of("jobs", ejecucionJobsService.nombresJobs()));
+    }
+
+    @Operation(summary = "Lanzar un job",
+               description = "Lanza el job en segundo plano y devuelve el id de ejecución; " +
+                             "el cuerpo opcional son parámetros del job (String)")
+    @PostMapping("/jobs/{nombre}/ejecuciones")
+    @PreAuthorize("hasRole('WEB')")
+    public ResponseEntity<Map<String, Object>> lanzarJob(
+            @Parameter(description = "Nombre del job")
+            @PathVariable String nombre,
+
+            @Parameter(description = "Parámetros del job, p.ej. {\"archivos\": \"data/dead-letter/x.dlq\"}")
+            @RequestBody(required = false) Map<String, String> parametros) {
+
+        if (!ejecucionJobsService.existeJob(nombre)) {
+            return ResponseEntity.status(404).body(Map.of("error", "job_not_found", "job", nombre));
+        }
+
+        JobExecution ejecucion;
+        try {
+            ejecucion = ejecucionJobsService.lanzar(nombre, parametros != null ? parametros : Map.of());
+        } catch (JobExecutionAlreadyRunningException | JobInstanceAlreadyCompleteException e) {
+            return ResponseEntity.status(409).body(Map.of("error", "job_already_running", "message", e.getMessage()));
+        } catch (JobParametersInvalidException e) {
+            return ResponseEntity.status(400).body(Map.of("error", "invalid_job_parameters", "message", e.getMessage()));
+        } catch (Exception e) {
+            return ResponseEntity.status(500).body(Map.of("error", "job_launch_failed", "message", String.valueOf(e.getMessage())));
+        }
+
+        if (ejecucion.getStatus() == BatchStatus.FAILED && ejecucion.getStartTime() == null) {
+            // Rechazado por lanzadorJobsTaskExecutor sin hilos libres
+            return ResponseEntity.status(503).body(Map.of("error", "launcher_busy", "ejecucion_id", ejecucion.getId()));
+        }
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("ejecucion_id", ejecucion.getId());
+        response.put("job", nombre);
+        response.put("estado", ejecucion.getStatus().name());
+        response.put("progreso", "/api/web/batch/ejecuciones/" + ejecucion.getId());
+        response.put("stream", "/api/web/batch/ejecuciones/" + ejecucion.getId() + "/stream");
+        return ResponseEntity.accepted().body(response);
+    }
+
+    @Operation(summary = "Progreso de una ejecución",
+               description = "Contadores por step e items/seg promedio, leídos de la ejecución en memoria")
+    @GetMapping("/ejecuciones/{ejecucionId}")
+    @PreAuthorize("hasRole('WEB')")
+    public ResponseEntity<Map<String, Object>> obtenerProgreso(
+            @Parameter(description = "ID de ejecución devuelto al lanzar")
+            @PathVariable long ejecucionId) {
+
+        Optional<JobExecution> ejecucion = ejecucionJobsService.ejecucion(ejecucionId);
+        if (ejecucion.isEmpty()) {
+            return ResponseEntity.status(404).body(Map.of("error", "execution_not_found"));
+        }
+        return ResponseEntity.ok(ejecucionJobsService.progreso(ejecucion.get()));
+    }
+
+    @Operation(summary = "Stream de progreso (SSE)",
+               description = "Eventos 'progreso' periódicos con contadores por step e items/seg, y un evento 'fin'")
+    @GetMapping(value = "/ejecuciones/{ejecucionId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('WEB')")
+    public ResponseEntity<SseEmitter> seguirProgreso(
+            @Parameter(description = "ID de ejecución devuelto al lanzar")
+            @PathVariable long ejecucionId) {
+
+        return ejecucionJobsService.ejecucion(ejecucionId)
+                .map(ejecucion -> ResponseEntity.ok(ejecucionJobsService.seguir(ejecucion)))
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+}
@@ -0,0 +1,274 @@
+package com.duoc.batch_demo.chunk;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.repeat.CompletionPolicy;
+import org.springframework.batch.repeat.RepeatContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.repeat.context.RepeatContextSupport;
+import org.springframework.core.env.Environment;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * CompletionPolicy que ajusta el tamaño de chunk (intervalo de commit) en
+ * ejecución, con control AIMD sobre la latencia de cada chunk:
+ *
+ * - chunk bajo el objetivo y sin rollbacks recientes: +incremento (aumento aditivo)
+ * - chunk sobre el objetivo, o escritura sobre objetivo-escritura-ms: ×factor-reduccion
+ * - rollback: ×factor-reduccion y sin aumentos mientras la tasa de rollback
+ *   (media móvil) supere tasa-rollback-maxima
+ * siempre dentro de [min, max].
+ *
+ * El estado es por StepExecution (las particiones de un worker se ajustan por
+ * separado) y parte del tamaño configurado para el step. Configuración global
+ * en banco.batch.chunk.adaptativo.* con sobrescritura por step en
+ * banco.batch.chunk.adaptativo.pasos.&lt;step&gt;.*
+ *
+ * Métricas por step: banco.batch.chunk.tamano (gauge) y banco.batch.chunk.duracion.
+ */
+public class PoliticaChunkAdaptativa implements CompletionPolicy, ChunkListener, ItemWriteListener<Object>, StepExecutionListener {
+
+    private static final String PREFIJO = "banco.batch.chunk.adaptativo.";
+    private static final double PESO_MEDIA_MOVIL = 0.2;
+
+    private final int tamanoInicial;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+    private final Map<Long, Estado> estados = new ConcurrentHashMap<>();
+    private final ThreadLocal<Long> inicioChunk = new ThreadLocal<>();
+    private final ThreadLocal<Long> inicioEscritura = new ThreadLocal<>();
+
+    public PoliticaChunkAdaptativa(int tamanoInicial, Environment environment, MeterRegistry meterRegistry) {
+        this.tamanoInicial = tamanoInicial;
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+    }
+
+    // ============================================
+    // CICLO DEL STEP
+    // ============================================
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        Estado estado = new Estado(stepExecution.getStepName(), configuracion(stepExecution.getStepName()), tamanoInicial);
+        estado.gauge = Gauge.builder("banco.batch.chunk.tamano", estado.tamano, AtomicInteger::get)
+                .description("Tamaño de chunk elegido por la política adaptativa")
+                .tag("step", estado.step)
+                .register(meterRegistry);
+        estado.duracion = Timer.builder("banco.batch.chunk.duracion")
+                .description("Duración de cada chunk (lectura, proceso, escritura y commit)")
+                .tag("step", estado.step)
+                .register(meterRegistry);
+        estados.put(stepExecution.getId(), estado);
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        Estado estado = estados.remove(stepExecution.getId());
+        if (estado != null) {
+            meterRegistry.remove(estado.gauge);
+            System.out.printf("📐 Chunk adaptativo %s: tamaño final %d (rango %d-%d), %d aumentos, %d reducciones, latencia media %.0f ms%n",
+                    estado.step, estado.tamano.get(), estado.config.minimo, estado.config.maximo,
+                    estado.aumentos, estado.reducciones, estado.latenciaMediaMs);
+        }
+        return null;
+    }
+
+    // ============================================
+    // COMPLETION POLICY
+    // ============================================
+
+    @Override
+    public RepeatContext start(RepeatContext parent) {
+        Estado estado = estadoActual();
+        return new ContextoChunk(parent, estado != null ? estado.tamano.get() : tamanoInicial);
+    }
+
+    @Override
+    public boolean isComplete(RepeatContext context, RepeatStatus result) {
+        return result == null || !result.isContinuable() || isComplete(context);
+    }
+
+    @Override
+    public boolean isComplete(RepeatContext context) {
+        ContextoChunk contexto = (ContextoChunk) context;
+        return contexto.isCompleteOnly() || contexto.getStartedCount() >= contexto.limite;
+    }
+
+    @Override
+    public void update(RepeatContext context) {
+        ((ContextoChunk) context).increment();
+    }
+
+    // ============================================
+    // MEDICIÓN
+    // ============================================
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        inicioChunk.set(System.nanoTime());
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        Estado estado = estadoActual();
+        Long inicio = inicioChunk.get();
+        inicioChunk.remove();
+        if (estado == null || inicio == null) {
+            return;
+        }
+        long nanos = System.nanoTime() - inicio;
+        estado.duracion.record(nanos, TimeUnit.NANOSECONDS);
+        estado.registrarChunk(TimeUnit.NANOSECONDS.toMillis(nanos));
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        inicioChunk.remove();
+        Estado estado = estadoActual();
+        if (estado != null) {
+            estado.registrarRollback();
+        }
+    }
+
+    @Override
+    public void beforeWrite(Chunk<?> items) {
+        inicioEscritura.set(System.nanoTime());
+    }
+
+    @Override
+    public void afterWrite(Chunk<?> items) {
+        Long inicio = inicioEscritura.get();
+        inicioEscritura.remove();
+        Estado estado = estadoActual();
+        if (estado != null && inicio != null) {
+            estado.registrarEscritura(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio));
+        }
+    }
+
+    @Override
+    public void onWriteError(Exception exception, Chunk<?> items) {
+        inicioEscritura.remove();
+    }
+
+    private Estado estadoActual() {
+        StepContext contexto = StepSynchronizationManager.getContext();
+        return contexto != null ? estados.get(contexto.getStepExecution().getId()) : null;
+    }
+
+    private Configuracion configuracion(String step) {
+        // Las particiones (worker:partitionN) usan la configuración de su step
+        int separador = step.indexOf(':');
+        String base = separador > 0 ? step.substring(0, separador) : step;
+        Configuracion config = new Configuracion();
+        config.minimo = propiedad(base, "min", Integer.class, 1);
+        config.maximo = Math.max(config.minimo, propiedad(base, "max", Integer.class, 500));
+        config.objetivoMs = propiedad(base, "objetivo-ms", Long.class, 200L);
+        config.objetivoEscrituraMs = propiedad(base, "objetivo-escritura-ms", Long.class, config.objetivoMs);
+        config.incremento = Math.max(1, propiedad(base, "incremento", Integer.class, 5));
+        config.factorReduccion = propiedad(base, "factor-reduccion", Double.class, 0.5);
+        config.tasaRollbackMaxima = propiedad(base, "tasa-rollback-maxima", Double.class, 0.05);
+        return config;
+    }
+
+    private <V> V propiedad(String step, String clave, Class<V> tipo, V porDefecto) {
+        V global = environment.getProperty(PREFIJO + clave, tipo, porDefecto);
+        return environment.getProperty(PREFIJO + "pasos." + step + "." + clave, tipo, global);
+    }
+
+    private static final class Configuracion {
+        private int minimo;
+        private int maximo;
+        private long objetivoMs;
+        private long objetivoEscrituraMs;
+        private int incremento;
+        private double factorReduccion;
+        private double tasaRollbackMaxima;
+    }
+
+    /**
+     * Estado del controlador para una StepExecution. Los chunks de un step
+     * multi-hilo llegan concurrentemente: las decisiones se serializan.
+     */
+    private static final class Estado {
+        private final String step;
+        private final Configuracion config;
+        private final AtomicInteger tamano;
+        private Gauge gauge;
+        private Timer duracion;
+        private double latenciaMediaMs = -1;
+        private double escrituraMediaMs = -1;
+        private double tasaRollback;
+        private long aumentos;
+        private long reducciones;
+
+        private Estado(String step, Configuracion config, int tamanoInicial) {
+            this.step = step;
+            this.config = config;
+            this.tamano = new AtomicInteger(Math.max(config.minimo, Math.min(config.maximo, tamanoInicial)));
+        }
+
+        private synchronized void registrarChunk(long latenciaMs) {
+            latenciaMediaMs = media(latenciaMediaMs, latenciaMs);
+            tasaRollback = (1 - PESO_MEDIA_MOVIL) * tasaRollback;
+
+            boolean escrituraLenta = escrituraMediaMs > config.objetivoEscrituraMs;
+            if (latenciaMs > config.objetivoMs || escrituraLenta) {
+                reducir();
+            } else if (latenciaMediaMs < config.objetivoMs * 0.8 && tasaRollback <= config.tasaRollbackMaxima) {
+                int anterior = tamano.get();
+                int nuevo = Math.min(config.maximo, anterior + config.incremento);
+                if (nuevo != anterior) {
+                    tamano.set(nuevo);
+                    aumentos++;
+                }
+            }
+        }
+
+        private synchronized void registrarEscritura(long latenciaMs) {
+            escrituraMediaMs = media(escrituraMediaMs, latenciaMs);
+        }
+
+        private synchronized void registrarRollback() {
+            tasaRollback = (1 - PESO_MEDIA_MOVIL) * tasaRollback + PESO_MEDIA_MOVIL;
+            reducir();
+        }
+
+        private void reducir() {
+            int anterior = tamano.get();
+            int nuevo = Math.max(config.minimo, (int) (anterior * config.factorReduccion));
+            if (nuevo != anterior) {
+                tamano.set(nuevo);
+                reducciones++;
+            }
+        }
+
+        private static double media(double media, long muestra) {
+            return media < 0 ? muestra : (1 - PESO_MEDIA_MOVIL) * media + PESO_MEDIA_MOVIL * muestra;
+        }
+    }
+
+    private static final class ContextoChunk extends RepeatContextSupport {
+        private final int limite;
+
+        private ContextoChunk(RepeatContext parent, int limite) {
+            super(parent);
+            this.limite = limite;
+        }
+    }
+}
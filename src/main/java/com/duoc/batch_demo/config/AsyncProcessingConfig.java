@@ -0,0 +1,174 @@
+package com.duoc.batch_demo.config;
+
+import java.util.concurrent.Future;
+
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.integration.async.AsyncItemProcessor;
+import org.springframework.batch.integration.async.AsyncItemWriter;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.batch.repeat.CompletionPolicy;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import com.duoc.batch_demo.chunk.PoliticaChunkAdaptativa;
+import com.duoc.batch_demo.writer.EscrituraDiferidaItemWriter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Configuración del modo de procesamiento asíncrono de items.
+ *
+ * Con banco.batch.async.enabled=true cada step envuelve su processor en un
+ * AsyncItemProcessor (ejecutado en virtualThreadTaskExecutor) y su writer en
+ * un AsyncItemWriter, de modo que el procesamiento dominado por I/O de los
+ * items de un chunk se solapa. Con el modo deshabilitado el step se arma
+ * exactamente igual que antes.
+ *
+ * Nota: en modo asíncrono las excepciones del processor aparecen al escribir
+ * el chunk, por lo que la tolerancia a fallos las trata como errores de escritura.
+ * El dead-letter de esas omisiones no conserva el item de entrada (ver
+ * deadletter.DeadLetterSkipListener).
+ *
+ * Con banco.batch.writer.escritura-diferida.enabled=true el writer de cada
+ * step se envuelve además en un EscrituraDiferidaItemWriter: la escritura en
+ * base de datos pasa a hilos dedicados y se solapa con la lectura y el
+ * procesamiento del chunk siguiente. Los errores de escritura ya no pasan por
+ * la política de omisión/reintento del step: llegan en el chunk siguiente como
+ * EscrituraDiferidaException, que las políticas de FaultToleranceConfig no
+ * reintentan ni omiten, y hacen fallar el step.
+ * No se combina con banco.batch.writer.biseccion.enabled: ningún job se carga.
+ *
+ * Con banco.batch.chunk.adaptativo.enabled=true el tamaño recibido es solo el
+ * inicial: una PoliticaChunkAdaptativa lo ajusta en ejecución según la
+ * latencia de commit y los rollbacks (ver banco.batch.chunk.adaptativo.*).
+ * En modo asíncrono la latencia de escritura medida incluye la espera del
+ * procesamiento de los items.
+ */
+@Configuration
+public class AsyncProcessingConfig {
+
+    private final boolean asincronoHabilitado;
+    private final TaskExecutor itemTaskExecutor;
+    private final boolean escrituraDiferida;
+    private final int escrituraDiferidaCapacidad;
+    private final int escrituraDiferidaHilos;
+    private final boolean chunkAdaptativo;
+    private final Environment environment;
+    private final MeterRegistry meterRegistry;
+
+    public AsyncProcessingConfig(@Value("${banco.batch.async.enabled:false}") boolean asincronoHabilitado,
+                                 @Qualifier("virtualThreadTaskExecutor") TaskExecutor itemTaskExecutor,
+                                 @Value("${banco.batch.writer.escritura-diferida.enabled:false}") boolean escrituraDiferida,
+                                 @Value("${banco.batch.writer.escritura-diferida.capacidad:4}") int escrituraDiferidaCapacidad,
+                                 @Value("${banco.batch.writer.escritura-diferida.hilos:1}") int escrituraDiferidaHilos,
+                                 @Value("${banco.batch.chunk.adaptativo.enabled:false}") boolean chunkAdaptativo,
+                                 Environment environment,
+                                 MeterRegistry meterRegistry) {
+        this.asincronoHabilitado = asincronoHabilitado;
+        this.itemTaskExecutor = itemTaskExecutor;
+        this.escrituraDiferida = escrituraDiferida;
+        this.escrituraDiferidaCapacidad = escrituraDiferidaCapacidad;
+        this.escrituraDiferidaHilos = escrituraDiferidaHilos;
+        this.chunkAdaptativo = chunkAdaptativo;
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        if (escrituraDiferida && environment.getProperty("banco.batch.writer.biseccion.enabled", Boolean.class, false)) {
+            // La bisección cuenta y notifica sus omisiones en la transacción del hilo del step
+            throw new IllegalStateException("banco.batch.writer.escritura-diferida.enabled y banco.batch.writer.biseccion.enabled "
+                    + "no se pueden habilitar juntos: la bisección correría en el hilo escritor, fuera del step");
+        }
+
+        System.out.println("⚡ Procesamiento asíncrono de items: " + (asincronoHabilitado ? "HABILITADO" : "deshabilitado"));
+        System.out.println("📤 Escritura diferida: " + (escrituraDiferida
+                ? "HABILITADA (cola " + escrituraDiferidaCapacidad + " chunks, " + escrituraDiferidaHilos + " hilo(s) escritor(es))"
+                : "deshabilitada"));
+        System.out.println("📐 Tamaño de chunk adaptativo: " + (chunkAdaptativo ? "HABILITADO" : "deshabilitado"));
+    }
+
+    public boolean isAsincronoHabilitado() {
+        return asincronoHabilitado;
+    }
+
+    /**
+     * Arma el chunk de un step con processor y writer, síncronos o asíncronos según configuración.
+     * El resto del builder (reader, tolerancia a fallos, listeners) se encadena igual en ambos modos.
+     */
+    public <I, O> SimpleStepBuilder<I, ?> chunk(StepBuilder stepBuilder,
+                                                int chunkSize,
+                                                PlatformTransactionManager transactionManager,
+                                                ItemProcessor<I, O> processor,
+                                                ItemWriter<O> writer) {
+        if (escrituraDiferida) {
+            writer = new EscrituraDiferidaItemWriter<>(writer, transactionManager,
+                    escrituraDiferidaCapacidad, escrituraDiferidaHilos, meterRegistry);
+        }
+        PoliticaChunkAdaptativa politica = chunkAdaptativo
+                ? new PoliticaChunkAdaptativa(chunkSize, environment, meterRegistry)
+                : null;
+        if (!asincronoHabilitado) {
+            SimpleStepBuilder<I, O> builder = this.<I, O>iniciar(stepBuilder, chunkSize, politica, transactionManager)
+                    .processor(processor)
+                    .writer(writer);
+            registrarPolitica(builder, politica);
+            return builder;
+        }
+
+        AsyncItemProcessor<I, O> asyncProcessor = new AsyncItemProcessor<>();
+        asyncProcessor.setDelegate(processor);
+        asyncProcessor.setTaskExecutor(itemTaskExecutor);
+
+        AsyncItemWriter<O> asyncWriter = new AsyncItemWriter<>();
+        asyncWriter.setDelegate(writer);
+
+        SimpleStepBuilder<I, Future<O>> builder = this.<I, Future<O>>iniciar(stepBuilder, chunkSize, politica, transactionManager)
+                .processor(asyncProcessor)
+                .writer(asyncWriter);
+        registrarPolitica(builder, politica);
+
+        // El builder solo inspecciona los wrappers: registrar explícitamente lo que implementan los delegados
+        registrarDelegado(builder, processor);
+        registrarDelegado(builder, writer);
+
+        return builder;
+    }
+
+    private <I, O> SimpleStepBuilder<I, O> iniciar(StepBuilder stepBuilder, int chunkSize,
+                                                   CompletionPolicy politica,
+                                                   PlatformTransactionManager transactionManager) {
+        return politica != null
+                ? stepBuilder.<I, O>chunk(politica, transactionManager)
+                : stepBuilder.<I, O>chunk(chunkSize, transactionManager);
+    }
+
+    private static void registrarPolitica(SimpleStepBuilder<?, ?> builder, PoliticaChunkAdaptativa politica) {
+        if (politica == null) {
+            return;
+        }
+        builder.listener((StepExecutionListener) politica);
+        builder.listener((ChunkListener) politica);
+        builder.listener((ItemWriteListener<Object>) politica);
+    }
+
+    private static void registrarDelegado(SimpleStepBuilder<?, ?> builder, Object delegado) {
+        // AsyncItemWriter ya delega open/update/close en su writer
+        if (delegado instanceof ItemStream && !(delegado instanceof ItemWriter)) {
+            builder.stream((ItemStream) delegado);
+        }
+        if (delegado instanceof StepExecutionListener) {
+            builder.listener((StepExecutionListener) delegado);
+        }
+        if (delegado instanceof ChunkListener) {
+            builder.listener((ChunkListener) delegado);
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.duoc.batch_demo.config;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import org.springframework.batch.core.configuration.annotation.StepScope;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.duoc.batch_demo.deadletter.CuentaDeadLetterCodificador;
+import com.duoc.batch_demo.deadletter.DeadLetterItemReader;
+import com.duoc.batch_demo.deadletter.DeadLetterSkipListener;
+import com.duoc.batch_demo.deadletter.TransaccionDeadLetterCodificador;
+import com.duoc.batch_demo.model.Cuenta;
+import com.duoc.batch_demo.model.Transaccion;
+
+/**
+ * Dead-letter de items omitidos y readers de los jobs de reproceso.
+ *
+ * Los steps con transaccionesSkipPolicy / cuentasSkipPolicy guardan cada item
+ * omitido en banco.batch.dead-letter.directorio (un .dlq por StepExecution).
+ * reprocesoDeadLetterTransaccionesJob y reprocesoDeadLetterCuentasJob leen
+ * solo los archivos indicados en el parámetro "archivos" (rutas separadas por
+ * coma), así corregir los rechazos cuesta tiempo proporcional a su cantidad y
+ * no a la del feed completo.
+ */
+@Configuration
+public class DeadLetterConfig {
+
+    @Bean
+    public DeadLetterSkipListener deadLetterSkipListener(
+            @Value("${banco.batch.dead-letter.directorio:data/dead-letter}") Path directorio) {
+        System.out.println("☠️ Dead-letter de items omitidos: " + directorio.toAbsolutePath());
+        return new DeadLetterSkipListener(directorio,
+                List.of(new TransaccionDeadLetterCodificador(), new CuentaDeadLetterCodificador()));
+    }
+
+    @Bean
+    @StepScope
+    public DeadLetterItemReader<Transaccion> deadLetterTransaccionReader(
+            DeadLetterSkipListener deadLetterSkipListener,
+            @Value("#{jobParameters['archivos']}") String archivos) {
+        return new DeadLetterItemReader<>(rutas(archivos), Transaccion.class,
+                ReaderConfig.transaccionLineMapper(), deadLetterSkipListener.getCodificadores());
+    }
+
+    @Bean
+    @StepScope
+    public DeadLetterItemReader<Cuenta> deadLetterCuentaReader(
+            DeadLetterSkipListener deadLetterSkipListener,
+            @Value("#{jobParameters['archivos']}") String archivos) {
+        return new DeadLetterItemReader<>(rutas(archivos), Cuenta.class,
+                ReaderConfig.cuentaLineMapper(), deadLetterSkipListener.getCodificadores());
+    }
+
+    private static List<Path> rutas(String archivos) {
+        if (archivos == null || archivos.isBlank()) {
+            throw new IllegalArgumentException("El reproceso de dead-letter requiere el parámetro 'archivos' (rutas .dlq separadas por coma)");
+        }
+        return Arrays.stream(archivos.split(","))
+                .map(String::trim)
+                .filter(ruta -> !ruta.isEmpty())
+                .map(Path::of)
+                .toList();
+    }
+}
@@ -1,19 +1,48 @@
 package com.duoc.batch_demo.config;
 
 import java.sql.SQLException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
+import javax.sql.DataSource;
+
+import org.springframework.batch.core.step.StepInterruptionPolicy;
+import org.springframework.batch.core.step.ThreadStepInterruptionPolicy;
 import org.springframework.batch.core.step.skip.SkipLimitExceededException;
+import org.springframework.batch.core.step.tasklet.TaskletStep;
 import org.springframework.batch.core.step.skip.SkipPolicy;
 import org.springframework.batch.item.file.FlatFileParseException;
 import org.springframework.batch.item.validator.ValidationException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
 import org.springframework.dao.DataAccessException;
 import org.springframework.retry.RetryPolicy;
 import org.springframework.retry.policy.CompositeRetryPolicy;
 import org.springframework.retry.policy.ExceptionClassifierRetryPolicy;
+import org.springframework.retry.policy.NeverRetryPolicy;
 import org.springframework.retry.policy.SimpleRetryPolicy;
 
+import com.duoc.batch_demo.resiliencia.CircuitoBaseDatos;
+import com.duoc.batch_demo.resiliencia.ControlAdmisionBatch;
+import com.duoc.batch_demo.resiliencia.EsperaReintento;
+import com.duoc.batch_demo.resiliencia.InterrupcionConAdmision;
+import com.duoc.batch_demo.resiliencia.InterrupcionConCircuito;
+import com.duoc.batch_demo.resiliencia.InterrupcionConEsperaReintento;
+import com.duoc.batch_demo.resiliencia.LatenciaBffFilter;
+import com.duoc.batch_demo.resiliencia.MetricasReintento;
+import com.duoc.batch_demo.validator.EstadisticasValidacion;
+import com.duoc.batch_demo.writer.EscrituraDiferidaException;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
 /**
  * Configuración de tolerancia a fallos para procesamiento batch.
  * 
@@ -50,10 +79,11 @@ public class FaultToleranceConfig {
         policyMap.put(SQLException.class, dbRetryPolicy);
         policyMap.put(DataAccessException.class, dbRetryPolicy);
         
-        // 🔄 Errores de validación: 2 reintentos (datos potencialmente corregibles)
-        SimpleRetryPolicy validationRetryPolicy = new SimpleRetryPolicy();
-        validationRetryPolicy.setMaxAttempts(2);
-        policyMap.put(ValidationException.class, validationRetryPolicy);
+        // 🚫 Errores de validación: sin reintentos, el mismo dato vuelve a fallar igual
+        policyMap.put(ValidationException.class, new NeverRetryPolicy());
+
+        // 🚫 Error de un chunk anterior en la escritura diferida: reintentar este chunk no lo arregla
+        policyMap.put(EscrituraDiferidaException.class, new NeverRetryPolicy());
         
         // 🔄 Errores de parsing: 1 reintento (problemas de formato)
         SimpleRetryPolicy parseRetryPolicy = new SimpleRetryPolicy();
@@ -88,9 +118,8 @@ public class FaultToleranceConfig {
         policyMap.put(SQLException.class, dbRetryPolicy);
         policyMap.put(DataAccessException.class, dbRetryPolicy);
         
-        SimpleRetryPolicy validationRetryPolicy = new SimpleRetryPolicy();
-        validationRetryPolicy.setMaxAttempts(1);
-        policyMap.put(ValidationException.class, validationRetryPolicy);
+        policyMap.put(ValidationException.class, new NeverRetryPolicy());
+        policyMap.put(EscrituraDiferidaException.class, new NeverRetryPolicy());
         
         SimpleRetryPolicy runtimeRetryPolicy = new SimpleRetryPolicy();
         runtimeRetryPolicy.setMaxAttempts(2);
@@ -102,6 +131,142 @@ public class FaultToleranceConfig {
         return retryPolicy;
     }
     
+    /**
+     * ⏳ Espera entre reintentos: exponencial con jitter, para que los hilos de
+     * transactionTaskExecutor y accountTaskExecutor no reintenten todos a la vez
+     * contra una base de datos sobrecargada. No duerme dentro de la transacción
+     * del chunk (reteniendo la conexión): la espera se aplica antes del chunk
+     * siguiente, ver EsperaReintento.
+     */
+    @Bean
+    public EsperaReintento batchBackOffPolicy(@Value("${banco.batch.reintento.espera-inicial-ms:100}") long esperaInicialMs,
+                                             @Value("${banco.batch.reintento.multiplicador:2.0}") double multiplicador,
+                                             @Value("${banco.batch.reintento.espera-maxima-ms:5000}") long esperaMaximaMs,
+                                             MeterRegistry meterRegistry) {
+        return new EsperaReintento(esperaInicialMs, multiplicador, esperaMaximaMs, meterRegistry);
+    }
+
+    /**
+     * 📊 Métrica banco.batch.reintentos por step y excepción
+     */
+    @Bean
+    public MetricasReintento metricasReintento(MeterRegistry meterRegistry) {
+        return new MetricasReintento(meterRegistry);
+    }
+
+    // ============================================
+    // CIRCUIT BREAKER DE BASE DE DATOS
+    // ============================================
+
+    /**
+     * 🔌 Circuito compartido por todos los steps (un único DataSource)
+     */
+    @Bean
+    public CircuitoBaseDatos circuitoBaseDatos(DataSource dataSource,
+                                               MeterRegistry meterRegistry,
+                                               @Value("${banco.batch.circuito.ventana:20}") int ventana,
+                                               @Value("${banco.batch.circuito.minimo-chunks:10}") int minimoChunks,
+                                               @Value("${banco.batch.circuito.umbral-error:0.5}") double umbralError,
+                                               @Value("${banco.batch.circuito.espera-ms:2000}") long esperaMs,
+                                               @Value("${banco.batch.circuito.espera-maxima-ms:30000}") long esperaMaximaMs) {
+        return new CircuitoBaseDatos(dataSource, ventana, minimoChunks, umbralError, esperaMs, esperaMaximaMs, meterRegistry);
+    }
+
+    // ============================================
+    // CONTROL DE ADMISIÓN POR LATENCIA DE LOS BFFs
+    // ============================================
+
+    /**
+     * ⏱️ Latencia por canal de los BFFs, medida antes de la cadena de seguridad
+     */
+    @Bean
+    public LatenciaBffFilter latenciaBffFilter(MeterRegistry meterRegistry,
+                                               @Value("${banco.batch.admision.ventana-ms:30000}") long ventanaMs) {
+        return new LatenciaBffFilter(Duration.ofMillis(ventanaMs), meterRegistry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<LatenciaBffFilter> latenciaBffFilterRegistration(LatenciaBffFilter latenciaBffFilter) {
+        FilterRegistrationBean<LatenciaBffFilter> registro = new FilterRegistrationBean<>(latenciaBffFilter);
+        registro.addUrlPatterns("/api/atm/*", "/api/web/*", "/api/mobile/*");
+        registro.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registro;
+    }
+
+    /**
+     * 🚦 Freno de los steps batch cuando un BFF supera su SLO de p99
+     * (banco.batch.admision.slo-p99-ms.<canal>) o el pool de conexiones se satura
+     */
+    @Bean
+    public ControlAdmisionBatch controlAdmisionBatch(LatenciaBffFilter latenciaBffFilter,
+                                                     DataSource dataSource,
+                                                     Environment environment,
+                                                     MeterRegistry meterRegistry,
+                                                     @Value("${banco.batch.admision.enabled:false}") boolean habilitado,
+                                                     @Value("${banco.batch.admision.minimo-muestras:20}") int minimoMuestras,
+                                                     @Value("${banco.batch.admision.espera-pool-ms:50}") double esperaPoolMs,
+                                                     @Value("${banco.batch.admision.paso:0.2}") double paso,
+                                                     @Value("${banco.batch.admision.freno-maximo:0.9}") double frenoMaximo,
+                                                     @Value("${banco.batch.admision.histeresis:0.8}") double histeresis,
+                                                     @Value("${banco.batch.admision.espera-maxima-ms:5000}") long esperaMaximaMs,
+                                                     @Value("${banco.batch.admision.ventana-ms:30000}") long ventanaMs) {
+        Map<String, Double> slo = new LinkedHashMap<>();
+        for (String canal : LatenciaBffFilter.CANALES) {
+            Double objetivo = environment.getProperty("banco.batch.admision.slo-p99-ms." + canal, Double.class,
+                    "atm".equals(canal) ? 300.0 : null);
+            if (objetivo != null) {
+                slo.put(canal, objetivo);
+            }
+        }
+        if (habilitado) {
+            System.out.println("🚦 Control de admisión batch: SLO p99 " + slo + " ms, espera de pool " + esperaPoolMs + " ms");
+        }
+        return new ControlAdmisionBatch(latenciaBffFilter, slo,
+                dataSource instanceof HikariDataSource hikari ? hikari : null,
+                habilitado, minimoMuestras, esperaPoolMs, paso, frenoMaximo, histeresis, esperaMaximaMs, ventanaMs, meterRegistry);
+    }
+
+    /**
+     * Conecta la espera entre reintentos, el circuito y el control de admisión
+     * a cada TaskletStep: registran el resultado y la duración de sus chunks y
+     * los pausan antes de abrir la transacción tras un intento fallido,
+     * mientras el circuito esté abierto o haya freno.
+     * Estático para no adelantar la creación de esta configuración.
+     */
+    @Bean
+    public static BeanPostProcessor pausaStepsPostProcessor(ObjectProvider<EsperaReintento> esperaReintento,
+                                                            ObjectProvider<CircuitoBaseDatos> circuito,
+                                                            ObjectProvider<ControlAdmisionBatch> admision,
+                                                            @Value("${banco.batch.circuito.enabled:false}") boolean circuitoHabilitado,
+                                                            @Value("${banco.batch.admision.enabled:false}") boolean admisionHabilitada) {
+        System.out.println("🔌 Circuit breaker de base de datos para steps: " + (circuitoHabilitado ? "HABILITADO" : "deshabilitado"));
+        System.out.println("🚦 Control de admisión por latencia de BFFs: " + (admisionHabilitada ? "HABILITADO" : "deshabilitado"));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof TaskletStep step)) {
+                    return bean;
+                }
+                StepInterruptionPolicy politica = new ThreadStepInterruptionPolicy();
+                if (circuitoHabilitado) {
+                    CircuitoBaseDatos circuitoBaseDatos = circuito.getObject();
+                    politica = new InterrupcionConCircuito(circuitoBaseDatos);
+                    step.registerChunkListener(circuitoBaseDatos);
+                }
+                EsperaReintento espera = esperaReintento.getObject();
+                politica = new InterrupcionConEsperaReintento(politica, espera);
+                step.registerStepExecutionListener(espera);
+                if (admisionHabilitada) {
+                    ControlAdmisionBatch controlAdmision = admision.getObject();
+                    politica = new InterrupcionConAdmision(politica, controlAdmision);
+                    step.registerChunkListener(controlAdmision);
+                }
+                step.setInterruptionPolicy(politica);
+                return bean;
+            }
+        };
+    }
+
     // ============================================
     // POLÍTICAS DE OMISIÓN PERSONALIZADAS
     // ============================================
@@ -124,6 +289,11 @@ public class FaultToleranceConfig {
                     return false;
                 }
                 
+                // 🚫 NUNCA omitir un error de la escritura diferida: los items del chunk actual no tienen la culpa
+                if (t instanceof EscrituraDiferidaException) {
+                    return false;
+                }
+                
                 // 🚫 NUNCA omitir si se excede el límite personalizado
                 if (this.skipCount >= maxSkipCount) {
                     System.err.println("⚠️ LÍMITE DE OMISIONES EXCEDIDO (" + maxSkipCount + ") - DETENIENDO");
@@ -185,6 +355,11 @@ public class FaultToleranceConfig {
             
             @Override
             public boolean shouldSkip(Throwable t, long skipCount) throws SkipLimitExceededException {
+                // 🚫 NUNCA omitir un error de la escritura diferida
+                if (t instanceof EscrituraDiferidaException) {
+                    return false;
+                }
+                
                 // 🚫 Para cuentas, ser MÁS estrictos
                 if (this.skipCount >= maxSkipCount) {
                     System.err.println("⚠️ LÍMITE DE OMISIONES PARA CUENTAS EXCEDIDO (" + maxSkipCount + ")");
@@ -225,7 +400,7 @@ public class FaultToleranceConfig {
      * 📊 Listener para monitorear reintentos y omisiones
      */
     @Bean
-    public org.springframework.batch.core.StepExecutionListener faultToleranceListener() {
+    public org.springframework.batch.core.StepExecutionListener faultToleranceListener(EstadisticasValidacion estadisticasValidacion) {
         return new org.springframework.batch.core.StepExecutionListener() {
             @Override
             public void beforeStep(org.springframework.batch.core.StepExecution stepExecution) {
@@ -240,6 +415,8 @@ public class FaultToleranceConfig {
                 System.out.println("   ⏭️ Registros omitidos (procesamiento): " + stepExecution.getProcessSkipCount());
                 System.out.println("   ⏭️ Registros omitidos (escritura): " + stepExecution.getWriteSkipCount());
                 System.out.println("   ✅ Commits exitosos: " + stepExecution.getCommitCount());
+                System.out.println("   🧹 Registros filtrados: " + stepExecution.getFilterCount());
+                estadisticasValidacion.imprimirResumen(stepExecution.getStepName());
                 
                 // Determinar si el step fue exitoso a pesar de los errores
                 if (stepExecution.getReadSkipCount() > 0 || stepExecution.getProcessSkipCount() > 0 || stepExecution.getWriteSkipCount() > 0) {
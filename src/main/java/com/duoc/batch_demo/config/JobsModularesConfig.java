@@ -0,0 +1,108 @@
+package com.duoc.batch_demo.config;
+
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.duoc.batch_demo.jobs.AnomaliasModulo;
+import com.duoc.batch_demo.jobs.EstadosCuentaModulo;
+import com.duoc.batch_demo.jobs.InteresesModulo;
+import com.duoc.batch_demo.jobs.ParticionesModulo;
+import com.duoc.batch_demo.jobs.RegistroJobsModulares;
+import com.duoc.batch_demo.jobs.ReprocesoDeadLetterModulo;
+import com.duoc.batch_demo.jobs.TransaccionesModulo;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Jobs del banco en el contexto principal.
+ *
+ * Cada bean es un JobModular con el nombre del job y su módulo (jobs.*Modulo):
+ * el JobRegistry, el CLI, el orquestador del ciclo nocturno y los endpoints
+ * de lanzamiento lo ven como un job más, pero sus steps, readers y writers
+ * solo se crean en un contexto hijo mientras el job se ejecuta. Un job nuevo
+ * se agrega con su módulo y una línea aquí.
+ */
+@Configuration
+public class JobsModularesConfig {
+
+    @Bean
+    public RegistroJobsModulares registroJobsModulares(ConfigurableApplicationContext applicationContext,
+                                                       JobRepository jobRepository,
+                                                       MeterRegistry meterRegistry) {
+        return new RegistroJobsModulares(applicationContext, jobRepository, meterRegistry);
+    }
+
+    // JOB 1: transacciones
+    @Bean
+    public Job reporteTransaccionesJob(RegistroJobsModulares registroJobsModulares) {
+        return registroJobsModulares.job("reporteTransaccionesJob", TransaccionesModulo.class);
+    }
+
+    // JOB 2: intereses
+    @Bean
+    public Job calculoInteresesJob(RegistroJobsModulares registroJobsModulares) {
+        return registroJobsModulares.job("calculoInteresesJob", InteresesModulo.class);
+    }
+
+    @Bean
+    public Job interesesDetalleJob(RegistroJobsModulares registroJobsModulares) {
+        return registroJobsModulares.job("interesesDetalleJob", InteresesModulo.class);
+    }
+
+    // JOB 3: estados de cuenta anuales
+    @Bean
+    public Job estadosCuentaAnualesJob(RegistroJobsModulares registroJobsModulares) {
+        return registroJobsModulares.job("estadosCuentaAnualesJob", EstadosCuentaModulo.class);
+    }
+
+    @Bean
+    public Job estadosDetalleJob(RegistroJobsModulares registroJobsModulares) {
+        return registroJobsModulares.job("estadosDetalleJob", EstadosCuentaModulo.class);
+    }
+
+    // Anomalías
+    @Bean
+    public Job anomaliasJob(RegistroJobsModulares registroJobsModulares) {
+        return registroJobsModulares.job("anomaliasJob", AnomaliasModulo.class);
+    }
+
+    @Bean
+    public Job deteccionAnomalíasAvanzadasJob(RegistroJobsModulares registroJobsModulares) {
+        return registroJobsModulares.job("deteccionAnomalíasAvanzadasJob", AnomaliasModulo.class);
+    }
+
+    @Bean
+    public Job deteccionAnomalíasCuentasJob(RegistroJobsModulares registroJobsModulares) {
+        return registroJobsModulares.job("deteccionAnomalíasCuentasJob", AnomaliasModulo.class);
+    }
+
+    // Jobs particionados
+    @Bean
+    public Job particionesTransaccionesJob(RegistroJobsModulares registroJobsModulares) {
+        return registroJobsModulares.job("particionesTransaccionesJob", ParticionesModulo.class);
+    }
+
+    @Bean
+    public Job particionesCuentasJob(RegistroJobsModulares registroJobsModulares) {
+        return registroJobsModulares.job("particionesCuentasJob", ParticionesModulo.class);
+    }
+
+    @Bean
+    public Job particionesAnomaliasJob(RegistroJobsModulares registroJobsModulares) {
+        return registroJobsModulares.job("particionesAnomaliasJob", ParticionesModulo.class);
+    }
+
+    // Reproceso de dead-letter
+    @Bean
+    public Job reprocesoDeadLetterTransaccionesJob(RegistroJobsModulares registroJobsModulares) {
+        return registroJobsModulares.job("reprocesoDeadLetterTransaccionesJob", ReprocesoDeadLetterModulo.class);
+    }
+
+    @Bean
+    public Job reprocesoDeadLetterCuentasJob(RegistroJobsModulares registroJobsModulares) {
+        return registroJobsModulares.job("reprocesoDeadLetterCuentasJob", ReprocesoDeadLetterModulo.class);
+    }
+}
@@ -0,0 +1,100 @@
+package com.duoc.batch_demo.config;
+
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import com.duoc.batch_demo.orquestacion.GrafoJobs;
+import com.duoc.batch_demo.orquestacion.OrquestadorJobsTasklet;
+
+/**
+ * Ciclo nocturno: ejecuta los jobs del banco según sus dependencias.
+ *
+ * Los jobs sin dependencias de datos corren en paralelo y los dependientes
+ * arrancan apenas terminan los suyos, dentro de un presupuesto global de
+ * conexiones (banco.batch.orquestacion.presupuesto-conexiones, por debajo del
+ * pool de Hikari para dejar margen al JobRepository y a los BFFs).
+ *
+ * Las conexiones de cada job son los hilos de su step. Cada job corre en su
+ * propio contexto (JobsModularesConfig), sin readers compartidos con otros
+ * jobs, así que solo las dependencias de datos imponen un orden.
+ */
+@Configuration
+public class OrquestacionConfig {
+
+    /**
+     * Grafo del ciclo nocturno: job, conexiones en simultáneo, dependencias.
+     */
+    @Bean
+    public GrafoJobs cicloNocturnoGrafo() {
+        return GrafoJobs.builder()
+                .job("reporteTransaccionesJob", 3)
+                .job("calculoInteresesJob", 3)
+                .job("estadosCuentaAnualesJob", 1)
+                .job("interesesDetalleJob", 1)
+                .job("estadosDetalleJob", 1)
+                // Las anomalías se calculan sobre las transacciones ya cargadas
+                .job("anomaliasJob", 1, "reporteTransaccionesJob")
+                .job("deteccionAnomalíasAvanzadasJob", 3, "reporteTransaccionesJob")
+                .job("deteccionAnomalíasCuentasJob", 1, "calculoInteresesJob")
+                .build();
+    }
+
+    /**
+     * Un hilo por job en curso: cada uno queda bloqueado en el JobLauncher
+     * síncrono mientras su job corre en los executors de sus steps.
+     */
+    @Bean(name = "orquestadorTaskExecutor")
+    public TaskExecutor orquestadorTaskExecutor(GrafoJobs cicloNocturnoGrafo) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(cicloNocturnoGrafo.getNodos().size());
+        executor.setMaxPoolSize(cicloNocturnoGrafo.getNodos().size());
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("Orquestador-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(120);
+        executor.initialize();
+        return executor;
+    }
+
+    @Bean
+    public Step cicloNocturnoStep(JobRepository jobRepository,
+                                  JobLauncher jobLauncher,
+                                  BeanFactory beanFactory,
+                                  GrafoJobs cicloNocturnoGrafo,
+                                  @Qualifier("orquestadorTaskExecutor") TaskExecutor orquestadorTaskExecutor,
+                                  @Value("${banco.batch.orquestacion.presupuesto-conexiones:8}") int presupuestoConexiones) {
+        System.out.println("🗺️ Ciclo nocturno: presupuesto de " + presupuestoConexiones + " conexiones");
+        cicloNocturnoGrafo.getNodos().forEach(nodo -> System.out.println("   " + nodo));
+
+        // Los jobs se resuelven al lanzarlos: evita dependencias circulares entre beans Job
+        OrquestadorJobsTasklet tasklet = new OrquestadorJobsTasklet(cicloNocturnoGrafo,
+                nombre -> beanFactory.getBean(nombre, Job.class), jobLauncher,
+                orquestadorTaskExecutor, presupuestoConexiones);
+
+        // Sin transacción JDBC: el tasklet dura todo el ciclo y no debe retener una conexión
+        return new StepBuilder("cicloNocturnoStep", jobRepository)
+                .tasklet(tasklet, new ResourcelessTransactionManager())
+                .build();
+    }
+
+    @Bean
+    public Job cicloNocturnoJob(JobRepository jobRepository, Step cicloNocturnoStep) {
+        return new JobBuilder("cicloNocturnoJob", jobRepository)
+                .incrementer(new RunIdIncrementer())
+                .start(cicloNocturnoStep)
+                .build();
+    }
+}
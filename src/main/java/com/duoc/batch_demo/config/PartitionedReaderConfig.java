@@ -13,7 +13,6 @@ import org.springframework.batch.item.database.support.MySqlPagingQueryProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
 import org.springframework.jdbc.core.BeanPropertyRowMapper;
 
 import com.duoc.batch_demo.model.Cuenta;
@@ -25,10 +24,11 @@ import com.duoc.batch_demo.model.Transaccion;
  * Proporciona readers que pueden trabajar con particiones específicas
  * utilizando parámetros de ExecutionContext.
  * 
+ * Ver jobs.RegistroJobsModulares.COMPONENTES.
+ * 
  * @author Rodrigo Sanchez
  * @version 1.1 - Corregido para trabajar correctamente con particiones
  */
-@Configuration
 public class PartitionedReaderConfig {
     
     /**
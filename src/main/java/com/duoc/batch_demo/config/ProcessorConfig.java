@@ -3,9 +3,11 @@ package com.duoc.batch_demo.config;
 import java.util.List;
 
 import org.springframework.batch.item.ItemProcessor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
 
+import com.duoc.batch_demo.audit.AuditoriaBatch;
+import com.duoc.batch_demo.audit.NivelAuditoria;
 import com.duoc.batch_demo.model.AnomaliaTransaccion;
 import com.duoc.batch_demo.model.Cuenta;
 import com.duoc.batch_demo.model.CuentaAnual;
@@ -13,35 +15,64 @@ import com.duoc.batch_demo.model.EstadoCuentaAnual;
 import com.duoc.batch_demo.model.InteresCalculado;
 import com.duoc.batch_demo.model.Transaccion;
 import com.duoc.batch_demo.processor.AnomaliaTransaccionItemProcessor;
+import com.duoc.batch_demo.processor.CuentaValidacionItemProcessor;
 import com.duoc.batch_demo.processor.EstadoCuentaAnualItemProcessor;
 import com.duoc.batch_demo.processor.InteresCalculadoItemProcessor;
+import com.duoc.batch_demo.processor.InteresesItemProcessor;
+import com.duoc.batch_demo.processor.TransaccionItemProcessor;
+import com.duoc.batch_demo.processor.TransaccionValidacionItemProcessor;
 
-@Configuration
+/**
+ * Processors de los jobs. Ver jobs.RegistroJobsModulares.COMPONENTES.
+ */
 public class ProcessorConfig {
 
+    // ============================================
+    // SELECCIÓN DE PROCESSORS PARA STEPS DE TRANSACCIONES Y CUENTAS
+    // banco.batch.procesador.fusionado=true activa validación + normalización en una pasada
+    // ============================================
+
+    @Bean
+    public ItemProcessor<Transaccion, Transaccion> transaccionesStepProcessor(
+            @Value("${banco.batch.procesador.fusionado:false}") boolean fusionado,
+            TransaccionItemProcessor transaccionItemProcessor,
+            TransaccionValidacionItemProcessor transaccionValidacionItemProcessor) {
+        System.out.println("🔧 Processor de transacciones: " + (fusionado ? "FUSIONADO (validación + normalización)" : "CLÁSICO"));
+        return fusionado ? transaccionValidacionItemProcessor : transaccionItemProcessor;
+    }
+
+    @Bean
+    public ItemProcessor<Cuenta, Cuenta> cuentasStepProcessor(
+            @Value("${banco.batch.procesador.fusionado:false}") boolean fusionado,
+            InteresesItemProcessor interesesItemProcessor,
+            CuentaValidacionItemProcessor cuentaValidacionItemProcessor) {
+        System.out.println("🔧 Processor de cuentas: " + (fusionado ? "FUSIONADO (validación + normalización + intereses)" : "CLÁSICO"));
+        return fusionado ? cuentaValidacionItemProcessor : interesesItemProcessor;
+    }
+
     // ============================================
     // PROCESSORS PARA DETALLES ADICIONALES SOLAMENTE
     // Los processors básicos ya tienen @Component
     // ============================================
     
     @Bean
-    public ItemProcessor<Cuenta, InteresCalculado> interesCalculadoItemProcessor() {
-        return new InteresCalculadoItemProcessor();
+    public ItemProcessor<Cuenta, InteresCalculado> interesCalculadoItemProcessor(AuditoriaBatch auditoria) {
+        return new InteresCalculadoItemProcessor(auditoria);
     }
 
     @Bean
-    public ItemProcessor<Transaccion, List<AnomaliaTransaccion>> anomaliaTransaccionItemProcessor() {
-        return new AnomaliaTransaccionItemProcessor();
+    public ItemProcessor<Transaccion, List<AnomaliaTransaccion>> anomaliaTransaccionItemProcessor(AuditoriaBatch auditoria) {
+        return new AnomaliaTransaccionItemProcessor(auditoria);
     }
 
         @Bean
-    public EstadoCuentaAnualItemProcessor estadoCuentaAnualItemProcessor() {
-        return new EstadoCuentaAnualItemProcessor();
+    public EstadoCuentaAnualItemProcessor estadoCuentaAnualItemProcessor(AuditoriaBatch auditoria) {
+        return new EstadoCuentaAnualItemProcessor(auditoria);
     }
 
     // Processor mejorado para detectar TODAS las anomalías de datos legacy
     @Bean
-    public ItemProcessor<Transaccion, AnomaliaTransaccion> simpleAnomaliaProcessor() {
+    public ItemProcessor<Transaccion, AnomaliaTransaccion> simpleAnomaliaProcessor(AuditoriaBatch auditoria) {
         return new ItemProcessor<Transaccion, AnomaliaTransaccion>() {
             @Override
             public AnomaliaTransaccion process(Transaccion transaccion) throws Exception {
@@ -62,9 +93,11 @@ public class ProcessorConfig {
                     anomalia.setSeveridad("MEDIA");
                 }
                 
-                System.out.println("🚨 REGISTRANDO ANOMALÍA - Transacción ID: " + transaccion.getId() + 
-                                 " - Tipo: " + anomalia.getTipoAnomalia() + 
-                                 " - " + anomalia.getDescripcion());
+                if (auditoria.debeRegistrar(NivelAuditoria.WARN)) {
+                    auditoria.publicar(NivelAuditoria.WARN, "ANOMALIA_REGISTRADA", "Transacción ID: " + transaccion.getId() + 
+                                     " - Tipo: " + anomalia.getTipoAnomalia() + 
+                                     " - " + anomalia.getDescripcion());
+                }
                 
                 return anomalia;
             }
@@ -73,7 +106,7 @@ public class ProcessorConfig {
     
     // Processor avanzado para detectar TODAS las anomalías de datos legacy
     @Bean
-    public ItemProcessor<Transaccion, List<AnomaliaTransaccion>> detectarAnomalíasLegacyProcessor() {
+    public ItemProcessor<Transaccion, List<AnomaliaTransaccion>> detectarAnomalíasLegacyProcessor(AuditoriaBatch auditoria) {
         return new ItemProcessor<Transaccion, List<AnomaliaTransaccion>>() {
             @Override
             public List<AnomaliaTransaccion> process(Transaccion transaccion) throws Exception {
@@ -87,7 +120,7 @@ public class ProcessorConfig {
                     anomalia.setDescripcion("Monto negativo detectado: " + transaccion.getMonto());
                     anomalia.setSeveridad("ALTA");
                     anomalias.add(anomalia);
-                    System.out.println("🚨 ANOMALÍA DETECTADA - MONTO NEGATIVO - ID: " + transaccion.getId());
+                    auditarAnomalia(auditoria, anomalia, "ID");
                 }
                 
                 if (transaccion.getMonto().doubleValue() == 0) {
@@ -97,7 +130,7 @@ public class ProcessorConfig {
                     anomalia.setDescripcion("Monto en cero detectado");
                     anomalia.setSeveridad("MEDIA");
                     anomalias.add(anomalia);
-                    System.out.println("🚨 ANOMALÍA DETECTADA - MONTO CERO - ID: " + transaccion.getId());
+                    auditarAnomalia(auditoria, anomalia, "ID");
                 }
                 
                 // 2. TIPOS DE TRANSACCIÓN INVÁLIDOS
@@ -110,7 +143,7 @@ public class ProcessorConfig {
                         anomalia.setDescripcion("Tipo de transacción inválido: " + transaccion.getTipo());
                         anomalia.setSeveridad("MEDIA");
                         anomalias.add(anomalia);
-                        System.out.println("🚨 ANOMALÍA DETECTADA - TIPO INVÁLIDO - ID: " + transaccion.getId());
+                        auditarAnomalia(auditoria, anomalia, "ID");
                     }
                 }
                 
@@ -122,7 +155,7 @@ public class ProcessorConfig {
                     anomalia.setDescripcion("Fecha faltante en la transacción");
                     anomalia.setSeveridad("ALTA");
                     anomalias.add(anomalia);
-                    System.out.println("🚨 ANOMALÍA DETECTADA - FECHA NULA - ID: " + transaccion.getId());
+                    auditarAnomalia(auditoria, anomalia, "ID");
                 }
                 
                 if (transaccion.getTipo() == null || transaccion.getTipo().trim().isEmpty()) {
@@ -132,7 +165,7 @@ public class ProcessorConfig {
                     anomalia.setDescripcion("Tipo de transacción faltante");
                     anomalia.setSeveridad("ALTA");
                     anomalias.add(anomalia);
-                    System.out.println("🚨 ANOMALÍA DETECTADA - TIPO NULO - ID: " + transaccion.getId());
+                    auditarAnomalia(auditoria, anomalia, "ID");
                 }
                 
                 // 4. VALORES FUERA DE RANGO
@@ -143,7 +176,7 @@ public class ProcessorConfig {
                     anomalia.setDescripcion("Monto excesivamente alto: " + transaccion.getMonto());
                     anomalia.setSeveridad("MEDIA");
                     anomalias.add(anomalia);
-                    System.out.println("🚨 ANOMALÍA DETECTADA - MONTO EXCESIVO - ID: " + transaccion.getId());
+                    auditarAnomalia(auditoria, anomalia, "ID");
                 }
                 
                 return anomalias.isEmpty() ? null : anomalias; // Retornar null si no hay anomalías
@@ -153,7 +186,7 @@ public class ProcessorConfig {
     
     // Processor para detectar registros duplicados y anomalías en cuentas
     @Bean
-    public ItemProcessor<Cuenta, List<AnomaliaTransaccion>> detectarAnomaliasCuentasProcessor() {
+    public ItemProcessor<Cuenta, List<AnomaliaTransaccion>> detectarAnomaliasCuentasProcessor(AuditoriaBatch auditoria) {
         return new ItemProcessor<Cuenta, List<AnomaliaTransaccion>>() {
             private java.util.Map<String, Long> registrosVistos = new java.util.HashMap<>();
             
@@ -171,7 +204,7 @@ public class ProcessorConfig {
                                          " (Edad: " + cuenta.getEdad() + ", Tipo: " + cuenta.getTipo() + ")");
                     anomalia.setSeveridad("MEDIA");
                     anomalias.add(anomalia);
-                    System.out.println("🚨 ANOMALÍA DETECTADA - REGISTRO DUPLICADO - Cuenta: " + cuenta.getCuentaId());
+                    auditarAnomalia(auditoria, anomalia, "Cuenta");
                 } else {
                     registrosVistos.put(claveDuplicado, cuenta.getCuentaId());
                 }
@@ -184,7 +217,7 @@ public class ProcessorConfig {
                     anomalia.setDescripcion("Saldo negativo en cuenta: " + cuenta.getSaldo());
                     anomalia.setSeveridad("ALTA");
                     anomalias.add(anomalia);
-                    System.out.println("🚨 ANOMALÍA DETECTADA - SALDO NEGATIVO - Cuenta: " + cuenta.getCuentaId());
+                    auditarAnomalia(auditoria, anomalia, "Cuenta");
                 }
                 
                 // 3. DATOS FALTANTES EN CUENTAS
@@ -195,7 +228,7 @@ public class ProcessorConfig {
                     anomalia.setDescripcion("Nombre faltante en cuenta");
                     anomalia.setSeveridad("MEDIA");
                     anomalias.add(anomalia);
-                    System.out.println("🚨 ANOMALÍA DETECTADA - NOMBRE FALTANTE - Cuenta: " + cuenta.getCuentaId());
+                    auditarAnomalia(auditoria, anomalia, "Cuenta");
                 }
                 
                 // 4. EDADES FUERA DE RANGO
@@ -206,7 +239,7 @@ public class ProcessorConfig {
                     anomalia.setDescripcion("Edad fuera de rango: " + cuenta.getEdad() + " años");
                     anomalia.setSeveridad("MEDIA");
                     anomalias.add(anomalia);
-                    System.out.println("🚨 ANOMALÍA DETECTADA - EDAD INVÁLIDA - Cuenta: " + cuenta.getCuentaId());
+                    auditarAnomalia(auditoria, anomalia, "Cuenta");
                 }
                 
                 // 5. TIPOS DE CUENTA INVÁLIDOS
@@ -220,7 +253,7 @@ public class ProcessorConfig {
                         anomalia.setDescripcion("Tipo de cuenta inválido: " + cuenta.getTipo());
                         anomalia.setSeveridad("MEDIA");
                         anomalias.add(anomalia);
-                        System.out.println("🚨 ANOMALÍA DETECTADA - TIPO CUENTA INVÁLIDO - Cuenta: " + cuenta.getCuentaId());
+                        auditarAnomalia(auditoria, anomalia, "Cuenta");
                     }
                 }
                 
@@ -228,5 +261,12 @@ public class ProcessorConfig {
             }
         };
     }
-}
 
+    // El mensaje solo se arma si el step audita WARN (las anomalías no se muestrean)
+    private static void auditarAnomalia(AuditoriaBatch auditoria, AnomaliaTransaccion anomalia, String referencia) {
+        if (auditoria.debeRegistrar(NivelAuditoria.WARN)) {
+            auditoria.publicar(NivelAuditoria.WARN, "ANOMALIA_DETECTADA", 
+                             anomalia.getTipoAnomalia() + " - " + referencia + ": " + anomalia.getTransaccionId());
+        }
+    }
+}
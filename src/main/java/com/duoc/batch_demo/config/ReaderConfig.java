@@ -6,22 +6,31 @@ import java.time.format.DateTimeFormatter;
 
 import javax.sql.DataSource;
 
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.configuration.annotation.StepScope;
 import org.springframework.batch.item.database.JdbcCursorItemReader;
 import org.springframework.batch.item.database.builder.JdbcCursorItemReaderBuilder;
 import org.springframework.batch.item.file.FlatFileItemReader;
 import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
 import org.springframework.batch.item.file.mapping.DefaultLineMapper;
 import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.jdbc.core.BeanPropertyRowMapper;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.duoc.batch_demo.incremental.MarcaAguaListener;
+import com.duoc.batch_demo.incremental.RepositorioMarcasAgua;
+import com.duoc.batch_demo.incremental.VentanaIncremental;
 
 import com.duoc.batch_demo.model.Cuenta;
 import com.duoc.batch_demo.model.CuentaAnual;
 import com.duoc.batch_demo.model.Transaccion;
 
-@Configuration
+/**
+ * Readers de los jobs. Ver jobs.RegistroJobsModulares.COMPONENTES.
+ */
 public class ReaderConfig {
 
     @Bean
@@ -35,6 +44,34 @@ public class ReaderConfig {
         System.out.println("   📊 Registros esperados: ~1,000 transacciones");
         System.out.println("   🎯 Arquitectura híbrida ahora JUSTIFICADA");
         
+        DefaultLineMapper<Transaccion> lineMapper = transaccionLineMapper();
+        
+        reader.setLineMapper(lineMapper);
+        return reader;
+    }
+
+    @Bean
+    public FlatFileItemReader<Cuenta> cuentaReader() {
+        FlatFileItemReader<Cuenta> reader = new FlatFileItemReader<>();
+        reader.setResource(new ClassPathResource("data/semana_3/intereses.csv")); // Usando dataset REAL con 1000+ registros
+        reader.setLinesToSkip(1); // Skip header
+        
+        System.out.println("🚀 CUENTA READER CONFIGURADO PARA DATASET REAL:");
+        System.out.println("   📁 Archivo: data/semana_3/intereses.csv");
+        System.out.println("   📊 Registros esperados: ~1,000 cuentas");
+        System.out.println("   🎯 Multi-threading ahora JUSTIFICADO");
+        
+        DefaultLineMapper<Cuenta> lineMapper = cuentaLineMapper();
+        
+        reader.setLineMapper(lineMapper);
+        return reader;
+    }
+
+    /**
+     * Mapeo de líneas de transacciones.csv, compartido con el reproceso de la dead-letter
+     * (líneas omitidas por error de lectura).
+     */
+    public static DefaultLineMapper<Transaccion> transaccionLineMapper() {
         DefaultLineMapper<Transaccion> lineMapper = new DefaultLineMapper<>();
         
         DelimitedLineTokenizer tokenizer = new DelimitedLineTokenizer();
@@ -79,22 +116,14 @@ public class ReaderConfig {
         
         lineMapper.setLineTokenizer(tokenizer);
         lineMapper.setFieldSetMapper(fieldSetMapper);
-        
-        reader.setLineMapper(lineMapper);
-        return reader;
+        return lineMapper;
     }
 
-    @Bean
-    public FlatFileItemReader<Cuenta> cuentaReader() {
-        FlatFileItemReader<Cuenta> reader = new FlatFileItemReader<>();
-        reader.setResource(new ClassPathResource("data/semana_3/intereses.csv")); // Usando dataset REAL con 1000+ registros
-        reader.setLinesToSkip(1); // Skip header
-        
-        System.out.println("🚀 CUENTA READER CONFIGURADO PARA DATASET REAL:");
-        System.out.println("   📁 Archivo: data/semana_3/intereses.csv");
-        System.out.println("   📊 Registros esperados: ~1,000 cuentas");
-        System.out.println("   🎯 Multi-threading ahora JUSTIFICADO");
-        
+    /**
+     * Mapeo de líneas de intereses.csv, compartido con el reproceso de la dead-letter
+     * (líneas omitidas por error de lectura).
+     */
+    public static DefaultLineMapper<Cuenta> cuentaLineMapper() {
         DefaultLineMapper<Cuenta> lineMapper = new DefaultLineMapper<>();
         
         DelimitedLineTokenizer tokenizer = new DelimitedLineTokenizer();
@@ -143,9 +172,7 @@ public class ReaderConfig {
         
         lineMapper.setLineTokenizer(tokenizer);
         lineMapper.setFieldSetMapper(fieldSetMapper);
-        
-        reader.setLineMapper(lineMapper);
-        return reader;
+        return lineMapper;
     }
 
     @Bean
@@ -211,24 +238,49 @@ public class ReaderConfig {
         return reader;
     }
 
+    // Modo incremental de los readers de transacciones desde la base: cada job
+    // lee solo las filas posteriores a su marca de agua (batch_watermarks)
+    @Bean
+    public MarcaAguaListener marcaAguaListener(DataSource dataSource,
+                                               @Value("${banco.batch.incremental.enabled:false}") boolean incremental) {
+        if (incremental) {
+            System.out.println("💧 Anomalías incrementales: solo transacciones posteriores a la marca de agua de cada job");
+        }
+        return new MarcaAguaListener(new RepositorioMarcasAgua(new JdbcTemplate(dataSource)), incremental);
+    }
+
     // Reader específico para anomalías - Lee transacciones desde la base de datos
     @Bean
-    public JdbcCursorItemReader<Transaccion> anomaliaTransaccionReader(DataSource dataSource) {
+    @StepScope
+    public JdbcCursorItemReader<Transaccion> anomaliaTransaccionReader(DataSource dataSource,
+                                                                       @Value("#{stepExecution}") StepExecution stepExecution) {
+        VentanaIncremental ventana = VentanaIncremental.de(stepExecution.getExecutionContext()).orElse(null);
         return new JdbcCursorItemReaderBuilder<Transaccion>()
                 .name("anomaliaTransaccionReader")
                 .dataSource(dataSource)
                 .sql("SELECT id, fecha, monto, tipo, fecha_procesamiento, es_anomalia, motivo_anomalia " +
-                     "FROM transacciones WHERE es_anomalia = true")
+                     "FROM transacciones WHERE es_anomalia = true" +
+                     (ventana != null ? " AND " + ventana.condicion() + " ORDER BY fecha_procesamiento, id" : ""))
+                .preparedStatementSetter(ventana != null ? ventana.parametros() : null)
                 .rowMapper(new BeanPropertyRowMapper<>(Transaccion.class))
                 .build();
     }
     
     // Reader especializado para detectar TODAS las anomalías (no solo las marcadas)
     @Bean 
-    public JdbcCursorItemReader<Transaccion> todasLasTransaccionesReader(DataSource dataSource) {
+    @StepScope
+    public JdbcCursorItemReader<Transaccion> todasLasTransaccionesReader(DataSource dataSource,
+                                                                         @Value("#{stepExecution}") StepExecution stepExecution) {
+        VentanaIncremental ventana = VentanaIncremental.de(stepExecution.getExecutionContext()).orElse(null);
         JdbcCursorItemReader<Transaccion> reader = new JdbcCursorItemReader<>();
         reader.setDataSource(dataSource);
-        reader.setSql("SELECT id, fecha, monto, tipo, fecha_procesamiento, es_anomalia, motivo_anomalia FROM transacciones ORDER BY id");
+        if (ventana != null) {
+            reader.setSql("SELECT id, fecha, monto, tipo, fecha_procesamiento, es_anomalia, motivo_anomalia FROM transacciones " +
+                          "WHERE " + ventana.condicion() + " ORDER BY fecha_procesamiento, id");
+            reader.setPreparedStatementSetter(ventana.parametros());
+        } else {
+            reader.setSql("SELECT id, fecha, monto, tipo, fecha_procesamiento, es_anomalia, motivo_anomalia FROM transacciones ORDER BY id");
+        }
         
         reader.setRowMapper(new org.springframework.jdbc.core.RowMapper<Transaccion>() {
             @Override
@@ -0,0 +1,168 @@
+package com.duoc.batch_demo.config;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import javax.sql.DataSource;
+
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.jdbc.datasource.init.DatabasePopulatorUtils;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+
+import com.duoc.batch_demo.repositorio.JobRepositoryCoalescido;
+import com.duoc.batch_demo.repositorio.JobRepositoryDelegado;
+import com.duoc.batch_demo.repositorio.JobRepositoryTrasCommit;
+import com.duoc.batch_demo.repositorio.RetencionMetadatosBatch;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Configuración del JobRepository de Spring Batch.
+ *
+ * Base del repositorio: @EnableBatchProcessing usa batchDataSource y
+ * batchTransactionManager. Por defecto son el dataSource y el
+ * transactionManager del banco (MySQL). Con
+ * banco.batch.repositorio.datasource.enabled=true las tablas BATCH_* van a
+ * una base propia (por defecto un archivo H2 local al host batch) con su
+ * propio pool y transaction manager, y dejan de competir con los BFFs.
+ *
+ * Garantías con base propia: los datos del banco siguen escribiéndose en la
+ * transacción de cada chunk en MySQL. El checkpoint del step se escribe en la
+ * base del repositorio justo después de ese commit (JobRepositoryTrasCommit),
+ * no en la misma transacción. Si el proceso cae entre ambos commits, el
+ * reinicio reprocesa el último chunk: al menos una vez en lugar de
+ * exactamente una vez. Los writers con upsert no se ven afectados; los que
+ * insertan filas con id autoincremental pueden duplicar ese chunk.
+ *
+ * Checkpoint coalescido: con banco.batch.repositorio.coalescer.enabled=true
+ * los steps de banco.batch.repositorio.coalescer.pasos escriben su checkpoint
+ * cada N chunks o T ms en vez de en cada commit. Solo se listan steps cuyos
+ * writers son upserts, para los que reprocesar unos chunks al reiniciar no
+ * duplica filas; el resto mantiene reinicio exacto.
+ *
+ * Retención: con banco.batch.retencion.enabled=true una tarea programada
+ * borra en lotes acotados las instancias terminadas hace más de N días, para
+ * que las tablas BATCH_* no crezcan sin límite ni frenen cada lanzamiento.
+ */
+@Configuration
+@EnableScheduling
+public class RepositorioBatchConfig {
+
+    @Bean(defaultCandidate = false)
+    public DataSource batchDataSource(DataSource dataSource,
+                                      @Value("${banco.batch.repositorio.datasource.enabled:false}") boolean separado,
+                                      @Value("${banco.batch.repositorio.datasource.url:jdbc:h2:file:./data/batch-repositorio}") String url,
+                                      @Value("${banco.batch.repositorio.datasource.username:sa}") String usuario,
+                                      @Value("${banco.batch.repositorio.datasource.password:}") String clave,
+                                      @Value("${banco.batch.repositorio.datasource.maximo-conexiones:5}") int maximoConexiones) throws SQLException {
+        if (!separado) {
+            return dataSource;
+        }
+        HikariDataSource batchDataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(usuario)
+                .password(clave)
+                .build();
+        batchDataSource.setPoolName("BatchRepositorio");
+        batchDataSource.setMaximumPoolSize(maximoConexiones);
+        inicializarEsquema(batchDataSource, url);
+
+        System.out.println("🗄️ JobRepository en base propia: " + url + " (" + maximoConexiones + " conexiones)");
+        System.out.println("   Datos del banco en el dataSource principal; checkpoint escrito tras cada commit de datos");
+        return batchDataSource;
+    }
+
+    @Bean(defaultCandidate = false)
+    public JdbcTransactionManager batchTransactionManager(@Qualifier("batchDataSource") DataSource batchDataSource,
+                                                          JdbcTransactionManager transactionManager) {
+        if (batchDataSource == transactionManager.getDataSource()) {
+            return transactionManager;
+        }
+        return new JdbcTransactionManager(batchDataSource);
+    }
+
+    @Bean
+    public RetencionMetadatosBatch retencionMetadatosBatch(@Qualifier("batchDataSource") DataSource batchDataSource,
+                                                           @Qualifier("batchTransactionManager") JdbcTransactionManager batchTransactionManager,
+                                                           JobRepository jobRepository,
+                                                           @Value("${banco.batch.retencion.enabled:false}") boolean habilitada,
+                                                           @Value("${banco.batch.retencion.dias:30}") int dias,
+                                                           @Value("${banco.batch.retencion.lote:100}") int lote,
+                                                           @Value("${banco.batch.retencion.pausa-ms:200}") long pausaMs,
+                                                           MeterRegistry meterRegistry) {
+        if (habilitada) {
+            System.out.println("🧹 Retención de metadatos batch: instancias terminadas hace más de " + dias +
+                             " días, en lotes de " + lote);
+        }
+        return new RetencionMetadatosBatch(batchDataSource, batchTransactionManager, jobRepository,
+                habilitada, dias, lote, pausaMs, meterRegistry);
+    }
+
+    /**
+     * Crea las tablas BATCH_* con el script de Spring Batch de la plataforma
+     * si la base del repositorio aún no las tiene.
+     */
+    private static void inicializarEsquema(DataSource batchDataSource, String url) throws SQLException {
+        try (Connection conexion = batchDataSource.getConnection();
+             ResultSet tablas = conexion.getMetaData().getTables(null, null, "BATCH_JOB_INSTANCE", null)) {
+            if (tablas.next()) {
+                return;
+            }
+        }
+        String plataforma = DatabaseDriver.fromJdbcUrl(url).getId();
+        System.out.println("🗄️ Creando tablas BATCH_* (" + plataforma + ") en la base del JobRepository");
+        DatabasePopulatorUtils.execute(new ResourceDatabasePopulator(
+                new ClassPathResource("org/springframework/batch/core/schema-" + plataforma + ".sql")), batchDataSource);
+    }
+
+    @Bean
+    public static BeanPostProcessor jobRepositoryPostProcessor(Environment environment,
+                                                               ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof JobRepository repositorio) || bean instanceof JobRepositoryDelegado) {
+                    return bean;
+                }
+                if (environment.getProperty("banco.batch.repositorio.datasource.enabled", Boolean.class, false)) {
+                    repositorio = new JobRepositoryTrasCommit(repositorio);
+                }
+                if (environment.getProperty("banco.batch.repositorio.coalescer.enabled", Boolean.class, false)) {
+                    repositorio = coalescido(repositorio, environment, meterRegistry.getObject());
+                }
+                return repositorio;
+            }
+        };
+    }
+
+    private static JobRepository coalescido(JobRepository repositorio, Environment environment, MeterRegistry meterRegistry) {
+        Set<String> pasos = Arrays.stream(environment.getProperty("banco.batch.repositorio.coalescer.pasos", "").split(","))
+                .map(String::trim)
+                .filter(paso -> !paso.isEmpty())
+                .collect(Collectors.toSet());
+        int chunks = environment.getProperty("banco.batch.repositorio.coalescer.chunks", Integer.class, 20);
+        long intervaloMs = environment.getProperty("banco.batch.repositorio.coalescer.intervalo-ms", Long.class, 5000L);
+
+        System.out.println("🗄️ JobRepository coalescido: checkpoint cada " + chunks + " chunks o " + intervaloMs +
+                         " ms en " + pasos + " (resto de steps: cada commit)");
+        return new JobRepositoryCoalescido(repositorio, pasos, chunks, intervaloMs, meterRegistry);
+    }
+}
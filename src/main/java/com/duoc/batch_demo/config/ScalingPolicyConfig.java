@@ -1,5 +1,6 @@
 package com.duoc.batch_demo.config;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.core.task.SimpleAsyncTaskExecutor;
@@ -18,6 +19,13 @@ import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
 @Configuration
 public class ScalingPolicyConfig {
 
+    /**
+     * Con banco.batch.hilos-virtuales.enabled=true (y runtime Java 21+) los executors
+     * de steps y particiones usan hilos virtuales en vez de pools de plataforma.
+     */
+    @Value("${banco.batch.hilos-virtuales.enabled:false}")
+    private boolean hilosVirtualesHabilitados;
+
     /**
      * Configuración del pool de threads principal para procesamiento bancario.
      * Optimizado para alta concurrencia con escalamiento automático.
@@ -58,6 +66,10 @@ public class ScalingPolicyConfig {
      */
     @Bean(name = "transactionTaskExecutor")
     public TaskExecutor transactionTaskExecutor() {
+        if (usarHilosVirtuales()) {
+            return crearEjecutorHilosVirtuales("Transaction-Processor-", 60);
+        }
+        
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         
         // Configuración específica para transacciones
@@ -87,6 +99,10 @@ public class ScalingPolicyConfig {
      */
     @Bean(name = "accountTaskExecutor")
     public TaskExecutor accountTaskExecutor() {
+        if (usarHilosVirtuales()) {
+            return crearEjecutorHilosVirtuales("Account-Processor-", 90);
+        }
+        
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         
         // Configuración balanceada para cuentas
@@ -116,6 +132,10 @@ public class ScalingPolicyConfig {
      */
     @Bean(name = "anomalyTaskExecutor")
     public TaskExecutor anomalyTaskExecutor() {
+        if (usarHilosVirtuales()) {
+            return crearEjecutorHilosVirtuales("Anomaly-Detector-", 150);
+        }
+        
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         
         // Configuración de alto rendimiento
@@ -145,6 +165,10 @@ public class ScalingPolicyConfig {
      */
     @Bean(name = "partitionCoordinatorTaskExecutor")
     public TaskExecutor partitionCoordinatorTaskExecutor() {
+        if (usarHilosVirtuales()) {
+            return crearEjecutorHilosVirtuales("Partition-Coordinator-", 60);
+        }
+        
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         
         // Configuración minimalista para coordinación
@@ -169,6 +193,27 @@ public class ScalingPolicyConfig {
         return executor;
     }
 
+    /**
+     * TaskExecutor del lanzador asíncrono de la API de jobs.
+     * Cada hilo queda ocupado mientras corre su job (los steps usan sus propios
+     * executors); al llenarse, los lanzamientos se rechazan en vez de encolarse.
+     */
+    @Bean(name = "lanzadorJobsTaskExecutor")
+    public TaskExecutor lanzadorJobsTaskExecutor(@Value("${banco.batch.api.lanzador.hilos:4}") int hilos) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(hilos);
+        executor.setMaxPoolSize(hilos);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("Job-Launcher-");
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(120);
+        executor.initialize();
+
+        System.out.println("🚀 Job Launcher TaskExecutor configurado: " + hilos + " jobs concurrentes vía API");
+
+        return executor;
+    }
+
     /**
      * Simple AsyncTaskExecutor como fallback para tareas básicas.
      * Executor ligero para operaciones que no requieren pool complejo.
@@ -186,13 +231,75 @@ public class ScalingPolicyConfig {
         return executor;
     }
 
+    /**
+     * TaskExecutor de hilos virtuales para procesamiento asíncrono de items.
+     * Pensado para trabajo dominado por I/O (enriquecimiento, escrituras JDBC):
+     * no necesita ajustar cantidad de hilos. AsyncItemProcessor envía una tarea
+     * por item (chunk × hilos de step en vuelo), así que en runtimes anteriores
+     * a Java 21 se usa un pool de plataforma acotado
+     * (banco.batch.async.hilos-plataforma) en vez de un hilo nuevo por item; con
+     * la cola llena el item se procesa en el hilo del step.
+     */
+    @Bean(name = "virtualThreadTaskExecutor")
+    public TaskExecutor virtualThreadTaskExecutor(@Value("${banco.batch.async.hilos-plataforma:16}") int hilosPlataforma) {
+        if (hilosVirtualesDisponibles()) {
+            return crearEjecutorHilosVirtuales("Virtual-Item-", 60);
+        }
+
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(hilosPlataforma);
+        executor.setMaxPoolSize(hilosPlataforma);
+        executor.setQueueCapacity(hilosPlataforma * 10);
+        executor.setThreadNamePrefix("Async-Item-");
+        executor.setRejectedExecutionHandler(new java.util.concurrent.ThreadPoolExecutor.CallerRunsPolicy());
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(60);
+        executor.initialize();
+
+        System.out.println("🧵 TaskExecutor Async-Item- configurado con " + hilosPlataforma +
+                         " hilos de plataforma (Java " + Runtime.version().feature() + " < 21, sin hilos virtuales)");
+
+        return executor;
+    }
+
+    /**
+     * Hilos virtuales solo si están habilitados por propiedad y el runtime los soporta.
+     */
+    private boolean usarHilosVirtuales() {
+        if (hilosVirtualesHabilitados && !hilosVirtualesDisponibles()) {
+            System.out.println("⚠️ Hilos virtuales solicitados pero el runtime es Java " + 
+                             Runtime.version().feature() + " (requiere 21+): se usan pools de plataforma");
+        }
+        return hilosVirtualesHabilitados && hilosVirtualesDisponibles();
+    }
+
+    public static boolean hilosVirtualesDisponibles() {
+        return Runtime.version().feature() >= 21;
+    }
+
+    /**
+     * Solo con hilos virtuales disponibles: sin límite de concurrencia, con
+     * hilos de plataforma sería un hilo nuevo por tarea.
+     */
+    private static SimpleAsyncTaskExecutor crearEjecutorHilosVirtuales(String prefijo, int segundosTerminacion) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(prefijo);
+        executor.setVirtualThreads(true);
+        executor.setTaskTerminationTimeout(segundosTerminacion * 1000L);
+        
+        System.out.println("🧵 TaskExecutor " + prefijo + " configurado con hilos virtuales");
+        
+        return executor;
+    }
+
     /**
      * Configuración del tamaño de chunk optimizado para procesamiento paralelo.
      * Retorna el tamaño de chunk balanceado entre rendimiento y memoria.
+     * Es también el intervalo de commit: los writers multi-fila no agrupan más
+     * filas por sentencia que las de un chunk (banco.batch.chunk-size).
      */
     @Bean(name = "optimizedChunkSize")
-    public Integer getOptimizedChunkSize() {
-        final int CHUNK_SIZE = 5;
+    public Integer getOptimizedChunkSize(@Value("${banco.batch.chunk-size:5}") int chunkSize) {
+        final int CHUNK_SIZE = chunkSize;
         
         System.out.println("Chunk Size Optimizado configurado:");
         System.out.println("   Tamaño por chunk: " + CHUNK_SIZE + " registros");
@@ -1,67 +1,185 @@
 package com.duoc.batch_demo.config;
 
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Map;
 import javax.sql.DataSource;
 
+import org.springframework.batch.core.step.skip.SkipPolicy;
+import org.springframework.batch.item.ItemWriter;
 import org.springframework.batch.item.database.JdbcBatchItemWriter;
 import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
-import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import io.micrometer.core.instrument.MeterRegistry;
+
+import com.duoc.batch_demo.audit.AuditoriaBatch;
+import com.duoc.batch_demo.deadletter.DeadLetterSkipListener;
 import com.duoc.batch_demo.model.AnomaliaTransaccion;
 import com.duoc.batch_demo.model.Cuenta;
 import com.duoc.batch_demo.model.CuentaAnual;
 import com.duoc.batch_demo.model.EstadoCuentaAnual;
 import com.duoc.batch_demo.model.InteresCalculado;
 import com.duoc.batch_demo.model.Transaccion;
+import com.duoc.batch_demo.writer.AnomaliaListItemWriter;
+import com.duoc.batch_demo.writer.AnomaliaTransaccionPreparedStatementSetter;
+import com.duoc.batch_demo.writer.BiseccionItemWriter;
+import com.duoc.batch_demo.writer.CuentaAnualLoadDataCodificador;
+import com.duoc.batch_demo.writer.CuentaAnualPreparedStatementSetter;
+import com.duoc.batch_demo.writer.CuentaPreparedStatementSetter;
+import com.duoc.batch_demo.writer.CuentaStagingMergeItemWriter;
+import com.duoc.batch_demo.writer.DeltaTransaccionItemWriter;
+import com.duoc.batch_demo.writer.DialectoSql;
+import com.duoc.batch_demo.writer.EnlazadorPosicional;
+import com.duoc.batch_demo.writer.EstadoCuentaAnualPreparedStatementSetter;
+import com.duoc.batch_demo.writer.InteresCalculadoPreparedStatementSetter;
+import com.duoc.batch_demo.writer.ListaAplanadaItemWriter;
+import com.duoc.batch_demo.writer.MultiFilaItemWriter;
+import com.duoc.batch_demo.writer.MySqlLoadDataItemWriter;
+import com.duoc.batch_demo.writer.TablaMultiFila;
+import com.duoc.batch_demo.writer.TransaccionLoadDataCodificador;
+import com.duoc.batch_demo.writer.TransaccionPreparedStatementSetter;
+import com.duoc.batch_demo.writer.columnar.ColumnarItemWriter;
+import com.duoc.batch_demo.writer.columnar.EsquemaColumnar;
 
-@Configuration
+/**
+ * Writers de los jobs. Ver jobs.RegistroJobsModulares.COMPONENTES.
+ */
 public class WriterConfig {
 
+    private final DialectoSql dialecto;
+    private final int multiFilaMaxFilas;
+    private final int multiFilaMaxBytes;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${banco.batch.writer.columnar.directorio:data/columnar}")
+    private Path columnarDirectorio;
+
+    @Value("${banco.batch.writer.columnar.filas-por-grupo:65536}")
+    private int columnarFilasPorGrupo;
+
+    @Value("${banco.batch.writer.columnar.nivel-compresion:6}")
+    private int columnarNivelCompresion;
+
+    @Value("${banco.batch.writer.columnar.buffer-kb:1024}")
+    private int columnarBufferKb;
+
+    @Value("${banco.batch.writer.biseccion.enabled:false}")
+    private boolean biseccion;
+
+    public WriterConfig(@Value("${spring.datasource.url:}") String url,
+                        @Value("${banco.batch.writer.multi-fila.max-filas:1000}") int multiFilaMaxFilas,
+                        @Value("${banco.batch.writer.multi-fila.max-bytes:1048576}") int multiFilaMaxBytes,
+                        MeterRegistry meterRegistry) {
+        this.dialecto = DialectoSql.desdeUrl(url);
+        this.multiFilaMaxFilas = multiFilaMaxFilas;
+        this.multiFilaMaxBytes = multiFilaMaxBytes;
+        this.meterRegistry = meterRegistry;
+    }
+
     @Bean
-    public JdbcBatchItemWriter<Transaccion> transaccionWriter(DataSource dataSource) {
-        return new JdbcBatchItemWriterBuilder<Transaccion>()
-                .itemSqlParameterSourceProvider(transaccion -> {
-                    // Convertir el objeto a un mapa de parámetros SQL
-                    org.springframework.batch.item.database.ItemSqlParameterSourceProvider<Transaccion> provider = 
-                        new org.springframework.batch.item.database.BeanPropertyItemSqlParameterSourceProvider<>();
-                    return provider.createSqlParameterSource(transaccion);
-                })
-                .sql("INSERT INTO transacciones (id, fecha, monto, tipo, fecha_procesamiento, es_anomalia, motivo_anomalia) " +
-                     "VALUES (:id, :fecha, :monto, :tipo, :fechaProcesamiento, :esAnomalia, :motivoAnomalia) " +
-                     "ON DUPLICATE KEY UPDATE monto = :monto, tipo = :tipo, fecha_procesamiento = :fechaProcesamiento, " +
-                     "es_anomalia = :esAnomalia, motivo_anomalia = :motivoAnomalia")
-                .dataSource(dataSource)
-                .build();
+    public ItemWriter<Transaccion> transaccionWriter(DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            AuditoriaBatch auditoria,
+            @Qualifier("transaccionesSkipPolicy") SkipPolicy transaccionesSkipPolicy,
+            DeadLetterSkipListener deadLetterSkipListener,
+            @Value("${spring.datasource.url:}") String url,
+            @Value("${banco.batch.writer.transacciones.modo:jdbc}") String modo,
+            @Value("${banco.batch.writer.transacciones.binder:posicional}") String binder,
+            @Value("${banco.batch.writer.transacciones.delta:false}") boolean delta) {
+        ItemWriter<Transaccion> writer = conBiseccion(crearTransaccionWriter(dataSource, auditoria, url, modo, binder),
+                transactionManager, Map.of("transaccionesStep", transaccionesSkipPolicy,
+                        "reprocesoTransaccionesStep", transaccionesSkipPolicy),
+                deadLetterSkipListener, "transacciones");
+        if (!delta) {
+            return writer;
+        }
+        if (dialecto == null) {
+            System.out.println("⚠️ Writer transacciones: escritura por cambios sin dialecto para la URL configurada, se escriben todas las filas");
+            return writer;
+        }
+        System.out.println("🧬 Writer transacciones: solo filas nuevas o modificadas (huellas en transacciones_huella)");
+        return new DeltaTransaccionItemWriter(writer, dataSource, dialecto, auditoria, meterRegistry);
+    }
+
+    private ItemWriter<Transaccion> crearTransaccionWriter(DataSource dataSource,
+            AuditoriaBatch auditoria,
+            String url,
+            String modo,
+            String binder) {
+        if (usarLoadData("transacciones", modo, url)) {
+            return new MySqlLoadDataItemWriter<>(dataSource, new TransaccionLoadDataCodificador(), auditoria);
+        }
+        if (usarMultiFila("transacciones", modo)) {
+            return new MultiFilaItemWriter<>(dataSource, dialecto,
+                    TablaMultiFila.upsert("transacciones",
+                            List.of("id", "fecha", "monto", "tipo", "fecha_procesamiento", "es_anomalia", "motivo_anomalia"),
+                            List.of("id"),
+                            List.of("monto", "tipo", "fecha_procesamiento", "es_anomalia", "motivo_anomalia")),
+                    new TransaccionPreparedStatementSetter(), multiFilaMaxFilas, multiFilaMaxBytes, meterRegistry);
+        }
+        return crearJdbcWriter(dataSource, binder, new TransaccionPreparedStatementSetter(), TransaccionPreparedStatementSetter.SQL,
+                "INSERT INTO transacciones (id, fecha, monto, tipo, fecha_procesamiento, es_anomalia, motivo_anomalia) " +
+                    "VALUES (:id, :fecha, :monto, :tipo, :fechaProcesamiento, :esAnomalia, :motivoAnomalia) " +
+                    "ON DUPLICATE KEY UPDATE monto = :monto, tipo = :tipo, fecha_procesamiento = :fechaProcesamiento, " +
+                    "es_anomalia = :esAnomalia, motivo_anomalia = :motivoAnomalia");
     }
 
     @Bean
-    public JdbcBatchItemWriter<Cuenta> cuentaWriter(DataSource dataSource) {
-        return new JdbcBatchItemWriterBuilder<Cuenta>()
-                .itemSqlParameterSourceProvider(cuenta -> {
-                    org.springframework.batch.item.database.ItemSqlParameterSourceProvider<Cuenta> provider = 
-                        new org.springframework.batch.item.database.BeanPropertyItemSqlParameterSourceProvider<>();
-                    return provider.createSqlParameterSource(cuenta);
-                })
-                .sql("INSERT INTO cuentas (cuenta_id, nombre, saldo, edad, tipo, fecha_actualizacion) " +
-                     "VALUES (:cuentaId, :nombre, :saldo, :edad, :tipo, :fechaActualizacion) " +
-                     "ON DUPLICATE KEY UPDATE saldo = :saldo, fecha_actualizacion = :fechaActualizacion")
-                .dataSource(dataSource)
-                .build();
+    public ItemWriter<Cuenta> cuentaWriter(DataSource dataSource,
+            PlatformTransactionManager transactionManager,
+            AuditoriaBatch auditoria,
+            @Qualifier("cuentasSkipPolicy") SkipPolicy cuentasSkipPolicy,
+            DeadLetterSkipListener deadLetterSkipListener,
+            @Value("${banco.batch.writer.cuentas.modo:jdbc}") String modo,
+            @Value("${banco.batch.writer.cuentas.binder:posicional}") String binder) {
+        if ("staging".equalsIgnoreCase(modo)) {
+            if (dialecto != null) {
+                System.out.println("🔀 Writer cuentas: staging + merge por conjuntos al cierre de cada step/partición (" + dialecto + ")");
+                return new CuentaStagingMergeItemWriter(dataSource, transactionManager, dialecto, auditoria);
+            }
+            System.out.println("⚠️ Writer cuentas: modo staging sin dialecto para la URL configurada, se usa JDBC");
+        }
+        ItemWriter<Cuenta> writer;
+        if (usarMultiFila("cuentas", modo)) {
+            writer = new MultiFilaItemWriter<>(dataSource, dialecto,
+                    TablaMultiFila.upsert("cuentas",
+                            List.of("cuenta_id", "nombre", "saldo", "edad", "tipo", "fecha_actualizacion"),
+                            List.of("cuenta_id"),
+                            List.of("saldo", "fecha_actualizacion")),
+                    new CuentaPreparedStatementSetter(), multiFilaMaxFilas, multiFilaMaxBytes, meterRegistry);
+        } else {
+            writer = crearJdbcWriter(dataSource, binder, new CuentaPreparedStatementSetter(), CuentaPreparedStatementSetter.SQL,
+                    "INSERT INTO cuentas (cuenta_id, nombre, saldo, edad, tipo, fecha_actualizacion) " +
+                        "VALUES (:cuentaId, :nombre, :saldo, :edad, :tipo, :fechaActualizacion) " +
+                        "ON DUPLICATE KEY UPDATE saldo = :saldo, fecha_actualizacion = :fechaActualizacion");
+        }
+        return conBiseccion(writer, transactionManager, Map.of("interesesStep", cuentasSkipPolicy,
+                        "reprocesoCuentasStep", cuentasSkipPolicy),
+                deadLetterSkipListener, "cuentas");
     }
 
     @Bean
-    public JdbcBatchItemWriter<CuentaAnual> cuentaAnualWriter(DataSource dataSource) {
-        return new JdbcBatchItemWriterBuilder<CuentaAnual>()
-                .itemSqlParameterSourceProvider(cuentaAnual -> {
-                    org.springframework.batch.item.database.ItemSqlParameterSourceProvider<CuentaAnual> provider = 
-                        new org.springframework.batch.item.database.BeanPropertyItemSqlParameterSourceProvider<>();
-                    return provider.createSqlParameterSource(cuentaAnual);
-                })
-                .sql("INSERT INTO cuentas_anuales (cuenta_id, fecha, transaccion, monto, descripcion, fecha_procesamiento) " +
-                     "VALUES (:cuentaId, :fecha, :transaccion, :monto, :descripcion, :fechaProcesamiento)")
-                .dataSource(dataSource)
-                .build();
+    public ItemWriter<CuentaAnual> cuentaAnualWriter(DataSource dataSource,
+            AuditoriaBatch auditoria,
+            @Value("${spring.datasource.url:}") String url,
+            @Value("${banco.batch.writer.cuentas-anuales.modo:jdbc}") String modo,
+            @Value("${banco.batch.writer.cuentas-anuales.binder:posicional}") String binder) {
+        if (usarLoadData("cuentas-anuales", modo, url)) {
+            return new MySqlLoadDataItemWriter<>(dataSource, new CuentaAnualLoadDataCodificador(), auditoria);
+        }
+        if (usarMultiFila("cuentas-anuales", modo)) {
+            return new MultiFilaItemWriter<>(dataSource, dialecto,
+                    TablaMultiFila.insercion("cuentas_anuales",
+                            List.of("cuenta_id", "fecha", "transaccion", "monto", "descripcion", "fecha_procesamiento")),
+                    new CuentaAnualPreparedStatementSetter(), multiFilaMaxFilas, multiFilaMaxBytes, meterRegistry);
+        }
+        return crearJdbcWriter(dataSource, binder, new CuentaAnualPreparedStatementSetter(), CuentaAnualPreparedStatementSetter.SQL,
+                "INSERT INTO cuentas_anuales (cuenta_id, fecha, transaccion, monto, descripcion, fecha_procesamiento) " +
+                    "VALUES (:cuentaId, :fecha, :transaccion, :monto, :descripcion, :fechaProcesamiento)");
     }
 
     // ============================================
@@ -69,82 +187,145 @@ public class WriterConfig {
     // ============================================
     
     @Bean
-    public JdbcBatchItemWriter<InteresCalculado> interesCalculadoWriter(DataSource dataSource) {
-        return new JdbcBatchItemWriterBuilder<InteresCalculado>()
-                .itemSqlParameterSourceProvider(interes -> {
-                    org.springframework.batch.item.database.ItemSqlParameterSourceProvider<InteresCalculado> provider = 
-                        new org.springframework.batch.item.database.BeanPropertyItemSqlParameterSourceProvider<>();
-                    return provider.createSqlParameterSource(interes);
-                })
-                .sql("INSERT INTO intereses_calculados (cuenta_id, saldo_anterior, tasa_interes, interes_calculado, saldo_nuevo, fecha_calculo, tipo_cuenta) " +
-                     "VALUES (:cuentaId, :saldoAnterior, :tasaInteres, :interesCalculado, :saldoNuevo, :fechaCalculo, :tipoCuenta)")
-                .dataSource(dataSource)
-                .build();
+    public ItemWriter<InteresCalculado> interesCalculadoWriter(DataSource dataSource,
+            @Value("${banco.batch.writer.intereses-calculados.modo:jdbc}") String modo,
+            @Value("${banco.batch.writer.intereses-calculados.binder:posicional}") String binder) {
+        if (usarColumnar("intereses-calculados", modo)) {
+            return crearColumnarWriter(EsquemaColumnar.interesesCalculados());
+        }
+        return crearJdbcWriter(dataSource, binder, new InteresCalculadoPreparedStatementSetter(), InteresCalculadoPreparedStatementSetter.SQL,
+                "INSERT INTO intereses_calculados (cuenta_id, saldo_anterior, tasa_interes, interes_calculado, saldo_nuevo, fecha_calculo, tipo_cuenta) " +
+                    "VALUES (:cuentaId, :saldoAnterior, :tasaInteres, :interesCalculado, :saldoNuevo, :fechaCalculo, :tipoCuenta)");
     }
 
     @Bean
-    public JdbcBatchItemWriter<AnomaliaTransaccion> anomaliaTransaccionWriter(DataSource dataSource) {
-        return new JdbcBatchItemWriterBuilder<AnomaliaTransaccion>()
-                .itemSqlParameterSourceProvider(anomalia -> {
-                    org.springframework.batch.item.database.ItemSqlParameterSourceProvider<AnomaliaTransaccion> provider = 
-                        new org.springframework.batch.item.database.BeanPropertyItemSqlParameterSourceProvider<>();
-                    return provider.createSqlParameterSource(anomalia);
-                })
-                .sql("INSERT INTO anomalias_transacciones (transaccion_id, tipo_anomalia, descripcion, fecha_deteccion, severidad) " +
-                     "VALUES (:transaccionId, :tipoAnomalia, :descripcion, :fechaDeteccion, :severidad)")
-                .dataSource(dataSource)
-                .build();
+    public ItemWriter<AnomaliaTransaccion> anomaliaTransaccionWriter(DataSource dataSource,
+            @Value("${banco.batch.writer.anomalias-transacciones.modo:jdbc}") String modo,
+            @Value("${banco.batch.writer.anomalias-transacciones.binder:posicional}") String binder) {
+        if (usarColumnar("anomalias-transacciones", modo)) {
+            return crearColumnarWriter(EsquemaColumnar.anomaliasTransacciones());
+        }
+        return crearAnomaliaJdbcWriter(dataSource, binder);
+    }
+
+    private static JdbcBatchItemWriter<AnomaliaTransaccion> crearAnomaliaJdbcWriter(DataSource dataSource, String binder) {
+        return crearJdbcWriter(dataSource, binder, new AnomaliaTransaccionPreparedStatementSetter(), AnomaliaTransaccionPreparedStatementSetter.SQL,
+                "INSERT INTO anomalias_transacciones (transaccion_id, tipo_anomalia, descripcion, fecha_deteccion, severidad) " +
+                    "VALUES (:transaccionId, :tipoAnomalia, :descripcion, :fechaDeteccion, :severidad)");
     }
 
     @Bean
-    public JdbcBatchItemWriter<EstadoCuentaAnual> estadoCuentaAnualWriter(DataSource dataSource) {
-        return new JdbcBatchItemWriterBuilder<EstadoCuentaAnual>()
-                .itemSqlParameterSourceProvider(estado -> {
-                    org.springframework.batch.item.database.ItemSqlParameterSourceProvider<EstadoCuentaAnual> provider = 
-                        new org.springframework.batch.item.database.BeanPropertyItemSqlParameterSourceProvider<>();
-                    return provider.createSqlParameterSource(estado);
-                })
-                .sql("INSERT INTO estados_cuenta_anuales (cuenta_id, nombre, total_depositos, total_retiros, saldo_inicial, saldo_final, total_transacciones, intereses_ganados, año, fecha_generacion) " +
-                     "VALUES (:cuentaId, :nombre, :totalDepositos, :totalRetiros, :saldoInicial, :saldoFinal, :totalTransacciones, :interesesGanados, :año, :fechaGeneracion)")
-                .dataSource(dataSource)
-                .build();
+    public ItemWriter<EstadoCuentaAnual> estadoCuentaAnualWriter(DataSource dataSource,
+            @Value("${banco.batch.writer.estados-cuenta-anuales.modo:jdbc}") String modo,
+            @Value("${banco.batch.writer.estados-cuenta-anuales.binder:posicional}") String binder) {
+        if (usarColumnar("estados-cuenta-anuales", modo)) {
+            return crearColumnarWriter(EsquemaColumnar.estadosCuentaAnuales());
+        }
+        return crearJdbcWriter(dataSource, binder, new EstadoCuentaAnualPreparedStatementSetter(), EstadoCuentaAnualPreparedStatementSetter.SQL,
+                "INSERT INTO estados_cuenta_anuales (cuenta_id, nombre, total_depositos, total_retiros, saldo_inicial, saldo_final, total_transacciones, intereses_ganados, año, fecha_generacion) " +
+                    "VALUES (:cuentaId, :nombre, :totalDepositos, :totalRetiros, :saldoInicial, :saldoFinal, :totalTransacciones, :interesesGanados, :año, :fechaGeneracion)");
+    }
+
+    /**
+     * JdbcBatchItemWriter con enlace posicional precalculado (por defecto) o con
+     * mapeo por propiedades de bean (banco.batch.writer.&lt;tabla&gt;.binder=bean),
+     * que introspecciona cada item y se mantiene para comparar o depurar.
+     */
+    static <T> JdbcBatchItemWriter<T> crearJdbcWriter(DataSource dataSource,
+                                                      String binder,
+                                                      EnlazadorPosicional<T> enlazador,
+                                                      String sqlPosicional,
+                                                      String sqlNombrado) {
+        JdbcBatchItemWriterBuilder<T> builder = new JdbcBatchItemWriterBuilder<T>().dataSource(dataSource);
+        if ("bean".equalsIgnoreCase(binder)) {
+            builder.sql(sqlNombrado).beanMapped();
+        } else {
+            builder.sql(sqlPosicional).itemPreparedStatementSetter(enlazador);
+        }
+        JdbcBatchItemWriter<T> writer = builder.build();
+        // Puede quedar envuelto por otro writer y no registrarse como bean
+        writer.afterPropertiesSet();
+        return writer;
+    }
+
+    /**
+     * banco.batch.writer.&lt;tabla&gt;.modo=load-data solo aplica sobre MySQL con
+     * allowLoadLocalInfile=true; en cualquier otro caso (H2, Oracle) se mantiene
+     * el writer JDBC.
+     */
+    static boolean usarLoadData(String tabla, String modo, String url) {
+        if (!"load-data".equalsIgnoreCase(modo)) {
+            return false;
+        }
+        if (url == null || !url.startsWith("jdbc:mysql:") || !url.contains("allowLoadLocalInfile=true")) {
+            System.out.println("⚠️ Writer " + tabla + ": modo load-data requiere MySQL con allowLoadLocalInfile=true, se usa JDBC");
+            return false;
+        }
+        System.out.println("🚚 Writer " + tabla + ": carga masiva con LOAD DATA LOCAL INFILE");
+        return true;
+    }
+
+    /**
+     * Con banco.batch.writer.biseccion.enabled=true un error de escritura en los
+     * steps con SkipPolicy se aísla por bisección bajo savepoints en lugar del
+     * scan item por item de Spring Batch. Envuelve al writer de base de datos,
+     * por dentro de la escritura por cambios, para que las huellas solo
+     * registren filas escritas.
+     */
+    private <T> ItemWriter<T> conBiseccion(ItemWriter<T> writer,
+                                           PlatformTransactionManager transactionManager,
+                                           Map<String, SkipPolicy> politicasPorStep,
+                                           DeadLetterSkipListener deadLetterSkipListener,
+                                           String tabla) {
+        if (!biseccion) {
+            return writer;
+        }
+        System.out.println("✂️ Writer " + tabla + ": aislamiento de errores por bisección en " + politicasPorStep.keySet());
+        return new BiseccionItemWriter<>(writer, transactionManager, politicasPorStep, deadLetterSkipListener, tabla, meterRegistry);
+    }
+
+    private boolean usarColumnar(String tabla, String modo) {
+        if (!"columnar".equalsIgnoreCase(modo)) {
+            return false;
+        }
+        System.out.println("🗂️ Writer " + tabla + ": archivos columnares en " + columnarDirectorio.toAbsolutePath() +
+                         " (" + columnarFilasPorGrupo + " filas por grupo, deflate " + columnarNivelCompresion + ")");
+        return true;
+    }
+
+    private <T> ColumnarItemWriter<T> crearColumnarWriter(EsquemaColumnar<T> esquema) {
+        return new ColumnarItemWriter<>(esquema, columnarDirectorio, columnarFilasPorGrupo,
+                columnarNivelCompresion, columnarBufferKb * 1024);
+    }
+
+    /**
+     * banco.batch.writer.&lt;tabla&gt;.modo=multi-fila requiere un motor con
+     * DialectoSql (MySQL, H2, Oracle); si no se reconoce se mantiene el writer JDBC.
+     */
+    private boolean usarMultiFila(String tabla, String modo) {
+        if (!"multi-fila".equalsIgnoreCase(modo)) {
+            return false;
+        }
+        if (dialecto == null) {
+            System.out.println("⚠️ Writer " + tabla + ": modo multi-fila sin dialecto para la URL configurada, se usa JDBC");
+            return false;
+        }
+        System.out.println("🧱 Writer " + tabla + ": sentencias multi-fila " + dialecto +
+                         " (hasta " + multiFilaMaxFilas + " filas / " + multiFilaMaxBytes + " bytes)");
+        return true;
     }
     
     // Writer especializado para listas de anomalías (múltiples por item)
     @Bean
-    public org.springframework.batch.item.ItemWriter<List<AnomaliaTransaccion>> anomaliaListWriter(DataSource dataSource) {
-        return new org.springframework.batch.item.ItemWriter<List<AnomaliaTransaccion>>() {
-            @Override
-            public void write(org.springframework.batch.item.Chunk<? extends List<AnomaliaTransaccion>> chunk) throws Exception {
-                JdbcBatchItemWriter<AnomaliaTransaccion> singleItemWriter = new JdbcBatchItemWriterBuilder<AnomaliaTransaccion>()
-                    .itemSqlParameterSourceProvider(anomalia -> {
-                        org.springframework.batch.item.database.ItemSqlParameterSourceProvider<AnomaliaTransaccion> provider = 
-                            new org.springframework.batch.item.database.BeanPropertyItemSqlParameterSourceProvider<>();
-                        return provider.createSqlParameterSource(anomalia);
-                    })
-                    .sql("INSERT INTO anomalias_transacciones (transaccion_id, tipo_anomalia, descripcion, fecha_deteccion, severidad) " +
-                         "VALUES (:transaccionId, :tipoAnomalia, :descripcion, NOW(), :severidad)")
-                    .dataSource(dataSource)
-                    .build();
-                
-                singleItemWriter.afterPropertiesSet();
-                
-                // Aplanar todas las listas en una sola lista
-                List<AnomaliaTransaccion> todasLasAnomalias = new java.util.ArrayList<>();
-                for (List<AnomaliaTransaccion> listaAnomalias : chunk.getItems()) {
-                    if (listaAnomalias != null) {
-                        todasLasAnomalias.addAll(listaAnomalias);
-                    }
-                }
-                
-                if (!todasLasAnomalias.isEmpty()) {
-                    org.springframework.batch.item.Chunk<AnomaliaTransaccion> chunkAnomalias = 
-                        new org.springframework.batch.item.Chunk<>(todasLasAnomalias);
-                    singleItemWriter.write(chunkAnomalias);
-                    System.out.println("📝 GUARDADAS " + todasLasAnomalias.size() + " anomalías en la base de datos");
-                }
-            }
-        };
+    public ItemWriter<List<AnomaliaTransaccion>> anomaliaListWriter(
+            DataSource dataSource,
+            AuditoriaBatch auditoria,
+            @Value("${banco.batch.writer.anomalias-transacciones.modo:jdbc}") String modo,
+            @Value("${banco.batch.writer.anomalias-transacciones.binder:posicional}") String binder,
+            @Value("${banco.batch.writer.anomalias.tamano-lote:500}") int tamanoLote) {
+        if (usarColumnar("anomalias-transacciones (listas)", modo)) {
+            return new ListaAplanadaItemWriter<>(crearColumnarWriter(EsquemaColumnar.anomaliasTransacciones()));
+        }
+        return new AnomaliaListItemWriter(crearAnomaliaJdbcWriter(dataSource, binder), tamanoLote, auditoria);
     }
 }
-
@@ -0,0 +1,101 @@
+package com.duoc.batch_demo.deadletter;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * Archivo de dead-letter de solo agregado (.dlq).
+ *
+ * Formato:
+ * <pre>
+ * "BDLQ" version
+ * registro: largo (int) | fase (byte) | instante (long) | excepción (UTF) | mensaje (UTF)
+ *           | línea original (opcional) | tipo de item (UTF, "" sin item) | item codificado
+ * </pre>
+ * Con el largo por delante un lector salta tipos desconocidos y descarta un
+ * último registro incompleto (caída a mitad de escritura). Cada registro se
+ * vacía al sistema operativo al agregarse. Thread-safe.
+ */
+public class ArchivoDeadLetter implements Closeable {
+
+    static final byte[] MAGICO = "BDLQ".getBytes(StandardCharsets.US_ASCII);
+    static final byte VERSION = 1;
+    private static final int LARGO_MAXIMO_TEXTO = 4000;
+
+    private final Path archivo;
+    private final Map<Class<?>, CodificadorDeadLetter<?>> codificadores;
+    private final DataOutputStream salida;
+    private final ByteArrayOutputStream registro = new ByteArrayOutputStream(512);
+    private long registros;
+
+    public ArchivoDeadLetter(Path archivo, Map<Class<?>, CodificadorDeadLetter<?>> codificadores) throws IOException {
+        this.archivo = archivo;
+        this.codificadores = codificadores;
+        Files.createDirectories(archivo.toAbsolutePath().getParent());
+        boolean nuevo = !Files.exists(archivo) || Files.size(archivo) == 0;
+        OutputStream stream = Files.newOutputStream(archivo, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        this.salida = new DataOutputStream(new BufferedOutputStream(stream, 8192));
+        if (nuevo) {
+            salida.write(MAGICO);
+            salida.writeByte(VERSION);
+            salida.flush();
+        }
+    }
+
+    public Path getArchivo() {
+        return archivo;
+    }
+
+    public synchronized long getRegistros() {
+        return registros;
+    }
+
+    public synchronized void agregar(RegistroDeadLetter.Fase fase, Throwable error, String lineaOriginal, Object item) throws IOException {
+        registro.reset();
+        DataOutputStream datos = new DataOutputStream(registro);
+        datos.writeByte(fase.ordinal());
+        datos.writeLong(System.currentTimeMillis());
+        datos.writeUTF(acotar(error.getClass().getName()));
+        datos.writeUTF(acotar(error.getMessage() != null ? error.getMessage() : ""));
+        CamposBinarios.texto(datos, lineaOriginal != null ? acotar(lineaOriginal) : null);
+        escribirItem(datos, item);
+        datos.flush();
+
+        salida.writeInt(registro.size());
+        registro.writeTo(salida);
+        salida.flush();
+        registros++;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void escribirItem(DataOutputStream datos, Object item) throws IOException {
+        CodificadorDeadLetter<Object> codificador = item != null
+                ? (CodificadorDeadLetter<Object>) codificadores.get(item.getClass())
+                : null;
+        if (codificador == null) {
+            datos.writeUTF("");
+            return;
+        }
+        datos.writeUTF(codificador.tipo().getSimpleName());
+        codificador.escribir(item, datos);
+    }
+
+    private static String acotar(String texto) {
+        // writeUTF admite hasta 64 KB; los mensajes de SQL pueden traer la sentencia completa
+        return texto.length() > LARGO_MAXIMO_TEXTO ? texto.substring(0, LARGO_MAXIMO_TEXTO) : texto;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        salida.close();
+    }
+}
@@ -0,0 +1,86 @@
+package com.duoc.batch_demo.deadletter;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Campos opcionales para los codificadores: un byte de presencia seguido del valor.
+ */
+final class CamposBinarios {
+
+    private CamposBinarios() {
+    }
+
+    static void texto(DataOutput salida, String valor) throws IOException {
+        salida.writeBoolean(valor != null);
+        if (valor != null) {
+            salida.writeUTF(valor);
+        }
+    }
+
+    static String texto(DataInput entrada) throws IOException {
+        return entrada.readBoolean() ? entrada.readUTF() : null;
+    }
+
+    static void entero(DataOutput salida, Long valor) throws IOException {
+        salida.writeBoolean(valor != null);
+        if (valor != null) {
+            salida.writeLong(valor);
+        }
+    }
+
+    static Long entero(DataInput entrada) throws IOException {
+        return entrada.readBoolean() ? entrada.readLong() : null;
+    }
+
+    static void entero(DataOutput salida, Integer valor) throws IOException {
+        salida.writeBoolean(valor != null);
+        if (valor != null) {
+            salida.writeInt(valor);
+        }
+    }
+
+    static Integer enteroCorto(DataInput entrada) throws IOException {
+        return entrada.readBoolean() ? entrada.readInt() : null;
+    }
+
+    static void logico(DataOutput salida, Boolean valor) throws IOException {
+        salida.writeByte(valor == null ? -1 : valor ? 1 : 0);
+    }
+
+    static Boolean logico(DataInput entrada) throws IOException {
+        byte valor = entrada.readByte();
+        return valor < 0 ? null : valor == 1;
+    }
+
+    static void decimal(DataOutput salida, BigDecimal valor) throws IOException {
+        texto(salida, valor != null ? valor.toPlainString() : null);
+    }
+
+    static BigDecimal decimal(DataInput entrada) throws IOException {
+        String valor = texto(entrada);
+        return valor != null ? new BigDecimal(valor) : null;
+    }
+
+    static void fecha(DataOutput salida, LocalDate valor) throws IOException {
+        entero(salida, valor != null ? valor.toEpochDay() : null);
+    }
+
+    static LocalDate fecha(DataInput entrada) throws IOException {
+        Long dia = entero(entrada);
+        return dia != null ? LocalDate.ofEpochDay(dia) : null;
+    }
+
+    static void fechaHora(DataOutput salida, LocalDateTime valor) throws IOException {
+        texto(salida, valor != null ? valor.toString() : null);
+    }
+
+    static LocalDateTime fechaHora(DataInput entrada) throws IOException {
+        String valor = texto(entrada);
+        return valor != null ? LocalDateTime.parse(valor) : null;
+    }
+}
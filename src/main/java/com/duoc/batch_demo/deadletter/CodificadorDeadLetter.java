@@ -0,0 +1,21 @@
+package com.duoc.batch_demo.deadletter;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Codifica en binario los items de un tipo para la dead-letter y los
+ * reconstruye al reprocesar.
+ */
+public interface CodificadorDeadLetter<T> {
+
+    /**
+     * @return tipo de item; su nombre simple identifica el registro en el archivo
+     */
+    Class<T> tipo();
+
+    void escribir(T item, DataOutput salida) throws IOException;
+
+    T leer(DataInput entrada) throws IOException;
+}
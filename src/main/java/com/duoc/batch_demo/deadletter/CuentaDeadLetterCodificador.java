@@ -0,0 +1,37 @@
+package com.duoc.batch_demo.deadletter;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import com.duoc.batch_demo.model.Cuenta;
+
+public class CuentaDeadLetterCodificador implements CodificadorDeadLetter<Cuenta> {
+
+    @Override
+    public Class<Cuenta> tipo() {
+        return Cuenta.class;
+    }
+
+    @Override
+    public void escribir(Cuenta item, DataOutput salida) throws IOException {
+        CamposBinarios.entero(salida, item.getCuentaId());
+        CamposBinarios.texto(salida, item.getNombre());
+        CamposBinarios.decimal(salida, item.getSaldo());
+        CamposBinarios.entero(salida, item.getEdad());
+        CamposBinarios.texto(salida, item.getTipo());
+        CamposBinarios.fechaHora(salida, item.getFechaActualizacion());
+    }
+
+    @Override
+    public Cuenta leer(DataInput entrada) throws IOException {
+        Cuenta cuenta = new Cuenta();
+        cuenta.setCuentaId(CamposBinarios.entero(entrada));
+        cuenta.setNombre(CamposBinarios.texto(entrada));
+        cuenta.setSaldo(CamposBinarios.decimal(entrada));
+        cuenta.setEdad(CamposBinarios.enteroCorto(entrada));
+        cuenta.setTipo(CamposBinarios.texto(entrada));
+        cuenta.setFechaActualizacion(CamposBinarios.fechaHora(entrada));
+        return cuenta;
+    }
+}
@@ -0,0 +1,98 @@
+package com.duoc.batch_demo.deadletter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.file.LineMapper;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+
+/**
+ * Lee los items de uno o más archivos de dead-letter para reprocesarlos.
+ *
+ * Devuelve los items guardados del tipo esperado; las omisiones de lectura se
+ * vuelven a mapear desde su línea original con el mismo LineMapper del reader
+ * del feed, y si vuelven a fallar lanzan FlatFileParseException como en la
+ * carga original. Registros de otros tipos o sin item se ignoran. Reiniciable
+ * (cuenta de items en el ExecutionContext). No es thread-safe.
+ */
+public class DeadLetterItemReader<T> extends AbstractItemCountingItemStreamItemReader<T> {
+
+    private final List<Path> archivos;
+    private final Class<T> tipo;
+    private final LineMapper<T> lineMapper;
+    private final List<CodificadorDeadLetter<?>> codificadores;
+
+    private int archivoActual;
+    private LectorDeadLetter lector;
+
+    public DeadLetterItemReader(List<Path> archivos, Class<T> tipo, LineMapper<T> lineMapper,
+                                List<CodificadorDeadLetter<?>> codificadores) {
+        this.archivos = archivos;
+        this.tipo = tipo;
+        this.lineMapper = lineMapper;
+        this.codificadores = codificadores;
+        setName("deadLetter" + tipo.getSimpleName() + "Reader");
+    }
+
+    @Override
+    protected void doOpen() throws Exception {
+        archivoActual = 0;
+        System.out.println("♻️ Reproceso de dead-letter (" + tipo.getSimpleName() + "): " + archivos);
+    }
+
+    @Override
+    protected T doRead() throws Exception {
+        while (true) {
+            if (lector == null) {
+                if (archivoActual >= archivos.size()) {
+                    return null;
+                }
+                lector = new LectorDeadLetter(archivos.get(archivoActual++), codificadores);
+            }
+            RegistroDeadLetter registro = lector.siguiente();
+            if (registro == null) {
+                cerrarLector();
+                continue;
+            }
+            if (tipo.isInstance(registro.getItem())) {
+                return tipo.cast(registro.getItem());
+            }
+            if (registro.getLineaOriginal() != null) {
+                return mapearLinea(registro.getLineaOriginal());
+            }
+        }
+    }
+
+    private T mapearLinea(String linea) {
+        try {
+            return lineMapper.mapLine(linea, 0);
+        } catch (Exception e) {
+            throw new FlatFileParseException("Línea de dead-letter sigue sin poder leerse: " + e.getMessage(), e, linea, 0);
+        }
+    }
+
+    @Override
+    protected void jumpToItem(int itemIndex) throws Exception {
+        for (int i = 0; i < itemIndex; i++) {
+            try {
+                doRead();
+            } catch (FlatFileParseException e) {
+                // Ya omitida en la ejecución anterior: cuenta como leída
+            }
+        }
+    }
+
+    @Override
+    protected void doClose() throws Exception {
+        cerrarLector();
+    }
+
+    private void cerrarLector() throws IOException {
+        if (lector != null) {
+            lector.close();
+            lector = null;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package com.duoc.batch_demo.deadletter;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.SkipListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.file.FlatFileParseException;
+
+/**
+ * Guarda cada item omitido por la SkipPolicy de un step, con la clase y el
+ * mensaje de la excepción, en un archivo de dead-letter por StepExecution:
+ * &lt;directorio&gt;/&lt;step&gt;-&lt;stepExecutionId&gt;.dlq
+ *
+ * Las omisiones de lectura guardan la línea original (FlatFileParseException);
+ * las de proceso y escritura, el item codificado. Los jobs de reproceso leen
+ * solo esos archivos con los mismos processors y writers.
+ *
+ * En modo asíncrono (banco.batch.async.enabled) el writer recibe los Future
+ * de AsyncItemProcessor y las omisiones de escritura llegan con el Future:
+ * se guarda su resultado. Un fallo del processor también aparece como
+ * omisión de escritura, con un Future terminado en excepción que no conserva
+ * el item de entrada: ese registro queda sin item y no se puede reprocesar.
+ */
+public class DeadLetterSkipListener implements SkipListener<Object, Object>, StepExecutionListener {
+
+    private final Path directorio;
+    private final Map<Class<?>, CodificadorDeadLetter<?>> codificadores = new HashMap<>();
+    private final Map<Long, ArchivoDeadLetter> archivos = new ConcurrentHashMap<>();
+
+    public DeadLetterSkipListener(Path directorio, List<CodificadorDeadLetter<?>> codificadores) {
+        this.directorio = directorio;
+        for (CodificadorDeadLetter<?> codificador : codificadores) {
+            this.codificadores.put(codificador.tipo(), codificador);
+        }
+    }
+
+    public List<CodificadorDeadLetter<?>> getCodificadores() {
+        return List.copyOf(codificadores.values());
+    }
+
+    @Override
+    public void onSkipInRead(Throwable t) {
+        String linea = t instanceof FlatFileParseException ? ((FlatFileParseException) t).getInput() : null;
+        agregar(RegistroDeadLetter.Fase.LECTURA, t, linea, null);
+    }
+
+    @Override
+    public void onSkipInProcess(Object item, Throwable t) {
+        agregar(RegistroDeadLetter.Fase.PROCESO, t, null, item);
+    }
+
+    @Override
+    public void onSkipInWrite(Object item, Throwable t) {
+        agregar(RegistroDeadLetter.Fase.ESCRITURA, t, null, resultado(item));
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        ArchivoDeadLetter archivo = archivos.remove(stepExecution.getId());
+        if (archivo != null) {
+            try {
+                archivo.close();
+            } catch (IOException e) {
+                System.err.println("⚠️ Error cerrando dead-letter " + archivo.getArchivo() + ": " + e.getMessage());
+            }
+            System.out.println("☠️ " + archivo.getRegistros() + " item(s) omitido(s) en " + stepExecution.getStepName() +
+                             " guardado(s) en " + archivo.getArchivo().toAbsolutePath());
+        }
+        return null;
+    }
+
+    /** El item procesado de un Future de AsyncItemProcessor, o null si falló o no terminó. */
+    private static Object resultado(Object item) {
+        if (!(item instanceof Future)) {
+            return item;
+        }
+        Future<?> futuro = (Future<?>) item;
+        if (!futuro.isDone() || futuro.isCancelled()) {
+            return null;
+        }
+        try {
+            return futuro.get();
+        } catch (ExecutionException e) {
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private void agregar(RegistroDeadLetter.Fase fase, Throwable error, String linea, Object item) {
+        StepContext contexto = StepSynchronizationManager.getContext();
+        long id = contexto != null ? contexto.getStepExecution().getId() : 0L;
+        String step = contexto != null ? contexto.getStepName() : "sin-step";
+        try {
+            archivos.computeIfAbsent(id, clave -> abrir(step, clave)).agregar(fase, error, linea, item);
+        } catch (IOException | IllegalStateException e) {
+            // Sin dead-letter el item solo queda en el log: no detener el step por esto
+            System.err.println("⚠️ No se pudo guardar en dead-letter el item omitido (" + error.getClass().getSimpleName() +
+                             "): " + e.getMessage());
+        }
+    }
+
+    private ArchivoDeadLetter abrir(String step, long stepExecutionId) {
+        // Particiones: worker:partition0 no es un nombre de archivo válido en todos los sistemas
+        Path archivo = directorio.resolve(step.replace(':', '_') + "-" + stepExecutionId + ".dlq");
+        try {
+            return new ArchivoDeadLetter(archivo, codificadores);
+        } catch (IOException e) {
+            throw new IllegalStateException("No se pudo abrir " + archivo + ": " + e.getMessage(), e);
+        }
+    }
+}
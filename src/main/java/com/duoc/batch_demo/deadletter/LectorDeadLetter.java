@@ -0,0 +1,77 @@
+package com.duoc.batch_demo.deadletter;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Lee secuencialmente un archivo .dlq escrito por ArchivoDeadLetter.
+ */
+public class LectorDeadLetter implements Closeable {
+
+    private final Path archivo;
+    private final Map<String, CodificadorDeadLetter<?>> codificadores = new HashMap<>();
+    private final DataInputStream entrada;
+
+    public LectorDeadLetter(Path archivo, Iterable<CodificadorDeadLetter<?>> codificadores) throws IOException {
+        this.archivo = archivo;
+        for (CodificadorDeadLetter<?> codificador : codificadores) {
+            this.codificadores.put(codificador.tipo().getSimpleName(), codificador);
+        }
+        this.entrada = new DataInputStream(new BufferedInputStream(Files.newInputStream(archivo), 8192));
+        byte[] magico = new byte[ArchivoDeadLetter.MAGICO.length];
+        entrada.readFully(magico);
+        if (!Arrays.equals(magico, ArchivoDeadLetter.MAGICO)) {
+            entrada.close();
+            throw new IOException("No es un archivo de dead-letter: " + archivo);
+        }
+        byte version = entrada.readByte();
+        if (version != ArchivoDeadLetter.VERSION) {
+            entrada.close();
+            throw new IOException("Versión de dead-letter no soportada (" + version + "): " + archivo);
+        }
+    }
+
+    /**
+     * @return el registro siguiente, o null al final del archivo
+     */
+    public RegistroDeadLetter siguiente() throws IOException {
+        byte[] registro;
+        try {
+            int largo = entrada.readInt();
+            registro = new byte[largo];
+            entrada.readFully(registro);
+        } catch (EOFException e) {
+            // Fin del archivo, o último registro truncado por una caída
+            return null;
+        }
+
+        DataInputStream datos = new DataInputStream(new ByteArrayInputStream(registro));
+        RegistroDeadLetter.Fase fase = RegistroDeadLetter.Fase.values()[datos.readByte()];
+        long instante = datos.readLong();
+        String excepcion = datos.readUTF();
+        String mensaje = datos.readUTF();
+        String linea = CamposBinarios.texto(datos);
+        String tipo = datos.readUTF();
+        CodificadorDeadLetter<?> codificador = codificadores.get(tipo);
+        Object item = codificador != null ? codificador.leer(datos) : null;
+        return new RegistroDeadLetter(fase, instante, excepcion, mensaje, linea, item);
+    }
+
+    public Path getArchivo() {
+        return archivo;
+    }
+
+    @Override
+    public void close() throws IOException {
+        entrada.close();
+    }
+}
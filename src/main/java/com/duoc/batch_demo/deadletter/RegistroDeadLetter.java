@@ -0,0 +1,62 @@
+package com.duoc.batch_demo.deadletter;
+
+/**
+ * Un item omitido tal como quedó en la dead-letter.
+ */
+public class RegistroDeadLetter {
+
+    public enum Fase { LECTURA, PROCESO, ESCRITURA }
+
+    private final Fase fase;
+    private final long instante;
+    private final String excepcion;
+    private final String mensaje;
+    private final String lineaOriginal;
+    private final Object item;
+
+    public RegistroDeadLetter(Fase fase, long instante, String excepcion, String mensaje,
+                              String lineaOriginal, Object item) {
+        this.fase = fase;
+        this.instante = instante;
+        this.excepcion = excepcion;
+        this.mensaje = mensaje;
+        this.lineaOriginal = lineaOriginal;
+        this.item = item;
+    }
+
+    public Fase getFase() {
+        return fase;
+    }
+
+    /**
+     * @return epoch en milisegundos de la omisión
+     */
+    public long getInstante() {
+        return instante;
+    }
+
+    /**
+     * @return nombre completo de la clase de la excepción
+     */
+    public String getExcepcion() {
+        return excepcion;
+    }
+
+    public String getMensaje() {
+        return mensaje;
+    }
+
+    /**
+     * @return línea del archivo de entrada, solo para omisiones de lectura
+     */
+    public String getLineaOriginal() {
+        return lineaOriginal;
+    }
+
+    /**
+     * @return item omitido, o null en omisiones de lectura o tipos sin codificador
+     */
+    public Object getItem() {
+        return item;
+    }
+}
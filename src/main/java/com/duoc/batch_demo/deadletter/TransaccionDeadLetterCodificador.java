@@ -0,0 +1,39 @@
+package com.duoc.batch_demo.deadletter;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import com.duoc.batch_demo.model.Transaccion;
+
+public class TransaccionDeadLetterCodificador implements CodificadorDeadLetter<Transaccion> {
+
+    @Override
+    public Class<Transaccion> tipo() {
+        return Transaccion.class;
+    }
+
+    @Override
+    public void escribir(Transaccion item, DataOutput salida) throws IOException {
+        CamposBinarios.entero(salida, item.getId());
+        CamposBinarios.fecha(salida, item.getFecha());
+        CamposBinarios.decimal(salida, item.getMonto());
+        CamposBinarios.texto(salida, item.getTipo());
+        CamposBinarios.fechaHora(salida, item.getFechaProcesamiento());
+        CamposBinarios.logico(salida, item.getEsAnomalia());
+        CamposBinarios.texto(salida, item.getMotivoAnomalia());
+    }
+
+    @Override
+    public Transaccion leer(DataInput entrada) throws IOException {
+        Transaccion transaccion = new Transaccion();
+        transaccion.setId(CamposBinarios.entero(entrada));
+        transaccion.setFecha(CamposBinarios.fecha(entrada));
+        transaccion.setMonto(CamposBinarios.decimal(entrada));
+        transaccion.setTipo(CamposBinarios.texto(entrada));
+        transaccion.setFechaProcesamiento(CamposBinarios.fechaHora(entrada));
+        transaccion.setEsAnomalia(CamposBinarios.logico(entrada));
+        transaccion.setMotivoAnomalia(CamposBinarios.texto(entrada));
+        return transaccion;
+    }
+}
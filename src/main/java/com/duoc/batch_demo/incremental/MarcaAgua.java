@@ -0,0 +1,21 @@
+package com.duoc.batch_demo.incremental;
+
+import java.time.LocalDateTime;
+
+/**
+ * Posición hasta la que un job ya procesó transacciones: orden por
+ * (fecha_procesamiento, id). El id desempata las filas con la misma
+ * fecha_procesamiento (TIMESTAMP de MySQL, con precisión de segundos).
+ */
+public record MarcaAgua(LocalDateTime fechaProcesamiento, long id) {
+
+    public boolean posteriorA(MarcaAgua otra) {
+        int comparacion = fechaProcesamiento.compareTo(otra.fechaProcesamiento);
+        return comparacion > 0 || (comparacion == 0 && id > otra.id);
+    }
+
+    @Override
+    public String toString() {
+        return fechaProcesamiento + "/" + id;
+    }
+}
@@ -0,0 +1,60 @@
+package com.duoc.batch_demo.incremental;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+
+/**
+ * Modo incremental de los steps que leen transacciones desde la base.
+ *
+ * Antes del step fija la VentanaIncremental en su ExecutionContext (salvo al
+ * reiniciar, que conserva la anterior); el reader @StepScope la lee al
+ * abrirse. Si el step termina COMPLETED, la marca de agua del job avanza al
+ * final de la ventana. Deshabilitado, no fija ventana y el reader lee la
+ * tabla completa.
+ *
+ * Las filas escritas con una fecha_procesamiento anterior a la marca después
+ * de fijarla no se leen: los jobs incrementales deben correr después de la
+ * carga de transacciones (ver OrquestacionConfig).
+ */
+public class MarcaAguaListener implements StepExecutionListener {
+
+    private final RepositorioMarcasAgua repositorio;
+    private final boolean habilitado;
+
+    public MarcaAguaListener(RepositorioMarcasAgua repositorio, boolean habilitado) {
+        this.repositorio = repositorio;
+        this.habilitado = habilitado;
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        if (!habilitado) {
+            return;
+        }
+        String job = stepExecution.getJobExecution().getJobInstance().getJobName();
+        VentanaIncremental ventana = VentanaIncremental.de(stepExecution.getExecutionContext()).orElse(null);
+        if (ventana == null) {
+            ventana = new VentanaIncremental(repositorio.leer(job).orElse(null),
+                    repositorio.maximaTransacciones().orElse(null));
+            ventana.guardarEn(stepExecution.getExecutionContext());
+        }
+        System.out.println("💧 " + stepExecution.getStepName() + " incremental: transacciones en " + ventana +
+                         (ventana.vacia() ? " (sin filas nuevas)" : ""));
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        if (!habilitado || stepExecution.getStatus() != BatchStatus.COMPLETED) {
+            return null;
+        }
+        VentanaIncremental ventana = VentanaIncremental.de(stepExecution.getExecutionContext()).orElse(null);
+        if (ventana != null && !ventana.vacia()) {
+            String job = stepExecution.getJobExecution().getJobInstance().getJobName();
+            repositorio.guardar(job, ventana.getHasta());
+            System.out.println("💧 Marca de agua de " + job + " avanzada a " + ventana.getHasta());
+        }
+        return null;
+    }
+}
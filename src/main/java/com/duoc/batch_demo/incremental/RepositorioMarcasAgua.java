@@ -0,0 +1,55 @@
+package com.duoc.batch_demo.incremental;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+/**
+ * Marcas de agua por job en batch_watermarks y posición máxima actual de
+ * transacciones. SQL portable (sin upsert del dialecto ni LIMIT).
+ */
+public class RepositorioMarcasAgua {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RepositorioMarcasAgua(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public Optional<MarcaAgua> leer(String job) {
+        List<MarcaAgua> marcas = jdbcTemplate.query(
+                "SELECT fecha_procesamiento, ultimo_id FROM batch_watermarks WHERE job_name = ?",
+                (rs, fila) -> new MarcaAgua(rs.getTimestamp("fecha_procesamiento").toLocalDateTime(), rs.getLong("ultimo_id")),
+                job);
+        return marcas.stream().findFirst();
+    }
+
+    public void guardar(String job, MarcaAgua marca) {
+        Timestamp fecha = Timestamp.valueOf(marca.fechaProcesamiento());
+        int actualizadas = jdbcTemplate.update(
+                "UPDATE batch_watermarks SET fecha_procesamiento = ?, ultimo_id = ?, fecha_actualizacion = CURRENT_TIMESTAMP " +
+                "WHERE job_name = ?", fecha, marca.id(), job);
+        if (actualizadas == 0) {
+            jdbcTemplate.update("INSERT INTO batch_watermarks (job_name, fecha_procesamiento, ultimo_id) VALUES (?, ?, ?)",
+                    job, fecha, marca.id());
+        }
+    }
+
+    /**
+     * Última fila de transacciones en orden (fecha_procesamiento, id); dos
+     * consultas MAX resueltas por idx_transacciones_procesamiento.
+     */
+    public Optional<MarcaAgua> maximaTransacciones() {
+        LocalDateTime fecha = jdbcTemplate.queryForObject(
+                "SELECT MAX(fecha_procesamiento) FROM transacciones", LocalDateTime.class);
+        if (fecha == null) {
+            return Optional.empty();
+        }
+        Long id = jdbcTemplate.queryForObject(
+                "SELECT MAX(id) FROM transacciones WHERE fecha_procesamiento = ?", Long.class, Timestamp.valueOf(fecha));
+        return Optional.of(new MarcaAgua(fecha, id));
+    }
+}
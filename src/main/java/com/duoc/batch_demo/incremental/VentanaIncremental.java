@@ -0,0 +1,120 @@
+package com.duoc.batch_demo.incremental;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+
+/**
+ * Rango de transacciones que lee una ejecución incremental: posteriores a la
+ * marca de agua guardada del job (desde, exclusiva) y hasta la última fila
+ * existente al iniciar el step (hasta, inclusiva).
+ *
+ * Se fija en el ExecutionContext del step: al reiniciar una ejecución fallida
+ * se lee exactamente el mismo rango y el reader puede retomar por posición.
+ */
+public final class VentanaIncremental {
+
+    private static final String DESDE_FECHA = "incremental.desde.fecha";
+    private static final String DESDE_ID = "incremental.desde.id";
+    private static final String HASTA_FECHA = "incremental.hasta.fecha";
+    private static final String HASTA_ID = "incremental.hasta.id";
+    private static final String VACIA = "incremental.vacia";
+
+    private final MarcaAgua desde;
+    private final MarcaAgua hasta;
+
+    /**
+     * @param desde null si el job nunca completó una ejecución incremental
+     * @param hasta null si no hay transacciones
+     */
+    public VentanaIncremental(MarcaAgua desde, MarcaAgua hasta) {
+        this.desde = desde;
+        this.hasta = hasta;
+    }
+
+    public MarcaAgua getDesde() {
+        return desde;
+    }
+
+    public MarcaAgua getHasta() {
+        return hasta;
+    }
+
+    public boolean vacia() {
+        return hasta == null || (desde != null && !hasta.posteriorA(desde));
+    }
+
+    /**
+     * Condición SQL sobre fecha_procesamiento e id (parámetros en parametros()).
+     * El primer término por rango permite usar idx_transacciones_procesamiento.
+     */
+    public String condicion() {
+        if (vacia()) {
+            return "1 = 0";
+        }
+        StringBuilder sql = new StringBuilder();
+        if (desde != null) {
+            sql.append("fecha_procesamiento >= ? AND (fecha_procesamiento > ? OR id > ?) AND ");
+        }
+        sql.append("fecha_procesamiento <= ? AND (fecha_procesamiento < ? OR id <= ?)");
+        return sql.toString();
+    }
+
+    public PreparedStatementSetter parametros() {
+        List<Object> valores = new ArrayList<>();
+        if (!vacia()) {
+            if (desde != null) {
+                Timestamp fecha = Timestamp.valueOf(desde.fechaProcesamiento());
+                valores.add(fecha);
+                valores.add(fecha);
+                valores.add(desde.id());
+            }
+            Timestamp fecha = Timestamp.valueOf(hasta.fechaProcesamiento());
+            valores.add(fecha);
+            valores.add(fecha);
+            valores.add(hasta.id());
+        }
+        return new ArgumentPreparedStatementSetter(valores.toArray());
+    }
+
+    public void guardarEn(ExecutionContext contexto) {
+        contexto.putString(VACIA, String.valueOf(hasta == null));
+        if (desde != null) {
+            contexto.putString(DESDE_FECHA, desde.fechaProcesamiento().toString());
+            contexto.putLong(DESDE_ID, desde.id());
+        }
+        if (hasta != null) {
+            contexto.putString(HASTA_FECHA, hasta.fechaProcesamiento().toString());
+            contexto.putLong(HASTA_ID, hasta.id());
+        }
+    }
+
+    /**
+     * @return la ventana fijada por MarcaAguaListener, o vacío si el step no es incremental
+     */
+    public static Optional<VentanaIncremental> de(ExecutionContext contexto) {
+        if (!contexto.containsKey(VACIA)) {
+            return Optional.empty();
+        }
+        return Optional.of(new VentanaIncremental(marca(contexto, DESDE_FECHA, DESDE_ID),
+                marca(contexto, HASTA_FECHA, HASTA_ID)));
+    }
+
+    private static MarcaAgua marca(ExecutionContext contexto, String claveFecha, String claveId) {
+        if (!contexto.containsKey(claveFecha)) {
+            return null;
+        }
+        return new MarcaAgua(LocalDateTime.parse(contexto.getString(claveFecha)), contexto.getLong(claveId));
+    }
+
+    @Override
+    public String toString() {
+        return "(" + (desde != null ? desde : "inicio") + ", " + (hasta != null ? hasta : "sin datos") + "]";
+    }
+}
@@ -0,0 +1,141 @@
+package com.duoc.batch_demo.jobs;
+
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.validator.ValidationException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+
+import com.duoc.batch_demo.config.AsyncProcessingConfig;
+import com.duoc.batch_demo.model.AnomaliaTransaccion;
+import com.duoc.batch_demo.model.Cuenta;
+import com.duoc.batch_demo.model.Transaccion;
+
+/**
+ * Módulo de los jobs de detección de anomalías: anomaliasJob,
+ * deteccionAnomalíasAvanzadasJob y deteccionAnomalíasCuentasJob.
+ *
+ * Cargado en un contexto hijo por ejecución (ver TransaccionesModulo).
+ */
+public class AnomaliasModulo {
+
+    // Job para procesar anomalías de transacciones
+    @Bean
+    public Step anomaliasStep(JobRepository jobRepository,
+                             JdbcTransactionManager transactionManager,
+                             AsyncProcessingConfig asyncProcessingConfig,
+                             ItemReader<Transaccion> anomaliaTransaccionReader,
+                             ItemProcessor<Transaccion, AnomaliaTransaccion> simpleAnomaliaProcessor,
+                             ItemWriter<AnomaliaTransaccion> anomaliaTransaccionWriter,
+                             com.duoc.batch_demo.incremental.MarcaAguaListener marcaAguaListener) {
+        return asyncProcessingConfig.chunk(new StepBuilder("anomaliasStep", jobRepository), 10, transactionManager,
+                                           simpleAnomaliaProcessor, anomaliaTransaccionWriter)
+                .reader(anomaliaTransaccionReader)
+                .listener(marcaAguaListener) // Modo incremental: ventana desde la marca de agua del job
+                .build();
+    }
+
+    @Bean
+    public Job anomaliasJob(JobRepository jobRepository, Step anomaliasStep) {
+        return new JobBuilder("anomaliasJob", jobRepository)
+                .start(anomaliasStep)
+                .build();
+    }
+
+    // ============================================
+    // JOBS AVANZADOS PARA DETECCIÓN DE ANOMALÍAS CON POLÍTICAS DE REINTENTO Y OMISIÓN
+    // ============================================
+    
+    // Step para detectar TODAS las anomalías en transacciones con ESCALAMIENTO PARALELO
+    @Bean
+    public Step deteccionAnomalíasAvanzadasStep(JobRepository jobRepository,
+                                               JdbcTransactionManager transactionManager,
+                                               AsyncProcessingConfig asyncProcessingConfig,
+                                               ItemReader<Transaccion> todasLasTransaccionesReader,
+                                               ItemProcessor<Transaccion, java.util.List<AnomaliaTransaccion>> detectarAnomalíasLegacyProcessor,
+                                               org.springframework.batch.item.ItemWriter<java.util.List<AnomaliaTransaccion>> anomaliaListWriter,
+                                               org.springframework.retry.RetryPolicy transaccionesRetryPolicy,
+                                               org.springframework.batch.core.step.skip.SkipPolicy transaccionesSkipPolicy,
+                                               org.springframework.retry.backoff.BackOffPolicy batchBackOffPolicy,
+                                               com.duoc.batch_demo.resiliencia.MetricasReintento metricasReintento,
+                                               com.duoc.batch_demo.deadletter.DeadLetterSkipListener deadLetterSkipListener,
+                                               org.springframework.batch.core.StepExecutionListener faultToleranceListener,
+                                               com.duoc.batch_demo.incremental.MarcaAguaListener marcaAguaListener,
+                                               @Qualifier("anomalyTaskExecutor") TaskExecutor anomalyTaskExecutor,
+                                               @Qualifier("optimizedChunkSize") Integer chunkSize) {
+        
+        System.out.println("=== CONFIGURANDO DETECCIÓN ANOMALÍAS CON ESCALAMIENTO PARALELO ===");
+        System.out.println("   TaskExecutor: " + anomalyTaskExecutor.getClass().getSimpleName());
+        System.out.println("   Chunk Size: " + chunkSize + " registros");
+        System.out.println("   Hilos paralelos: 3 (escalamiento hasta 6)");
+        System.out.println("   Detección inteligente de anomalías");
+        
+        return asyncProcessingConfig.chunk(new StepBuilder("deteccionAnomalíasAvanzadasStep", jobRepository), chunkSize, transactionManager,
+                                           detectarAnomalíasLegacyProcessor, anomaliaListWriter)
+                .reader(todasLasTransaccionesReader)
+                // Escalamiento paralelo para análisis de anomalías
+                .taskExecutor(anomalyTaskExecutor)
+                // 🛡️ POLÍTICAS PERSONALIZADAS DE TOLERANCIA A FALLOS
+                .faultTolerant()
+                .retryPolicy(transaccionesRetryPolicy) // Política de reintento personalizada
+                .backOffPolicy(batchBackOffPolicy)  // Espera exponencial con jitter entre reintentos
+                .listener(metricasReintento)
+                .skipPolicy(transaccionesSkipPolicy)   // Política de omisión inteligente
+                .noRollback(ValidationException.class) // Datos inválidos no provocan rollback
+                .listener((org.springframework.batch.core.StepExecutionListener) deadLetterSkipListener) // Omitidos a dead-letter (también como SkipListener)
+                .listener(marcaAguaListener)           // Modo incremental: ventana desde la marca de agua del job
+                .listener(faultToleranceListener)      // Monitoreo y logging avanzado
+                .build();
+    }
+
+    @Bean
+    public Job deteccionAnomalíasAvanzadasJob(JobRepository jobRepository, Step deteccionAnomalíasAvanzadasStep) {
+        return new JobBuilder("deteccionAnomalíasAvanzadasJob", jobRepository)
+                .start(deteccionAnomalíasAvanzadasStep)
+                .build();
+    }
+
+    // Step para detectar anomalías y duplicados en cuentas
+    @Bean
+    public Step deteccionAnomalíasCuentasStep(JobRepository jobRepository,
+                                             JdbcTransactionManager transactionManager,
+                                             AsyncProcessingConfig asyncProcessingConfig,
+                                             ItemReader<Cuenta> todasLasCuentasReader,
+                                             ItemProcessor<Cuenta, java.util.List<AnomaliaTransaccion>> detectarAnomaliasCuentasProcessor,
+                                             org.springframework.batch.item.ItemWriter<java.util.List<AnomaliaTransaccion>> anomaliaListWriter,
+                                             org.springframework.retry.RetryPolicy cuentasRetryPolicy,
+                                             org.springframework.batch.core.step.skip.SkipPolicy cuentasSkipPolicy,
+                                             org.springframework.retry.backoff.BackOffPolicy batchBackOffPolicy,
+                                             com.duoc.batch_demo.resiliencia.MetricasReintento metricasReintento,
+                                             com.duoc.batch_demo.deadletter.DeadLetterSkipListener deadLetterSkipListener,
+                                             org.springframework.batch.core.StepExecutionListener faultToleranceListener) {
+        return asyncProcessingConfig.chunk(new StepBuilder("deteccionAnomalíasCuentasStep", jobRepository), 5, transactionManager,
+                                           detectarAnomaliasCuentasProcessor, anomaliaListWriter)
+                .reader(todasLasCuentasReader)
+                // 🛡️ POLÍTICAS PERSONALIZADAS PARA CUENTAS (MÁS ESTRICTAS)
+                .faultTolerant()
+                .retryPolicy(cuentasRetryPolicy)     // Reintentos más conservadores
+                .backOffPolicy(batchBackOffPolicy)  // Espera exponencial con jitter entre reintentos
+                .listener(metricasReintento)
+                .skipPolicy(cuentasSkipPolicy)       // Omisiones más estrictas
+                .noRollback(ValidationException.class) // Datos inválidos no provocan rollback
+                .listener((org.springframework.batch.core.StepExecutionListener) deadLetterSkipListener) // Omitidos a dead-letter (también como SkipListener)
+                .listener(faultToleranceListener)    // Monitoreo detallado
+                .build();
+    }
+
+    @Bean
+    public Job deteccionAnomalíasCuentasJob(JobRepository jobRepository, Step deteccionAnomalíasCuentasStep) {
+        return new JobBuilder("deteccionAnomalíasCuentasJob", jobRepository)
+                .start(deteccionAnomalíasCuentasStep)
+                .build();
+    }
+}
@@ -0,0 +1,69 @@
+package com.duoc.batch_demo.jobs;
+
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+
+import com.duoc.batch_demo.config.AsyncProcessingConfig;
+import com.duoc.batch_demo.model.CuentaAnual;
+import com.duoc.batch_demo.model.EstadoCuentaAnual;
+
+/**
+ * Módulo de los jobs de estados de cuenta anuales (estadosCuentaAnualesJob)
+ * y su detalle (estadosDetalleJob).
+ *
+ * Cargado en un contexto hijo por ejecución (ver TransaccionesModulo).
+ */
+public class EstadosCuentaModulo {
+
+    // ============================================
+    // JOB 3: GENERACIÓN DE ESTADOS DE CUENTA ANUALES
+    // ============================================
+    @Bean
+    public Step cuentasAnualesStep(JobRepository jobRepository,
+                                  JdbcTransactionManager transactionManager,
+                                  AsyncProcessingConfig asyncProcessingConfig,
+                                  ItemReader<CuentaAnual> cuentaAnualReader,
+                                  ItemProcessor<CuentaAnual, CuentaAnual> cuentaAnualItemProcessor,
+                                  ItemWriter<CuentaAnual> cuentaAnualWriter) {
+        return asyncProcessingConfig.chunk(new StepBuilder("cuentasAnualesStep", jobRepository), 10, transactionManager,
+                                           cuentaAnualItemProcessor, cuentaAnualWriter)
+                .reader(cuentaAnualReader)
+                .build();
+    }
+
+    @Bean
+    public Job estadosCuentaAnualesJob(JobRepository jobRepository, Step cuentasAnualesStep) {
+        return new JobBuilder("estadosCuentaAnualesJob", jobRepository)
+                .start(cuentasAnualesStep)
+                .build();
+    }
+
+    // Job para procesar estados de cuenta detallados
+    @Bean
+    public Step estadosDetalleStep(JobRepository jobRepository,
+                                 JdbcTransactionManager transactionManager,
+                                 AsyncProcessingConfig asyncProcessingConfig,
+                                 ItemReader<CuentaAnual> cuentaAnualReader,
+                                 ItemProcessor<CuentaAnual, EstadoCuentaAnual> estadoCuentaAnualItemProcessor,
+                                 ItemWriter<EstadoCuentaAnual> estadoCuentaAnualWriter) {
+        return asyncProcessingConfig.chunk(new StepBuilder("estadosDetalleStep", jobRepository), 10, transactionManager,
+                                           estadoCuentaAnualItemProcessor, estadoCuentaAnualWriter)
+                .reader(cuentaAnualReader)
+                .build();
+    }
+
+    @Bean
+    public Job estadosDetalleJob(JobRepository jobRepository, Step estadosDetalleStep) {
+        return new JobBuilder("estadosDetalleJob", jobRepository)
+                .start(estadosDetalleStep)
+                .build();
+    }
+}
@@ -0,0 +1,103 @@
+package com.duoc.batch_demo.jobs;
+
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.validator.ValidationException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+
+import com.duoc.batch_demo.config.AsyncProcessingConfig;
+import com.duoc.batch_demo.model.Cuenta;
+import com.duoc.batch_demo.model.InteresCalculado;
+
+/**
+ * Módulo de los jobs de intereses: cálculo mensual (calculoInteresesJob) y
+ * detalle de intereses calculados (interesesDetalleJob).
+ *
+ * Cargado en un contexto hijo por ejecución (ver TransaccionesModulo).
+ */
+public class InteresesModulo {
+
+    // ============================================
+    // JOB 2: CÁLCULO DE INTERESES MENSUALES CON ESCALAMIENTO PARALELO
+    // ============================================
+    @Bean
+    public Step interesesStep(JobRepository jobRepository,
+                             JdbcTransactionManager transactionManager,
+                             AsyncProcessingConfig asyncProcessingConfig,
+                             ItemReader<Cuenta> cuentaReader,
+                             ItemProcessor<Cuenta, Cuenta> cuentasStepProcessor,
+                             ItemWriter<Cuenta> cuentaWriter,
+                             org.springframework.retry.RetryPolicy cuentasRetryPolicy,
+                             org.springframework.batch.core.step.skip.SkipPolicy cuentasSkipPolicy,
+                             org.springframework.retry.backoff.BackOffPolicy batchBackOffPolicy,
+                             com.duoc.batch_demo.resiliencia.MetricasReintento metricasReintento,
+                             com.duoc.batch_demo.deadletter.DeadLetterSkipListener deadLetterSkipListener,
+                             org.springframework.batch.core.StepExecutionListener faultToleranceListener,
+                             @Qualifier("accountTaskExecutor") TaskExecutor accountTaskExecutor,
+                             @Qualifier("optimizedChunkSize") Integer chunkSize) {
+        
+        System.out.println("=== CONFIGURANDO STEP INTERESES CON ESCALAMIENTO PARALELO ===");
+        System.out.println("   TaskExecutor: " + accountTaskExecutor.getClass().getSimpleName());
+        System.out.println("   Chunk Size: " + chunkSize + " registros");
+        System.out.println("   Hilos paralelos: 3 (escalamiento hasta 4)");
+        System.out.println("   Tolerancia a fallos para cuentas");
+        
+        return asyncProcessingConfig.chunk(new StepBuilder("interesesStep", jobRepository), chunkSize, transactionManager,
+                                           cuentasStepProcessor, cuentaWriter)  // Chunk size 5
+                .reader(cuentaReader)
+                // Escalamiento paralelo con balanceamiento dinámico
+                .taskExecutor(accountTaskExecutor)
+                // 🛡️ TOLERANCIA A FALLOS PARA CÁLCULO DE INTERESES
+                .faultTolerant()
+                .retryPolicy(cuentasRetryPolicy)     // Más conservador para cuentas
+                .backOffPolicy(batchBackOffPolicy)  // Espera exponencial con jitter entre reintentos
+                .listener(metricasReintento)
+                .skipPolicy(cuentasSkipPolicy)
+                // Validación fallida es un dato malo, no un fallo de infraestructura: sin rollback ni scan
+                .noRollback(ValidationException.class)
+                .listener((org.springframework.batch.core.StepExecutionListener) deadLetterSkipListener) // Omitidos a dead-letter (también como SkipListener)
+                .listener(faultToleranceListener)
+                .build();
+    }
+
+    @Bean
+    public Job calculoInteresesJob(JobRepository jobRepository, Step interesesStep) {
+        return new JobBuilder("calculoInteresesJob", jobRepository)
+                .start(interesesStep)
+                .build();
+    }
+
+    // ============================================
+    // JOBS ADICIONALES PARA DETALLES
+    // ============================================
+
+    // Job para procesar detalles de intereses calculados
+    @Bean
+    public Step interesesDetalleStep(JobRepository jobRepository,
+                                   JdbcTransactionManager transactionManager,
+                                   AsyncProcessingConfig asyncProcessingConfig,
+                                   ItemReader<Cuenta> cuentaReader,
+                                   ItemProcessor<Cuenta, InteresCalculado> interesCalculadoItemProcessor,
+                                   ItemWriter<InteresCalculado> interesCalculadoWriter) {
+        return asyncProcessingConfig.chunk(new StepBuilder("interesesDetalleStep", jobRepository), 10, transactionManager,
+                                           interesCalculadoItemProcessor, interesCalculadoWriter)
+                .reader(cuentaReader)
+                .build();
+    }
+
+    @Bean
+    public Job interesesDetalleJob(JobRepository jobRepository, Step interesesDetalleStep) {
+        return new JobBuilder("interesesDetalleJob", jobRepository)
+                .start(interesesDetalleStep)
+                .build();
+    }
+}
@@ -0,0 +1,79 @@
+package com.duoc.batch_demo.jobs;
+
+import java.time.LocalDateTime;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Job del contexto principal que representa a un job declarado en un módulo.
+ *
+ * No tiene steps propios: al ejecutarse abre el contexto hijo del job
+ * (RegistroJobsModulares), ejecuta el job real con la misma JobExecution y
+ * cierra el contexto al terminar. Si el contexto no se puede crear la
+ * ejecución queda FAILED con la causa, en lugar de quedar STARTED.
+ *
+ * Los jobs modulares son reiniciables y sin incrementer ni validador de
+ * parámetros, como los jobs declarados en los módulos.
+ */
+public class JobModular implements Job {
+
+    private final String nombre;
+    private final Class<?> modulo;
+    private final RegistroJobsModulares registro;
+    private final JobRepository jobRepository;
+
+    JobModular(String nombre, Class<?> modulo, RegistroJobsModulares registro, JobRepository jobRepository) {
+        this.nombre = nombre;
+        this.modulo = modulo;
+        this.registro = registro;
+        this.jobRepository = jobRepository;
+    }
+
+    @Override
+    public String getName() {
+        return nombre;
+    }
+
+    public Class<?> getModulo() {
+        return modulo;
+    }
+
+    @Override
+    public void execute(JobExecution ejecucion) {
+        ConfigurableApplicationContext contexto;
+        try {
+            contexto = registro.abrir(nombre, modulo);
+        } catch (RuntimeException e) {
+            System.err.println("❌ No se pudo cargar el contexto de " + nombre + ": " + e.getMessage());
+            fallar(ejecucion, e);
+            return;
+        }
+        try {
+            contexto.getBean(nombre, Job.class).execute(ejecucion);
+        } finally {
+            registro.cerrar(contexto);
+        }
+    }
+
+    private void fallar(JobExecution ejecucion, Throwable error) {
+        LocalDateTime ahora = LocalDateTime.now();
+        if (ejecucion.getStartTime() == null) {
+            ejecucion.setStartTime(ahora);
+        }
+        ejecucion.setStatus(BatchStatus.FAILED);
+        ejecucion.setExitStatus(ExitStatus.FAILED.addExitDescription(error));
+        ejecucion.addFailureException(error);
+        ejecucion.setEndTime(ahora);
+        jobRepository.update(ejecucion);
+    }
+
+    @Override
+    public String toString() {
+        return "JobModular: [name=" + nombre + ", modulo=" + modulo.getSimpleName() + "]";
+    }
+}
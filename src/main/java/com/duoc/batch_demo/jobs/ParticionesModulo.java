@@ -0,0 +1,230 @@
+package com.duoc.batch_demo.jobs;
+
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.partition.PartitionHandler;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+
+import com.duoc.batch_demo.config.AsyncProcessingConfig;
+import com.duoc.batch_demo.config.BankDataPartitioner;
+import com.duoc.batch_demo.config.PartitionConfig;
+import com.duoc.batch_demo.listener.ScalingPerformanceListener;
+import com.duoc.batch_demo.model.AnomaliaTransaccion;
+import com.duoc.batch_demo.model.Cuenta;
+import com.duoc.batch_demo.model.Transaccion;
+
+/**
+ * Módulo de los jobs particionados: particionesTransaccionesJob,
+ * particionesCuentasJob y particionesAnomaliasJob. El step maestro y sus
+ * workers viven en el mismo contexto hijo.
+ *
+ * Cargado en un contexto hijo por ejecución (ver TransaccionesModulo).
+ */
+public class ParticionesModulo {
+
+    // ============================================
+    // JOBS CON PARTICIONES - NUEVA FUNCIONALIDAD
+    // ============================================
+    
+    /**
+     * Step worker (esclavo) para procesamiento particionado de transacciones.
+     * Este step procesa una partición específica de transacciones.
+     */
+    @Bean
+    public Step partitionedTransaccionWorkerStep(JobRepository jobRepository,
+                                                  JdbcTransactionManager transactionManager,
+                                                  AsyncProcessingConfig asyncProcessingConfig,
+                                                  ItemReader<Transaccion> partitionedTransaccionReader,
+                                                  ItemProcessor<Transaccion, Transaccion> transaccionesStepProcessor,
+                                                  ItemWriter<Transaccion> transaccionWriter,
+                                                  ScalingPerformanceListener scalingPerformanceListener,
+                                                  @Qualifier("optimizedChunkSize") Integer chunkSize) {
+        
+        System.out.println("⚙️  Configurando Worker Step para Transacciones Particionadas");
+        System.out.println("   • Chunk Size: " + chunkSize);
+        System.out.println("   • Listener: PartitionPerformanceListener activo");
+        
+        return asyncProcessingConfig.chunk(new StepBuilder("partitionedTransaccionWorkerStep", jobRepository), chunkSize, transactionManager,
+                                           transaccionesStepProcessor, transaccionWriter)
+                .reader(partitionedTransaccionReader) // Se resuelve dinámicamente por @StepScope
+                .listener(scalingPerformanceListener)
+                .build();
+    }
+    
+    /**
+     * Step maestro para procesamiento particionado de transacciones.
+     * Coordina múltiples particiones utilizando el partitioner y handler.
+     */
+    @Bean
+    public Step partitionedTransaccionMasterStep(JobRepository jobRepository,
+                                                  BankDataPartitioner bankDataPartitioner,
+                                                  @Qualifier("partitionCoordinatorTaskExecutor") TaskExecutor coordinatorTaskExecutor,
+                                                  Step partitionedTransaccionWorkerStep) {
+        
+        System.out.println("🎯 Configurando Master Step para Transacciones Particionadas:");
+        System.out.println("   • Partitioner: BankDataPartitioner");
+        System.out.println("   • Handler: PartitionCoordinator (4 particiones)");
+        System.out.println("   • Worker: partitionedTransaccionWorkerStep (SIN multi-threading interno)");
+        System.out.println("   • Estrategia: DISTRIBUCIÓN PURA");
+        
+        // Crear PartitionHandler inline con coordinator simple
+        PartitionHandler partitionHandler = PartitionConfig.createTransactionPartitionHandler(coordinatorTaskExecutor, partitionedTransaccionWorkerStep);
+        
+        return new StepBuilder("partitionedTransaccionMasterStep", jobRepository)
+                .partitioner("partitionedTransaccionWorkerStep", bankDataPartitioner)
+                .partitionHandler(partitionHandler)
+                .step(partitionedTransaccionWorkerStep)
+                .build();
+    }
+    
+    /**
+     * Job para procesamiento de transacciones usando particiones.
+     */
+    @Bean
+    public Job particionesTransaccionesJob(JobRepository jobRepository, 
+                                           Step partitionedTransaccionMasterStep) {
+        System.out.println("\n🚀 CREANDO JOB PARTICIONADO: TRANSACCIONES DISTRIBUIDAS");
+        System.out.println("   📊 Estrategia: 4 particiones automáticas por rango de ID");
+        System.out.println("   🔄 TaskExecutor: partitionCoordinatorTaskExecutor (1 hilo por partition)");
+        System.out.println("   🎯 Procesamiento: SECUENCIAL dentro de cada partición");
+        System.out.println("   📈 Escalabilidad: Distribución geográfica/temporal");
+        
+        return new JobBuilder("particionesTransaccionesJob", jobRepository)
+                .start(partitionedTransaccionMasterStep)
+                .build();
+    }
+    
+    /**
+     * Step worker para procesamiento particionado de cuentas.
+     */
+    @Bean
+    public Step partitionedCuentaWorkerStep(JobRepository jobRepository,
+                                           JdbcTransactionManager transactionManager,
+                                           AsyncProcessingConfig asyncProcessingConfig,
+                                           ItemReader<Cuenta> partitionedCuentaReader,
+                                           ItemProcessor<Cuenta, Cuenta> cuentasStepProcessor,
+                                           ItemWriter<Cuenta> cuentaWriter,
+                                           ScalingPerformanceListener scalingPerformanceListener,
+                                           @Qualifier("optimizedChunkSize") Integer chunkSize) {
+        
+        System.out.println("⚙️  Configurando Worker Step para Cuentas Particionadas");
+        
+        return asyncProcessingConfig.chunk(new StepBuilder("partitionedCuentaWorkerStep", jobRepository), chunkSize, transactionManager,
+                                           cuentasStepProcessor, cuentaWriter)
+                .reader(partitionedCuentaReader) // Se resuelve dinámicamente por @StepScope
+                .listener(scalingPerformanceListener)
+                .build();
+    }
+    
+    /**
+     * Step maestro para procesamiento particionado de cuentas.
+     */
+    @Bean
+    public Step partitionedCuentaMasterStep(JobRepository jobRepository,
+                                           BankDataPartitioner bankDataPartitioner,
+                                           @Qualifier("partitionCoordinatorTaskExecutor") TaskExecutor coordinatorTaskExecutor,
+                                           Step partitionedCuentaWorkerStep) {
+        
+        System.out.println("🎯 Configurando Master Step para Cuentas Particionadas:");
+        System.out.println("   • Handler: PartitionCoordinator (3 particiones)");
+        System.out.println("   • Estrategia: DISTRIBUCIÓN PURA SIN multi-threading interno");
+        
+        // Crear PartitionHandler inline con coordinator simple
+        PartitionHandler partitionHandler = PartitionConfig.createAccountPartitionHandler(coordinatorTaskExecutor, partitionedCuentaWorkerStep);
+        
+        return new StepBuilder("partitionedCuentaMasterStep", jobRepository)
+                .partitioner("partitionedCuentaWorkerStep", bankDataPartitioner)
+                .partitionHandler(partitionHandler)
+                .step(partitionedCuentaWorkerStep)
+                .build();
+    }
+    
+    /**
+     * Job para procesamiento de cuentas usando particiones.
+     */
+    @Bean
+    public Job particionesCuentasJob(JobRepository jobRepository, 
+                                    Step partitionedCuentaMasterStep) {
+        System.out.println("🚀 CREANDO JOB PARTICIONADO: CUENTAS ANUALES DISTRIBUIDAS");
+        System.out.println("   ⚙️ Sistema de Particiones Activo");
+        System.out.println("   📊 Distribución: 3 Particiones (SIN multi-threading interno)");
+        System.out.println("   🎯 Estrategia: DISTRIBUCIÓN GEOGRÁFICA O TEMPORAL");
+        System.out.println("   💾 Escalable para millones de registros");
+        System.out.println("   -------------------------------------------");
+        
+        return new JobBuilder("particionesCuentasJob", jobRepository)
+                .start(partitionedCuentaMasterStep)
+                .build();
+    }
+    
+    /**
+     * Step worker para detección particionada de anomalías.
+     */
+    @Bean
+    public Step partitionedAnomaliaWorkerStep(JobRepository jobRepository,
+                                             JdbcTransactionManager transactionManager,
+                                             AsyncProcessingConfig asyncProcessingConfig,
+                                             ItemReader<Transaccion> partitionedAnomaliaTransaccionReader,
+                                             ItemProcessor<Transaccion, java.util.List<AnomaliaTransaccion>> detectarAnomalíasLegacyProcessor,
+                                             org.springframework.batch.item.ItemWriter<java.util.List<AnomaliaTransaccion>> anomaliaListWriter,
+                                             ScalingPerformanceListener scalingPerformanceListener) {
+        
+        System.out.println("🚨 Configurando Worker Step para Anomalías Particionadas");
+        
+        return asyncProcessingConfig.chunk(new StepBuilder("partitionedAnomaliaWorkerStep", jobRepository), 3, transactionManager,
+                                           detectarAnomalíasLegacyProcessor, anomaliaListWriter) // Chunks pequeños para anomalías
+                .reader(partitionedAnomaliaTransaccionReader) // Se resuelve dinámicamente por @StepScope
+                .listener(scalingPerformanceListener)
+                .build();
+    }
+    
+    /**
+     * Step maestro para detección particionada de anomalías.
+     */
+    @Bean
+    public Step partitionedAnomaliaMasterStep(JobRepository jobRepository,
+                                             BankDataPartitioner bankDataPartitioner,
+                                             @Qualifier("partitionCoordinatorTaskExecutor") TaskExecutor coordinatorTaskExecutor,
+                                             Step partitionedAnomaliaWorkerStep) {
+        
+        System.out.println("🎯 Configurando Master Step para Anomalías Particionadas:");
+        System.out.println("   • Handler: PartitionCoordinator (6 particiones)");
+        System.out.println("   • Estrategia: DISTRIBUCIÓN POR TIPO DE ANOMALÍA");
+        
+        // Crear PartitionHandler inline con coordinator simple
+        PartitionHandler partitionHandler = PartitionConfig.createAnomalyPartitionHandler(coordinatorTaskExecutor, partitionedAnomaliaWorkerStep);
+        
+        return new StepBuilder("partitionedAnomaliaMasterStep", jobRepository)
+                .partitioner("partitionedAnomaliaWorkerStep", bankDataPartitioner)
+                .partitionHandler(partitionHandler)
+                .step(partitionedAnomaliaWorkerStep)
+                .build();
+    }
+    
+    /**
+     * Job para detección de anomalías usando particiones.
+     */
+    @Bean
+    public Job particionesAnomaliasJob(JobRepository jobRepository, 
+                                      Step partitionedAnomaliaMasterStep) {
+        System.out.println("🚀 CREANDO JOB PARTICIONADO: DETECCIÓN DE ANOMALÍAS AVANZADA");
+        System.out.println("   🚨 Sistema de Detección Distribuido");
+        System.out.println("   📊 Distribución: 6 Particiones (SIN multi-threading interno)");
+        System.out.println("   🎯 Estrategia: DISTRIBUCIÓN POR TIPO DE ANOMALÍA");
+        System.out.println("   🔍 Escalable para análisis masivos de transacciones");
+        System.out.println("   -------------------------------------------");
+        
+        return new JobBuilder("particionesAnomaliasJob", jobRepository)
+                .start(partitionedAnomaliaMasterStep)
+                .build();
+    }
+}
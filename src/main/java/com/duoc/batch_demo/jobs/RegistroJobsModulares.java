@@ -0,0 +1,145 @@
+package com.duoc.batch_demo.jobs;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.scope.BatchScopeSupport;
+import org.springframework.batch.core.scope.JobScope;
+import org.springframework.batch.core.scope.StepScope;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.LazyInitializationBeanFactoryPostProcessor;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+
+import com.duoc.batch_demo.config.PartitionedReaderConfig;
+import com.duoc.batch_demo.config.ProcessorConfig;
+import com.duoc.batch_demo.config.ReaderConfig;
+import com.duoc.batch_demo.config.WriterConfig;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Registro de jobs modulares: carga cada job en un contexto hijo del
+ * contexto principal solo mientras se ejecuta.
+ *
+ * El contexto hijo contiene el módulo del job (jobs.*Modulo) y las
+ * configuraciones de readers, processors y writers, todo con inicialización
+ * diferida: al pedir el job se crean únicamente sus steps y los componentes
+ * que usan. La infraestructura (JobRepository, executors, políticas,
+ * listeners, métricas) se toma del contexto principal, y los
+ * BeanPostProcessor de POST_PROCESADORES (circuito, espera entre reintentos,
+ * control de admisión) se aplican también a los steps del hijo. Al terminar la ejecución el contexto
+ * se cierra y sus beans se destruyen.
+ *
+ * Así el arranque y el heap base del contexto principal no crecen con la
+ * cantidad de jobs: por cada job solo queda un JobModular con su nombre.
+ *
+ * Métricas: banco.batch.jobs.contextos-abiertos y banco.batch.jobs.carga{job}.
+ */
+public class RegistroJobsModulares {
+
+    /**
+     * Componentes compartidos por los módulos. No llevan @Configuration para
+     * que el escaneo no los cargue en el contexto principal: se registran en
+     * el contexto hijo de cada ejecución, que con inicialización diferida crea
+     * solo los readers, processors y writers que usa ese job y los destruye
+     * al cerrarse.
+     */
+    private static final Class<?>[] COMPONENTES = {
+            ReaderConfig.class, PartitionedReaderConfig.class, ProcessorConfig.class, WriterConfig.class};
+
+    /**
+     * BeanPostProcessor del contexto principal que se aplican también a los
+     * beans del hijo. Se listan por nombre: los demás del principal
+     * (jobRepositoryPostProcessor, los de Spring) no deben actuar sobre el hijo.
+     */
+    private static final String[] POST_PROCESADORES = {"pausaStepsPostProcessor"};
+
+    private final ConfigurableApplicationContext padre;
+    private final JobRepository jobRepository;
+    private final MeterRegistry meterRegistry;
+    private final AtomicInteger abiertos = new AtomicInteger();
+    private volatile List<BeanPostProcessor> postProcesadores;
+
+    public RegistroJobsModulares(ConfigurableApplicationContext padre, JobRepository jobRepository,
+                                 MeterRegistry meterRegistry) {
+        this.padre = padre;
+        this.jobRepository = jobRepository;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("banco.batch.jobs.contextos-abiertos", abiertos, AtomicInteger::get)
+                .description("Contextos hijos de jobs en ejecución")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Job del contexto principal para el job "nombre" declarado en el módulo.
+     */
+    public Job job(String nombre, Class<?> modulo) {
+        return new JobModular(nombre, modulo, this, jobRepository);
+    }
+
+    /**
+     * Crea y refresca el contexto hijo del job. Si el job no se puede crear
+     * el contexto se cierra y se propaga el error.
+     */
+    ConfigurableApplicationContext abrir(String nombre, Class<?> modulo) {
+        long inicio = System.nanoTime();
+        AnnotationConfigApplicationContext contexto = new AnnotationConfigApplicationContext();
+        contexto.setId(padre.getId() + ":" + nombre);
+        contexto.setDisplayName("Job " + nombre);
+        contexto.setParent(padre);
+        contexto.setEnvironment(padre.getEnvironment());
+        contexto.addBeanFactoryPostProcessor(new LazyInitializationBeanFactoryPostProcessor());
+        // Los scopes no se heredan del contexto padre
+        contexto.addBeanFactoryPostProcessor(alcance(new StepScope()));
+        contexto.addBeanFactoryPostProcessor(alcance(new JobScope()));
+        postProcesadoresDeAplicacion().forEach(contexto.getBeanFactory()::addBeanPostProcessor);
+        contexto.register(modulo);
+        contexto.register(COMPONENTES);
+        try {
+            contexto.refresh();
+            contexto.getBean(nombre, Job.class);
+        } catch (RuntimeException e) {
+            contexto.close();
+            throw e;
+        }
+        abiertos.incrementAndGet();
+        long duracion = System.nanoTime() - inicio;
+        Timer.builder("banco.batch.jobs.carga")
+                .description("Tiempo de creación del contexto hijo de un job")
+                .tag("job", nombre)
+                .register(meterRegistry)
+                .record(duracion, TimeUnit.NANOSECONDS);
+        System.out.printf("🧩 Contexto de %s cargado en %d ms (%s)%n",
+                nombre, TimeUnit.NANOSECONDS.toMillis(duracion), modulo.getSimpleName());
+        return contexto;
+    }
+
+    void cerrar(ConfigurableApplicationContext contexto) {
+        contexto.close();
+        abiertos.decrementAndGet();
+    }
+
+    private static <T extends BatchScopeSupport> T alcance(T scope) {
+        // Igual que en @EnableBatchProcessing: los beans @StepScope/@JobScope ya declaran su proxy
+        scope.setAutoProxy(false);
+        return scope;
+    }
+
+    private List<BeanPostProcessor> postProcesadoresDeAplicacion() {
+        List<BeanPostProcessor> actuales = postProcesadores;
+        if (actuales == null) {
+            actuales = Arrays.stream(POST_PROCESADORES)
+                    .map(nombre -> padre.getBean(nombre, BeanPostProcessor.class))
+                    .toList();
+            postProcesadores = actuales;
+        }
+        return actuales;
+    }
+}
@@ -0,0 +1,109 @@
+package com.duoc.batch_demo.jobs;
+
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.validator.ValidationException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+
+import com.duoc.batch_demo.config.AsyncProcessingConfig;
+import com.duoc.batch_demo.model.Cuenta;
+import com.duoc.batch_demo.model.Transaccion;
+
+/**
+ * Módulo de los jobs de reproceso de dead-letter:
+ * reprocesoDeadLetterTransaccionesJob y reprocesoDeadLetterCuentasJob.
+ *
+ * Cargado en un contexto hijo por ejecución (ver TransaccionesModulo).
+ */
+public class ReprocesoDeadLetterModulo {
+
+    // ============================================
+    // REPROCESO DE DEAD-LETTER
+    // ============================================
+
+    /**
+     * Reprocesa solo los items omitidos de transaccionesStep (parámetro "archivos"
+     * con las rutas .dlq) con el mismo processor, writer y políticas. Lo que
+     * vuelva a omitirse queda en una nueva dead-letter.
+     */
+    @Bean
+    public Step reprocesoTransaccionesStep(JobRepository jobRepository,
+                                          JdbcTransactionManager transactionManager,
+                                          AsyncProcessingConfig asyncProcessingConfig,
+                                          ItemReader<Transaccion> deadLetterTransaccionReader,
+                                          ItemProcessor<Transaccion, Transaccion> transaccionesStepProcessor,
+                                          ItemWriter<Transaccion> transaccionWriter,
+                                          org.springframework.retry.RetryPolicy transaccionesRetryPolicy,
+                                          org.springframework.batch.core.step.skip.SkipPolicy transaccionesSkipPolicy,
+                                          org.springframework.retry.backoff.BackOffPolicy batchBackOffPolicy,
+                                          com.duoc.batch_demo.resiliencia.MetricasReintento metricasReintento,
+                                          com.duoc.batch_demo.deadletter.DeadLetterSkipListener deadLetterSkipListener,
+                                          org.springframework.batch.core.StepExecutionListener faultToleranceListener,
+                                          @Qualifier("optimizedChunkSize") Integer chunkSize) {
+        return asyncProcessingConfig.chunk(new StepBuilder("reprocesoTransaccionesStep", jobRepository), chunkSize, transactionManager,
+                                           transaccionesStepProcessor, transaccionWriter)
+                .reader(deadLetterTransaccionReader)
+                .faultTolerant()
+                .retryPolicy(transaccionesRetryPolicy)
+                .backOffPolicy(batchBackOffPolicy)
+                .listener(metricasReintento)
+                .skipPolicy(transaccionesSkipPolicy)
+                .noRollback(ValidationException.class)
+                .listener((org.springframework.batch.core.StepExecutionListener) deadLetterSkipListener) // Omitidos a dead-letter (también como SkipListener)
+                .listener(faultToleranceListener)
+                .build();
+    }
+
+    @Bean
+    public Job reprocesoDeadLetterTransaccionesJob(JobRepository jobRepository, Step reprocesoTransaccionesStep) {
+        return new JobBuilder("reprocesoDeadLetterTransaccionesJob", jobRepository)
+                .start(reprocesoTransaccionesStep)
+                .build();
+    }
+
+    /**
+     * Reprocesa solo los items omitidos de interesesStep.
+     */
+    @Bean
+    public Step reprocesoCuentasStep(JobRepository jobRepository,
+                                    JdbcTransactionManager transactionManager,
+                                    AsyncProcessingConfig asyncProcessingConfig,
+                                    ItemReader<Cuenta> deadLetterCuentaReader,
+                                    ItemProcessor<Cuenta, Cuenta> cuentasStepProcessor,
+                                    ItemWriter<Cuenta> cuentaWriter,
+                                    org.springframework.retry.RetryPolicy cuentasRetryPolicy,
+                                    org.springframework.batch.core.step.skip.SkipPolicy cuentasSkipPolicy,
+                                    org.springframework.retry.backoff.BackOffPolicy batchBackOffPolicy,
+                                    com.duoc.batch_demo.resiliencia.MetricasReintento metricasReintento,
+                                    com.duoc.batch_demo.deadletter.DeadLetterSkipListener deadLetterSkipListener,
+                                    org.springframework.batch.core.StepExecutionListener faultToleranceListener,
+                                    @Qualifier("optimizedChunkSize") Integer chunkSize) {
+        return asyncProcessingConfig.chunk(new StepBuilder("reprocesoCuentasStep", jobRepository), chunkSize, transactionManager,
+                                           cuentasStepProcessor, cuentaWriter)
+                .reader(deadLetterCuentaReader)
+                .faultTolerant()
+                .retryPolicy(cuentasRetryPolicy)
+                .backOffPolicy(batchBackOffPolicy)
+                .listener(metricasReintento)
+                .skipPolicy(cuentasSkipPolicy)
+                .noRollback(ValidationException.class)
+                .listener((org.springframework.batch.core.StepExecutionListener) deadLetterSkipListener) // Omitidos a dead-letter (también como SkipListener)
+                .listener(faultToleranceListener)
+                .build();
+    }
+
+    @Bean
+    public Job reprocesoDeadLetterCuentasJob(JobRepository jobRepository, Step reprocesoCuentasStep) {
+        return new JobBuilder("reprocesoDeadLetterCuentasJob", jobRepository)
+                .start(reprocesoCuentasStep)
+                .build();
+    }
+}
@@ -0,0 +1,78 @@
+package com.duoc.batch_demo.jobs;
+
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.validator.ValidationException;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+
+import com.duoc.batch_demo.config.AsyncProcessingConfig;
+import com.duoc.batch_demo.model.Transaccion;
+
+/**
+ * Módulo del job de reporte de transacciones diarias (reporteTransaccionesJob).
+ *
+ * Sin @Configuration: no lo detecta el escaneo de componentes del contexto
+ * principal. RegistroJobsModulares lo registra en el contexto hijo de cada
+ * ejecución del job, junto con los readers, processors y writers.
+ */
+public class TransaccionesModulo {
+
+    // ============================================
+    // JOB 1: REPORTE DE TRANSACCIONES DIARIAS CON ESCALAMIENTO PARALELO
+    // ============================================
+    @Bean
+    public Step transaccionesStep(JobRepository jobRepository,
+                                 JdbcTransactionManager transactionManager,
+                                 AsyncProcessingConfig asyncProcessingConfig,
+                                 ItemReader<Transaccion> transaccionReader,
+                                 ItemProcessor<Transaccion, Transaccion> transaccionesStepProcessor,
+                                 ItemWriter<Transaccion> transaccionWriter,
+                                 org.springframework.retry.RetryPolicy transaccionesRetryPolicy,
+                                 org.springframework.batch.core.step.skip.SkipPolicy transaccionesSkipPolicy,
+                                 org.springframework.retry.backoff.BackOffPolicy batchBackOffPolicy,
+                                 com.duoc.batch_demo.resiliencia.MetricasReintento metricasReintento,
+                                 com.duoc.batch_demo.deadletter.DeadLetterSkipListener deadLetterSkipListener,
+                                 org.springframework.batch.core.StepExecutionListener faultToleranceListener,
+                                 @Qualifier("transactionTaskExecutor") TaskExecutor transactionTaskExecutor,
+                                 @Qualifier("optimizedChunkSize") Integer chunkSize) {
+        
+        System.out.println("=== CONFIGURANDO STEP TRANSACCIONES CON ESCALAMIENTO PARALELO ===");
+        System.out.println("   TaskExecutor: " + transactionTaskExecutor.getClass().getSimpleName());
+        System.out.println("   Chunk Size: " + chunkSize + " registros");
+        System.out.println("   Hilos paralelos: 3");
+        System.out.println("   Tolerancia a fallos integrada");
+        
+        return asyncProcessingConfig.chunk(new StepBuilder("transaccionesStep", jobRepository), chunkSize, transactionManager,
+                                           transaccionesStepProcessor, transaccionWriter)  // Chunk size 5
+                .reader(transaccionReader)
+                // Escalamiento paralelo con 3 hilos
+                .taskExecutor(transactionTaskExecutor)
+                // 🛡️ TOLERANCIA A FALLOS PARA TRANSACCIONES PRINCIPALES
+                .faultTolerant()
+                .retryPolicy(transaccionesRetryPolicy)
+                .backOffPolicy(batchBackOffPolicy)  // Espera exponencial con jitter entre reintentos
+                .listener(metricasReintento)
+                .skipPolicy(transaccionesSkipPolicy)
+                // Validación fallida es un dato malo, no un fallo de infraestructura: sin rollback ni scan
+                .noRollback(ValidationException.class)
+                .listener((org.springframework.batch.core.StepExecutionListener) deadLetterSkipListener) // Omitidos a dead-letter (también como SkipListener)
+                .listener(faultToleranceListener)
+                .build();
+    }
+
+    @Bean
+    public Job reporteTransaccionesJob(JobRepository jobRepository, Step transaccionesStep) {
+        return new JobBuilder("reporteTransaccionesJob", jobRepository)
+                .start(transaccionesStep)
+                .build();
+    }
+}
@@ -6,6 +6,7 @@ import org.springframework.batch.core.StepExecutionListener;
 import org.springframework.stereotype.Component;
 
 import com.duoc.batch_demo.config.ScalingPolicyConfig.ScalingMetrics;
+import com.duoc.batch_demo.validator.EstadisticasValidacion;
 
 /**
  * Listener de rendimiento para escalamiento paralelo.
@@ -22,9 +23,11 @@ public class ScalingPerformanceListener implements StepExecutionListener {
     private long stepStartTime;
     private long stepEndTime;
     private final ScalingMetrics scalingMetrics;
+    private final EstadisticasValidacion estadisticasValidacion;
     
-    public ScalingPerformanceListener(ScalingMetrics scalingMetrics) {
+    public ScalingPerformanceListener(ScalingMetrics scalingMetrics, EstadisticasValidacion estadisticasValidacion) {
         this.scalingMetrics = scalingMetrics;
+        this.estadisticasValidacion = estadisticasValidacion;
     }
 
     @Override
@@ -68,6 +71,7 @@ public class ScalingPerformanceListener implements StepExecutionListener {
             System.out.println("   ├─ Process skips: " + processSkipCount);
             System.out.println("   └─ Write skips: " + writeSkipCount);
         }
+        estadisticasValidacion.imprimirResumen(stepName);
         
         // === CÁLCULO DE MÉTRICAS DE RENDIMIENTO PARALELO ===
         double throughputPerSecond = readCount > 0 ? (readCount * 1000.0) / executionTime : 0;
@@ -0,0 +1,70 @@
+package com.duoc.batch_demo.model;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Tipos canónicos de cuenta con su tasa de interés anual y alias de entrada.
+ * 
+ * HIPOTECA e INVERSION son válidos para validación, pero el cálculo de
+ * intereses los trata como CORRIENTE (igual que InteresesItemProcessor).
+ */
+public enum TipoCuenta {
+    AHORRO(new BigDecimal("0.0225")),     // 2.25% anual
+    CORRIENTE(new BigDecimal("0.0050")),  // 0.5% anual
+    PRESTAMO(new BigDecimal("-0.0850")),  // -8.5% anual (se paga interés)
+    HIPOTECA(new BigDecimal("0.0050")),
+    INVERSION(new BigDecimal("0.0050"));
+
+    private static final Map<String, TipoCuenta> POR_NOMBRE = new HashMap<>();
+    private static final Map<String, TipoCuenta> POR_ALIAS = new HashMap<>();
+
+    static {
+        for (TipoCuenta tipo : values()) {
+            POR_NOMBRE.put(tipo.name(), tipo);
+            POR_ALIAS.put(tipo.name(), tipo);
+        }
+        POR_ALIAS.put("SAVINGS", AHORRO);
+        POR_ALIAS.put("SAVING", AHORRO);
+        POR_ALIAS.put("SAVE", AHORRO);
+        POR_ALIAS.put("LOAN", PRESTAMO);
+        POR_ALIAS.put("LENDING", PRESTAMO);
+        POR_ALIAS.put("CHECKING", CORRIENTE);
+        POR_ALIAS.put("CURRENT", CORRIENTE);
+    }
+
+    private final BigDecimal tasaInteresAnual;
+
+    TipoCuenta(BigDecimal tasaInteresAnual) {
+        this.tasaInteresAnual = tasaInteresAnual;
+    }
+
+    public BigDecimal getTasaInteresAnual() {
+        return tasaInteresAnual;
+    }
+
+    /**
+     * Tipo con el que se persiste la cuenta tras calcular intereses.
+     */
+    public TipoCuenta tipoParaIntereses() {
+        return this == AHORRO || this == PRESTAMO ? this : CORRIENTE;
+    }
+
+    /**
+     * Resuelve solo nombres canónicos.
+     * @return el tipo o null si no es válido
+     */
+    public static TipoCuenta desdeNombre(String valor) {
+        return valor == null ? null : POR_NOMBRE.get(valor.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Resuelve nombres canónicos y alias en inglés (SAVINGS, LOAN, CHECKING...).
+     * @return el tipo o null si no es reconocible
+     */
+    public static TipoCuenta normalizar(String valor) {
+        return valor == null ? null : POR_ALIAS.get(valor.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,42 @@
+package com.duoc.batch_demo.model;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Tipos canónicos de transacción con búsqueda por nombre y por alias.
+ * Reemplaza las comparaciones de strings repartidas por processors y validadores.
+ */
+public enum TipoTransaccion {
+    DEBITO,
+    CREDITO;
+
+    private static final Map<String, TipoTransaccion> POR_NOMBRE = new HashMap<>();
+    private static final Map<String, TipoTransaccion> POR_ALIAS = new HashMap<>();
+
+    static {
+        for (TipoTransaccion tipo : values()) {
+            POR_NOMBRE.put(tipo.name(), tipo);
+            POR_ALIAS.put(tipo.name(), tipo);
+        }
+        POR_ALIAS.put("DEBIT", DEBITO);
+        POR_ALIAS.put("CREDIT", CREDITO);
+    }
+
+    /**
+     * Resuelve solo nombres canónicos (DEBITO, CREDITO).
+     * @return el tipo o null si no es válido
+     */
+    public static TipoTransaccion desdeNombre(String valor) {
+        return valor == null ? null : POR_NOMBRE.get(valor.trim().toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * Resuelve nombres canónicos y alias conocidos (DEBIT, CREDIT).
+     * @return el tipo o null si no es reconocible
+     */
+    public static TipoTransaccion normalizar(String valor) {
+        return valor == null ? null : POR_ALIAS.get(valor.trim().toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,159 @@
+package com.duoc.batch_demo.orquestacion;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Grafo de dependencias entre jobs (DAG) para el orquestador.
+ *
+ * Cada nodo declara los jobs que deben completarse antes y cuántas conexiones
+ * de base de datos usa en simultáneo (hilos de sus steps). Al construirse se
+ * valida que las dependencias existan y que no haya ciclos, y se calcula la
+ * prioridad de cada job: el largo de la cadena de dependientes más larga que
+ * cuelga de él, para lanzar primero el camino crítico.
+ */
+public class GrafoJobs {
+
+    private final Map<String, Nodo> nodos;
+
+    private GrafoJobs(Map<String, Nodo> nodos) {
+        this.nodos = nodos;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public List<Nodo> getNodos() {
+        return List.copyOf(nodos.values());
+    }
+
+    public Nodo getNodo(String job) {
+        return nodos.get(job);
+    }
+
+    /**
+     * @return jobs que dependen, directa o indirectamente, de job
+     */
+    public List<String> descendientes(String job) {
+        List<String> resultado = new ArrayList<>();
+        Deque<String> pendientes = new ArrayDeque<>(nodos.get(job).dependientes);
+        while (!pendientes.isEmpty()) {
+            String siguiente = pendientes.poll();
+            if (!resultado.contains(siguiente)) {
+                resultado.add(siguiente);
+                pendientes.addAll(nodos.get(siguiente).dependientes);
+            }
+        }
+        return resultado;
+    }
+
+    public static final class Nodo {
+        private final String job;
+        private final int conexiones;
+        private final List<String> dependencias;
+        private final List<String> dependientes = new ArrayList<>();
+        private int prioridad;
+
+        private Nodo(String job, int conexiones, List<String> dependencias) {
+            this.job = job;
+            this.conexiones = conexiones;
+            this.dependencias = dependencias;
+        }
+
+        public String getJob() {
+            return job;
+        }
+
+        public int getConexiones() {
+            return conexiones;
+        }
+
+        public List<String> getDependencias() {
+            return dependencias;
+        }
+
+        public int getPrioridad() {
+            return prioridad;
+        }
+
+        @Override
+        public String toString() {
+            return job + (dependencias.isEmpty() ? "" : " <- " + dependencias);
+        }
+    }
+
+    public static final class Builder {
+        private final Map<String, Nodo> nodos = new LinkedHashMap<>();
+
+        /**
+         * @param conexiones conexiones de base de datos que usa el job en simultáneo
+         * @param dependencias jobs que deben completarse antes
+         */
+        public Builder job(String job, int conexiones, String... dependencias) {
+            if (conexiones < 1) {
+                throw new IllegalArgumentException("El job " + job + " debe usar al menos 1 conexión");
+            }
+            if (nodos.putIfAbsent(job, new Nodo(job, conexiones, List.of(dependencias))) != null) {
+                throw new IllegalArgumentException("Job repetido en el grafo: " + job);
+            }
+            return this;
+        }
+
+        public GrafoJobs build() {
+            for (Nodo nodo : nodos.values()) {
+                for (String dependencia : nodo.dependencias) {
+                    Nodo anterior = nodos.get(dependencia);
+                    if (anterior == null) {
+                        throw new IllegalStateException("El job " + nodo.job + " depende de " + dependencia + ", que no está en el grafo");
+                    }
+                    anterior.dependientes.add(nodo.job);
+                }
+            }
+            List<Nodo> orden = ordenTopologico();
+            // En orden inverso los dependientes ya tienen su prioridad calculada
+            Collections.reverse(orden);
+            for (Nodo nodo : orden) {
+                int prioridad = 0;
+                for (String dependiente : nodo.dependientes) {
+                    prioridad = Math.max(prioridad, nodos.get(dependiente).prioridad + 1);
+                }
+                nodo.prioridad = prioridad;
+            }
+            return new GrafoJobs(nodos);
+        }
+
+        private List<Nodo> ordenTopologico() {
+            Map<String, Integer> entrantes = new HashMap<>();
+            Deque<Nodo> listos = new ArrayDeque<>();
+            for (Nodo nodo : nodos.values()) {
+                entrantes.put(nodo.job, nodo.dependencias.size());
+                if (nodo.dependencias.isEmpty()) {
+                    listos.add(nodo);
+                }
+            }
+            List<Nodo> orden = new ArrayList<>();
+            while (!listos.isEmpty()) {
+                Nodo nodo = listos.poll();
+                orden.add(nodo);
+                for (String dependiente : nodo.dependientes) {
+                    if (entrantes.merge(dependiente, -1, Integer::sum) == 0) {
+                        listos.add(nodos.get(dependiente));
+                    }
+                }
+            }
+            if (orden.size() != nodos.size()) {
+                List<String> enCiclo = new ArrayList<>(nodos.keySet());
+                orden.forEach(nodo -> enCiclo.remove(nodo.job));
+                throw new IllegalStateException("El grafo de jobs tiene un ciclo entre: " + enCiclo);
+            }
+            return orden;
+        }
+    }
+}
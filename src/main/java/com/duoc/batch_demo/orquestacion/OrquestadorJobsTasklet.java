@@ -0,0 +1,180 @@
+package com.duoc.batch_demo.orquestacion;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.UnexpectedJobExecutionException;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.core.task.TaskExecutor;
+
+/**
+ * Ejecuta un ciclo de jobs según su GrafoJobs.
+ *
+ * Cada job se lanza en cuanto terminan sus dependencias (no por niveles), así
+ * el ciclo dura lo que su camino crítico. Entre los jobs listos se lanzan
+ * primero los de mayor prioridad (cadena de dependientes más larga), siempre
+ * que sus conexiones quepan en el presupuesto global; si el más prioritario no
+ * cabe, se adelantan los que sí caben. Un job que pide más que el presupuesto
+ * se lanza solo.
+ *
+ * Los jobs hijos reciben los parámetros del ciclo más "ciclo" = id de la
+ * JobInstance del orquestador: al reiniciar un ciclo fallido los jobs ya
+ * completados responden JobInstanceAlreadyCompleteException y se dan por
+ * hechos, y los fallidos se reinician desde su último checkpoint.
+ *
+ * Si un job falla no se lanza ninguno de sus dependientes; se espera a los que
+ * están en curso y el step termina con error. Al detener el orquestador no se
+ * lanzan jobs nuevos.
+ */
+public class OrquestadorJobsTasklet implements Tasklet {
+
+    public static final String PARAMETRO_CICLO = "ciclo";
+
+    private enum Estado { PENDIENTE, EN_CURSO, COMPLETADO, FALLIDO, OMITIDO }
+
+    private final GrafoJobs grafo;
+    private final Function<String, Job> jobs;
+    private final JobLauncher jobLauncher;
+    private final TaskExecutor taskExecutor;
+    private final int presupuestoConexiones;
+
+    /**
+     * @param jobs resuelve cada job del grafo por nombre al momento de lanzarlo
+     * @param jobLauncher launcher síncrono: cada job ocupa un hilo de taskExecutor hasta terminar
+     */
+    public OrquestadorJobsTasklet(GrafoJobs grafo, Function<String, Job> jobs, JobLauncher jobLauncher,
+                                  TaskExecutor taskExecutor, int presupuestoConexiones) {
+        this.grafo = grafo;
+        this.jobs = jobs;
+        this.jobLauncher = jobLauncher;
+        this.taskExecutor = taskExecutor;
+        this.presupuestoConexiones = Math.max(1, presupuestoConexiones);
+    }
+
+    @Override
+    public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) throws Exception {
+        StepExecution stepExecution = chunkContext.getStepContext().getStepExecution();
+        JobParameters parametros = new JobParametersBuilder(stepExecution.getJobParameters())
+                .addLong(PARAMETRO_CICLO, stepExecution.getJobExecution().getJobInstance().getInstanceId())
+                .toJobParameters();
+
+        Map<String, Estado> estados = new LinkedHashMap<>();
+        List<GrafoJobs.Nodo> pendientes = new ArrayList<>(grafo.getNodos());
+        pendientes.sort(Comparator.comparingInt(GrafoJobs.Nodo::getPrioridad).reversed());
+        pendientes.forEach(nodo -> estados.put(nodo.getJob(), Estado.PENDIENTE));
+
+        CompletionService<Resultado> completados = new ExecutorCompletionService<>(taskExecutor);
+        Map<String, Long> inicio = new LinkedHashMap<>();
+        int disponibles = presupuestoConexiones;
+        int enCurso = 0;
+        long inicioCiclo = System.currentTimeMillis();
+
+        System.out.println("🗺️ Ciclo de jobs " + parametros.getLong(PARAMETRO_CICLO) + ": " + grafo.getNodos().size() +
+                         " jobs, presupuesto de " + presupuestoConexiones + " conexiones");
+
+        while (true) {
+            if (!stepExecution.isTerminateOnly()) {
+                for (GrafoJobs.Nodo nodo : List.copyOf(pendientes)) {
+                    int conexiones = Math.min(nodo.getConexiones(), presupuestoConexiones);
+                    if (!listo(nodo, estados) || conexiones > disponibles) {
+                        continue;
+                    }
+                    pendientes.remove(nodo);
+                    estados.put(nodo.getJob(), Estado.EN_CURSO);
+                    disponibles -= conexiones;
+                    enCurso++;
+                    inicio.put(nodo.getJob(), System.currentTimeMillis());
+                    System.out.println("▶️ Ciclo: lanzando " + nodo.getJob() + " (" + conexiones + " conexiones, " +
+                                     disponibles + " libres)");
+                    completados.submit(() -> lanzar(nodo, parametros));
+                }
+            }
+            if (enCurso == 0) {
+                break;
+            }
+
+            Resultado resultado = esperar(completados.take());
+            GrafoJobs.Nodo nodo = grafo.getNodo(resultado.job);
+            disponibles += Math.min(nodo.getConexiones(), presupuestoConexiones);
+            enCurso--;
+            long duracion = System.currentTimeMillis() - inicio.get(resultado.job);
+            if (resultado.ejecucion != null) {
+                stepExecution.getExecutionContext().putLong("ciclo." + resultado.job + ".ejecucion", resultado.ejecucion);
+            }
+
+            if (resultado.error == null) {
+                estados.put(resultado.job, Estado.COMPLETADO);
+                System.out.println("✅ Ciclo: " + resultado.job + " " + resultado.detalle + " en " + duracion + " ms");
+            } else {
+                estados.put(resultado.job, Estado.FALLIDO);
+                System.err.println("❌ Ciclo: " + resultado.job + " falló en " + duracion + " ms: " + resultado.error);
+                for (String dependiente : grafo.descendientes(resultado.job)) {
+                    if (estados.get(dependiente) == Estado.PENDIENTE) {
+                        estados.put(dependiente, Estado.OMITIDO);
+                        pendientes.removeIf(pendiente -> pendiente.getJob().equals(dependiente));
+                    }
+                }
+            }
+        }
+
+        System.out.println("🗺️ Ciclo terminado en " + (System.currentTimeMillis() - inicioCiclo) + " ms: " + estados);
+        List<String> incompletos = estados.entrySet().stream()
+                .filter(entrada -> entrada.getValue() != Estado.COMPLETADO)
+                .map(entrada -> entrada.getKey() + "=" + entrada.getValue())
+                .toList();
+        if (!incompletos.isEmpty() && !stepExecution.isTerminateOnly()) {
+            throw new UnexpectedJobExecutionException("Ciclo de jobs incompleto: " + incompletos);
+        }
+        return RepeatStatus.FINISHED;
+    }
+
+    private static boolean listo(GrafoJobs.Nodo nodo, Map<String, Estado> estados) {
+        return nodo.getDependencias().stream().allMatch(dependencia -> estados.get(dependencia) == Estado.COMPLETADO);
+    }
+
+    private Resultado lanzar(GrafoJobs.Nodo nodo, JobParameters parametros) {
+        try {
+            JobExecution ejecucion = jobLauncher.run(jobs.apply(nodo.getJob()), parametros);
+            if (ejecucion.getStatus() == BatchStatus.COMPLETED) {
+                return new Resultado(nodo.getJob(), ejecucion.getId(), "completado", null);
+            }
+            return new Resultado(nodo.getJob(), ejecucion.getId(), null,
+                    ejecucion.getStatus() + " " + ejecucion.getExitStatus().getExitDescription());
+        } catch (JobInstanceAlreadyCompleteException e) {
+            return new Resultado(nodo.getJob(), null, "ya completado en una ejecución anterior del ciclo", null);
+        } catch (Exception e) {
+            return new Resultado(nodo.getJob(), null, null, e.getClass().getSimpleName() + ": " + e.getMessage());
+        }
+    }
+
+    private static Resultado esperar(Future<Resultado> futuro) throws InterruptedException {
+        try {
+            return futuro.get();
+        } catch (ExecutionException e) {
+            // lanzar() no propaga excepciones: solo errores graves del hilo
+            throw new UnexpectedJobExecutionException("Error en el hilo del orquestador", e.getCause());
+        }
+    }
+
+    private record Resultado(String job, Long ejecucion, String detalle, String error) {
+    }
+}
@@ -6,6 +6,8 @@ import java.util.List;
 
 import org.springframework.batch.item.ItemProcessor;
 
+import com.duoc.batch_demo.audit.AuditoriaBatch;
+import com.duoc.batch_demo.audit.NivelAuditoria;
 import com.duoc.batch_demo.model.AnomaliaTransaccion;
 import com.duoc.batch_demo.model.Transaccion;
 
@@ -14,6 +16,12 @@ public class AnomaliaTransaccionItemProcessor implements ItemProcessor<Transacci
     private static final BigDecimal MONTO_MINIMO = new BigDecimal("250.00");
     private static final BigDecimal MONTO_MAXIMO = new BigDecimal("50000.00");
 
+    private final AuditoriaBatch auditoria;
+
+    public AnomaliaTransaccionItemProcessor(AuditoriaBatch auditoria) {
+        this.auditoria = auditoria;
+    }
+
     @Override
     public List<AnomaliaTransaccion> process(Transaccion transaccion) throws Exception {
         
@@ -60,10 +68,12 @@ public class AnomaliaTransaccionItemProcessor implements ItemProcessor<Transacci
         }
         
         // Log para monitoreo
-        for (AnomaliaTransaccion anomalia : anomalias) {
-            System.out.println("🚨 ANOMALÍA REGISTRADA - Transacción ID: " + transaccion.getId() + 
-                              " - Tipo: " + anomalia.getTipoAnomalia() + 
-                              " - Severidad: " + anomalia.getSeveridad());
+        if (!anomalias.isEmpty() && auditoria.debeRegistrar(NivelAuditoria.WARN)) {
+            for (AnomaliaTransaccion anomalia : anomalias) {
+                auditoria.publicar(NivelAuditoria.WARN, "ANOMALIA_REGISTRADA", "Transacción ID: " + transaccion.getId() + 
+                                  " - Tipo: " + anomalia.getTipoAnomalia() + 
+                                  " - Severidad: " + anomalia.getSeveridad());
+            }
         }
         
         return anomalias.isEmpty() ? null : anomalias;
@@ -9,6 +9,8 @@ import java.time.format.DateTimeParseException;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.stereotype.Component;
 
+import com.duoc.batch_demo.audit.AuditoriaBatch;
+import com.duoc.batch_demo.audit.NivelAuditoria;
 import com.duoc.batch_demo.model.CuentaAnual;
 
 /**
@@ -25,6 +27,12 @@ public class CuentaAnualItemProcessor implements ItemProcessor<CuentaAnual, Cuen
         DateTimeFormatter.ofPattern("dd/MM/yyyy")
     };
 
+    private final AuditoriaBatch auditoria;
+
+    public CuentaAnualItemProcessor(AuditoriaBatch auditoria) {
+        this.auditoria = auditoria;
+    }
+
     @Override
     public CuentaAnual process(CuentaAnual cuentaAnual) throws Exception {
         if (cuentaAnual == null) {
@@ -36,7 +44,9 @@ public class CuentaAnualItemProcessor implements ItemProcessor<CuentaAnual, Cuen
 
         // Validar y corregir cuenta ID
         if (cuentaAnual.getCuentaId() == null || cuentaAnual.getCuentaId() <= 0) {
-            System.out.println("⚠️  ADVERTENCIA - Cuenta ID inválido: " + cuentaAnual.getCuentaId());
+            if (auditoria.debeRegistrar(NivelAuditoria.WARN)) {
+                auditoria.publicar(NivelAuditoria.WARN, "CUENTA_ID_INVALIDO", "Cuenta ID inválido: " + cuentaAnual.getCuentaId());
+            }
             return null; // Descartar registros con ID inválido
         }
 
@@ -51,7 +61,9 @@ public class CuentaAnualItemProcessor implements ItemProcessor<CuentaAnual, Cuen
         // Validar y corregir monto
         if (cuentaAnual.getMonto() == null) {
             cuentaAnual.setMonto(BigDecimal.ZERO);
-            System.out.println("⚠️  ADVERTENCIA - Monto nulo corregido a 0 para cuenta: " + cuentaAnual.getCuentaId());
+            if (auditoria.debeRegistrar(NivelAuditoria.WARN)) {
+                auditoria.publicar(NivelAuditoria.WARN, "MONTO_NULO_CORREGIDO", "Monto nulo corregido a 0 para cuenta: " + cuentaAnual.getCuentaId());
+            }
         }
 
         // Limpiar descripción
@@ -67,13 +79,17 @@ public class CuentaAnualItemProcessor implements ItemProcessor<CuentaAnual, Cuen
         // Validar fecha - si es inválida, usar fecha actual
         if (cuentaAnual.getFecha() == null) {
             cuentaAnual.setFecha(LocalDate.now());
-            System.out.println("⚠️  ADVERTENCIA - Fecha nula corregida para cuenta: " + cuentaAnual.getCuentaId());
+            if (auditoria.debeRegistrar(NivelAuditoria.WARN)) {
+                auditoria.publicar(NivelAuditoria.WARN, "FECHA_NULA_CORREGIDA", "Fecha nula corregida para cuenta: " + cuentaAnual.getCuentaId());
+            }
         }
 
-        System.out.println("📋 PROCESADO - Cuenta Anual ID: " + cuentaAnual.getCuentaId() + 
-                          " - " + cuentaAnual.getTransaccion() + 
-                          " - Monto: " + cuentaAnual.getMonto() + 
-                          " - Fecha: " + cuentaAnual.getFecha());
+        if (auditoria.debeRegistrar(NivelAuditoria.INFO)) {
+            auditoria.publicar(NivelAuditoria.INFO, "CUENTA_ANUAL_PROCESADA", "Cuenta Anual ID: " + cuentaAnual.getCuentaId() + 
+                              " - " + cuentaAnual.getTransaccion() + 
+                              " - Monto: " + cuentaAnual.getMonto() + 
+                              " - Fecha: " + cuentaAnual.getFecha());
+        }
 
         return cuentaAnual;
     }
@@ -107,7 +123,9 @@ public class CuentaAnualItemProcessor implements ItemProcessor<CuentaAnual, Cuen
             }
         }
 
-        System.out.println("⚠️  ADVERTENCIA - No se pudo parsear la fecha: " + fechaStr);
+        if (auditoria.debeRegistrar(NivelAuditoria.WARN)) {
+            auditoria.publicar(NivelAuditoria.WARN, "FECHA_NO_PARSEABLE", "No se pudo parsear la fecha: " + fechaStr);
+        }
         return null;
     }
 }
@@ -0,0 +1,92 @@
+package com.duoc.batch_demo.processor;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.duoc.batch_demo.audit.AuditoriaBatch;
+import com.duoc.batch_demo.audit.NivelAuditoria;
+import com.duoc.batch_demo.model.Cuenta;
+import com.duoc.batch_demo.model.TipoCuenta;
+import com.duoc.batch_demo.validator.CuentaValidator;
+import com.duoc.batch_demo.validator.EstadisticasValidacion;
+import com.duoc.batch_demo.validator.ResultadoValidacion;
+import com.duoc.batch_demo.validator.ValidacionRechazadaException;
+
+/**
+ * Procesador fusionado para cuentas: normaliza el tipo, aplica las reglas de
+ * CuentaValidator y calcula el interés mensual en una sola pasada por item.
+ * 
+ * Reemplazo directo de InteresesItemProcessor en los steps de cuentas
+ * cuando banco.batch.procesador.fusionado=true. Los items inválidos se filtran
+ * (banco.batch.validacion.rechazo=filtrar) o se lanzan como excepción preasignada
+ * para la SkipPolicy (banco.batch.validacion.rechazo=excepcion).
+ */
+@Component
+public final class CuentaValidacionItemProcessor implements ItemProcessor<Cuenta, Cuenta> {
+
+    private static final BigDecimal MESES_POR_ANIO = new BigDecimal("12");
+
+    private final CuentaValidator cuentaValidator;
+    private final EstadisticasValidacion estadisticasValidacion;
+    private final AuditoriaBatch auditoria;
+    private final boolean rechazarConExcepcion;
+
+    public CuentaValidacionItemProcessor(CuentaValidator cuentaValidator,
+                                         EstadisticasValidacion estadisticasValidacion,
+                                         AuditoriaBatch auditoria,
+                                         @Value("${banco.batch.validacion.rechazo:filtrar}") String modoRechazo) {
+        this.cuentaValidator = cuentaValidator;
+        this.estadisticasValidacion = estadisticasValidacion;
+        this.auditoria = auditoria;
+        this.rechazarConExcepcion = "excepcion".equalsIgnoreCase(modoRechazo);
+    }
+
+    @Override
+    public Cuenta process(Cuenta cuenta) throws Exception {
+        if (cuenta == null) {
+            return null;
+        }
+
+        // Normalizar tipo por alias (SAVINGS -> AHORRO) antes de validar
+        TipoCuenta tipo = TipoCuenta.normalizar(cuenta.getTipo());
+        if (tipo != null) {
+            cuenta.setTipo(tipo.name());
+        }
+
+        ResultadoValidacion resultado = cuentaValidator.validar(cuenta);
+        if (!resultado.esValido()) {
+            // Camino barato: filtrar el item (cuenta en filterCount) sin excepción ni rollback
+            if (!rechazarConExcepcion) {
+                estadisticasValidacion.registrarRechazo(resultado);
+                return null;
+            }
+            throw ValidacionRechazadaException.de(resultado);
+        }
+
+        // Normalizar nombre y tipo con el que se calculan y guardan los intereses
+        cuenta.setNombre(cuenta.getNombre().trim().toUpperCase());
+        TipoCuenta tipoIntereses = tipo.tipoParaIntereses();
+        cuenta.setTipo(tipoIntereses.name());
+
+        // Calcular interés mensual: (saldo * tasa_anual) / 12
+        BigDecimal saldoAnterior = cuenta.getSaldo();
+        BigDecimal interesMensual = saldoAnterior.multiply(tipoIntereses.getTasaInteresAnual())
+                .divide(MESES_POR_ANIO, 2, RoundingMode.HALF_UP);
+        BigDecimal nuevoSaldo = saldoAnterior.add(interesMensual);
+        cuenta.setSaldo(nuevoSaldo);
+        cuenta.setFechaActualizacion(LocalDateTime.now());
+
+        if (auditoria.debeRegistrar(NivelAuditoria.INFO)) {
+            auditoria.publicar(NivelAuditoria.INFO, "INTERES_CALCULADO", "Cuenta: " + cuenta.getCuentaId() + 
+                              " (" + cuenta.getTipo() + ") - Saldo anterior: " + saldoAnterior +
+                              " - Interés: " + interesMensual + " - Nuevo saldo: " + nuevoSaldo);
+        }
+
+        return cuenta;
+    }
+}
@@ -6,6 +6,8 @@ import java.util.Map;
 
 import org.springframework.batch.item.ItemProcessor;
 
+import com.duoc.batch_demo.audit.AuditoriaBatch;
+import com.duoc.batch_demo.audit.NivelAuditoria;
 import com.duoc.batch_demo.model.CuentaAnual;
 import com.duoc.batch_demo.model.EstadoCuentaAnual;
 
@@ -14,6 +16,12 @@ public class EstadoCuentaAnualItemProcessor implements ItemProcessor<CuentaAnual
     // Mapa para agrupar transacciones por cuenta
     private final Map<Long, EstadoCuentaAnual> estadosPorCuenta = new HashMap<>();
 
+    private final AuditoriaBatch auditoria;
+
+    public EstadoCuentaAnualItemProcessor(AuditoriaBatch auditoria) {
+        this.auditoria = auditoria;
+    }
+
     @Override
     public EstadoCuentaAnual process(CuentaAnual cuentaAnual) throws Exception {
         
@@ -66,11 +74,13 @@ public class EstadoCuentaAnualItemProcessor implements ItemProcessor<CuentaAnual
         }
         
         // Log para monitoreo
-        System.out.println("📋 ESTADO CUENTA PROCESADO - Cuenta ID: " + cuentaId + 
-                          " - Total Depósitos: " + estado.getTotalDepositos() + 
-                          " - Total Retiros: " + estado.getTotalRetiros() + 
-                          " - Saldo Final: " + estado.getSaldoFinal() + 
-                          " - Transacciones: " + estado.getTotalTransacciones());
+        if (auditoria.debeRegistrar(NivelAuditoria.INFO)) {
+            auditoria.publicar(NivelAuditoria.INFO, "ESTADO_CUENTA_PROCESADO", "Cuenta ID: " + cuentaId + 
+                              " - Total Depósitos: " + estado.getTotalDepositos() + 
+                              " - Total Retiros: " + estado.getTotalRetiros() + 
+                              " - Saldo Final: " + estado.getSaldoFinal() + 
+                              " - Transacciones: " + estado.getTotalTransacciones());
+        }
         
         // Retornar una copia del estado actual
         EstadoCuentaAnual estadoCopia = new EstadoCuentaAnual(estado.getCuentaId(), estado.getNombre());
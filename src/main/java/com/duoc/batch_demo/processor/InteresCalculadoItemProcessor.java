@@ -6,11 +6,19 @@ import java.time.LocalDateTime;
 
 import org.springframework.batch.item.ItemProcessor;
 
+import com.duoc.batch_demo.audit.AuditoriaBatch;
+import com.duoc.batch_demo.audit.NivelAuditoria;
 import com.duoc.batch_demo.model.Cuenta;
 import com.duoc.batch_demo.model.InteresCalculado;
 
 public class InteresCalculadoItemProcessor implements ItemProcessor<Cuenta, InteresCalculado> {
 
+    private final AuditoriaBatch auditoria;
+
+    public InteresCalculadoItemProcessor(AuditoriaBatch auditoria) {
+        this.auditoria = auditoria;
+    }
+
     @Override
     public InteresCalculado process(Cuenta cuenta) throws Exception {
         
@@ -56,9 +64,11 @@ public class InteresCalculadoItemProcessor implements ItemProcessor<Cuenta, Inte
         );
         
         // Log para monitoreo
-        System.out.println("💰 INTERÉS CALCULADO - Cuenta: " + cuenta.getCuentaId() + 
-                          " (" + cuenta.getTipo() + ") - Saldo anterior: " + saldoAnterior + 
-                          " - Interés: " + interesCalculado + " - Nuevo saldo: " + saldoNuevo);
+        if (auditoria.debeRegistrar(NivelAuditoria.INFO)) {
+            auditoria.publicar(NivelAuditoria.INFO, "INTERES_CALCULADO", "Cuenta: " + cuenta.getCuentaId() + 
+                              " (" + cuenta.getTipo() + ") - Saldo anterior: " + saldoAnterior + 
+                              " - Interés: " + interesCalculado + " - Nuevo saldo: " + saldoNuevo);
+        }
         
         return detalle;
     }
@@ -7,6 +7,8 @@ import java.time.LocalDateTime;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.stereotype.Component;
 
+import com.duoc.batch_demo.audit.AuditoriaBatch;
+import com.duoc.batch_demo.audit.NivelAuditoria;
 import com.duoc.batch_demo.model.Cuenta;
 
 /**
@@ -20,6 +22,12 @@ public class InteresesItemProcessor implements ItemProcessor<Cuenta, Cuenta> {
     private static final BigDecimal TASA_PRESTAMO = new BigDecimal("-0.0850"); // -8.5% anual (se paga interés)
     private static final BigDecimal TASA_CORRIENTE = new BigDecimal("0.0050"); // 0.5% anual
 
+    private final AuditoriaBatch auditoria;
+
+    public InteresesItemProcessor(AuditoriaBatch auditoria) {
+        this.auditoria = auditoria;
+    }
+
     @Override
     public Cuenta process(Cuenta cuenta) throws Exception {
         if (cuenta == null) {
@@ -60,9 +68,11 @@ public class InteresesItemProcessor implements ItemProcessor<Cuenta, Cuenta> {
         cuenta.setSaldo(nuevoSaldo);
         cuenta.setFechaActualizacion(LocalDateTime.now());
 
-        System.out.println("💰 INTERÉS CALCULADO - Cuenta: " + cuenta.getCuentaId() + 
-                          " (" + cuenta.getTipo() + ") - Saldo anterior: " + cuenta.getSaldo().subtract(interesMensual) +
-                          " - Interés: " + interesMensual + " - Nuevo saldo: " + nuevoSaldo);
+        if (auditoria.debeRegistrar(NivelAuditoria.INFO)) {
+            auditoria.publicar(NivelAuditoria.INFO, "INTERES_CALCULADO", "Cuenta: " + cuenta.getCuentaId() + 
+                              " (" + cuenta.getTipo() + ") - Saldo anterior: " + cuenta.getSaldo().subtract(interesMensual) +
+                              " - Interés: " + interesMensual + " - Nuevo saldo: " + nuevoSaldo);
+        }
 
         return cuenta;
     }
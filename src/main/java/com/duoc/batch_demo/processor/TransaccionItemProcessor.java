@@ -7,6 +7,8 @@ import java.time.LocalDateTime;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.stereotype.Component;
 
+import com.duoc.batch_demo.audit.AuditoriaBatch;
+import com.duoc.batch_demo.audit.NivelAuditoria;
 import com.duoc.batch_demo.model.Transaccion;
 
 /**
@@ -18,6 +20,12 @@ public class TransaccionItemProcessor implements ItemProcessor<Transaccion, Tran
     private static final BigDecimal MONTO_MAXIMO_DIARIO = new BigDecimal("50000");
     private static final BigDecimal MONTO_MINIMO = new BigDecimal("0.01");
 
+    private final AuditoriaBatch auditoria;
+
+    public TransaccionItemProcessor(AuditoriaBatch auditoria) {
+        this.auditoria = auditoria;
+    }
+
     @Override
     public Transaccion process(Transaccion transaccion) throws Exception {
         if (transaccion == null) {
@@ -85,7 +93,9 @@ public class TransaccionItemProcessor implements ItemProcessor<Transaccion, Tran
         transaccion.setEsAnomalia(esAnomalia);
         if (esAnomalia) {
             transaccion.setMotivoAnomalia(motivosAnomalia.toString());
-            System.out.println("🚨 ANOMALÍA DETECTADA - Transacción ID: " + transaccion.getId() + " - " + motivosAnomalia);
+            if (auditoria.debeRegistrar(NivelAuditoria.WARN)) {
+                auditoria.publicar(NivelAuditoria.WARN, "ANOMALIA_DETECTADA", "Transacción ID: " + transaccion.getId() + " - " + motivosAnomalia);
+            }
         }
 
         return transaccion;
@@ -0,0 +1,86 @@
+package com.duoc.batch_demo.processor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.duoc.batch_demo.audit.AuditoriaBatch;
+import com.duoc.batch_demo.audit.NivelAuditoria;
+import com.duoc.batch_demo.model.TipoTransaccion;
+import com.duoc.batch_demo.model.Transaccion;
+import com.duoc.batch_demo.validator.TransaccionValidator;
+import com.duoc.batch_demo.validator.EstadisticasValidacion;
+import com.duoc.batch_demo.validator.ResultadoValidacion;
+import com.duoc.batch_demo.validator.ValidacionRechazadaException;
+
+/**
+ * Procesador fusionado para transacciones: normaliza el tipo, aplica las reglas
+ * de TransaccionValidator y marca anomalías en una sola pasada por item.
+ * 
+ * Reemplazo directo de TransaccionItemProcessor en los steps de transacciones
+ * cuando banco.batch.procesador.fusionado=true. Los items inválidos se filtran
+ * (banco.batch.validacion.rechazo=filtrar) o se lanzan como excepción preasignada
+ * para la SkipPolicy (banco.batch.validacion.rechazo=excepcion).
+ */
+@Component
+public final class TransaccionValidacionItemProcessor implements ItemProcessor<Transaccion, Transaccion> {
+
+    private static final BigDecimal MONTO_MAXIMO_DIARIO = new BigDecimal("50000");
+
+    private final TransaccionValidator transaccionValidator;
+    private final EstadisticasValidacion estadisticasValidacion;
+    private final AuditoriaBatch auditoria;
+    private final boolean rechazarConExcepcion;
+
+    public TransaccionValidacionItemProcessor(TransaccionValidator transaccionValidator,
+                                              EstadisticasValidacion estadisticasValidacion,
+                                              AuditoriaBatch auditoria,
+                                              @Value("${banco.batch.validacion.rechazo:filtrar}") String modoRechazo) {
+        this.transaccionValidator = transaccionValidator;
+        this.estadisticasValidacion = estadisticasValidacion;
+        this.auditoria = auditoria;
+        this.rechazarConExcepcion = "excepcion".equalsIgnoreCase(modoRechazo);
+    }
+
+    @Override
+    public Transaccion process(Transaccion transaccion) throws Exception {
+        if (transaccion == null) {
+            return null;
+        }
+
+        // Normalizar tipo por alias (DEBIT -> DEBITO) antes de validar
+        TipoTransaccion tipo = TipoTransaccion.normalizar(transaccion.getTipo());
+        if (tipo != null) {
+            transaccion.setTipo(tipo.name());
+        }
+
+        ResultadoValidacion resultado = transaccionValidator.validar(transaccion);
+        if (!resultado.esValido()) {
+            // Camino barato: filtrar el item (cuenta en filterCount) sin excepción ni rollback
+            if (!rechazarConExcepcion) {
+                estadisticasValidacion.registrarRechazo(resultado);
+                return null;
+            }
+            throw ValidacionRechazadaException.de(resultado);
+        }
+
+        // Establecer fecha de procesamiento
+        transaccion.setFechaProcesamiento(LocalDateTime.now());
+
+        // Tras la validación solo queda por marcar el exceso sobre el límite diario
+        if (transaccion.getMonto().compareTo(MONTO_MAXIMO_DIARIO) > 0) {
+            transaccion.setEsAnomalia(true);
+            transaccion.setMotivoAnomalia("Monto excede límite diario (" + MONTO_MAXIMO_DIARIO + "); ");
+            if (auditoria.debeRegistrar(NivelAuditoria.WARN)) {
+                auditoria.publicar(NivelAuditoria.WARN, "ANOMALIA_DETECTADA", "Transacción ID: " + transaccion.getId() + " - " + transaccion.getMotivoAnomalia());
+            }
+        } else {
+            transaccion.setEsAnomalia(false);
+        }
+
+        return transaccion;
+    }
+}
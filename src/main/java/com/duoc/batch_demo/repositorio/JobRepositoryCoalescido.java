@@ -0,0 +1,143 @@
+package com.duoc.batch_demo.repositorio;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * JobRepository que agrupa las actualizaciones de metadatos por chunk.
+ *
+ * TaskletStep guarda el ExecutionContext y la fila de BATCH_STEP_EXECUTION
+ * dentro de la transacción de cada chunk. En los steps coalescidos esas
+ * escrituras se omiten y se hacen cada N chunks o T ms (lo primero que se
+ * cumpla, evaluado al confirmar cada chunk), siempre dentro de la transacción
+ * del chunk que las escribe: el checkpoint guardado sigue siendo coherente
+ * con los datos confirmados, solo que más antiguo. Al reiniciar tras una
+ * caída se reprocesan hasta N chunks, por eso solo se coalescen steps con
+ * writers idempotentes (upserts).
+ *
+ * Las actualizaciones de inicio, fin y fallo del step ocurren fuera de una
+ * transacción o con estado distinto de STARTED y se escriben siempre, junto
+ * con el ExecutionContext pendiente. Los steps no listados escriben en cada
+ * commit (reinicio exacto).
+ *
+ * Al escribir menos, también se consulta menos el estado del job: una
+ * detención solicitada se detecta en el siguiente chunk que escribe.
+ */
+public class JobRepositoryCoalescido extends JobRepositoryDelegado {
+
+    private final Set<String> pasosCoalescidos;
+    private final int chunksPorEscritura;
+    private final long intervaloMs;
+    private final Map<Long, Pendiente> pendientes = new ConcurrentHashMap<>();
+    private final Counter escritas;
+    private final Counter coalescidas;
+
+    public JobRepositoryCoalescido(JobRepository delegado, Set<String> pasosCoalescidos,
+                                   int chunksPorEscritura, long intervaloMs, MeterRegistry meterRegistry) {
+        super(delegado);
+        this.pasosCoalescidos = pasosCoalescidos;
+        this.chunksPorEscritura = Math.max(1, chunksPorEscritura);
+        this.intervaloMs = intervaloMs;
+        this.escritas = Counter.builder("banco.batch.repositorio.actualizaciones")
+                .description("Actualizaciones de StepExecution por chunk en el JobRepository")
+                .tag("resultado", "escrita")
+                .register(meterRegistry);
+        this.coalescidas = Counter.builder("banco.batch.repositorio.actualizaciones")
+                .description("Actualizaciones de StepExecution por chunk en el JobRepository")
+                .tag("resultado", "coalescida")
+                .register(meterRegistry);
+    }
+
+    // ============================================
+    // ACTUALIZACIONES DE STEP (COALESCIDAS)
+    // ============================================
+
+    @Override
+    public void updateExecutionContext(StepExecution stepExecution) {
+        if (!coalescible(stepExecution)) {
+            escribirPendiente(stepExecution);
+            delegado.updateExecutionContext(stepExecution);
+            return;
+        }
+        Pendiente pendiente = pendientes.computeIfAbsent(stepExecution.getId(), id -> new Pendiente());
+        // Se decide con el update(StepExecution) que TaskletStep hace a continuación
+        synchronized (pendiente) {
+            pendiente.contexto = true;
+        }
+    }
+
+    @Override
+    public void update(StepExecution stepExecution) {
+        if (!coalescible(stepExecution)) {
+            escribirPendiente(stepExecution);
+            delegado.update(stepExecution);
+            if (!stepExecution.getStatus().isRunning()) {
+                pendientes.remove(stepExecution.getId());
+            }
+            return;
+        }
+
+        Pendiente pendiente = pendientes.computeIfAbsent(stepExecution.getId(), id -> new Pendiente());
+        synchronized (pendiente) {
+            long ahora = System.currentTimeMillis();
+            if (++pendiente.chunks < chunksPorEscritura && ahora - pendiente.ultimaEscritura < intervaloMs) {
+                coalescidas.increment();
+                return;
+            }
+            if (pendiente.contexto) {
+                delegado.updateExecutionContext(stepExecution);
+            }
+            delegado.update(stepExecution);
+            escritas.increment();
+            pendiente.chunks = 0;
+            pendiente.contexto = false;
+            pendiente.ultimaEscritura = ahora;
+        }
+    }
+
+    /**
+     * Escrituras por chunk de un step coalescido: dentro de la transacción del
+     * chunk y con el step en curso.
+     */
+    private boolean coalescible(StepExecution stepExecution) {
+        return stepExecution.getStatus() == BatchStatus.STARTED
+                && !stepExecution.isTerminateOnly()
+                && TransactionSynchronizationManager.isActualTransactionActive()
+                && pasosCoalescidos.contains(nombreBase(stepExecution.getStepName()));
+    }
+
+    private void escribirPendiente(StepExecution stepExecution) {
+        Pendiente pendiente = pendientes.get(stepExecution.getId());
+        if (pendiente == null) {
+            return;
+        }
+        synchronized (pendiente) {
+            if (pendiente.contexto) {
+                delegado.updateExecutionContext(stepExecution);
+                pendiente.contexto = false;
+            }
+            pendiente.chunks = 0;
+        }
+    }
+
+    private static String nombreBase(String step) {
+        // Las particiones (worker:partitionN) siguen la configuración de su step
+        int separador = step.indexOf(':');
+        return separador > 0 ? step.substring(0, separador) : step;
+    }
+
+    private static final class Pendiente {
+        private int chunks;
+        private boolean contexto;
+        private long ultimaEscritura = System.currentTimeMillis();
+    }
+}
@@ -0,0 +1,122 @@
+package com.duoc.batch_demo.repositorio;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.JobRestartException;
+
+/**
+ * Base de los decoradores del JobRepository: delega todas las operaciones,
+ * incluidas las que la interfaz define por defecto.
+ */
+public abstract class JobRepositoryDelegado implements JobRepository {
+
+    protected final JobRepository delegado;
+
+    protected JobRepositoryDelegado(JobRepository delegado) {
+        this.delegado = delegado;
+    }
+
+    @Override
+    public void update(StepExecution stepExecution) {
+        delegado.update(stepExecution);
+    }
+
+    @Override
+    public void updateExecutionContext(StepExecution stepExecution) {
+        delegado.updateExecutionContext(stepExecution);
+    }
+
+    @Override
+    public List<String> getJobNames() {
+        return delegado.getJobNames();
+    }
+
+    @Override
+    public List<JobInstance> findJobInstancesByName(String jobName, int start, int count) {
+        return delegado.findJobInstancesByName(jobName, start, count);
+    }
+
+    @Override
+    public List<JobExecution> findJobExecutions(JobInstance jobInstance) {
+        return delegado.findJobExecutions(jobInstance);
+    }
+
+    @Override
+    public boolean isJobInstanceExists(String jobName, JobParameters jobParameters) {
+        return delegado.isJobInstanceExists(jobName, jobParameters);
+    }
+
+    @Override
+    public JobInstance createJobInstance(String jobName, JobParameters jobParameters) {
+        return delegado.createJobInstance(jobName, jobParameters);
+    }
+
+    @Override
+    public JobExecution createJobExecution(String jobName, JobParameters jobParameters)
+            throws JobExecutionAlreadyRunningException, JobRestartException, JobInstanceAlreadyCompleteException {
+        return delegado.createJobExecution(jobName, jobParameters);
+    }
+
+    @Override
+    public void update(JobExecution jobExecution) {
+        delegado.update(jobExecution);
+    }
+
+    @Override
+    public void add(StepExecution stepExecution) {
+        delegado.add(stepExecution);
+    }
+
+    @Override
+    public void addAll(Collection<StepExecution> stepExecutions) {
+        delegado.addAll(stepExecutions);
+    }
+
+    @Override
+    public void updateExecutionContext(JobExecution jobExecution) {
+        delegado.updateExecutionContext(jobExecution);
+    }
+
+    @Override
+    public JobInstance getJobInstance(String jobName, JobParameters jobParameters) {
+        return delegado.getJobInstance(jobName, jobParameters);
+    }
+
+    @Override
+    public StepExecution getLastStepExecution(JobInstance jobInstance, String stepName) {
+        return delegado.getLastStepExecution(jobInstance, stepName);
+    }
+
+    @Override
+    public long getStepExecutionCount(JobInstance jobInstance, String stepName) {
+        return delegado.getStepExecutionCount(jobInstance, stepName);
+    }
+
+    @Override
+    public JobExecution getLastJobExecution(String jobName, JobParameters jobParameters) {
+        return delegado.getLastJobExecution(jobName, jobParameters);
+    }
+
+    @Override
+    public void deleteStepExecution(StepExecution stepExecution) {
+        delegado.deleteStepExecution(stepExecution);
+    }
+
+    @Override
+    public void deleteJobExecution(JobExecution jobExecution) {
+        delegado.deleteJobExecution(jobExecution);
+    }
+
+    @Override
+    public void deleteJobInstance(JobInstance jobInstance) {
+        delegado.deleteJobInstance(jobInstance);
+    }
+}
@@ -0,0 +1,54 @@
+package com.duoc.batch_demo.repositorio;
+
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * JobRepository en una base distinta a la de los datos del banco.
+ *
+ * TaskletStep guarda el checkpoint del step dentro de la transacción del
+ * chunk. Con el repositorio en otra base esa escritura se confirmaría antes
+ * que los datos del chunk: una caída entre ambos commits dejaría un
+ * checkpoint por delante de los datos y el reinicio se saltaría el chunk.
+ * Este decorador aplaza las escrituras del step hechas dentro de una
+ * transacción hasta después de su commit (y las descarta si hace rollback):
+ * una caída entre ambos deja el checkpoint atrás y el reinicio reprocesa el
+ * último chunk (al menos una vez, sin pérdida).
+ */
+public class JobRepositoryTrasCommit extends JobRepositoryDelegado {
+
+    public JobRepositoryTrasCommit(JobRepository delegado) {
+        super(delegado);
+    }
+
+    @Override
+    public void update(StepExecution stepExecution) {
+        if (!aplazar(() -> delegado.update(stepExecution))) {
+            delegado.update(stepExecution);
+        }
+    }
+
+    @Override
+    public void updateExecutionContext(StepExecution stepExecution) {
+        if (!aplazar(() -> delegado.updateExecutionContext(stepExecution))) {
+            delegado.updateExecutionContext(stepExecution);
+        }
+    }
+
+    private static boolean aplazar(Runnable escritura) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()
+                || !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return false;
+        }
+        // Se ejecutan en orden de registro: contexto y luego StepExecution
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                escritura.run();
+            }
+        });
+        return true;
+    }
+}
@@ -0,0 +1,219 @@
+package com.duoc.batch_demo.repositorio;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.sql.DataSource;
+
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Poda programada de los metadatos de Spring Batch (tablas BATCH_*).
+ *
+ * Borra las JobInstances cuyas ejecuciones terminaron todas antes de
+ * banco.batch.retencion.dias días y que tienen al menos una ejecución
+ * COMPLETED o ABANDONED, con sus ejecuciones, steps, contextos y parámetros.
+ * Las instancias fallidas que aún pueden reiniciarse y las que tienen
+ * ejecuciones sin terminar no se tocan.
+ *
+ * Borra en lotes de banco.batch.retencion.lote instancias, cada lote en su
+ * propia transacción corta, con una pausa entre lotes. Si hay jobs en curso
+ * (iniciados después del corte, así las ejecuciones abandonadas por una
+ * caída no bloquean) espera al siguiente ciclo.
+ *
+ * Antes y después mide la latencia de las consultas de historial que hace un
+ * lanzamiento o reinicio y la publica junto con las filas borradas.
+ */
+public class RetencionMetadatosBatch {
+
+    private static final String[] TABLAS = {
+            "BATCH_STEP_EXECUTION_CONTEXT", "BATCH_STEP_EXECUTION", "BATCH_JOB_EXECUTION_CONTEXT",
+            "BATCH_JOB_EXECUTION_PARAMS", "BATCH_JOB_EXECUTION", "BATCH_JOB_INSTANCE"};
+
+    private static final String SQL_CANDIDATAS =
+            "SELECT i.JOB_INSTANCE_ID FROM BATCH_JOB_INSTANCE i " +
+            "WHERE EXISTS (SELECT 1 FROM BATCH_JOB_EXECUTION e WHERE e.JOB_INSTANCE_ID = i.JOB_INSTANCE_ID " +
+            "AND e.STATUS IN ('COMPLETED', 'ABANDONED')) " +
+            "AND NOT EXISTS (SELECT 1 FROM BATCH_JOB_EXECUTION e WHERE e.JOB_INSTANCE_ID = i.JOB_INSTANCE_ID " +
+            "AND (e.END_TIME IS NULL OR e.END_TIME >= ?)) " +
+            "ORDER BY i.JOB_INSTANCE_ID";
+
+    private static final String SQL_EN_CURSO =
+            "SELECT COUNT(*) FROM BATCH_JOB_EXECUTION WHERE END_TIME IS NULL AND CREATE_TIME >= ?";
+
+    private static final String EJECUCIONES =
+            "SELECT JOB_EXECUTION_ID FROM BATCH_JOB_EXECUTION WHERE JOB_INSTANCE_ID IN (:instancias)";
+
+    private static final Map<String, String> SQL_BORRADO = new LinkedHashMap<>();
+    static {
+        SQL_BORRADO.put(TABLAS[0], "DELETE FROM BATCH_STEP_EXECUTION_CONTEXT WHERE STEP_EXECUTION_ID IN " +
+                "(SELECT STEP_EXECUTION_ID FROM BATCH_STEP_EXECUTION WHERE JOB_EXECUTION_ID IN (:ejecuciones))");
+        SQL_BORRADO.put(TABLAS[1], "DELETE FROM BATCH_STEP_EXECUTION WHERE JOB_EXECUTION_ID IN (:ejecuciones)");
+        SQL_BORRADO.put(TABLAS[2], "DELETE FROM BATCH_JOB_EXECUTION_CONTEXT WHERE JOB_EXECUTION_ID IN (:ejecuciones)");
+        SQL_BORRADO.put(TABLAS[3], "DELETE FROM BATCH_JOB_EXECUTION_PARAMS WHERE JOB_EXECUTION_ID IN (:ejecuciones)");
+        SQL_BORRADO.put(TABLAS[4], "DELETE FROM BATCH_JOB_EXECUTION WHERE JOB_EXECUTION_ID IN (:ejecuciones)");
+        SQL_BORRADO.put(TABLAS[5], "DELETE FROM BATCH_JOB_INSTANCE WHERE JOB_INSTANCE_ID IN (:instancias)");
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate jdbcCandidatas;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final TransactionTemplate transaccion;
+    private final JobRepository jobRepository;
+    private final boolean habilitada;
+    private final int dias;
+    private final int lote;
+    private final long pausaMs;
+    private final Map<String, Counter> filasBorradas = new LinkedHashMap<>();
+    private final AtomicReference<Double> latenciaAntes = new AtomicReference<>(0.0);
+    private final AtomicReference<Double> latenciaDespues = new AtomicReference<>(0.0);
+
+    public RetencionMetadatosBatch(DataSource batchDataSource, PlatformTransactionManager batchTransactionManager,
+                                   JobRepository jobRepository, boolean habilitada, int dias, int lote, long pausaMs,
+                                   MeterRegistry meterRegistry) {
+        this.jdbcTemplate = new JdbcTemplate(batchDataSource);
+        this.jdbcCandidatas = new JdbcTemplate(batchDataSource);
+        this.namedJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+        this.transaccion = new TransactionTemplate(batchTransactionManager);
+        this.jobRepository = jobRepository;
+        this.habilitada = habilitada;
+        this.dias = dias;
+        this.lote = Math.max(1, lote);
+        this.jdbcCandidatas.setMaxRows(this.lote);
+        this.pausaMs = pausaMs;
+        for (String tabla : TABLAS) {
+            filasBorradas.put(tabla, Counter.builder("banco.batch.retencion.filas")
+                    .description("Filas de metadatos de Spring Batch borradas por la retención")
+                    .tag("tabla", tabla)
+                    .register(meterRegistry));
+        }
+        Gauge.builder("banco.batch.retencion.latencia-lanzamiento", latenciaAntes, AtomicReference::get)
+                .description("Latencia (ms) de las consultas de lanzamiento antes de la última poda")
+                .tag("momento", "antes")
+                .register(meterRegistry);
+        Gauge.builder("banco.batch.retencion.latencia-lanzamiento", latenciaDespues, AtomicReference::get)
+                .description("Latencia (ms) de las consultas de lanzamiento después de la última poda")
+                .tag("momento", "despues")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${banco.batch.retencion.cron:0 30 5 * * *}")
+    public void programada() {
+        if (habilitada) {
+            podar();
+        }
+    }
+
+    /**
+     * @return filas borradas por tabla
+     */
+    public synchronized Map<String, Long> podar() {
+        Timestamp corte = Timestamp.valueOf(LocalDateTime.now().minusDays(dias));
+        Map<String, Long> resumen = new LinkedHashMap<>();
+        for (String tabla : TABLAS) {
+            resumen.put(tabla, 0L);
+        }
+
+        Integer enCurso = jdbcTemplate.queryForObject(SQL_EN_CURSO, Integer.class, corte);
+        if (enCurso != null && enCurso > 0) {
+            System.out.println("🧹 Retención de metadatos pospuesta: " + enCurso + " ejecución(es) en curso");
+            return resumen;
+        }
+
+        double antes = latenciaLanzamientoMs();
+        long inicio = System.currentTimeMillis();
+        int lotes = 0;
+        while (true) {
+            List<Long> instancias = candidatas(corte);
+            if (instancias.isEmpty()) {
+                break;
+            }
+            Map<String, Integer> borradas = transaccion.execute(status -> borrar(instancias));
+            borradas.forEach((tabla, filas) -> {
+                resumen.merge(tabla, (long) filas, Long::sum);
+                filasBorradas.get(tabla).increment(filas);
+            });
+            lotes++;
+            if (instancias.size() < lote) {
+                break;
+            }
+            if (!pausar()) {
+                break;
+            }
+        }
+        double despues = latenciaLanzamientoMs();
+        latenciaAntes.set(antes);
+        latenciaDespues.set(despues);
+
+        long total = resumen.values().stream().mapToLong(Long::longValue).sum();
+        System.out.printf("🧹 Retención de metadatos (> %d días): %d filas en %d lote(s), %d ms %s%n",
+                dias, total, lotes, System.currentTimeMillis() - inicio, resumen);
+        System.out.printf("   Latencia de consultas de lanzamiento: %.1f ms antes, %.1f ms después%n", antes, despues);
+        return resumen;
+    }
+
+    private List<Long> candidatas(Timestamp corte) {
+        return jdbcCandidatas.queryForList(SQL_CANDIDATAS, Long.class, corte);
+    }
+
+    private Map<String, Integer> borrar(List<Long> instancias) {
+        MapSqlParameterSource parametros = new MapSqlParameterSource("instancias", instancias);
+        List<Long> ejecuciones = namedJdbcTemplate.queryForList(EJECUCIONES, parametros, Long.class);
+        parametros.addValue("ejecuciones", ejecuciones.isEmpty() ? List.of(-1L) : ejecuciones);
+
+        Map<String, Integer> borradas = new LinkedHashMap<>();
+        SQL_BORRADO.forEach((tabla, sql) -> borradas.put(tabla, namedJdbcTemplate.update(sql, parametros)));
+        return borradas;
+    }
+
+    private boolean pausar() {
+        try {
+            Thread.sleep(pausaMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Mediana de 5 rondas, por job conocido, de las consultas que recorren el
+     * historial al lanzar o reiniciar: última instancia del job y sus
+     * ejecuciones.
+     */
+    private double latenciaLanzamientoMs() {
+        List<String> jobs = jobRepository.getJobNames();
+        if (jobs.isEmpty()) {
+            return 0.0;
+        }
+        List<Double> rondas = new ArrayList<>();
+        for (int ronda = 0; ronda < 5; ronda++) {
+            long inicio = System.nanoTime();
+            for (String job : jobs) {
+                for (JobInstance instancia : jobRepository.findJobInstancesByName(job, 0, 1)) {
+                    jobRepository.findJobExecutions(instancia);
+                }
+            }
+            rondas.add((System.nanoTime() - inicio) / 1_000_000.0 / jobs.size());
+        }
+        Collections.sort(rondas);
+        return Math.round(rondas.get(2) * 100) / 100.0;
+    }
+}
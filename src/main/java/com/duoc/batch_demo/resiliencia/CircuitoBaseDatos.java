@@ -0,0 +1,209 @@
+package com.duoc.batch_demo.resiliencia;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.dao.DataAccessException;
+import org.springframework.transaction.TransactionException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Circuit breaker compartido por todos los steps que usan el mismo DataSource.
+ *
+ * Registra el resultado de cada chunk (ChunkListener) en una ventana de los
+ * últimos N chunks. Si la proporción de chunks con error de base de datos
+ * supera el umbral, el circuito se ABRE: los hilos de todos los steps se
+ * detienen antes de abrir la transacción del chunk siguiente (sin tomar
+ * conexiones del pool). Pasada la espera, un solo hilo prueba la conexión
+ * (Connection.isValid); si responde el circuito se CIERRA, si no vuelve a
+ * abrirse con el doble de espera (hasta espera-maxima).
+ *
+ * Métricas: banco.batch.circuito.estado (0 cerrado, 1 probando, 2 abierto),
+ * banco.batch.circuito.aperturas y banco.batch.circuito.pausa.
+ */
+public class CircuitoBaseDatos implements ChunkListener {
+
+    public enum Estado { CERRADO, PROBANDO, ABIERTO }
+
+    private final DataSource dataSource;
+    private final int tamanoVentana;
+    private final int minimoChunks;
+    private final double umbralError;
+    private final long esperaInicialMs;
+    private final long esperaMaximaMs;
+
+    private final boolean[] ventana;
+    private int posicion;
+    private int registrados;
+    private int errores;
+
+    private Estado estado = Estado.CERRADO;
+    private long abiertoHasta;
+    private long esperaActualMs;
+    private final AtomicInteger estadoMetrica = new AtomicInteger();
+    private final Counter aperturas;
+    private final Timer pausa;
+
+    public CircuitoBaseDatos(DataSource dataSource, int tamanoVentana, int minimoChunks, double umbralError,
+                             long esperaInicialMs, long esperaMaximaMs, MeterRegistry meterRegistry) {
+        this.dataSource = dataSource;
+        this.tamanoVentana = tamanoVentana;
+        this.minimoChunks = Math.min(minimoChunks, tamanoVentana);
+        this.umbralError = umbralError;
+        this.esperaInicialMs = esperaInicialMs;
+        this.esperaMaximaMs = Math.max(esperaInicialMs, esperaMaximaMs);
+        this.esperaActualMs = esperaInicialMs;
+        this.ventana = new boolean[tamanoVentana];
+
+        Gauge.builder("banco.batch.circuito.estado", estadoMetrica, AtomicInteger::get)
+                .description("Circuito de base de datos: 0 cerrado, 1 probando, 2 abierto")
+                .register(meterRegistry);
+        this.aperturas = Counter.builder("banco.batch.circuito.aperturas")
+                .description("Veces que el circuito de base de datos se abrió")
+                .register(meterRegistry);
+        this.pausa = Timer.builder("banco.batch.circuito.pausa")
+                .description("Tiempo que los hilos de los steps esperaron con el circuito abierto")
+                .register(meterRegistry);
+    }
+
+    public synchronized Estado getEstado() {
+        return estado;
+    }
+
+    // ============================================
+    // REGISTRO DE RESULTADOS
+    // ============================================
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        registrar(false);
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        Object error = context.getAttribute(ChunkListener.ROLLBACK_EXCEPTION_KEY);
+        registrar(error instanceof Throwable && esErrorBaseDatos((Throwable) error));
+    }
+
+    private synchronized void registrar(boolean error) {
+        if (estado != Estado.CERRADO) {
+            // Chunks que empezaron antes de abrir el circuito: no cuentan
+            return;
+        }
+        if (registrados == tamanoVentana) {
+            if (ventana[posicion]) {
+                errores--;
+            }
+        } else {
+            registrados++;
+        }
+        ventana[posicion] = error;
+        if (error) {
+            errores++;
+        }
+        posicion = (posicion + 1) % tamanoVentana;
+
+        if (registrados >= minimoChunks && (double) errores / registrados >= umbralError) {
+            abrir();
+            System.err.printf("🔌 CIRCUITO DE BASE DE DATOS ABIERTO: %d de %d chunks con error, steps en pausa %d ms%n",
+                    errores, registrados, esperaActualMs);
+        }
+    }
+
+    static boolean esErrorBaseDatos(Throwable error) {
+        for (Throwable t = error; t != null; t = t.getCause() == t ? null : t.getCause()) {
+            if (t instanceof SQLException || t instanceof DataAccessException || t instanceof TransactionException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ============================================
+    // PAUSA Y PRUEBA
+    // ============================================
+
+    /**
+     * Bloquea mientras el circuito esté abierto. Se llama antes de cada chunk,
+     * fuera de su transacción. Vuelve al detenerse el step.
+     */
+    public void esperarDisponible(StepExecution stepExecution) throws InterruptedException {
+        long inicio = 0;
+        while (true) {
+            boolean probar;
+            synchronized (this) {
+                if (estado == Estado.CERRADO || stepExecution.isTerminateOnly()) {
+                    break;
+                }
+                if (inicio == 0) {
+                    inicio = System.nanoTime();
+                }
+                long restante = abiertoHasta - System.currentTimeMillis();
+                probar = estado == Estado.ABIERTO && restante <= 0;
+                if (probar) {
+                    cambiarEstado(Estado.PROBANDO);
+                } else {
+                    // Despertar periódicamente para atender una detención del step
+                    wait(Math.max(1, Math.min(estado == Estado.ABIERTO ? restante : esperaInicialMs, 500)));
+                    continue;
+                }
+            }
+            probar();
+        }
+        if (inicio != 0) {
+            pausa.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void probar() {
+        boolean disponible;
+        try (Connection conexion = dataSource.getConnection()) {
+            disponible = conexion.isValid(5);
+        } catch (SQLException e) {
+            disponible = false;
+        }
+        synchronized (this) {
+            if (disponible) {
+                System.out.println("🔌 Circuito de base de datos CERRADO: conexión verificada, steps reanudados");
+                reiniciarVentana();
+                esperaActualMs = esperaInicialMs;
+                cambiarEstado(Estado.CERRADO);
+            } else {
+                esperaActualMs = Math.min(esperaMaximaMs, esperaActualMs * 2);
+                abrir();
+                System.err.println("🔌 Prueba de conexión fallida, circuito abierto " + esperaActualMs + " ms más");
+            }
+            notifyAll();
+        }
+    }
+
+    private void abrir() {
+        abiertoHasta = System.currentTimeMillis() + esperaActualMs;
+        if (estado == Estado.CERRADO) {
+            aperturas.increment();
+        }
+        cambiarEstado(Estado.ABIERTO);
+    }
+
+    private void cambiarEstado(Estado nuevo) {
+        estado = nuevo;
+        estadoMetrica.set(nuevo.ordinal());
+    }
+
+    private void reiniciarVentana() {
+        posicion = 0;
+        registrados = 0;
+        errores = 0;
+    }
+}
@@ -0,0 +1,286 @@
+package com.duoc.batch_demo.resiliencia;
+
+import java.time.Clock;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Control de admisión de los steps batch según la latencia de los BFFs.
+ *
+ * Cada intervalo compara el p99 de cada canal con SLO (LatenciaBffFilter)
+ * contra su objetivo y mira la espera media por una conexión del pool
+ * principal de Hikari. Si algún canal supera su SLO, o la espera del pool
+ * supera su umbral, sube el freno un paso; cuando todos vuelven por debajo
+ * del objetivo × histéresis lo baja medio paso (liberación más lenta que el
+ * frenado para no oscilar). Un canal con menos de minimo-muestras peticiones
+ * en la ventana del p99 es neutro: ni frena ni impide liberar, así el tráfico
+ * esporádico (cajeros de madrugada) no deja el batch frenado indefinidamente.
+ *
+ * El freno f (0 a freno-maximo) reduce la fracción del tiempo que cada hilo
+ * de step pasa dentro de un chunk a (1 - f): antes de abrir la transacción
+ * del chunk siguiente el hilo espera f / (1 - f) veces lo que duró su último
+ * chunk, sin tener conexión tomada. Con N hilos de step/partición equivale a
+ * reducir la concurrencia efectiva a N × (1 - f); cerca del máximo las
+ * particiones quedan prácticamente en pausa. Al liberar el freno los hilos
+ * en espera se reanudan de inmediato.
+ *
+ * Métricas: banco.batch.admision.freno, banco.batch.admision.decisiones{accion},
+ * banco.batch.admision.espera y banco.batch.admision.pool.espera-ms.
+ */
+public class ControlAdmisionBatch implements ChunkListener {
+
+    private final LatenciaBffFilter latencias;
+    private final Map<String, Double> sloP99Ms;
+    private final HikariDataSource pool;
+    private final MeterRegistry meterRegistry;
+    private final boolean habilitado;
+    private final int minimoMuestras;
+    private final double umbralEsperaPoolMs;
+    private final double paso;
+    private final double frenoMaximo;
+    private final double histeresis;
+    private final long esperaMaximaMs;
+    private final long ventanaMs;
+    private final Clock reloj;
+
+    private final Object monitor = new Object();
+    private volatile double freno;
+    /** Por canal: (instante, peticiones acumuladas) de las evaluaciones dentro de la ventana */
+    private final Map<String, Deque<long[]>> historialPeticiones = new LinkedHashMap<>();
+    private long adquisicionesPrevias;
+    private double tiempoAdquisicionPrevioMs;
+    private final AtomicReference<Double> esperaPoolMs = new AtomicReference<>(0.0);
+
+    private final ThreadLocal<Long> inicioChunk = new ThreadLocal<>();
+    private final ThreadLocal<Long> duracionChunk = new ThreadLocal<>();
+
+    private final Counter frenar;
+    private final Counter liberar;
+    private final Counter mantener;
+    private final Timer espera;
+
+    public ControlAdmisionBatch(LatenciaBffFilter latencias, Map<String, Double> sloP99Ms, HikariDataSource pool,
+                                boolean habilitado, int minimoMuestras, double umbralEsperaPoolMs, double paso,
+                                double frenoMaximo, double histeresis, long esperaMaximaMs, long ventanaMs,
+                                MeterRegistry meterRegistry) {
+        this(latencias, sloP99Ms, pool, habilitado, minimoMuestras, umbralEsperaPoolMs, paso, frenoMaximo, histeresis,
+                esperaMaximaMs, ventanaMs, Clock.systemUTC(), meterRegistry);
+    }
+
+    ControlAdmisionBatch(LatenciaBffFilter latencias, Map<String, Double> sloP99Ms, HikariDataSource pool,
+                         boolean habilitado, int minimoMuestras, double umbralEsperaPoolMs, double paso,
+                         double frenoMaximo, double histeresis, long esperaMaximaMs, long ventanaMs, Clock reloj,
+                         MeterRegistry meterRegistry) {
+        this.latencias = latencias;
+        this.sloP99Ms = sloP99Ms;
+        this.pool = pool;
+        this.meterRegistry = meterRegistry;
+        this.habilitado = habilitado;
+        this.minimoMuestras = minimoMuestras;
+        this.umbralEsperaPoolMs = umbralEsperaPoolMs;
+        this.paso = paso;
+        this.frenoMaximo = Math.min(frenoMaximo, 0.99);
+        this.histeresis = histeresis;
+        this.esperaMaximaMs = esperaMaximaMs;
+        this.ventanaMs = ventanaMs;
+        this.reloj = reloj;
+        for (String canal : sloP99Ms.keySet()) {
+            // El contador del filtro empieza en cero con la aplicación
+            historialPeticiones.put(canal, new ArrayDeque<>());
+            historialPeticiones.get(canal).add(new long[] {reloj.millis(), 0});
+        }
+
+        Gauge.builder("banco.batch.admision.freno", this, ControlAdmisionBatch::getFreno)
+                .description("Freno aplicado a los steps batch: 0 sin freno, cerca de 1 en pausa")
+                .register(meterRegistry);
+        Gauge.builder("banco.batch.admision.pool.espera-ms", esperaPoolMs, AtomicReference::get)
+                .description("Espera media por conexión del pool principal en el último intervalo")
+                .register(meterRegistry);
+        this.frenar = decisiones("frenar", meterRegistry);
+        this.liberar = decisiones("liberar", meterRegistry);
+        this.mantener = decisiones("mantener", meterRegistry);
+        this.espera = Timer.builder("banco.batch.admision.espera")
+                .description("Tiempo que los hilos de los steps esperaron por el freno")
+                .register(meterRegistry);
+    }
+
+    private static Counter decisiones(String accion, MeterRegistry meterRegistry) {
+        return Counter.builder("banco.batch.admision.decisiones")
+                .description("Decisiones del control de admisión por intervalo")
+                .tag("accion", accion)
+                .register(meterRegistry);
+    }
+
+    public double getFreno() {
+        return freno;
+    }
+
+    // ============================================
+    // LAZO DE CONTROL
+    // ============================================
+
+    @Scheduled(fixedDelayString = "${banco.batch.admision.intervalo-ms:2000}")
+    public void evaluar() {
+        if (!habilitado) {
+            return;
+        }
+        String excedido = null;
+        boolean holgado = true;
+        long ahora = reloj.millis();
+        for (Map.Entry<String, Double> slo : sloP99Ms.entrySet()) {
+            String canal = slo.getKey();
+            long muestras = muestrasEnVentana(canal, latencias.peticiones(canal), ahora);
+            double p99 = latencias.p99Ms(canal);
+            if (muestras < minimoMuestras || Double.isNaN(p99)) {
+                // Un p99 de pocas peticiones no es significativo: canal neutro
+                continue;
+            }
+            if (p99 > slo.getValue()) {
+                excedido = String.format("%s p99 %.0f ms > %.0f ms", canal, p99, slo.getValue());
+            } else if (p99 > slo.getValue() * histeresis) {
+                holgado = false;
+            }
+        }
+        double esperaPool = esperaMediaPoolMs();
+        esperaPoolMs.set(esperaPool);
+        if (excedido == null && esperaPool > umbralEsperaPoolMs) {
+            excedido = String.format("espera del pool %.1f ms > %.0f ms", esperaPool, umbralEsperaPoolMs);
+        } else if (esperaPool > umbralEsperaPoolMs * histeresis) {
+            holgado = false;
+        }
+
+        double anterior = freno;
+        if (excedido != null) {
+            cambiarFreno(Math.min(frenoMaximo, anterior + paso));
+            frenar.increment();
+            if (freno != anterior) {
+                System.out.printf("🚦 Batch frenado a %.0f%% (%s)%n", freno * 100, excedido);
+            }
+        } else if (holgado && anterior > 0) {
+            cambiarFreno(Math.max(0, anterior - paso / 2));
+            liberar.increment();
+            System.out.printf("🚦 Batch liberado a %.0f%% de freno%n", freno * 100);
+        } else {
+            mantener.increment();
+        }
+    }
+
+    /**
+     * Peticiones del canal en la ventana del p99: diferencia con la última
+     * evaluación anterior al inicio de la ventana.
+     */
+    private long muestrasEnVentana(String canal, long total, long ahora) {
+        Deque<long[]> historial = historialPeticiones.get(canal);
+        historial.addLast(new long[] {ahora, total});
+        long[] base = historial.removeFirst();
+        // La evaluación actual está dentro de la ventana: el ciclo se detiene en ella
+        while (historial.peekFirst()[0] <= ahora - ventanaMs) {
+            base = historial.removeFirst();
+        }
+        historial.addFirst(base);
+        return total - base[1];
+    }
+
+    /**
+     * Espera media por conexión desde la evaluación anterior, del timer
+     * hikaricp.connections.acquire. Sin métricas del pool se usa la cola de
+     * hilos esperando conexión como señal (umbral + 1 ms por hilo).
+     */
+    private double esperaMediaPoolMs() {
+        if (pool == null) {
+            return 0;
+        }
+        Timer adquisicion = meterRegistry.find("hikaricp.connections.acquire").tag("pool", pool.getPoolName()).timer();
+        if (adquisicion != null) {
+            long cantidad = adquisicion.count();
+            double tiempoMs = adquisicion.totalTime(TimeUnit.MILLISECONDS);
+            long nuevas = cantidad - adquisicionesPrevias;
+            double media = nuevas > 0 ? (tiempoMs - tiempoAdquisicionPrevioMs) / nuevas : 0;
+            adquisicionesPrevias = cantidad;
+            tiempoAdquisicionPrevioMs = tiempoMs;
+            return media;
+        }
+        HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+        int esperando = mxBean != null ? mxBean.getThreadsAwaitingConnection() : 0;
+        return esperando > 0 ? umbralEsperaPoolMs + esperando : 0;
+    }
+
+    private void cambiarFreno(double nuevo) {
+        synchronized (monitor) {
+            freno = Math.round(nuevo * 100) / 100.0;
+            monitor.notifyAll();
+        }
+    }
+
+    // ============================================
+    // RITMO DE LOS STEPS
+    // ============================================
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        inicioChunk.set(System.nanoTime());
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        registrarDuracion();
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        registrarDuracion();
+    }
+
+    private void registrarDuracion() {
+        Long inicio = inicioChunk.get();
+        if (inicio != null) {
+            duracionChunk.set(System.nanoTime() - inicio);
+            inicioChunk.remove();
+        }
+    }
+
+    /**
+     * Espera proporcional al último chunk del hilo según el freno actual. Se
+     * llama antes de cada chunk, fuera de su transacción; vuelve antes si el
+     * freno se libera o el step se detiene.
+     */
+    public void esperarTurno(StepExecution stepExecution) throws InterruptedException {
+        Long duracion = duracionChunk.get();
+        double f = freno;
+        if (duracion == null || f <= 0) {
+            return;
+        }
+        duracionChunk.remove();
+        long esperaNanos = Math.min((long) (duracion * f / (1 - f)), TimeUnit.MILLISECONDS.toNanos(esperaMaximaMs));
+        long inicio = System.nanoTime();
+        long limite = inicio + esperaNanos;
+        synchronized (monitor) {
+            while (freno > 0 && !stepExecution.isTerminateOnly()) {
+                long restante = limite - System.nanoTime();
+                if (restante <= 0) {
+                    break;
+                }
+                // Despertar periódicamente para atender una detención del step
+                monitor.wait(Math.max(1, Math.min(TimeUnit.NANOSECONDS.toMillis(restante), 500)));
+            }
+        }
+        espera.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+    }
+}
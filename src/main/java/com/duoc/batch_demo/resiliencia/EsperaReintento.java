@@ -0,0 +1,142 @@
+package com.duoc.batch_demo.resiliencia;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.backoff.BackOffContext;
+import org.springframework.retry.backoff.BackOffInterruptedException;
+import org.springframework.retry.backoff.BackOffPolicy;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Espera exponencial con jitter entre reintentos, aplicada fuera de la
+ * transacción del chunk.
+ *
+ * En un step tolerante a fallos el reintento es con estado: RetryTemplate
+ * llama a backOff() antes de relanzar la excepción, dentro de la transacción
+ * del chunk y con la conexión del pool tomada. Dormir ahí deja a cada hilo
+ * reteniendo una conexión durante la espera; con la base degradada los hilos
+ * de los steps pueden ocupar todo el pool de Hikari y dejar sin conexiones a
+ * los BFFs. Por eso backOff() no duerme: calcula la espera y la anota para la
+ * StepExecution. El chunk hace rollback, libera la conexión, y la política de
+ * interrupción del step (InterrupcionConEsperaReintento) espera antes de abrir
+ * la transacción del chunk siguiente.
+ *
+ * La espera es del step, no del hilo: en un step multi-hilo los chunks que
+ * empiecen antes de que venza también esperan, y el step entero baja el ritmo
+ * contra la base. El jitter evita que los steps reintenten todos a la vez.
+ *
+ * Si tras el último intento no hay chunk siguiente (rollback final, omisión o
+ * fallo del step), la espera anotada se descarta en afterStep: se registra
+ * como StepExecutionListener de cada TaskletStep junto con su política de
+ * interrupción.
+ *
+ * Métrica: banco.batch.reintentos.espera.
+ */
+public class EsperaReintento implements BackOffPolicy, StepExecutionListener {
+
+    private final long esperaInicialMs;
+    private final double multiplicador;
+    private final long esperaMaximaMs;
+    private final Map<Long, Long> esperaHasta = new ConcurrentHashMap<>();
+    private final Timer espera;
+
+    public EsperaReintento(long esperaInicialMs, double multiplicador, long esperaMaximaMs, MeterRegistry meterRegistry) {
+        this.esperaInicialMs = Math.max(1, esperaInicialMs);
+        this.multiplicador = Math.max(1.0, multiplicador);
+        this.esperaMaximaMs = Math.max(this.esperaInicialMs, esperaMaximaMs);
+        this.espera = Timer.builder("banco.batch.reintentos.espera")
+                .description("Espera antes del chunk siguiente tras un intento fallido, fuera de la transacción")
+                .register(meterRegistry);
+    }
+
+    // ============================================
+    // BACKOFF (DENTRO DE LA TRANSACCIÓN: SOLO ANOTA)
+    // ============================================
+
+    @Override
+    public BackOffContext start(RetryContext context) {
+        return new Intervalo(esperaInicialMs);
+    }
+
+    @Override
+    public void backOff(BackOffContext backOffContext) throws BackOffInterruptedException {
+        Intervalo intervalo = (Intervalo) backOffContext;
+        long esperaMs = intervalo.siguiente(multiplicador, esperaMaximaMs);
+        StepContext step = StepSynchronizationManager.getContext();
+        if (step == null) {
+            // Fuera de un step no hay transacción de chunk que liberar
+            dormir(esperaMs);
+            return;
+        }
+        long vence = System.currentTimeMillis() + esperaMs;
+        esperaHasta.merge(step.getStepExecution().getId(), vence, Math::max);
+    }
+
+    // ============================================
+    // ESPERA (ANTES DEL CHUNK SIGUIENTE)
+    // ============================================
+
+    /**
+     * Espera la pausa pendiente del step, si la hay. Se llama antes de cada
+     * chunk, fuera de su transacción. Vuelve al detenerse el step.
+     */
+    public void esperar(StepExecution stepExecution) throws InterruptedException {
+        Long vence = esperaHasta.get(stepExecution.getId());
+        if (vence == null) {
+            return;
+        }
+        long inicio = System.nanoTime();
+        long restante;
+        while ((restante = vence - System.currentTimeMillis()) > 0 && !stepExecution.isTerminateOnly()) {
+            // Despertar periódicamente para atender una detención del step
+            Thread.sleep(Math.min(restante, 500));
+        }
+        esperaHasta.remove(stepExecution.getId(), vence);
+        espera.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        esperaHasta.remove(stepExecution.getId());
+        return null;
+    }
+
+    private static void dormir(long esperaMs) {
+        try {
+            Thread.sleep(esperaMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new BackOffInterruptedException("Espera entre reintentos interrumpida", e);
+        }
+    }
+
+    /** Intervalo exponencial de un contexto de reintento, con jitter en [1, multiplicador). */
+    private static final class Intervalo implements BackOffContext {
+
+        private static final long serialVersionUID = 1L;
+
+        private long actualMs;
+
+        private Intervalo(long inicialMs) {
+            this.actualMs = inicialMs;
+        }
+
+        private synchronized long siguiente(double multiplicador, long maximoMs) {
+            long base = actualMs;
+            actualMs = (long) Math.min(maximoMs, actualMs * multiplicador);
+            double jitter = 1 + ThreadLocalRandom.current().nextDouble() * (multiplicador - 1);
+            return (long) Math.min(maximoMs, base * jitter);
+        }
+    }
+}
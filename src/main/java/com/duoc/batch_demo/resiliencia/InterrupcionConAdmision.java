@@ -0,0 +1,33 @@
+package com.duoc.batch_demo.resiliencia;
+
+import org.springframework.batch.core.JobInterruptedException;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.step.StepInterruptionPolicy;
+
+/**
+ * Política de interrupción que, tras la política del step (estándar o con
+ * circuito), aplica el freno del control de admisión antes del chunk
+ * siguiente, fuera de la transacción.
+ */
+public class InterrupcionConAdmision implements StepInterruptionPolicy {
+
+    private final StepInterruptionPolicy delegada;
+    private final ControlAdmisionBatch control;
+
+    public InterrupcionConAdmision(StepInterruptionPolicy delegada, ControlAdmisionBatch control) {
+        this.delegada = delegada;
+        this.control = control;
+    }
+
+    @Override
+    public void checkInterrupted(StepExecution stepExecution) throws JobInterruptedException {
+        delegada.checkInterrupted(stepExecution);
+        try {
+            control.esperarTurno(stepExecution);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JobInterruptedException("Step interrumpido esperando el control de admisión");
+        }
+        delegada.checkInterrupted(stepExecution);
+    }
+}
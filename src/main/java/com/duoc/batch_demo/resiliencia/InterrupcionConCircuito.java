@@ -0,0 +1,34 @@
+package com.duoc.batch_demo.resiliencia;
+
+import org.springframework.batch.core.JobInterruptedException;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.step.StepInterruptionPolicy;
+import org.springframework.batch.core.step.ThreadStepInterruptionPolicy;
+
+/**
+ * Política de interrupción de TaskletStep que, además de la verificación
+ * estándar (hilo interrumpido o step detenido), espera con el circuito de
+ * base de datos abierto. TaskletStep la consulta antes y después de cada
+ * chunk, fuera de la transacción.
+ */
+public class InterrupcionConCircuito implements StepInterruptionPolicy {
+
+    private final StepInterruptionPolicy estandar = new ThreadStepInterruptionPolicy();
+    private final CircuitoBaseDatos circuito;
+
+    public InterrupcionConCircuito(CircuitoBaseDatos circuito) {
+        this.circuito = circuito;
+    }
+
+    @Override
+    public void checkInterrupted(StepExecution stepExecution) throws JobInterruptedException {
+        estandar.checkInterrupted(stepExecution);
+        try {
+            circuito.esperarDisponible(stepExecution);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JobInterruptedException("Step interrumpido esperando el circuito de base de datos");
+        }
+        estandar.checkInterrupted(stepExecution);
+    }
+}
@@ -0,0 +1,33 @@
+package com.duoc.batch_demo.resiliencia;
+
+import org.springframework.batch.core.JobInterruptedException;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.step.StepInterruptionPolicy;
+
+/**
+ * Política de interrupción que, tras la política del step (estándar o con
+ * circuito), aplica la espera pendiente entre reintentos antes del chunk
+ * siguiente, fuera de la transacción y sin conexión tomada.
+ */
+public class InterrupcionConEsperaReintento implements StepInterruptionPolicy {
+
+    private final StepInterruptionPolicy delegada;
+    private final EsperaReintento espera;
+
+    public InterrupcionConEsperaReintento(StepInterruptionPolicy delegada, EsperaReintento espera) {
+        this.delegada = delegada;
+        this.espera = espera;
+    }
+
+    @Override
+    public void checkInterrupted(StepExecution stepExecution) throws JobInterruptedException {
+        delegada.checkInterrupted(stepExecution);
+        try {
+            espera.esperar(stepExecution);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new JobInterruptedException("Step interrumpido esperando para reintentar");
+        }
+        delegada.checkInterrupted(stepExecution);
+    }
+}
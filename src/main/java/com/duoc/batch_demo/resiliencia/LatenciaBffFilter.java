@@ -0,0 +1,94 @@
+package com.duoc.batch_demo.resiliencia;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Mide la latencia de las peticiones de cada BFF (/api/atm, /api/web,
+ * /api/mobile) en el timer banco.bff.latencia{canal}, con p95 y p99 sobre
+ * una ventana deslizante. ControlAdmisionBatch lee estos percentiles para
+ * decidir si frenar los steps batch.
+ */
+public class LatenciaBffFilter extends OncePerRequestFilter {
+
+    public static final List<String> CANALES = List.of("atm", "web", "mobile");
+
+    private final Map<String, Timer> timers = new LinkedHashMap<>();
+
+    /**
+     * @param ventana tiempo que una petición cuenta en los percentiles
+     */
+    public LatenciaBffFilter(Duration ventana, MeterRegistry meterRegistry) {
+        for (String canal : CANALES) {
+            timers.put(canal, Timer.builder("banco.bff.latencia")
+                    .description("Latencia de las peticiones del BFF")
+                    .tag("canal", canal)
+                    .publishPercentiles(0.95, 0.99)
+                    .distributionStatisticExpiry(ventana)
+                    .distributionStatisticBufferLength(3)
+                    .register(meterRegistry));
+        }
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain chain) throws ServletException, IOException {
+        Timer timer = timers.get(canal(request.getRequestURI()));
+        if (timer == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        long inicio = System.nanoTime();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            timer.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * p99 (ms) de la ventana actual del canal, NaN si no hay datos.
+     */
+    public double p99Ms(String canal) {
+        Timer timer = timers.get(canal);
+        if (timer != null) {
+            for (ValueAtPercentile valor : timer.takeSnapshot().percentileValues()) {
+                if (valor.percentile() == 0.99) {
+                    return valor.value(TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+        return Double.NaN;
+    }
+
+    /**
+     * Peticiones registradas desde el arranque (para contar muestras por intervalo).
+     */
+    public long peticiones(String canal) {
+        Timer timer = timers.get(canal);
+        return timer != null ? timer.count() : 0;
+    }
+
+    private static String canal(String uri) {
+        // /api/{canal}/...
+        if (!uri.startsWith("/api/")) {
+            return null;
+        }
+        int fin = uri.indexOf('/', 5);
+        return fin > 5 ? uri.substring(5, fin) : null;
+    }
+}
@@ -0,0 +1,34 @@
+package com.duoc.batch_demo.resiliencia;
+
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Cuenta los intentos fallidos que pasan por la política de reintento de un
+ * step: banco.batch.reintentos con tags step y excepcion.
+ */
+public class MetricasReintento implements RetryListener {
+
+    private final MeterRegistry meterRegistry;
+
+    public MetricasReintento(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public <T, E extends Throwable> void onError(RetryContext context, RetryCallback<T, E> callback, Throwable throwable) {
+        StepContext step = StepSynchronizationManager.getContext();
+        Counter.builder("banco.batch.reintentos")
+                .description("Intentos fallidos sujetos a la política de reintento")
+                .tag("step", step != null ? step.getStepName() : "desconocido")
+                .tag("excepcion", throwable.getClass().getSimpleName())
+                .register(meterRegistry)
+                .increment();
+    }
+}
@@ -0,0 +1,232 @@
+package com.duoc.batch_demo.service;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Lanzamiento asíncrono de jobs y seguimiento de su progreso en memoria.
+ *
+ * Los jobs corren en lanzadorJobsTaskExecutor y la llamada vuelve de inmediato
+ * con la JobExecution. El progreso se lee de esa misma JobExecution en
+ * memoria: cada step actualiza sus contadores (leídos, escritos, omitidos)
+ * al confirmar cada chunk, sin consultar las tablas BATCH_* del JobRepository.
+ * Se conservan las últimas banco.batch.api.historial ejecuciones lanzadas por
+ * la API.
+ *
+ * No se lanza un job que ya esté en curso. Cada lanzamiento es una
+ * JobInstance nueva (parámetro "lanzamiento"), así que el JobRepository no lo
+ * impide, y dos ejecuciones simultáneas leerían los mismos archivos de
+ * entrada y escribirían las mismas tablas y marcas de agua incrementales.
+ */
+@Service
+public class EjecucionJobsService implements DisposableBean {
+
+    private final Map<String, Job> jobs;
+    private final TaskExecutorJobLauncher lanzador;
+    private final long intervaloProgresoMs;
+    private final Map<Long, JobExecution> ejecuciones;
+    private final ScheduledExecutorService programador = Executors.newSingleThreadScheduledExecutor(tarea -> {
+        Thread hilo = new Thread(tarea, "Job-Progreso");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    public EjecucionJobsService(Map<String, Job> jobs,
+                                JobRepository jobRepository,
+                                @Qualifier("lanzadorJobsTaskExecutor") TaskExecutor lanzadorJobsTaskExecutor,
+                                @Value("${banco.batch.api.intervalo-progreso-ms:1000}") long intervaloProgresoMs,
+                                @Value("${banco.batch.api.historial:50}") int historial) throws Exception {
+        this.jobs = jobs;
+        this.intervaloProgresoMs = intervaloProgresoMs;
+        this.lanzador = new TaskExecutorJobLauncher();
+        this.lanzador.setJobRepository(jobRepository);
+        this.lanzador.setTaskExecutor(lanzadorJobsTaskExecutor);
+        this.lanzador.afterPropertiesSet();
+        this.ejecuciones = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, JobExecution> eldest) {
+                return size() > historial && terminado(eldest.getValue());
+            }
+        };
+    }
+
+    public List<String> nombresJobs() {
+        return jobs.keySet().stream().sorted().toList();
+    }
+
+    public boolean existeJob(String nombre) {
+        return jobs.containsKey(nombre);
+    }
+
+    /**
+     * Lanza el job con los parámetros dados (String) más "lanzamiento" con la
+     * hora actual, para crear siempre una JobInstance nueva.
+     *
+     * @return la ejecución en curso; FAILED si el lanzador no tiene hilos libres
+     */
+    public JobExecution lanzar(String nombre, Map<String, String> parametros) throws Exception {
+        Job job = jobs.get(nombre);
+        if (job == null) {
+            throw new IllegalArgumentException("Job no registrado: " + nombre);
+        }
+        JobParametersBuilder builder = new JobParametersBuilder();
+        parametros.forEach(builder::addString);
+        builder.addLong("lanzamiento", System.currentTimeMillis());
+
+        synchronized (ejecuciones) {
+            for (JobExecution ejecucion : ejecuciones.values()) {
+                if (!terminado(ejecucion) && ejecucion.getJobInstance().getJobName().equals(nombre)) {
+                    throw new JobExecutionAlreadyRunningException(
+                            "El job " + nombre + " ya está en curso (ejecución " + ejecucion.getId() + ")");
+                }
+            }
+            JobExecution ejecucion = lanzador.run(job, builder.toJobParameters());
+            ejecuciones.put(ejecucion.getId(), ejecucion);
+            System.out.println("🚀 API: " + nombre + " lanzado, ejecución " + ejecucion.getId());
+            return ejecucion;
+        }
+    }
+
+    public Optional<JobExecution> ejecucion(long id) {
+        synchronized (ejecuciones) {
+            return Optional.ofNullable(ejecuciones.get(id));
+        }
+    }
+
+    /**
+     * Foto del progreso con items/seg promedio de cada step desde su inicio.
+     */
+    public Map<String, Object> progreso(JobExecution ejecucion) {
+        return progreso(ejecucion, null);
+    }
+
+    /**
+     * Envía el progreso cada banco.batch.api.intervalo-progreso-ms como evento
+     * "progreso" (items/seg del último intervalo) hasta que el job termina,
+     * con un evento "fin" al final.
+     */
+    public SseEmitter seguir(JobExecution ejecucion) {
+        SseEmitter emisor = new SseEmitter(0L);
+        Map<String, long[]> muestras = new HashMap<>();
+        ScheduledFuture<?>[] tarea = new ScheduledFuture<?>[1];
+        Runnable detener = () -> {
+            if (tarea[0] != null) {
+                tarea[0].cancel(false);
+            }
+        };
+        emisor.onCompletion(detener);
+        emisor.onTimeout(detener);
+        emisor.onError(error -> detener.run());
+
+        tarea[0] = programador.scheduleAtFixedRate(() -> {
+            boolean terminado = terminado(ejecucion);
+            try {
+                emisor.send(SseEmitter.event()
+                        .name(terminado ? "fin" : "progreso")
+                        .id(String.valueOf(System.currentTimeMillis()))
+                        .data(progreso(ejecucion, muestras)));
+                if (terminado) {
+                    emisor.complete();
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Cliente desconectado
+                detener.run();
+            }
+        }, 0, intervaloProgresoMs, TimeUnit.MILLISECONDS);
+        return emisor;
+    }
+
+    /**
+     * @param muestras última muestra [leídos, nanos] por step del mismo stream,
+     *                 o null para el promedio desde el inicio del step
+     */
+    private Map<String, Object> progreso(JobExecution ejecucion, Map<String, long[]> muestras) {
+        long ahora = System.nanoTime();
+        List<Map<String, Object>> pasos = new ArrayList<>();
+        for (StepExecution step : ejecucion.getStepExecutions()) {
+            Map<String, Object> paso = new LinkedHashMap<>();
+            paso.put("step", step.getStepName());
+            paso.put("estado", step.getStatus().name());
+            paso.put("leidos", step.getReadCount());
+            paso.put("escritos", step.getWriteCount());
+            paso.put("filtrados", step.getFilterCount());
+            paso.put("omitidos", step.getSkipCount());
+            paso.put("commits", step.getCommitCount());
+            paso.put("rollbacks", step.getRollbackCount());
+            paso.put("items_por_segundo", itemsPorSegundo(step, muestras, ahora));
+            pasos.add(paso);
+        }
+
+        Map<String, Object> progreso = new LinkedHashMap<>();
+        progreso.put("ejecucion_id", ejecucion.getId());
+        progreso.put("job", ejecucion.getJobInstance().getJobName());
+        progreso.put("estado", ejecucion.getStatus().name());
+        progreso.put("codigo_salida", ejecucion.getExitStatus().getExitCode());
+        progreso.put("inicio", ejecucion.getStartTime());
+        progreso.put("fin", ejecucion.getEndTime());
+        progreso.put("duracion_ms", duracionMs(ejecucion.getStartTime(), ejecucion.getEndTime()));
+        progreso.put("steps", pasos);
+        return progreso;
+    }
+
+    private static double itemsPorSegundo(StepExecution step, Map<String, long[]> muestras, long ahora) {
+        if (muestras == null) {
+            long duracion = duracionMs(step.getStartTime(), step.getEndTime());
+            return duracion > 0 ? redondear(step.getReadCount() * 1000.0 / duracion) : 0.0;
+        }
+        long[] anterior = muestras.put(step.getStepName(), new long[] {step.getReadCount(), ahora});
+        if (anterior == null || ahora == anterior[1]) {
+            return 0.0;
+        }
+        return redondear((step.getReadCount() - anterior[0]) * 1_000_000_000.0 / (ahora - anterior[1]));
+    }
+
+    /**
+     * Terminado con la hora de fin ya asignada (o rechazado antes de empezar).
+     */
+    private static boolean terminado(JobExecution ejecucion) {
+        return !ejecucion.getStatus().isRunning()
+                && (ejecucion.getEndTime() != null || ejecucion.getStartTime() == null);
+    }
+
+    private static long duracionMs(LocalDateTime inicio, LocalDateTime fin) {
+        if (inicio == null) {
+            return 0;
+        }
+        return Duration.between(inicio, fin != null ? fin : LocalDateTime.now()).toMillis();
+    }
+
+    private static double redondear(double valor) {
+        return Math.round(valor * 10) / 10.0;
+    }
+
+    @Override
+    public void destroy() {
+        programador.shutdownNow();
+    }
+}
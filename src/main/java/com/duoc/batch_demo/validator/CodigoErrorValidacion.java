@@ -0,0 +1,74 @@
+package com.duoc.batch_demo.validator;
+
+/**
+ * Códigos estructurados de error de validación para cuentas y transacciones.
+ * 
+ * Cada código ocupa un bit en ResultadoValidacion, por lo que el enum
+ * no puede superar 64 constantes. El orden sigue el orden de las reglas.
+ */
+public enum CodigoErrorValidacion {
+
+    // Cuentas (CuentaValidator)
+    CUENTA_ID_INVALIDO("ID de cuenta debe ser un número positivo"),
+    CUENTA_NOMBRE_VACIO("Nombre del titular no puede estar vacío"),
+    CUENTA_NOMBRE_CORTO("Nombre muy corto (mínimo 2 caracteres)"),
+    CUENTA_NOMBRE_LARGO("Nombre muy largo (máximo 100 caracteres)"),
+    CUENTA_NOMBRE_CARACTERES("Nombre contiene caracteres no válidos"),
+    CUENTA_SALDO_NULO("Saldo no puede ser nulo"),
+    CUENTA_SOBREGIRO_EXCEDIDO("Sobregiro excede el límite permitido (-50000.00)"),
+    CUENTA_SALDO_EXCEDIDO("Saldo excede el límite máximo (10000000.00)"),
+    CUENTA_EDAD_NULA("Edad no puede ser nula"),
+    CUENTA_EDAD_MENOR("Edad debe ser mayor o igual a 18 años"),
+    CUENTA_EDAD_MAYOR("Edad no puede ser mayor a 120 años"),
+    CUENTA_TIPO_VACIO("Tipo de cuenta no puede estar vacío"),
+    CUENTA_TIPO_INVALIDO("Tipo de cuenta no válido (permitidos: AHORRO, CORRIENTE, PRESTAMO, HIPOTECA, INVERSION)"),
+    CUENTA_AHORRO_NEGATIVO("Cuenta de ahorro no puede tener saldo negativo"),
+    CUENTA_PRESTAMO_POSITIVO("Cuenta de préstamo/hipoteca con saldo positivo es inusual"),
+    CUENTA_CORRIENTE_SOBREGIRO("Sobregiro en cuenta corriente excede límite (-5000)"),
+    CUENTA_FECHA_FUTURA("Fecha de actualización no puede ser futura"),
+
+    // Transacciones (TransaccionValidator)
+    TRANSACCION_MONTO_NULO("Monto no puede ser nulo"),
+    TRANSACCION_MONTO_NEGATIVO("Monto no puede ser negativo"),
+    TRANSACCION_MONTO_CERO("Monto no puede ser cero"),
+    TRANSACCION_MONTO_MINIMO("Monto muy pequeño, mínimo 0.01"),
+    TRANSACCION_MONTO_EXCESIVO("Monto excesivo, máximo 1000000.00"),
+    TRANSACCION_FECHA_NULA("Fecha no puede ser nula"),
+    TRANSACCION_FECHA_FUTURA("Fecha no puede ser futura"),
+    TRANSACCION_FECHA_ANTIGUA("Fecha muy antigua, máximo 1825 días"),
+    TRANSACCION_TIPO_VACIO("Tipo de transacción no puede estar vacío"),
+    TRANSACCION_TIPO_INVALIDO("Tipo debe ser DEBITO o CREDITO"),
+    TRANSACCION_ID_INVALIDO("ID de transacción debe ser un número positivo"),
+    TRANSACCION_DEBITO_NEGATIVO("Débito con monto negativo puede ser inconsistente"),
+    TRANSACCION_CREDITO_ALTO("Crédito con monto muy alto requiere autorización especial");
+
+    private static final CodigoErrorValidacion[] VALORES = values();
+
+    static {
+        if (VALORES.length > Long.SIZE) {
+            throw new IllegalStateException("CodigoErrorValidacion admite como máximo 64 códigos");
+        }
+    }
+
+    private final String descripcion;
+
+    CodigoErrorValidacion(String descripcion) {
+        this.descripcion = descripcion;
+    }
+
+    public String getDescripcion() {
+        return descripcion;
+    }
+
+    long bit() {
+        return 1L << ordinal();
+    }
+
+    static CodigoErrorValidacion desdeOrdinal(int ordinal) {
+        return VALORES[ordinal];
+    }
+
+    static int cantidad() {
+        return VALORES.length;
+    }
+}
@@ -1,12 +1,15 @@
 package com.duoc.batch_demo.validator;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.regex.Pattern;
 
 import org.springframework.batch.item.validator.ValidationException;
 import org.springframework.batch.item.validator.Validator;
 import org.springframework.stereotype.Component;
 
 import com.duoc.batch_demo.model.Cuenta;
+import com.duoc.batch_demo.model.TipoCuenta;
 
 /**
  * 🔍 VALIDADOR PERSONALIZADO PARA CUENTAS BANCARIAS
@@ -25,6 +28,10 @@ public class CuentaValidator implements Validator<Cuenta> {
     private static final BigDecimal SALDO_MAXIMO_PERMITIDO = new BigDecimal("10000000.00"); // 10 millones
     private static final int EDAD_MINIMA = 18;
     private static final int EDAD_MAXIMA = 120;
+    private static final BigDecimal SOBREGIRO_MAXIMO_CORRIENTE = new BigDecimal("-5000.00");
+
+    // Patrón precompilado: String.matches() recompilaba la expresión en cada cuenta
+    private static final Pattern NOMBRE_VALIDO = Pattern.compile("^[a-zA-ZÀ-ÿ\\u00f1\\u00d1\\s'.-]+$");
 
     /**
      * 🔍 Valida una cuenta bancaria aplicando reglas de negocio estrictas
@@ -34,139 +41,139 @@ public class CuentaValidator implements Validator<Cuenta> {
      */
     @Override
     public void validate(Cuenta cuenta) throws ValidationException {
-        StringBuilder errores = new StringBuilder();
+        ResultadoValidacion resultado = validar(cuenta);
+        
+        // Si hay errores, lanzar excepción de validación
+        if (!resultado.esValido()) {
+            String mensajeError = "Errores de validación en cuenta ID " + 
+                                cuenta.getCuentaId() + ": " + resultado.describir();
+            
+            System.out.println("❌ VALIDACIÓN DE CUENTA FALLIDA: " + mensajeError);
+            
+            // Excepción preasignada sin stack trace, una por código de error
+            throw ValidacionRechazadaException.de(resultado);
+        }
+        
+        // Si llegamos aquí, la validación fue exitosa
+        System.out.println("✅ CUENTA VÁLIDA: ID " + cuenta.getCuentaId() + 
+                         ", Titular: " + cuenta.getNombre() + 
+                         ", Tipo: " + cuenta.getTipo() + 
+                         ", Saldo: " + cuenta.getSaldo());
+    }
+    
+    /**
+     * 🔍 Aplica las reglas de negocio sin imprimir ni lanzar excepciones.
+     * Lo reutilizan los processors que validan y normalizan en una sola pasada.
+     * 
+     * @param cuenta La cuenta a validar
+     * @return Códigos de error encontrados; ResultadoValidacion.VALIDO si la cuenta es válida
+     */
+    public ResultadoValidacion validar(Cuenta cuenta) {
+        long errores = 0L;
         
         // 1. VALIDACIÓN DE ID DE CUENTA
         if (cuenta.getCuentaId() == null || cuenta.getCuentaId() <= 0) {
-            errores.append("ID de cuenta debe ser un número positivo; ");
+            errores |= CodigoErrorValidacion.CUENTA_ID_INVALIDO.bit();
         }
         
         // 2. VALIDACIÓN DE NOMBRE
-        if (cuenta.getNombre() == null || cuenta.getNombre().trim().isEmpty()) {
-            errores.append("Nombre del titular no puede estar vacío; ");
+        String nombre = cuenta.getNombre() != null ? cuenta.getNombre().trim() : null;
+        if (nombre == null || nombre.isEmpty()) {
+            errores |= CodigoErrorValidacion.CUENTA_NOMBRE_VACIO.bit();
         } else {
-            String nombre = cuenta.getNombre().trim();
-            
             // Nombre muy corto
             if (nombre.length() < 2) {
-                errores.append("Nombre muy corto (mínimo 2 caracteres); ");
+                errores |= CodigoErrorValidacion.CUENTA_NOMBRE_CORTO.bit();
             }
             
             // Nombre muy largo
             if (nombre.length() > 100) {
-                errores.append("Nombre muy largo (máximo 100 caracteres); ");
+                errores |= CodigoErrorValidacion.CUENTA_NOMBRE_LARGO.bit();
             }
             
             // Solo letras, espacios y algunos caracteres especiales
-            if (!nombre.matches("^[a-zA-ZÀ-ÿ\\u00f1\\u00d1\\s'.-]+$")) {
-                errores.append("Nombre contiene caracteres no válidos; ");
+            if (!NOMBRE_VALIDO.matcher(nombre).matches()) {
+                errores |= CodigoErrorValidacion.CUENTA_NOMBRE_CARACTERES.bit();
             }
         }
         
         // 3. VALIDACIÓN DE SALDO
-        if (cuenta.getSaldo() == null) {
-            errores.append("Saldo no puede ser nulo; ");
+        BigDecimal saldo = cuenta.getSaldo();
+        if (saldo == null) {
+            errores |= CodigoErrorValidacion.CUENTA_SALDO_NULO.bit();
         } else {
             // Saldo muy negativo (sobregiro excesivo)
-            if (cuenta.getSaldo().compareTo(SALDO_MINIMO_PERMITIDO) < 0) {
-                errores.append("Sobregiro excede el límite permitido (").append(SALDO_MINIMO_PERMITIDO).append("); ");
+            if (saldo.compareTo(SALDO_MINIMO_PERMITIDO) < 0) {
+                errores |= CodigoErrorValidacion.CUENTA_SOBREGIRO_EXCEDIDO.bit();
             }
             
             // Saldo excesivamente alto
-            if (cuenta.getSaldo().compareTo(SALDO_MAXIMO_PERMITIDO) > 0) {
-                errores.append("Saldo excede el límite máximo (").append(SALDO_MAXIMO_PERMITIDO).append("); ");
+            if (saldo.compareTo(SALDO_MAXIMO_PERMITIDO) > 0) {
+                errores |= CodigoErrorValidacion.CUENTA_SALDO_EXCEDIDO.bit();
             }
         }
         
         // 4. VALIDACIÓN DE EDAD
         if (cuenta.getEdad() == null) {
-            errores.append("Edad no puede ser nula; ");
+            errores |= CodigoErrorValidacion.CUENTA_EDAD_NULA.bit();
         } else {
             if (cuenta.getEdad() < EDAD_MINIMA) {
-                errores.append("Edad debe ser mayor o igual a ").append(EDAD_MINIMA).append(" años; ");
+                errores |= CodigoErrorValidacion.CUENTA_EDAD_MENOR.bit();
             }
             
             if (cuenta.getEdad() > EDAD_MAXIMA) {
-                errores.append("Edad no puede ser mayor a ").append(EDAD_MAXIMA).append(" años; ");
+                errores |= CodigoErrorValidacion.CUENTA_EDAD_MAYOR.bit();
             }
         }
         
         // 5. VALIDACIÓN DE TIPO DE CUENTA
+        TipoCuenta tipo = null;
         if (cuenta.getTipo() == null || cuenta.getTipo().trim().isEmpty()) {
-            errores.append("Tipo de cuenta no puede estar vacío; ");
+            errores |= CodigoErrorValidacion.CUENTA_TIPO_VACIO.bit();
         } else {
-            String tipo = cuenta.getTipo().toUpperCase().trim();
-            String[] tiposValidos = {"AHORRO", "CORRIENTE", "PRESTAMO", "HIPOTECA", "INVERSION"};
-            boolean tipoValido = false;
-            
-            for (String tipoPermitido : tiposValidos) {
-                if (tipoPermitido.equals(tipo)) {
-                    tipoValido = true;
-                    break;
-                }
-            }
-            
-            if (!tipoValido) {
-                errores.append("Tipo de cuenta no válido: ").append(tipo).append(" (permitidos: AHORRO, CORRIENTE, PRESTAMO, HIPOTECA, INVERSION); ");
+            tipo = TipoCuenta.desdeNombre(cuenta.getTipo());
+            if (tipo == null) {
+                errores |= CodigoErrorValidacion.CUENTA_TIPO_INVALIDO.bit();
             }
         }
         
         // 6. VALIDACIONES DE CONSISTENCIA LÓGICA
-        if (cuenta.getTipo() != null && cuenta.getSaldo() != null) {
-            String tipo = cuenta.getTipo().toUpperCase().trim();
-            
+        if (tipo != null && saldo != null) {
             // Validaciones específicas por tipo de cuenta
             switch (tipo) {
-                case "AHORRO":
+                case AHORRO:
                     // Las cuentas de ahorro no pueden tener saldo negativo
-                    if (cuenta.getSaldo().compareTo(BigDecimal.ZERO) < 0) {
-                        errores.append("Cuenta de ahorro no puede tener saldo negativo; ");
+                    if (saldo.signum() < 0) {
+                        errores |= CodigoErrorValidacion.CUENTA_AHORRO_NEGATIVO.bit();
                     }
                     break;
                     
-                case "PRESTAMO":
-                case "HIPOTECA":
+                case PRESTAMO:
+                case HIPOTECA:
                     // Los préstamos e hipotecas normalmente tienen saldo negativo (deuda)
-                    if (cuenta.getSaldo().compareTo(BigDecimal.ZERO) > 0) {
-                        errores.append("Cuenta de préstamo/hipoteca con saldo positivo es inusual; ");
+                    if (saldo.signum() > 0) {
+                        errores |= CodigoErrorValidacion.CUENTA_PRESTAMO_POSITIVO.bit();
                     }
                     break;
                     
-                case "CORRIENTE":
+                case CORRIENTE:
                     // Las cuentas corrientes pueden tener sobregiro limitado
-                    BigDecimal sobregiroMaximo = new BigDecimal("-5000.00");
-                    if (cuenta.getSaldo().compareTo(sobregiroMaximo) < 0) {
-                        errores.append("Sobregiro en cuenta corriente excede límite (-5000); ");
+                    if (saldo.compareTo(SOBREGIRO_MAXIMO_CORRIENTE) < 0) {
+                        errores |= CodigoErrorValidacion.CUENTA_CORRIENTE_SOBREGIRO.bit();
                     }
                     break;
+                    
+                default:
+                    break;
             }
         }
         
         // 7. VALIDACIÓN DE FECHA DE ACTUALIZACIÓN
-        if (cuenta.getFechaActualizacion() != null) {
-            java.time.LocalDateTime ahora = java.time.LocalDateTime.now();
-            if (cuenta.getFechaActualizacion().isAfter(ahora)) {
-                errores.append("Fecha de actualización no puede ser futura; ");
-            }
+        if (cuenta.getFechaActualizacion() != null && cuenta.getFechaActualizacion().isAfter(LocalDateTime.now())) {
+            errores |= CodigoErrorValidacion.CUENTA_FECHA_FUTURA.bit();
         }
         
-        // Si hay errores, lanzar excepción de validación
-        if (errores.length() > 0) {
-            String mensajeError = "Errores de validación en cuenta ID " + 
-                                cuenta.getCuentaId() + ": " + errores.toString();
-            
-            System.out.println("❌ VALIDACIÓN DE CUENTA FALLIDA: " + mensajeError);
-            
-            // Crear excepción personalizada
-            ValidationException exception = new ValidationException(mensajeError);
-            throw exception;
-        }
-        
-        // Si llegamos aquí, la validación fue exitosa
-        System.out.println("✅ CUENTA VÁLIDA: ID " + cuenta.getCuentaId() + 
-                         ", Titular: " + cuenta.getNombre() + 
-                         ", Tipo: " + cuenta.getTipo() + 
-                         ", Saldo: " + cuenta.getSaldo());
+        return ResultadoValidacion.de(errores);
     }
     
     /**
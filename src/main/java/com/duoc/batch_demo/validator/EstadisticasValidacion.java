@@ -0,0 +1,74 @@
+package com.duoc.batch_demo.validator;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Contadores de rechazos de validación por step y por código de error.
+ * 
+ * Los processors que filtran items inválidos (sin excepción) registran aquí
+ * el motivo; los listeners lo vacían e imprimen al terminar cada step.
+ */
+@Component
+public class EstadisticasValidacion {
+
+    private static final String SIN_STEP = "sin-step";
+
+    private final Map<String, LongAdder[]> rechazosPorStep = new ConcurrentHashMap<>();
+
+    public void registrarRechazo(ResultadoValidacion resultado) {
+        LongAdder[] contadores = rechazosPorStep.computeIfAbsent(stepActual(), clave -> crearContadores());
+        for (long resto = resultado.getMascara(); resto != 0L; resto &= resto - 1) {
+            contadores[Long.numberOfTrailingZeros(resto)].increment();
+        }
+    }
+
+    /**
+     * Devuelve los rechazos acumulados por el step y los descarta.
+     * 
+     * @param stepName nombre del step (incluye el sufijo de partición si aplica)
+     * @return conteo por código, vacío si el step no rechazó items
+     */
+    public Map<CodigoErrorValidacion, Long> extraerResumen(String stepName) {
+        Map<CodigoErrorValidacion, Long> resumen = new EnumMap<>(CodigoErrorValidacion.class);
+        LongAdder[] contadores = rechazosPorStep.remove(stepName);
+        if (contadores != null) {
+            for (int i = 0; i < contadores.length; i++) {
+                long total = contadores[i].sum();
+                if (total > 0) {
+                    resumen.put(CodigoErrorValidacion.desdeOrdinal(i), total);
+                }
+            }
+        }
+        return resumen;
+    }
+
+    /**
+     * Imprime y descarta el resumen de rechazos del step, si los hubo.
+     */
+    public void imprimirResumen(String stepName) {
+        Map<CodigoErrorValidacion, Long> resumen = extraerResumen(stepName);
+        if (!resumen.isEmpty()) {
+            System.out.println("   🧹 Registros filtrados por validación: " + resumen);
+        }
+    }
+
+    private static String stepActual() {
+        StepContext contexto = StepSynchronizationManager.getContext();
+        return contexto != null ? contexto.getStepName() : SIN_STEP;
+    }
+
+    private static LongAdder[] crearContadores() {
+        LongAdder[] contadores = new LongAdder[CodigoErrorValidacion.cantidad()];
+        for (int i = 0; i < contadores.length; i++) {
+            contadores[i] = new LongAdder();
+        }
+        return contadores;
+    }
+}
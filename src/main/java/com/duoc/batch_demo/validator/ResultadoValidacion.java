@@ -0,0 +1,69 @@
+package com.duoc.batch_demo.validator;
+
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Resultado inmutable de una validación, sin excepciones ni stack traces.
+ * 
+ * Los códigos de error se guardan como máscara de bits: un item válido
+ * devuelve siempre la instancia compartida VALIDO y no genera basura.
+ */
+public final class ResultadoValidacion {
+
+    public static final ResultadoValidacion VALIDO = new ResultadoValidacion(0L);
+
+    private final long mascara;
+
+    private ResultadoValidacion(long mascara) {
+        this.mascara = mascara;
+    }
+
+    static ResultadoValidacion de(long mascara) {
+        return mascara == 0L ? VALIDO : new ResultadoValidacion(mascara);
+    }
+
+    public boolean esValido() {
+        return mascara == 0L;
+    }
+
+    public boolean contiene(CodigoErrorValidacion codigo) {
+        return (mascara & codigo.bit()) != 0L;
+    }
+
+    /**
+     * @return el primer código según el orden de las reglas, o null si es válido
+     */
+    public CodigoErrorValidacion primerCodigo() {
+        return mascara == 0L ? null : CodigoErrorValidacion.desdeOrdinal(Long.numberOfTrailingZeros(mascara));
+    }
+
+    public Set<CodigoErrorValidacion> getCodigos() {
+        EnumSet<CodigoErrorValidacion> codigos = EnumSet.noneOf(CodigoErrorValidacion.class);
+        for (long resto = mascara; resto != 0L; resto &= resto - 1) {
+            codigos.add(CodigoErrorValidacion.desdeOrdinal(Long.numberOfTrailingZeros(resto)));
+        }
+        return codigos;
+    }
+
+    public long getMascara() {
+        return mascara;
+    }
+
+    /**
+     * Texto legible con todas las descripciones, en el formato de los logs existentes.
+     */
+    public String describir() {
+        StringBuilder texto = new StringBuilder();
+        for (long resto = mascara; resto != 0L; resto &= resto - 1) {
+            texto.append(CodigoErrorValidacion.desdeOrdinal(Long.numberOfTrailingZeros(resto)).getDescripcion())
+                 .append("; ");
+        }
+        return texto.toString();
+    }
+
+    @Override
+    public String toString() {
+        return esValido() ? "ResultadoValidacion{VALIDO}" : "ResultadoValidacion{" + getCodigos() + "}";
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.batch.item.validator.ValidationException;
 import org.springframework.batch.item.validator.Validator;
 import org.springframework.stereotype.Component;
 
+import com.duoc.batch_demo.model.TipoTransaccion;
 import com.duoc.batch_demo.model.Transaccion;
 
 /**
@@ -24,6 +25,7 @@ public class TransaccionValidator implements Validator<Transaccion> {
 
     private static final BigDecimal MONTO_MINIMO = new BigDecimal("0.01");
     private static final BigDecimal MONTO_MAXIMO = new BigDecimal("1000000.00");
+    private static final BigDecimal MONTO_ALTO_CREDITO = new BigDecimal("100000.00");
     private static final int DIAS_MAXIMOS_ANTIGUEDAD = 365 * 5; // 5 años
 
     /**
@@ -34,100 +36,112 @@ public class TransaccionValidator implements Validator<Transaccion> {
      */
     @Override
     public void validate(Transaccion transaccion) throws ValidationException {
-        StringBuilder errores = new StringBuilder();
+        ResultadoValidacion resultado = validar(transaccion);
+        
+        // Si hay errores, lanzar excepción de validación
+        if (!resultado.esValido()) {
+            String mensajeError = "Errores de validación en transacción ID " + 
+                                transaccion.getId() + ": " + resultado.describir();
+            
+            System.out.println("❌ VALIDACIÓN FALLIDA: " + mensajeError);
+            
+            // Excepción preasignada sin stack trace, una por código de error
+            throw ValidacionRechazadaException.de(resultado);
+        }
+        
+        // Si llegamos aquí, la validación fue exitosa
+        System.out.println("✅ TRANSACCIÓN VÁLIDA: ID " + transaccion.getId() + 
+                         ", Tipo: " + transaccion.getTipo() + 
+                         ", Monto: " + transaccion.getMonto());
+    }
+    
+    /**
+     * 🔍 Aplica las reglas de negocio sin imprimir ni lanzar excepciones.
+     * Lo reutilizan los processors que validan y normalizan en una sola pasada.
+     * 
+     * @param transaccion La transacción a validar
+     * @return Códigos de error encontrados; ResultadoValidacion.VALIDO si la transacción es válida
+     */
+    public ResultadoValidacion validar(Transaccion transaccion) {
+        long errores = 0L;
+        BigDecimal monto = transaccion.getMonto();
         
         // 1. VALIDACIÓN DE MONTO
-        if (transaccion.getMonto() == null) {
-            errores.append("Monto no puede ser nulo; ");
+        if (monto == null) {
+            errores |= CodigoErrorValidacion.TRANSACCION_MONTO_NULO.bit();
         } else {
+            int signo = monto.signum();
+            
             // Monto negativo
-            if (transaccion.getMonto().compareTo(BigDecimal.ZERO) < 0) {
-                errores.append("Monto no puede ser negativo (").append(transaccion.getMonto()).append("); ");
+            if (signo < 0) {
+                errores |= CodigoErrorValidacion.TRANSACCION_MONTO_NEGATIVO.bit();
             }
             
             // Monto cero
-            if (transaccion.getMonto().compareTo(BigDecimal.ZERO) == 0) {
-                errores.append("Monto no puede ser cero; ");
+            if (signo == 0) {
+                errores |= CodigoErrorValidacion.TRANSACCION_MONTO_CERO.bit();
             }
             
             // Monto muy pequeño
-            if (transaccion.getMonto().compareTo(MONTO_MINIMO) < 0) {
-                errores.append("Monto muy pequeño, mínimo ").append(MONTO_MINIMO).append("; ");
+            if (monto.compareTo(MONTO_MINIMO) < 0) {
+                errores |= CodigoErrorValidacion.TRANSACCION_MONTO_MINIMO.bit();
             }
             
             // Monto excesivo
-            if (transaccion.getMonto().compareTo(MONTO_MAXIMO) > 0) {
-                errores.append("Monto excesivo, máximo ").append(MONTO_MAXIMO).append("; ");
+            if (monto.compareTo(MONTO_MAXIMO) > 0) {
+                errores |= CodigoErrorValidacion.TRANSACCION_MONTO_EXCESIVO.bit();
             }
         }
         
         // 2. VALIDACIÓN DE FECHA
         if (transaccion.getFecha() == null) {
-            errores.append("Fecha no puede ser nula; ");
+            errores |= CodigoErrorValidacion.TRANSACCION_FECHA_NULA.bit();
         } else {
             LocalDate hoy = LocalDate.now();
             
             // Fecha futura
             if (transaccion.getFecha().isAfter(hoy)) {
-                errores.append("Fecha no puede ser futura (").append(transaccion.getFecha()).append("); ");
+                errores |= CodigoErrorValidacion.TRANSACCION_FECHA_FUTURA.bit();
             }
             
             // Fecha muy antigua
             LocalDate fechaMinima = hoy.minusDays(DIAS_MAXIMOS_ANTIGUEDAD);
             if (transaccion.getFecha().isBefore(fechaMinima)) {
-                errores.append("Fecha muy antigua, máximo ").append(DIAS_MAXIMOS_ANTIGUEDAD).append(" días; ");
+                errores |= CodigoErrorValidacion.TRANSACCION_FECHA_ANTIGUA.bit();
             }
         }
         
         // 3. VALIDACIÓN DE TIPO
+        TipoTransaccion tipo = null;
         if (transaccion.getTipo() == null || transaccion.getTipo().trim().isEmpty()) {
-            errores.append("Tipo de transacción no puede estar vacío; ");
+            errores |= CodigoErrorValidacion.TRANSACCION_TIPO_VACIO.bit();
         } else {
-            String tipo = transaccion.getTipo().toUpperCase().trim();
-            if (!tipo.equals("DEBITO") && !tipo.equals("CREDITO")) {
-                errores.append("Tipo debe ser DEBITO o CREDITO (recibido: ").append(tipo).append("); ");
+            tipo = TipoTransaccion.desdeNombre(transaccion.getTipo());
+            if (tipo == null) {
+                errores |= CodigoErrorValidacion.TRANSACCION_TIPO_INVALIDO.bit();
             }
         }
         
         // 4. VALIDACIÓN DE ID
         if (transaccion.getId() == null || transaccion.getId() <= 0) {
-            errores.append("ID de transacción debe ser un número positivo; ");
+            errores |= CodigoErrorValidacion.TRANSACCION_ID_INVALIDO.bit();
         }
         
         // 5. VALIDACIONES DE CONSISTENCIA LÓGICA
-        if (transaccion.getTipo() != null && transaccion.getMonto() != null) {
-            String tipo = transaccion.getTipo().toUpperCase().trim();
-            
+        if (tipo != null && monto != null) {
             // Los débitos normalmente serían negativos en algunos sistemas
             // pero en nuestro caso, validamos que los montos sean positivos
-            if (tipo.equals("DEBITO") && transaccion.getMonto().compareTo(BigDecimal.ZERO) < 0) {
-                errores.append("Débito con monto negativo puede ser inconsistente; ");
+            if (tipo == TipoTransaccion.DEBITO && monto.signum() < 0) {
+                errores |= CodigoErrorValidacion.TRANSACCION_DEBITO_NEGATIVO.bit();
             }
             
             // Validar montos muy altos para ciertos tipos
-            BigDecimal montoAltoCredito = new BigDecimal("100000.00");
-            if (tipo.equals("CREDITO") && transaccion.getMonto().compareTo(montoAltoCredito) > 0) {
-                errores.append("Crédito con monto muy alto requiere autorización especial; ");
+            if (tipo == TipoTransaccion.CREDITO && monto.compareTo(MONTO_ALTO_CREDITO) > 0) {
+                errores |= CodigoErrorValidacion.TRANSACCION_CREDITO_ALTO.bit();
             }
         }
         
-        // Si hay errores, lanzar excepción de validación
-        if (errores.length() > 0) {
-            String mensajeError = "Errores de validación en transacción ID " + 
-                                transaccion.getId() + ": " + errores.toString();
-            
-            System.out.println("❌ VALIDACIÓN FALLIDA: " + mensajeError);
-            
-            // Crear excepción personalizada con información detallada
-            ValidationException exception = new ValidationException(mensajeError);
-            exception.initCause(new IllegalArgumentException("Datos de transacción inválidos"));
-            throw exception;
-        }
-        
-        // Si llegamos aquí, la validación fue exitosa
-        System.out.println("✅ TRANSACCIÓN VÁLIDA: ID " + transaccion.getId() + 
-                         ", Tipo: " + transaccion.getTipo() + 
-                         ", Monto: " + transaccion.getMonto());
+        return ResultadoValidacion.de(errores);
     }
     
     /**
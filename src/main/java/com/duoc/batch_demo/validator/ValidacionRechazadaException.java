@@ -0,0 +1,49 @@
+package com.duoc.batch_demo.validator;
+
+import org.springframework.batch.item.validator.ValidationException;
+
+/**
+ * ValidationException preasignada y sin stack trace, una por código de error.
+ * 
+ * Se usa solo cuando la SkipPolicy necesita ver una excepción: llenar el
+ * stack trace por cada registro inválido costaba más que la validación.
+ * Las instancias son compartidas, no se deben modificar.
+ */
+public final class ValidacionRechazadaException extends ValidationException {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final ValidacionRechazadaException[] INSTANCIAS = crearInstancias();
+
+    private final transient CodigoErrorValidacion codigo;
+
+    private ValidacionRechazadaException(CodigoErrorValidacion codigo) {
+        super(codigo.name() + ": " + codigo.getDescripcion());
+        this.codigo = codigo;
+    }
+
+    public static ValidacionRechazadaException de(CodigoErrorValidacion codigo) {
+        return INSTANCIAS[codigo.ordinal()];
+    }
+
+    public static ValidacionRechazadaException de(ResultadoValidacion resultado) {
+        return de(resultado.primerCodigo());
+    }
+
+    public CodigoErrorValidacion getCodigo() {
+        return codigo;
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+
+    private static ValidacionRechazadaException[] crearInstancias() {
+        ValidacionRechazadaException[] instancias = new ValidacionRechazadaException[CodigoErrorValidacion.cantidad()];
+        for (int i = 0; i < instancias.length; i++) {
+            instancias[i] = new ValidacionRechazadaException(CodigoErrorValidacion.desdeOrdinal(i));
+        }
+        return instancias;
+    }
+}
@@ -0,0 +1,65 @@
+package com.duoc.batch_demo.writer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+
+import com.duoc.batch_demo.audit.AuditoriaBatch;
+import com.duoc.batch_demo.audit.NivelAuditoria;
+import com.duoc.batch_demo.model.AnomaliaTransaccion;
+
+/**
+ * Writer para items List&lt;AnomaliaTransaccion&gt; (varias anomalías por transacción o cuenta).
+ *
+ * Delega en el writer JDBC de anomalias_transacciones (el mismo SQL y enlace
+ * de parámetros que anomaliaTransaccionWriter), en lotes de hasta tamanoLote
+ * anomalías: cada lote es un batch JDBC, y el chunk no se copia entero a una
+ * lista intermedia.
+ *
+ * El batch no cruza chunks: el chunk es la frontera de commit y del checkpoint
+ * del reader, y diferir filas al siguiente chunk las perdería ante una caída.
+ */
+public class AnomaliaListItemWriter implements ItemWriter<List<AnomaliaTransaccion>> {
+
+    private final ItemWriter<AnomaliaTransaccion> delegado;
+    private final int tamanoLote;
+    private final AuditoriaBatch auditoria;
+
+    public AnomaliaListItemWriter(ItemWriter<AnomaliaTransaccion> delegado, int tamanoLote, AuditoriaBatch auditoria) {
+        if (tamanoLote < 1) {
+            throw new IllegalArgumentException("tamanoLote debe ser mayor a 0: " + tamanoLote);
+        }
+        this.delegado = delegado;
+        this.tamanoLote = tamanoLote;
+        this.auditoria = auditoria;
+    }
+
+    @Override
+    public void write(Chunk<? extends List<AnomaliaTransaccion>> chunk) throws Exception {
+        int guardadas = 0;
+        List<AnomaliaTransaccion> lote = new ArrayList<>();
+        for (List<AnomaliaTransaccion> anomalias : chunk) {
+            if (anomalias == null) {
+                continue;
+            }
+            for (AnomaliaTransaccion anomalia : anomalias) {
+                lote.add(anomalia);
+                if (lote.size() == tamanoLote) {
+                    delegado.write(new Chunk<>(lote));
+                    guardadas += lote.size();
+                    lote = new ArrayList<>();
+                }
+            }
+        }
+        if (!lote.isEmpty()) {
+            delegado.write(new Chunk<>(lote));
+            guardadas += lote.size();
+        }
+
+        if (guardadas > 0 && auditoria.debeRegistrar(NivelAuditoria.INFO)) {
+            auditoria.publicar(NivelAuditoria.INFO, "ANOMALIAS_GUARDADAS", guardadas + " anomalías en la base de datos");
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.duoc.batch_demo.writer;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import com.duoc.batch_demo.model.AnomaliaTransaccion;
+
+/**
+ * Enlace posicional de AnomaliaTransaccion para anomalias_transacciones.
+ */
+public final class AnomaliaTransaccionPreparedStatementSetter extends EnlazadorPosicional<AnomaliaTransaccion> {
+
+    public static final String SQL =
+            "INSERT INTO anomalias_transacciones (transaccion_id, tipo_anomalia, descripcion, fecha_deteccion, severidad) " +
+            "VALUES (?, ?, ?, ?, ?)";
+
+    @Override
+    public int columnas() {
+        return 5;
+    }
+
+    @Override
+    public void enlazar(AnomaliaTransaccion anomalia, PreparedStatement ps, int i) throws SQLException {
+        setLong(ps, i, anomalia.getTransaccionId());
+        setString(ps, i + 1, anomalia.getTipoAnomalia());
+        setString(ps, i + 2, anomalia.getDescripcion());
+        setFechaHora(ps, i + 3, anomalia.getFechaDeteccion());
+        setString(ps, i + 4, anomalia.getSeveridad());
+    }
+}
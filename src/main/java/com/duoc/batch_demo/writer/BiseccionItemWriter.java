@@ -0,0 +1,253 @@
+package com.duoc.batch_demo.writer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.batch.core.SkipListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.core.step.skip.SkipPolicy;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Aísla por bisección las filas que hacen fallar la escritura de un chunk.
+ *
+ * Ante un error de escritura, el scan de Spring Batch hace rollback del chunk y
+ * lo reescribe item por item (n transacciones). Este writer, en cambio, escribe
+ * el chunk bajo un savepoint de la transacción del chunk y, si falla, lo parte
+ * en mitades y solo sigue dividiendo las mitades que fallan: aislar k filas
+ * malas cuesta O(k log n) escrituras y las filas buenas quedan escritas en la
+ * misma transacción.
+ *
+ * La decisión sobre cada fila aislada es de la SkipPolicy del step en curso
+ * (transaccionesSkipPolicy, cuentasSkipPolicy), con el total de omisiones del
+ * step como hace Spring Batch: si la omite se quita del chunk (el conteo de
+ * escritos del step queda correcto) y suma un write skip; si no, el error se
+ * propaga y el step lo trata como siempre.
+ *
+ * Las omisiones se acumulan por chunk y solo cuentan si el chunk confirma: se
+ * suman a la StepExecution en afterCommit, cuando TaskletStep todavía tiene
+ * tomado el semáforo con el que aplica la contribución de cada chunk (lo
+ * libera en afterCompletion), así no compiten con los demás hilos del step.
+ * Eso vale solo si el writer corre en el hilo del step, dentro de la
+ * transacción del chunk: por eso no se combina con la escritura diferida
+ * (AsyncProcessingConfig rechaza esa configuración). Si el chunk
+ * hace rollback (por ejemplo para reintentar) se descartan. Los errores
+ * transitorios (bloqueos, timeouts, conexión) no se bisecan: se propagan para
+ * que actúe la política de reintento. En steps sin política configurada el
+ * writer delega sin savepoints.
+ *
+ * Las filas omitidas no pasan por el scan de Spring Batch: se notifican al
+ * SkipListener configurado (dead-letter) como omisiones de escritura antes de
+ * confirmar el chunk, igual que las omisiones propias de Spring Batch.
+ *
+ * Requiere un PlatformTransactionManager con savepoints (JDBC).
+ */
+public class BiseccionItemWriter<T> implements ItemWriter<T> {
+
+    private final ItemWriter<T> delegado;
+    private final TransactionTemplate savepoint;
+    private final Map<String, SkipPolicy> politicasPorStep;
+    private final Counter escrituras;
+    private final Counter omitidas;
+    private final SkipListener<?, ? super T> skipListener;
+
+    public BiseccionItemWriter(ItemWriter<T> delegado,
+                               PlatformTransactionManager transactionManager,
+                               Map<String, SkipPolicy> politicasPorStep,
+                               SkipListener<?, ? super T> skipListener,
+                               String tabla,
+                               MeterRegistry meterRegistry) {
+        this.delegado = delegado;
+        this.skipListener = skipListener;
+        this.savepoint = new TransactionTemplate(transactionManager);
+        this.savepoint.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        this.politicasPorStep = politicasPorStep;
+        this.escrituras = Counter.builder("banco.batch.writer.biseccion.escrituras")
+                .description("Escrituras parciales bajo savepoint para aislar filas con error")
+                .tag("tabla", tabla)
+                .register(meterRegistry);
+        this.omitidas = Counter.builder("banco.batch.writer.biseccion.omitidas")
+                .description("Filas aisladas y omitidas por la SkipPolicy del step")
+                .tag("tabla", tabla)
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void write(Chunk<? extends T> chunk) throws Exception {
+        StepContext contexto = StepSynchronizationManager.getContext();
+        SkipPolicy politica = contexto != null ? politicasPorStep.get(nombreBase(contexto.getStepName())) : null;
+        if (politica == null) {
+            delegado.write(chunk);
+            return;
+        }
+
+        List<T> items = new ArrayList<>(chunk.getItems());
+        Exception error = escribir(items);
+        if (error == null) {
+            return;
+        }
+
+        Omisiones<T> omisiones = new Omisiones<>();
+        aislar(items, error, politica, contexto.getStepExecution(), omisiones);
+        if (omisiones.items.isEmpty()) {
+            return;
+        }
+        Set<T> omitidos = Collections.newSetFromMap(new IdentityHashMap<>());
+        omitidos.addAll(omisiones.items);
+        for (Iterator<? extends T> it = chunk.iterator(); it.hasNext(); ) {
+            if (omitidos.contains(it.next())) {
+                it.remove();
+            }
+        }
+        registrar(omisiones, contexto.getStepExecution());
+        System.out.println("✂️ Bisección en " + contexto.getStepName() + ": " + omitidos.size() +
+                         " fila(s) omitida(s) de " + items.size() + ", el resto escrito en el mismo chunk");
+    }
+
+    /**
+     * items ya falló como bloque: escribe cada mitad por separado y baja solo
+     * por las que fallan.
+     */
+    private void aislar(List<T> items, Exception error, SkipPolicy politica,
+                        StepExecution stepExecution, Omisiones<T> omisiones) throws Exception {
+        if (items.size() == 1) {
+            omitirODetener(items.get(0), error, politica, stepExecution, omisiones);
+            return;
+        }
+        int mitad = items.size() / 2;
+        for (List<T> parte : List.of(items.subList(0, mitad), items.subList(mitad, items.size()))) {
+            Exception errorParte = escribir(parte);
+            if (errorParte != null) {
+                aislar(parte, errorParte, politica, stepExecution, omisiones);
+            }
+        }
+    }
+
+    private void omitirODetener(T item, Exception error, SkipPolicy politica,
+                                StepExecution stepExecution, Omisiones<T> omisiones) throws Exception {
+        // Total del step confirmado más lo omitido en este chunk, como la contribución de Spring Batch.
+        // La política lleva su propio límite y lanza SkipLimitExceededException al superarlo
+        if (!politica.shouldSkip(error, stepExecution.getSkipCount() + omisiones.items.size())) {
+            throw error;
+        }
+        omisiones.items.add(item);
+        omisiones.errores.add(error);
+    }
+
+    /**
+     * Notifica las omisiones antes del commit del chunk y las suma al step
+     * después; sin sincronización de transacción activa, de inmediato.
+     */
+    private void registrar(Omisiones<T> omisiones, StepExecution stepExecution) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            notificar(omisiones);
+            contar(omisiones, stepExecution);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                notificar(omisiones);
+            }
+
+            @Override
+            public void afterCommit() {
+                contar(omisiones, stepExecution);
+            }
+        });
+    }
+
+    private void notificar(Omisiones<T> omisiones) {
+        if (skipListener == null) {
+            return;
+        }
+        for (int i = 0; i < omisiones.items.size(); i++) {
+            skipListener.onSkipInWrite(omisiones.items.get(i), omisiones.errores.get(i));
+        }
+    }
+
+    private void contar(Omisiones<T> omisiones, StepExecution stepExecution) {
+        stepExecution.setWriteSkipCount(stepExecution.getWriteSkipCount() + omisiones.items.size());
+        omitidas.increment(omisiones.items.size());
+    }
+
+    /**
+     * Escribe bajo un savepoint: si falla, la transacción del chunk vuelve al
+     * estado previo y se devuelve el error. Los errores no aislables se propagan.
+     */
+    private Exception escribir(List<T> items) throws Exception {
+        escrituras.increment();
+        try {
+            savepoint.executeWithoutResult(status -> {
+                try {
+                    delegado.write(new Chunk<>(items));
+                } catch (RuntimeException e) {
+                    throw e;
+                } catch (Exception e) {
+                    throw new ErrorEscritura(e);
+                }
+            });
+            return null;
+        } catch (ErrorEscritura e) {
+            return aislable(e.getCause());
+        } catch (RuntimeException e) {
+            return aislable(e);
+        }
+    }
+
+    private static Exception aislable(Exception error) throws Exception {
+        if (error instanceof TransientDataAccessException
+                || error instanceof RecoverableDataAccessException
+                || error instanceof DataAccessResourceFailureException
+                || error instanceof TransactionException) {
+            throw error;
+        }
+        return error;
+    }
+
+    private static String nombreBase(String step) {
+        // Las particiones (worker:partitionN) usan la política de su step
+        int separador = step.indexOf(':');
+        return separador > 0 ? step.substring(0, separador) : step;
+    }
+
+    /** Filas omitidas en una escritura de chunk, con el error de cada una. */
+    private static final class Omisiones<T> {
+        private final List<T> items = new ArrayList<>();
+        private final List<Exception> errores = new ArrayList<>();
+    }
+
+    private static final class ErrorEscritura extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private ErrorEscritura(Exception causa) {
+            super(causa);
+        }
+
+        @Override
+        public synchronized Exception getCause() {
+            return (Exception) super.getCause();
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.duoc.batch_demo.writer;
+
+/**
+ * Codifica un item como fila de LOAD DATA para una tabla concreta.
+ */
+public interface CodificadorLoadData<T> {
+
+    /**
+     * @return tabla destino
+     */
+    String tabla();
+
+    /**
+     * @return lista de columnas en el orden en que se codifican los campos
+     */
+    String columnas();
+
+    /**
+     * @return REPLACE o IGNORE: cómo resolver filas con clave duplicada
+     */
+    String manejoDuplicados();
+
+    void codificar(T item, FilaDelimitada fila);
+}
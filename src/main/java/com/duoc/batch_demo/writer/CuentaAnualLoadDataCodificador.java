@@ -0,0 +1,38 @@
+package com.duoc.batch_demo.writer;
+
+import com.duoc.batch_demo.model.CuentaAnual;
+
+/**
+ * Filas de cuentas_anuales para LOAD DATA. Con LOCAL, MySQL ignora las claves
+ * duplicadas (como INSERT IGNORE) en vez de fallar; se declara explícito, y
+ * MySqlLoadDataItemWriter convierte la advertencia en DuplicateKeyException,
+ * igual que el INSERT del camino JDBC.
+ */
+public final class CuentaAnualLoadDataCodificador implements CodificadorLoadData<CuentaAnual> {
+
+    @Override
+    public String tabla() {
+        return "cuentas_anuales";
+    }
+
+    @Override
+    public String columnas() {
+        return "cuenta_id, fecha, transaccion, monto, descripcion, fecha_procesamiento";
+    }
+
+    @Override
+    public String manejoDuplicados() {
+        return "IGNORE";
+    }
+
+    @Override
+    public void codificar(CuentaAnual cuentaAnual, FilaDelimitada fila) {
+        fila.campo(cuentaAnual.getCuentaId())
+            .campo(cuentaAnual.getFecha())
+            .campo(cuentaAnual.getTransaccion())
+            .campo(cuentaAnual.getMonto())
+            .campo(cuentaAnual.getDescripcion())
+            .campo(cuentaAnual.getFechaProcesamiento())
+            .finFila();
+    }
+}
@@ -0,0 +1,37 @@
+package com.duoc.batch_demo.writer;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import com.duoc.batch_demo.model.CuentaAnual;
+
+/**
+ * Enlace posicional de CuentaAnual para cuentas_anuales.
+ */
+public final class CuentaAnualPreparedStatementSetter extends EnlazadorPosicional<CuentaAnual> {
+
+    public static final String SQL =
+            "INSERT INTO cuentas_anuales (cuenta_id, fecha, transaccion, monto, descripcion, fecha_procesamiento) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    @Override
+    public int columnas() {
+        return 6;
+    }
+
+    @Override
+    public int bytesEstimados(CuentaAnual cuentaAnual) {
+        String descripcion = cuentaAnual.getDescripcion();
+        return super.bytesEstimados(cuentaAnual) + (descripcion != null ? descripcion.length() : 0);
+    }
+
+    @Override
+    public void enlazar(CuentaAnual cuentaAnual, PreparedStatement ps, int i) throws SQLException {
+        setLong(ps, i, cuentaAnual.getCuentaId());
+        setFecha(ps, i + 1, cuentaAnual.getFecha());
+        setString(ps, i + 2, cuentaAnual.getTransaccion());
+        setBigDecimal(ps, i + 3, cuentaAnual.getMonto());
+        setString(ps, i + 4, cuentaAnual.getDescripcion());
+        setFechaHora(ps, i + 5, cuentaAnual.getFechaProcesamiento());
+    }
+}
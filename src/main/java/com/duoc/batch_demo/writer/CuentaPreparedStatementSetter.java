@@ -0,0 +1,38 @@
+package com.duoc.batch_demo.writer;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import com.duoc.batch_demo.model.Cuenta;
+
+/**
+ * Enlace posicional de Cuenta para el upsert de saldo en cuentas.
+ */
+public final class CuentaPreparedStatementSetter extends EnlazadorPosicional<Cuenta> {
+
+    public static final String SQL =
+            "INSERT INTO cuentas (cuenta_id, nombre, saldo, edad, tipo, fecha_actualizacion) " +
+            "VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE saldo = VALUES(saldo), fecha_actualizacion = VALUES(fecha_actualizacion)";
+
+    @Override
+    public int columnas() {
+        return 6;
+    }
+
+    @Override
+    public int bytesEstimados(Cuenta cuenta) {
+        String nombre = cuenta.getNombre();
+        return super.bytesEstimados(cuenta) + (nombre != null ? nombre.length() : 0);
+    }
+
+    @Override
+    public void enlazar(Cuenta cuenta, PreparedStatement ps, int i) throws SQLException {
+        setLong(ps, i, cuenta.getCuentaId());
+        setString(ps, i + 1, cuenta.getNombre());
+        setBigDecimal(ps, i + 2, cuenta.getSaldo());
+        setInteger(ps, i + 3, cuenta.getEdad());
+        setString(ps, i + 4, cuenta.getTipo());
+        setFechaHora(ps, i + 5, cuenta.getFechaActualizacion());
+    }
+}
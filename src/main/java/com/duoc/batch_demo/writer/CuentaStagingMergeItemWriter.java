@@ -0,0 +1,152 @@
+package com.duoc.batch_demo.writer;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.duoc.batch_demo.audit.AuditoriaBatch;
+import com.duoc.batch_demo.audit.NivelAuditoria;
+import com.duoc.batch_demo.model.Cuenta;
+
+/**
+ * Writer de cuentas en dos fases: cada chunk se inserta en cuentas_staging
+ * (sin tocar cuentas) y al terminar el step o la partición se aplica un único
+ * merge por conjuntos sobre cuentas, en una transacción corta.
+ *
+ * Así los bloqueos de fila sobre cuentas se toman una sola vez por partición
+ * y durante el merge, no a lo largo de muchos chunks pequeños que compiten con
+ * las actualizaciones de saldo en línea.
+ *
+ * Las filas se identifican por nombre de step (estable entre reinicios, p.ej.
+ * partitionedCuentaWorkerStep:partition0). Si el merge falla el step queda
+ * FAILED y el staging se conserva: al reiniciar, el reader no relee lo ya
+ * procesado y el merge se reintenta con lo acumulado.
+ */
+public class CuentaStagingMergeItemWriter implements ItemWriter<Cuenta>, StepExecutionListener {
+
+    static final String CLAVE_STAGING_ACTIVO = "cuentas.staging.activo";
+
+    private static final TablaMultiFila STAGING = TablaMultiFila.upsert("cuentas_staging",
+            List.of("paso", "cuenta_id", "nombre", "saldo", "edad", "tipo", "fecha_actualizacion"),
+            List.of("paso", "cuenta_id"),
+            List.of("nombre", "saldo", "edad", "tipo", "fecha_actualizacion"));
+
+    private static final String COLUMNAS = "cuenta_id, nombre, saldo, edad, tipo, fecha_actualizacion";
+
+    private static final String SQL_ACTUALIZAR_MYSQL =
+            "UPDATE cuentas c JOIN cuentas_staging s ON s.cuenta_id = c.cuenta_id " +
+            "SET c.saldo = s.saldo, c.fecha_actualizacion = s.fecha_actualizacion WHERE s.paso = ?";
+
+    private static final String SQL_INSERTAR_NUEVAS_MYSQL =
+            "INSERT INTO cuentas (" + COLUMNAS + ") " +
+            "SELECT s.cuenta_id, s.nombre, s.saldo, s.edad, s.tipo, s.fecha_actualizacion FROM cuentas_staging s " +
+            "WHERE s.paso = ? AND NOT EXISTS (SELECT 1 FROM cuentas c WHERE c.cuenta_id = s.cuenta_id)";
+
+    private static final String SQL_MERGE =
+            "MERGE INTO cuentas c USING (SELECT " + COLUMNAS + " FROM cuentas_staging WHERE paso = ?) s " +
+            "ON (c.cuenta_id = s.cuenta_id) " +
+            "WHEN MATCHED THEN UPDATE SET c.saldo = s.saldo, c.fecha_actualizacion = s.fecha_actualizacion " +
+            "WHEN NOT MATCHED THEN INSERT (" + COLUMNAS + ") " +
+            "VALUES (s.cuenta_id, s.nombre, s.saldo, s.edad, s.tipo, s.fecha_actualizacion)";
+
+    private static final String SQL_LIMPIAR = "DELETE FROM cuentas_staging WHERE paso = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final DialectoSql dialecto;
+    private final CuentaPreparedStatementSetter enlazador = new CuentaPreparedStatementSetter();
+    private final String sqlStaging;
+    private final AuditoriaBatch auditoria;
+
+    public CuentaStagingMergeItemWriter(DataSource dataSource,
+                                        PlatformTransactionManager transactionManager,
+                                        DialectoSql dialecto,
+                                        AuditoriaBatch auditoria) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.dialecto = dialecto;
+        this.sqlStaging = dialecto.sentencia(STAGING, 1);
+        this.auditoria = auditoria;
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        // Ejecución nueva (no reinicio): descartar restos de una ejecución abandonada del mismo step
+        if (!stepExecution.getExecutionContext().containsKey(CLAVE_STAGING_ACTIVO)) {
+            int descartadas = jdbcTemplate.update(SQL_LIMPIAR, stepExecution.getStepName());
+            if (descartadas > 0) {
+                System.out.println("🧹 Staging de cuentas: " + descartadas + " filas previas descartadas para " + stepExecution.getStepName());
+            }
+            stepExecution.getExecutionContext().putString(CLAVE_STAGING_ACTIVO, "true");
+        }
+    }
+
+    @Override
+    public void write(Chunk<? extends Cuenta> chunk) throws Exception {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        String paso = pasoActual();
+        jdbcTemplate.batchUpdate(sqlStaging, chunk.getItems(), chunk.size(), (ps, cuenta) -> {
+            ps.setString(1, paso);
+            enlazador.enlazar(cuenta, ps, 2);
+        });
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        if (stepExecution.getStatus().isUnsuccessful()) {
+            // El staging se conserva para el reinicio
+            return null;
+        }
+
+        String paso = stepExecution.getStepName();
+        long inicio = System.currentTimeMillis();
+        try {
+            Integer aplicadas = transactionTemplate.execute(status -> aplicarMerge(paso));
+            long duracion = System.currentTimeMillis() - inicio;
+            System.out.println("🔀 Merge de cuentas desde staging (" + paso + "): " + aplicadas + " filas en " + duracion + " ms");
+            if (auditoria.debeRegistrar(NivelAuditoria.INFO)) {
+                auditoria.publicar(NivelAuditoria.INFO, "MERGE_CUENTAS", paso + ": " + aplicadas + " filas en " + duracion + " ms");
+            }
+            return null;
+        } catch (RuntimeException e) {
+            System.err.println("❌ Merge de cuentas desde staging falló (" + paso + "), se conserva para reinicio: " + e.getMessage());
+            stepExecution.setStatus(BatchStatus.FAILED);
+            stepExecution.addFailureException(e);
+            return ExitStatus.FAILED.addExitDescription(e);
+        }
+    }
+
+    private Integer aplicarMerge(String paso) {
+        int aplicadas;
+        if (dialecto == DialectoSql.MYSQL) {
+            aplicadas = jdbcTemplate.update(SQL_ACTUALIZAR_MYSQL, paso);
+            aplicadas += jdbcTemplate.update(SQL_INSERTAR_NUEVAS_MYSQL, paso);
+        } else {
+            aplicadas = jdbcTemplate.update(SQL_MERGE, paso);
+        }
+        jdbcTemplate.update(SQL_LIMPIAR, paso);
+        return aplicadas;
+    }
+
+    private static String pasoActual() {
+        StepContext contexto = StepSynchronizationManager.getContext();
+        if (contexto == null) {
+            throw new IllegalStateException("CuentaStagingMergeItemWriter requiere ejecutarse dentro de un step");
+        }
+        return contexto.getStepName();
+    }
+}
@@ -0,0 +1,229 @@
+package com.duoc.batch_demo.writer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import javax.sql.DataSource;
+
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.duoc.batch_demo.audit.AuditoriaBatch;
+import com.duoc.batch_demo.audit.NivelAuditoria;
+import com.duoc.batch_demo.model.Transaccion;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Writer de transacciones que solo escribe filas nuevas o modificadas.
+ *
+ * Mantiene en memoria la huella (HuellaTransaccion) de cada id, cargada una
+ * vez desde transacciones_huella. Por chunk, las transacciones cuya huella
+ * coincide se omiten; el resto se entrega al writer real y sus huellas se
+ * guardan en transacciones_huella dentro de la misma transacción del chunk.
+ * El índice en memoria se actualiza recién después del commit, así un
+ * rollback no deja huellas de filas que no quedaron escritas.
+ *
+ * Las filas omitidas conservan su fecha_procesamiento anterior.
+ * Métricas: banco.batch.writer.delta.escritas / banco.batch.writer.delta.omitidas.
+ */
+public class DeltaTransaccionItemWriter implements ItemWriter<Transaccion>, StepExecutionListener {
+
+    private static final TablaMultiFila HUELLAS = TablaMultiFila.upsert("transacciones_huella",
+            List.of("id", "huella"), List.of("id"), List.of("huella"));
+
+    private static final String SQL_CARGAR = "SELECT id, huella FROM transacciones_huella";
+
+    private final ItemWriter<Transaccion> delegado;
+    private final JdbcTemplate jdbcTemplate;
+    private final String sqlGuardarHuella;
+    private final AuditoriaBatch auditoria;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Counter escritas;
+    private final Counter omitidas;
+    private final Map<Long, LongAdder[]> conteosPorStep = new ConcurrentHashMap<>();
+    private volatile IndiceHuellas indice;
+
+    public DeltaTransaccionItemWriter(ItemWriter<Transaccion> delegado,
+                                      DataSource dataSource,
+                                      DialectoSql dialecto,
+                                      AuditoriaBatch auditoria,
+                                      MeterRegistry meterRegistry) {
+        this.delegado = delegado;
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.sqlGuardarHuella = dialecto.sentencia(HUELLAS, 1);
+        this.auditoria = auditoria;
+        this.escritas = Counter.builder("banco.batch.writer.delta.escritas")
+                .description("Transacciones nuevas o modificadas escritas")
+                .register(meterRegistry);
+        this.omitidas = Counter.builder("banco.batch.writer.delta.omitidas")
+                .description("Transacciones sin cambios cuya escritura se omitió")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        conteosPorStep.put(stepExecution.getId(), new LongAdder[]{new LongAdder(), new LongAdder()});
+        if (delegado instanceof StepExecutionListener) {
+            ((StepExecutionListener) delegado).beforeStep(stepExecution);
+        }
+    }
+
+    @Override
+    public void write(Chunk<? extends Transaccion> chunk) throws Exception {
+        IndiceHuellas actual = cargarIndice();
+        List<Transaccion> cambiadas = new ArrayList<>(chunk.size());
+        List<long[]> huellasNuevas = new ArrayList<>(chunk.size());
+
+        lock.readLock().lock();
+        try {
+            for (Transaccion transaccion : chunk) {
+                long huella = HuellaTransaccion.calcular(transaccion);
+                if (transaccion.getId() == null || actual.obtener(transaccion.getId()) != huella) {
+                    cambiadas.add(transaccion);
+                    if (transaccion.getId() != null) {
+                        huellasNuevas.add(new long[]{transaccion.getId(), huella});
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        int omitidasChunk = chunk.size() - cambiadas.size();
+        omitidas.increment(omitidasChunk);
+        escritas.increment(cambiadas.size());
+        LongAdder[] conteos = conteosStepActual();
+        if (conteos != null) {
+            conteos[0].add(cambiadas.size());
+            conteos[1].add(omitidasChunk);
+        }
+        if (cambiadas.isEmpty()) {
+            return;
+        }
+
+        Chunk<Transaccion> escritura = new Chunk<>(cambiadas);
+        delegado.write(escritura);
+        if (escritura.size() < cambiadas.size()) {
+            descartarNoEscritas(chunk, cambiadas, escritura, huellasNuevas);
+        }
+        jdbcTemplate.batchUpdate(sqlGuardarHuella, huellasNuevas, huellasNuevas.size(), (ps, par) -> {
+            ps.setLong(1, par[0]);
+            ps.setLong(2, par[1]);
+        });
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    registrar(huellasNuevas);
+                }
+            });
+        } else {
+            registrar(huellasNuevas);
+        }
+
+        if (omitidasChunk > 0 && auditoria.debeRegistrar(NivelAuditoria.DEBUG)) {
+            auditoria.publicar(NivelAuditoria.DEBUG, "DELTA_TRANSACCIONES",
+                    cambiadas.size() + " escritas, " + omitidasChunk + " sin cambios omitidas");
+        }
+    }
+
+    /**
+     * Un delegado que aísla filas con error (BiseccionItemWriter) las quita del
+     * chunk: no guardar su huella, o quedarían marcadas como sin cambios, y
+     * quitarlas también del chunk del step para que no cuenten como escritas.
+     */
+    private static void descartarNoEscritas(Chunk<? extends Transaccion> chunk,
+                                            List<Transaccion> cambiadas,
+                                            Chunk<Transaccion> escritura,
+                                            List<long[]> huellasNuevas) {
+        Set<Transaccion> escritas = Collections.newSetFromMap(new IdentityHashMap<>());
+        escritas.addAll(escritura.getItems());
+        Set<Transaccion> descartadas = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<Long> idsDescartados = new HashSet<>();
+        for (Transaccion transaccion : cambiadas) {
+            if (!escritas.contains(transaccion)) {
+                descartadas.add(transaccion);
+                idsDescartados.add(transaccion.getId());
+            }
+        }
+        huellasNuevas.removeIf(par -> idsDescartados.contains(par[0]));
+        for (Iterator<? extends Transaccion> it = chunk.iterator(); it.hasNext(); ) {
+            if (descartadas.contains(it.next())) {
+                it.remove();
+            }
+        }
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        LongAdder[] conteos = conteosPorStep.remove(stepExecution.getId());
+        if (conteos != null) {
+            System.out.println("🧬 Escritura por cambios (" + stepExecution.getStepName() + "): " + conteos[0].sum() +
+                             " transacciones escritas, " + conteos[1].sum() + " sin cambios omitidas");
+        }
+        if (delegado instanceof StepExecutionListener) {
+            return ((StepExecutionListener) delegado).afterStep(stepExecution);
+        }
+        return null;
+    }
+
+    private IndiceHuellas cargarIndice() {
+        IndiceHuellas actual = indice;
+        if (actual != null) {
+            return actual;
+        }
+        lock.writeLock().lock();
+        try {
+            if (indice == null) {
+                long inicio = System.currentTimeMillis();
+                Integer total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transacciones_huella", Integer.class);
+                IndiceHuellas cargado = new IndiceHuellas(total != null ? total : 0);
+                jdbcTemplate.query(SQL_CARGAR, rs -> {
+                    cargado.registrar(rs.getLong(1), rs.getLong(2));
+                });
+                indice = cargado;
+                System.out.println("🧬 Índice de huellas de transacciones: " + cargado.tamano() + " ids cargados en " +
+                                 (System.currentTimeMillis() - inicio) + " ms");
+            }
+            return indice;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void registrar(List<long[]> huellasNuevas) {
+        lock.writeLock().lock();
+        try {
+            for (long[] par : huellasNuevas) {
+                indice.registrar(par[0], par[1]);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private LongAdder[] conteosStepActual() {
+        StepContext contexto = StepSynchronizationManager.getContext();
+        return contexto != null ? conteosPorStep.get(contexto.getStepExecution().getId()) : null;
+    }
+}
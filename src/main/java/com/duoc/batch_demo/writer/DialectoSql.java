@@ -0,0 +1,135 @@
+package com.duoc.batch_demo.writer;
+
+import java.util.StringJoiner;
+
+/**
+ * Sintaxis de INSERT/upsert multi-fila por motor de base de datos.
+ *
+ * MYSQL:  INSERT ... VALUES (..),(..) [ON DUPLICATE KEY UPDATE c = VALUES(c)]
+ * H2:     INSERT ... VALUES (..),(..) | MERGE INTO ... KEY (..) VALUES (..),(..)
+ * ORACLE: INSERT ALL INTO .. VALUES (..) .. SELECT 1 FROM DUAL |
+ *         MERGE INTO .. USING (SELECT .. FROM DUAL UNION ALL ..) (sin VALUES multi-fila antes de 23c)
+ *
+ * El MERGE ... KEY de H2 sobrescribe todas las columnas de la fila, no solo las actualizables.
+ */
+public enum DialectoSql {
+
+    MYSQL {
+        @Override
+        public String sentencia(TablaMultiFila tabla, int filas) {
+            StringBuilder sql = new StringBuilder("INSERT INTO ").append(tabla.getNombre())
+                    .append(" (").append(String.join(", ", tabla.getColumnas())).append(") VALUES ");
+            agregarFilas(sql, tabla.getColumnas().size(), filas);
+            if (tabla.esUpsert()) {
+                StringJoiner asignaciones = new StringJoiner(", ", " ON DUPLICATE KEY UPDATE ", "");
+                for (String columna : tabla.getActualizables()) {
+                    asignaciones.add(columna + " = VALUES(" + columna + ")");
+                }
+                sql.append(asignaciones);
+            }
+            return sql.toString();
+        }
+    },
+
+    H2 {
+        @Override
+        public String sentencia(TablaMultiFila tabla, int filas) {
+            StringBuilder sql = new StringBuilder(tabla.esUpsert() ? "MERGE INTO " : "INSERT INTO ")
+                    .append(tabla.getNombre())
+                    .append(" (").append(String.join(", ", tabla.getColumnas())).append(")");
+            if (tabla.esUpsert()) {
+                sql.append(" KEY (").append(String.join(", ", tabla.getClaves())).append(")");
+            }
+            sql.append(" VALUES ");
+            agregarFilas(sql, tabla.getColumnas().size(), filas);
+            return sql.toString();
+        }
+    },
+
+    ORACLE {
+        @Override
+        public String sentencia(TablaMultiFila tabla, int filas) {
+            String columnas = String.join(", ", tabla.getColumnas());
+            if (!tabla.esUpsert()) {
+                StringBuilder sql = new StringBuilder("INSERT ALL");
+                for (int f = 0; f < filas; f++) {
+                    sql.append(" INTO ").append(tabla.getNombre()).append(" (").append(columnas).append(") VALUES ");
+                    agregarFilas(sql, tabla.getColumnas().size(), 1);
+                }
+                return sql.append(" SELECT 1 FROM DUAL").toString();
+            }
+
+            StringBuilder sql = new StringBuilder("MERGE INTO ").append(tabla.getNombre()).append(" t USING (");
+            for (int f = 0; f < filas; f++) {
+                if (f > 0) {
+                    sql.append(" UNION ALL ");
+                }
+                StringJoiner select = new StringJoiner(", ", "SELECT ", " FROM DUAL");
+                for (String columna : tabla.getColumnas()) {
+                    select.add("? AS " + columna);
+                }
+                sql.append(select);
+            }
+            StringJoiner condicion = new StringJoiner(" AND ", ") s ON (", ")");
+            for (String clave : tabla.getClaves()) {
+                condicion.add("t." + clave + " = s." + clave);
+            }
+            StringJoiner asignaciones = new StringJoiner(", ", " WHEN MATCHED THEN UPDATE SET ", "");
+            for (String columna : tabla.getActualizables()) {
+                asignaciones.add("t." + columna + " = s." + columna);
+            }
+            StringJoiner valores = new StringJoiner(", ", " VALUES (", ")");
+            for (String columna : tabla.getColumnas()) {
+                valores.add("s." + columna);
+            }
+            return sql.append(condicion).append(asignaciones)
+                      .append(" WHEN NOT MATCHED THEN INSERT (").append(columnas).append(")")
+                      .append(valores).toString();
+        }
+    };
+
+    /**
+     * Límite de parámetros por sentencia común a los tres motores (MySQL y Oracle: 65535).
+     */
+    public static final int MAX_PARAMETROS = 65_535;
+
+    /**
+     * Sentencia para {@code filas} filas; los parámetros se enlazan fila a fila en el orden de las columnas.
+     */
+    public abstract String sentencia(TablaMultiFila tabla, int filas);
+
+    /**
+     * Detecta el dialecto a partir de la URL JDBC, o null si el motor no está soportado.
+     */
+    public static DialectoSql desdeUrl(String url) {
+        if (url == null) {
+            return null;
+        }
+        if (url.startsWith("jdbc:mysql:")) {
+            return MYSQL;
+        }
+        if (url.startsWith("jdbc:h2:")) {
+            return H2;
+        }
+        if (url.startsWith("jdbc:oracle:")) {
+            return ORACLE;
+        }
+        return null;
+    }
+
+    private static void agregarFilas(StringBuilder sql, int columnas, int filas) {
+        for (int f = 0; f < filas; f++) {
+            if (f > 0) {
+                sql.append(", ");
+            }
+            sql.append('(');
+            for (int c = 0; c < columnas; c++) {
+                if (c > 0) {
+                    sql.append(", ");
+                }
+                sql.append('?');
+            }
+            sql.append(')');
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.duoc.batch_demo.writer;
+
+/**
+ * Error de un chunk anterior en la escritura diferida, informado al step en
+ * el chunk siguiente. Es fatal: el chunk actual no tiene la culpa, así que
+ * las políticas de reintento y omisión no lo reintentan ni lo omiten y el
+ * step falla.
+ */
+public class EscrituraDiferidaException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public EscrituraDiferidaException(String mensaje, Throwable causa) {
+        super(mensaje, causa);
+    }
+}
@@ -0,0 +1,409 @@
+package com.duoc.batch_demo.writer;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Writer con escritura diferida (write-behind): el chunk procesado se deja en
+ * una cola acotada y hilos escritores dedicados lo escriben con el writer
+ * real, cada uno en su propia transacción y conexión, mientras el step sigue
+ * leyendo y procesando el chunk siguiente.
+ *
+ * Reinicio: el checkpoint solo avanza con lo confirmado. En cada update() se
+ * guarda una copia del ExecutionContext (ya actualizado por el reader, que se
+ * registra antes que el writer) asociada al último chunk encolado, y el
+ * contexto que se persiste se reemplaza por la copia del último chunk cuya
+ * escritura ya hizo commit. Tras una caída el reader retoma desde ahí: los
+ * chunks pendientes se releen y los ya escritos sin confirmar se reescriben,
+ * por lo que el writer real debe ser idempotente (upserts).
+ *
+ * El chunk solo se encola si la transacción del step hace commit, y afterStep
+ * espera a que la cola se vacíe antes de que se persista el contexto final.
+ * Un error de escritura falla el step en el chunk siguiente, con una
+ * EscrituraDiferidaException que las políticas de reintento y omisión tratan
+ * como fatal, o en afterStep.
+ * Con más de un hilo escritor los chunks pueden escribirse fuera de orden.
+ *
+ * Métricas por step: banco.batch.writer.diferida.cola (chunks en cola) y
+ * banco.batch.writer.diferida.espera (tiempo que el step quedó bloqueado con la cola llena).
+ */
+public class EscrituraDiferidaItemWriter<T> implements ItemWriter<T>, ItemStream, StepExecutionListener {
+
+    private static final long SONDEO_MS = 100;
+
+    private final ItemWriter<T> delegado;
+    private final TransactionTemplate transactionTemplate;
+    private final int capacidad;
+    private final int hilos;
+    private final MeterRegistry meterRegistry;
+    private final Map<Long, Estado<T>> estados = new ConcurrentHashMap<>();
+
+    public EscrituraDiferidaItemWriter(ItemWriter<T> delegado,
+                                       PlatformTransactionManager transactionManager,
+                                       int capacidad,
+                                       int hilos,
+                                       MeterRegistry meterRegistry) {
+        if (capacidad < 1 || hilos < 1) {
+            throw new IllegalArgumentException("capacidad e hilos deben ser mayores a 0: " + capacidad + ", " + hilos);
+        }
+        this.delegado = delegado;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.capacidad = capacidad;
+        this.hilos = hilos;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        if (delegado instanceof StepExecutionListener) {
+            ((StepExecutionListener) delegado).beforeStep(stepExecution);
+        }
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        if (delegado instanceof ItemStream) {
+            ((ItemStream) delegado).open(executionContext);
+        }
+        StepExecution stepExecution = stepActual().getStepExecution();
+        Estado<T> estado = new Estado<>(stepExecution, capacidad, meterRegistry);
+        estado.instantaneas.put(0L, copiar(executionContext));
+        estados.put(stepExecution.getId(), estado);
+        for (int i = 0; i < hilos; i++) {
+            Thread hilo = new Thread(() -> escribirPendientes(estado),
+                    "escritura-diferida-" + stepExecution.getStepName() + "-" + i);
+            hilo.setDaemon(true);
+            estado.escritores.add(hilo);
+            hilo.start();
+        }
+    }
+
+    @Override
+    public void write(Chunk<? extends T> chunk) throws Exception {
+        Estado<T> estado = estadoActual();
+        estado.verificarError();
+
+        // Copia: el step reutiliza el Chunk para el siguiente ciclo
+        Chunk<T> copia = new Chunk<>(new ArrayList<>(chunk.getItems()));
+        long secuencia = estado.siguienteSecuencia();
+
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            estado.encolar(new Pendiente<>(secuencia, copia));
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                estado.encolar(new Pendiente<>(secuencia, copia));
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (status != STATUS_COMMITTED) {
+                    // Nada que escribir: la secuencia se da por resuelta sin avanzar el checkpoint a ella
+                    estado.descartar(secuencia);
+                }
+            }
+        });
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        if (delegado instanceof ItemStream) {
+            ((ItemStream) delegado).update(executionContext);
+        }
+        Estado<T> estado = estados.get(stepActual().getStepExecution().getId());
+        if (estado != null) {
+            estado.registrarCheckpoint(executionContext);
+        }
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        Estado<T> estado = estados.get(stepExecution.getId());
+        ExitStatus resultado = null;
+        if (estado != null) {
+            estado.esperarVaciado();
+            estado.detener();
+            // Contexto final = último checkpoint confirmado (igual al actual si todo se escribió)
+            estado.restaurarConfirmado(stepExecution.getExecutionContext());
+            System.out.printf("📤 Escritura diferida %s: %d chunks escritos, cola máx %d/%d, step bloqueado %.0f ms%n",
+                    stepExecution.getStepName(), estado.escritos, estado.colaMaxima, capacidad,
+                    estado.espera.totalTime(TimeUnit.MILLISECONDS));
+            if (estado.error != null) {
+                System.err.println("❌ Escritura diferida falló en " + stepExecution.getStepName() + ": " + estado.error.getMessage());
+                stepExecution.setStatus(BatchStatus.FAILED);
+                stepExecution.addFailureException(estado.error);
+                resultado = ExitStatus.FAILED.addExitDescription(estado.error);
+            }
+        }
+        if (delegado instanceof StepExecutionListener) {
+            ExitStatus delegadoStatus = ((StepExecutionListener) delegado).afterStep(stepExecution);
+            if (resultado == null) {
+                resultado = delegadoStatus;
+            }
+        }
+        return resultado;
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        StepContext contexto = StepSynchronizationManager.getContext();
+        if (contexto != null) {
+            Estado<T> estado = estados.remove(contexto.getStepExecution().getId());
+            if (estado != null) {
+                estado.detener();
+                meterRegistry.remove(estado.gaugeCola);
+            }
+        }
+        if (delegado instanceof ItemStream) {
+            ((ItemStream) delegado).close();
+        }
+    }
+
+    private void escribirPendientes(Estado<T> estado) {
+        StepSynchronizationManager.register(estado.stepExecution);
+        try {
+            while (estado.activo) {
+                Pendiente<T> pendiente = estado.cola.poll(SONDEO_MS, TimeUnit.MILLISECONDS);
+                if (pendiente == null) {
+                    continue;
+                }
+                if (estado.error != null) {
+                    // Tras un error no se escribe más: lo pendiente queda sin confirmar y se relee al reiniciar
+                    continue;
+                }
+                try {
+                    transactionTemplate.executeWithoutResult(status -> {
+                        try {
+                            delegado.write(pendiente.chunk);
+                        } catch (RuntimeException e) {
+                            throw e;
+                        } catch (Exception e) {
+                            throw new ItemStreamException("Error en escritura diferida", e);
+                        }
+                    });
+                    estado.confirmar(pendiente.secuencia);
+                } catch (RuntimeException e) {
+                    estado.fallar(e);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            StepSynchronizationManager.close();
+        }
+    }
+
+    private Estado<T> estadoActual() {
+        Estado<T> estado = estados.get(stepActual().getStepExecution().getId());
+        if (estado == null) {
+            throw new IllegalStateException("EscrituraDiferidaItemWriter no fue abierto para este step");
+        }
+        return estado;
+    }
+
+    private static StepContext stepActual() {
+        StepContext contexto = StepSynchronizationManager.getContext();
+        if (contexto == null) {
+            throw new IllegalStateException("EscrituraDiferidaItemWriter requiere ejecutarse dentro de un step");
+        }
+        return contexto;
+    }
+
+    private static Map<String, Object> copiar(ExecutionContext executionContext) {
+        Map<String, Object> copia = new HashMap<>();
+        for (Map.Entry<String, Object> entrada : executionContext.entrySet()) {
+            copia.put(entrada.getKey(), entrada.getValue());
+        }
+        return copia;
+    }
+
+    private static final class Pendiente<T> {
+        private final long secuencia;
+        private final Chunk<T> chunk;
+
+        private Pendiente(long secuencia, Chunk<T> chunk) {
+            this.secuencia = secuencia;
+            this.chunk = chunk;
+        }
+    }
+
+    /**
+     * Cola, hilos y checkpoints de una StepExecution (las particiones comparten el bean del writer).
+     */
+    private static final class Estado<T> {
+        private final StepExecution stepExecution;
+        private final BlockingQueue<Pendiente<T>> cola;
+        private final List<Thread> escritores = new ArrayList<>();
+        private final TreeMap<Long, Map<String, Object>> instantaneas = new TreeMap<>();
+        private final TreeSet<Long> resueltasFueraDeOrden = new TreeSet<>();
+        private final Timer espera;
+        private final Gauge gaugeCola;
+        private long ultimaSecuencia;
+        private long confirmada;
+        private long escritos;
+        private int colaMaxima;
+        private volatile boolean activo = true;
+        private volatile RuntimeException error;
+
+        private Estado(StepExecution stepExecution, int capacidad, MeterRegistry meterRegistry) {
+            this.stepExecution = stepExecution;
+            this.cola = new ArrayBlockingQueue<>(capacidad);
+            this.espera = Timer.builder("banco.batch.writer.diferida.espera")
+                    .description("Tiempo del step bloqueado esperando espacio en la cola de escritura")
+                    .tag("step", stepExecution.getStepName())
+                    .register(meterRegistry);
+            this.gaugeCola = Gauge.builder("banco.batch.writer.diferida.cola", cola, BlockingQueue::size)
+                    .description("Chunks procesados en espera de escritura")
+                    .tag("step", stepExecution.getStepName())
+                    .register(meterRegistry);
+        }
+
+        private synchronized long siguienteSecuencia() {
+            return ++ultimaSecuencia;
+        }
+
+        private void encolar(Pendiente<T> pendiente) {
+            if (error != null) {
+                descartar(pendiente.secuencia);
+                return;
+            }
+            long inicio = System.nanoTime();
+            try {
+                while (!cola.offer(pendiente, SONDEO_MS, TimeUnit.MILLISECONDS)) {
+                    if (error != null || !activo) {
+                        descartar(pendiente.secuencia);
+                        return;
+                    }
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                descartar(pendiente.secuencia);
+                return;
+            } finally {
+                espera.record(System.nanoTime() - inicio, TimeUnit.NANOSECONDS);
+            }
+            synchronized (this) {
+                colaMaxima = Math.max(colaMaxima, cola.size());
+            }
+        }
+
+        private synchronized void confirmar(long secuencia) {
+            escritos++;
+            resolver(secuencia);
+        }
+
+        /**
+         * Secuencia que no se escribirá (rollback del chunk o error previo): su
+         * checkpoint se elimina para que la marca de confirmación no avance a él.
+         */
+        private synchronized void descartar(long secuencia) {
+            instantaneas.remove(secuencia);
+            resolver(secuencia);
+        }
+
+        private void resolver(long secuencia) {
+            resueltasFueraDeOrden.add(secuencia);
+            while (error == null && resueltasFueraDeOrden.remove(confirmada + 1)) {
+                confirmada++;
+            }
+            notifyAll();
+        }
+
+        private synchronized void fallar(RuntimeException e) {
+            if (error == null) {
+                error = e;
+            }
+            notifyAll();
+        }
+
+        private void verificarError() {
+            if (error != null) {
+                throw new EscrituraDiferidaException("Escritura diferida falló en un chunk anterior", error);
+            }
+        }
+
+        private synchronized void registrarCheckpoint(ExecutionContext executionContext) {
+            instantaneas.put(ultimaSecuencia, copiar(executionContext));
+            restaurarConfirmado(executionContext);
+        }
+
+        private synchronized void restaurarConfirmado(ExecutionContext executionContext) {
+            Map.Entry<Long, Map<String, Object>> confirmado = instantaneas.floorEntry(confirmada);
+            if (confirmado == null) {
+                return;
+            }
+            // Los checkpoints anteriores al confirmado ya no se necesitan
+            instantaneas.headMap(confirmado.getKey()).clear();
+            for (Map.Entry<String, Object> entrada : new ArrayList<>(executionContext.entrySet())) {
+                if (!confirmado.getValue().containsKey(entrada.getKey())) {
+                    executionContext.remove(entrada.getKey());
+                }
+            }
+            confirmado.getValue().forEach(executionContext::put);
+        }
+
+        private synchronized void esperarVaciado() {
+            while (error == null && confirmada < ultimaSecuencia && escritoresVivos()) {
+                try {
+                    wait(SONDEO_MS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        private boolean escritoresVivos() {
+            for (Thread escritor : escritores) {
+                if (escritor.isAlive()) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        private void detener() {
+            activo = false;
+            for (Thread escritor : escritores) {
+                try {
+                    escritor.join(TimeUnit.SECONDS.toMillis(10));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.duoc.batch_demo.writer;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import com.duoc.batch_demo.model.EstadoCuentaAnual;
+
+/**
+ * Enlace posicional de EstadoCuentaAnual para estados_cuenta_anuales.
+ */
+public final class EstadoCuentaAnualPreparedStatementSetter extends EnlazadorPosicional<EstadoCuentaAnual> {
+
+    public static final String SQL =
+            "INSERT INTO estados_cuenta_anuales (cuenta_id, nombre, total_depositos, total_retiros, saldo_inicial, saldo_final, " +
+            "total_transacciones, intereses_ganados, año, fecha_generacion) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Override
+    public int columnas() {
+        return 10;
+    }
+
+    @Override
+    public void enlazar(EstadoCuentaAnual estado, PreparedStatement ps, int i) throws SQLException {
+        setLong(ps, i, estado.getCuentaId());
+        setString(ps, i + 1, estado.getNombre());
+        setBigDecimal(ps, i + 2, estado.getTotalDepositos());
+        setBigDecimal(ps, i + 3, estado.getTotalRetiros());
+        setBigDecimal(ps, i + 4, estado.getSaldoInicial());
+        setBigDecimal(ps, i + 5, estado.getSaldoFinal());
+        setInteger(ps, i + 6, estado.getTotalTransacciones());
+        setBigDecimal(ps, i + 7, estado.getInteresesGanados());
+        setInteger(ps, i + 8, estado.getAño());
+        setFechaHora(ps, i + 9, estado.getFechaGeneracion());
+    }
+}
@@ -0,0 +1,116 @@
+package com.duoc.batch_demo.writer;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Acumula filas en el formato por defecto de LOAD DATA de MySQL: campos
+ * separados por tabulador, filas por salto de línea, escape con barra
+ * invertida y NULL como \N.
+ *
+ * MySqlLoadDataItemWriter crea una por chunk (el writer se comparte entre
+ * particiones). No es thread-safe.
+ */
+public final class FilaDelimitada {
+
+    private static final String NULO = "\\N";
+
+    private final StringBuilder contenido;
+    private boolean inicioDeFila = true;
+    private int filas;
+
+    public FilaDelimitada(int capacidadInicial) {
+        this.contenido = new StringBuilder(capacidadInicial);
+    }
+
+    public FilaDelimitada campo(String valor) {
+        separar();
+        if (valor == null) {
+            contenido.append(NULO);
+            return this;
+        }
+        for (int i = 0; i < valor.length(); i++) {
+            char c = valor.charAt(i);
+            switch (c) {
+                case '\\' -> contenido.append("\\\\");
+                case '\t' -> contenido.append("\\t");
+                case '\n' -> contenido.append("\\n");
+                case '\r' -> contenido.append("\\r");
+                case '\0' -> contenido.append("\\0");
+                default -> contenido.append(c);
+            }
+        }
+        return this;
+    }
+
+    public FilaDelimitada campo(Long valor) {
+        separar();
+        if (valor == null) {
+            contenido.append(NULO);
+        } else {
+            contenido.append(valor.longValue());
+        }
+        return this;
+    }
+
+    public FilaDelimitada campo(Integer valor) {
+        separar();
+        if (valor == null) {
+            contenido.append(NULO);
+        } else {
+            contenido.append(valor.intValue());
+        }
+        return this;
+    }
+
+    public FilaDelimitada campo(BigDecimal valor) {
+        separar();
+        contenido.append(valor == null ? NULO : valor.toPlainString());
+        return this;
+    }
+
+    public FilaDelimitada campo(Boolean valor) {
+        separar();
+        contenido.append(valor == null ? NULO : (valor ? "1" : "0"));
+        return this;
+    }
+
+    public FilaDelimitada campo(LocalDate valor) {
+        separar();
+        contenido.append(valor == null ? NULO : valor.toString());
+        return this;
+    }
+
+    public FilaDelimitada campo(LocalDateTime valor) {
+        separar();
+        if (valor == null) {
+            contenido.append(NULO);
+        } else {
+            // yyyy-MM-dd HH:mm:ss[.ffffff]: MySQL no necesita el separador 'T' de ISO
+            contenido.append(valor.toLocalDate()).append(' ').append(valor.toLocalTime());
+        }
+        return this;
+    }
+
+    public void finFila() {
+        contenido.append('\n');
+        inicioDeFila = true;
+        filas++;
+    }
+
+    public int filas() {
+        return filas;
+    }
+
+    public String contenido() {
+        return contenido.toString();
+    }
+
+    private void separar() {
+        if (!inicioDeFila) {
+            contenido.append('\t');
+        }
+        inicioDeFila = false;
+    }
+}
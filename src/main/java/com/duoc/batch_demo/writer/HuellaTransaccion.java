@@ -0,0 +1,49 @@
+package com.duoc.batch_demo.writer;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+
+import com.duoc.batch_demo.model.Transaccion;
+
+/**
+ * Huella de 64 bits (FNV-1a) de las columnas de negocio que el upsert de
+ * transacciones actualiza: monto, tipo, es_anomalia y motivo_anomalia.
+ *
+ * fecha_procesamiento queda fuera a propósito: cambia en cada ejecución y no
+ * representa un cambio del dato. El monto se normaliza (2.50 == 2.5).
+ */
+public final class HuellaTransaccion {
+
+    private static final long BASE_FNV = 0xcbf29ce484222325L;
+    private static final long PRIMO_FNV = 0x100000001b3L;
+    private static final byte SEPARADOR = 0x1f;
+    private static final byte NULO = 0x00;
+
+    private HuellaTransaccion() {
+    }
+
+    public static long calcular(Transaccion transaccion) {
+        long hash = BASE_FNV;
+        hash = mezclar(hash, normalizar(transaccion.getMonto()));
+        hash = mezclar(hash, transaccion.getTipo());
+        hash = mezclar(hash, transaccion.getEsAnomalia() == null ? null : transaccion.getEsAnomalia().toString());
+        hash = mezclar(hash, transaccion.getMotivoAnomalia());
+        return hash;
+    }
+
+    private static String normalizar(BigDecimal monto) {
+        return monto == null ? null : monto.stripTrailingZeros().toPlainString();
+    }
+
+    private static long mezclar(long hash, String valor) {
+        if (valor == null) {
+            hash = (hash ^ NULO) * PRIMO_FNV;
+        } else {
+            for (byte b : valor.getBytes(StandardCharsets.UTF_8)) {
+                hash = (hash ^ (b & 0xff)) * PRIMO_FNV;
+            }
+        }
+        // El separador evita que ("ab", "c") y ("a", "bc") colisionen
+        return (hash ^ SEPARADOR) * PRIMO_FNV;
+    }
+}
@@ -0,0 +1,110 @@
+package com.duoc.batch_demo.writer;
+
+import java.util.Arrays;
+
+/**
+ * Mapa id → huella con direccionamiento abierto sobre arreglos de long
+ * (16 bytes por entrada, sin objetos Long ni nodos de HashMap).
+ *
+ * No es thread-safe: DeltaTransaccionItemWriter lo protege con un lock de lectura/escritura.
+ */
+final class IndiceHuellas {
+
+    static final long SIN_HUELLA = 0L;
+
+    private static final long CLAVE_VACIA = Long.MIN_VALUE;
+    private static final float CARGA_MAXIMA = 0.6f;
+
+    private long[] claves;
+    private long[] huellas;
+    private int tamano;
+    private boolean tieneClaveVacia;
+    private long huellaClaveVacia;
+
+    IndiceHuellas(int capacidadInicial) {
+        int capacidad = Integer.highestOneBit(Math.max(16, (int) (capacidadInicial / CARGA_MAXIMA)) - 1) << 1;
+        claves = new long[capacidad];
+        huellas = new long[capacidad];
+        Arrays.fill(claves, CLAVE_VACIA);
+    }
+
+    /**
+     * @return la huella registrada o SIN_HUELLA si el id no está en el índice
+     */
+    long obtener(long id) {
+        if (id == CLAVE_VACIA) {
+            return tieneClaveVacia ? huellaClaveVacia : SIN_HUELLA;
+        }
+        int mascara = claves.length - 1;
+        for (int i = posicion(id, mascara); ; i = (i + 1) & mascara) {
+            long clave = claves[i];
+            if (clave == id) {
+                return huellas[i];
+            }
+            if (clave == CLAVE_VACIA) {
+                return SIN_HUELLA;
+            }
+        }
+    }
+
+    void registrar(long id, long huella) {
+        if (id == CLAVE_VACIA) {
+            if (!tieneClaveVacia) {
+                tamano++;
+            }
+            tieneClaveVacia = true;
+            huellaClaveVacia = huella;
+            return;
+        }
+        if (tamano + 1 > claves.length * CARGA_MAXIMA) {
+            redimensionar();
+        }
+        int mascara = claves.length - 1;
+        for (int i = posicion(id, mascara); ; i = (i + 1) & mascara) {
+            if (claves[i] == id) {
+                huellas[i] = huella;
+                return;
+            }
+            if (claves[i] == CLAVE_VACIA) {
+                claves[i] = id;
+                huellas[i] = huella;
+                tamano++;
+                return;
+            }
+        }
+    }
+
+    int tamano() {
+        return tamano;
+    }
+
+    private void redimensionar() {
+        long[] clavesAnteriores = claves;
+        long[] huellasAnteriores = huellas;
+        claves = new long[clavesAnteriores.length << 1];
+        huellas = new long[clavesAnteriores.length << 1];
+        Arrays.fill(claves, CLAVE_VACIA);
+        int mascara = claves.length - 1;
+        for (int j = 0; j < clavesAnteriores.length; j++) {
+            long clave = clavesAnteriores[j];
+            if (clave == CLAVE_VACIA) {
+                continue;
+            }
+            int i = posicion(clave, mascara);
+            while (claves[i] != CLAVE_VACIA) {
+                i = (i + 1) & mascara;
+            }
+            claves[i] = clave;
+            huellas[i] = huellasAnteriores[j];
+        }
+    }
+
+    private static int posicion(long id, int mascara) {
+        // Mezcla de bits (finalizador de MurmurHash3): ids secuenciales no forman racimos
+        long h = id;
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return (int) h & mascara;
+    }
+}
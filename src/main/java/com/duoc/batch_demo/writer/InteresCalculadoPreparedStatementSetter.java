@@ -0,0 +1,32 @@
+package com.duoc.batch_demo.writer;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import com.duoc.batch_demo.model.InteresCalculado;
+
+/**
+ * Enlace posicional de InteresCalculado para intereses_calculados.
+ */
+public final class InteresCalculadoPreparedStatementSetter extends EnlazadorPosicional<InteresCalculado> {
+
+    public static final String SQL =
+            "INSERT INTO intereses_calculados (cuenta_id, saldo_anterior, tasa_interes, interes_calculado, saldo_nuevo, fecha_calculo, tipo_cuenta) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    @Override
+    public int columnas() {
+        return 7;
+    }
+
+    @Override
+    public void enlazar(InteresCalculado interes, PreparedStatement ps, int i) throws SQLException {
+        setLong(ps, i, interes.getCuentaId());
+        setBigDecimal(ps, i + 1, interes.getSaldoAnterior());
+        setBigDecimal(ps, i + 2, interes.getTasaInteres());
+        setBigDecimal(ps, i + 3, interes.getInteresCalculado());
+        setBigDecimal(ps, i + 4, interes.getSaldoNuevo());
+        setFechaHora(ps, i + 5, interes.getFechaCalculo());
+        setString(ps, i + 6, interes.getTipoCuenta());
+    }
+}
@@ -0,0 +1,75 @@
+package com.duoc.batch_demo.writer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemWriter;
+
+/**
+ * Adapta un writer de items simples a items List&lt;T&gt; (aplanando cada chunk),
+ * propagando ItemStream y StepExecutionListener del delegado.
+ */
+public class ListaAplanadaItemWriter<T> implements ItemWriter<List<T>>, ItemStream, StepExecutionListener {
+
+    private final ItemWriter<T> delegado;
+
+    public ListaAplanadaItemWriter(ItemWriter<T> delegado) {
+        this.delegado = delegado;
+    }
+
+    @Override
+    public void write(Chunk<? extends List<T>> chunk) throws Exception {
+        List<T> aplanados = new ArrayList<>();
+        for (List<T> items : chunk) {
+            if (items != null) {
+                aplanados.addAll(items);
+            }
+        }
+        if (!aplanados.isEmpty()) {
+            delegado.write(new Chunk<>(aplanados));
+        }
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        if (delegado instanceof ItemStream) {
+            ((ItemStream) delegado).open(executionContext);
+        }
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        if (delegado instanceof ItemStream) {
+            ((ItemStream) delegado).update(executionContext);
+        }
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        if (delegado instanceof ItemStream) {
+            ((ItemStream) delegado).close();
+        }
+    }
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        if (delegado instanceof StepExecutionListener) {
+            ((StepExecutionListener) delegado).beforeStep(stepExecution);
+        }
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        if (delegado instanceof StepExecutionListener) {
+            return ((StepExecutionListener) delegado).afterStep(stepExecution);
+        }
+        return null;
+    }
+}
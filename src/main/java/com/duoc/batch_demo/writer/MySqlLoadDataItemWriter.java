@@ -0,0 +1,123 @@
+package com.duoc.batch_demo.writer;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLWarning;
+
+import javax.sql.DataSource;
+
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.StatementCallback;
+
+import com.duoc.batch_demo.audit.AuditoriaBatch;
+import com.duoc.batch_demo.audit.NivelAuditoria;
+import com.mysql.cj.jdbc.JdbcStatement;
+
+/**
+ * Writer de carga masiva para MySQL con LOAD DATA LOCAL INFILE.
+ *
+ * Cada chunk se codifica en memoria como filas delimitadas y se entrega al
+ * driver como InputStream (setLocalInfileInputStream), sin archivos
+ * temporales. La sentencia corre sobre la conexión de la transacción del
+ * chunk (JdbcTemplate), así que commit y rollback son los mismos que con
+ * JdbcBatchItemWriter.
+ *
+ * Con LOCAL, MySQL convierte los errores de datos en advertencias: valores
+ * truncados o convertidos, NOT NULL con el valor por defecto, claves
+ * duplicadas ignoradas. Para que una fila mala falle el chunk como en el
+ * camino JDBC (y pase por reintento, omisión, bisección y dead-letter en vez
+ * de guardarse alterada) se revisan las advertencias de la sentencia y las
+ * filas afectadas contra el tamaño del chunk: cualquier diferencia lanza
+ * DataIntegrityViolationException (DuplicateKeyException si es una clave
+ * duplicada) y el chunk hace rollback.
+ *
+ * Requisitos: allowLoadLocalInfile=true en la URL JDBC y local_infile=ON en el servidor.
+ */
+public class MySqlLoadDataItemWriter<T> implements ItemWriter<T> {
+
+    private static final int BYTES_ESTIMADOS_POR_FILA = 96;
+    /** ER_DUP_ENTRY: clave duplicada */
+    private static final int ER_DUP_ENTRY = 1062;
+    private static final int MAXIMO_ADVERTENCIAS_EN_MENSAJE = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final CodificadorLoadData<T> codificador;
+    private final AuditoriaBatch auditoria;
+    private final String sql;
+
+    public MySqlLoadDataItemWriter(DataSource dataSource, CodificadorLoadData<T> codificador, AuditoriaBatch auditoria) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.codificador = codificador;
+        this.auditoria = auditoria;
+        // El nombre de archivo es ficticio: el driver lee del InputStream registrado en el Statement
+        this.sql = "LOAD DATA LOCAL INFILE 'chunk.tsv' " + codificador.manejoDuplicados() +
+                   " INTO TABLE " + codificador.tabla() +
+                   " CHARACTER SET utf8mb4" +
+                   " FIELDS TERMINATED BY '\\t' ESCAPED BY '\\\\'" +
+                   " LINES TERMINATED BY '\\n'" +
+                   " (" + codificador.columnas() + ")";
+    }
+
+    @Override
+    public void write(Chunk<? extends T> chunk) throws Exception {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        // Un buffer por llamada: el mismo bean se comparte entre particiones
+        FilaDelimitada filas = new FilaDelimitada(chunk.size() * BYTES_ESTIMADOS_POR_FILA);
+        for (T item : chunk) {
+            codificador.codificar(item, filas);
+        }
+        byte[] contenido = filas.contenido().getBytes(StandardCharsets.UTF_8);
+
+        Integer cargadas = jdbcTemplate.execute((StatementCallback<Integer>) statement -> {
+            JdbcStatement mysqlStatement = statement.unwrap(JdbcStatement.class);
+            mysqlStatement.setLocalInfileInputStream(new ByteArrayInputStream(contenido));
+            try {
+                int afectadas = statement.executeUpdate(sql);
+                verificar(chunk.size(), afectadas, statement.getWarnings());
+                return afectadas;
+            } finally {
+                mysqlStatement.setLocalInfileInputStream(null);
+            }
+        });
+
+        if (auditoria.debeRegistrar(NivelAuditoria.DEBUG)) {
+            auditoria.publicar(NivelAuditoria.DEBUG, "LOAD_DATA", codificador.tabla() + ": " + filas.filas() +
+                    " filas, " + contenido.length + " bytes, " + cargadas + " afectadas");
+        }
+    }
+
+    /**
+     * Falla si MySQL degradó algún error de datos a advertencia o si no se
+     * cargaron todas las filas. REPLACE cuenta 2 filas afectadas por cada
+     * fila reemplazada (borrado e inserción).
+     */
+    void verificar(int filas, int afectadas, SQLWarning advertencias) {
+        if (advertencias != null) {
+            StringBuilder detalle = new StringBuilder();
+            int cantidad = 0;
+            boolean duplicada = false;
+            for (SQLWarning advertencia = advertencias; advertencia != null; advertencia = advertencia.getNextWarning()) {
+                duplicada |= advertencia.getErrorCode() == ER_DUP_ENTRY;
+                if (cantidad++ < MAXIMO_ADVERTENCIAS_EN_MENSAJE) {
+                    detalle.append(cantidad > 1 ? "; " : "")
+                           .append('[').append(advertencia.getErrorCode()).append("] ").append(advertencia.getMessage());
+                }
+            }
+            String mensaje = "LOAD DATA en " + codificador.tabla() + ": " + cantidad + " advertencia(s) en un chunk de " +
+                             filas + " filas: " + detalle;
+            throw duplicada ? new DuplicateKeyException(mensaje) : new DataIntegrityViolationException(mensaje);
+        }
+        boolean reemplazo = "REPLACE".equals(codificador.manejoDuplicados());
+        if (afectadas < filas || afectadas > (reemplazo ? 2 * filas : filas)) {
+            throw new DataIntegrityViolationException("LOAD DATA en " + codificador.tabla() + ": " + afectadas +
+                    " filas afectadas para un chunk de " + filas);
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.duoc.batch_demo.writer;
+
+import java.util.List;
+
+/**
+ * Descripción mínima de una tabla destino para armar sentencias multi-fila:
+ * columnas en el orden del enlazador, clave y columnas a actualizar en un upsert.
+ * Sin columnas actualizables la sentencia es un INSERT simple.
+ */
+public final class TablaMultiFila {
+
+    private final String nombre;
+    private final List<String> columnas;
+    private final List<String> claves;
+    private final List<String> actualizables;
+
+    private TablaMultiFila(String nombre, List<String> columnas, List<String> claves, List<String> actualizables) {
+        if (!columnas.containsAll(claves) || !columnas.containsAll(actualizables)) {
+            throw new IllegalArgumentException("Claves y columnas actualizables deben estar en las columnas de " + nombre);
+        }
+        this.nombre = nombre;
+        this.columnas = List.copyOf(columnas);
+        this.claves = List.copyOf(claves);
+        this.actualizables = List.copyOf(actualizables);
+    }
+
+    public static TablaMultiFila insercion(String nombre, List<String> columnas) {
+        return new TablaMultiFila(nombre, columnas, List.of(), List.of());
+    }
+
+    public static TablaMultiFila upsert(String nombre, List<String> columnas, List<String> claves, List<String> actualizables) {
+        if (claves.isEmpty() || actualizables.isEmpty()) {
+            throw new IllegalArgumentException("Un upsert requiere clave y columnas actualizables: " + nombre);
+        }
+        return new TablaMultiFila(nombre, columnas, claves, actualizables);
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public List<String> getColumnas() {
+        return columnas;
+    }
+
+    public List<String> getClaves() {
+        return claves;
+    }
+
+    public List<String> getActualizables() {
+        return actualizables;
+    }
+
+    public boolean esUpsert() {
+        return !actualizables.isEmpty();
+    }
+}
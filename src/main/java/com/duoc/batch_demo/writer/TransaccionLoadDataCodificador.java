@@ -0,0 +1,38 @@
+package com.duoc.batch_demo.writer;
+
+import com.duoc.batch_demo.model.Transaccion;
+
+/**
+ * Filas de transacciones para LOAD DATA. REPLACE reemplaza la fila existente
+ * completa, equivalente al upsert de TransaccionPreparedStatementSetter salvo
+ * que también actualiza la fecha.
+ */
+public final class TransaccionLoadDataCodificador implements CodificadorLoadData<Transaccion> {
+
+    @Override
+    public String tabla() {
+        return "transacciones";
+    }
+
+    @Override
+    public String columnas() {
+        return "id, fecha, monto, tipo, fecha_procesamiento, es_anomalia, motivo_anomalia";
+    }
+
+    @Override
+    public String manejoDuplicados() {
+        return "REPLACE";
+    }
+
+    @Override
+    public void codificar(Transaccion transaccion, FilaDelimitada fila) {
+        fila.campo(transaccion.getId())
+            .campo(transaccion.getFecha())
+            .campo(transaccion.getMonto())
+            .campo(transaccion.getTipo())
+            .campo(transaccion.getFechaProcesamiento())
+            .campo(transaccion.getEsAnomalia())
+            .campo(transaccion.getMotivoAnomalia())
+            .finFila();
+    }
+}
@@ -0,0 +1,40 @@
+package com.duoc.batch_demo.writer;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+
+import com.duoc.batch_demo.model.Transaccion;
+
+/**
+ * Enlace posicional de Transaccion para el upsert en transacciones.
+ */
+public final class TransaccionPreparedStatementSetter extends EnlazadorPosicional<Transaccion> {
+
+    public static final String SQL =
+            "INSERT INTO transacciones (id, fecha, monto, tipo, fecha_procesamiento, es_anomalia, motivo_anomalia) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE monto = VALUES(monto), tipo = VALUES(tipo), fecha_procesamiento = VALUES(fecha_procesamiento), " +
+            "es_anomalia = VALUES(es_anomalia), motivo_anomalia = VALUES(motivo_anomalia)";
+
+    @Override
+    public int columnas() {
+        return 7;
+    }
+
+    @Override
+    public int bytesEstimados(Transaccion transaccion) {
+        String motivo = transaccion.getMotivoAnomalia();
+        return super.bytesEstimados(transaccion) + (motivo != null ? motivo.length() : 0);
+    }
+
+    @Override
+    public void enlazar(Transaccion transaccion, PreparedStatement ps, int i) throws SQLException {
+        setLong(ps, i, transaccion.getId());
+        setFecha(ps, i + 1, transaccion.getFecha());
+        setBigDecimal(ps, i + 2, transaccion.getMonto());
+        setString(ps, i + 3, transaccion.getTipo());
+        setFechaHora(ps, i + 4, transaccion.getFechaProcesamiento());
+        setBoolean(ps, i + 5, transaccion.getEsAnomalia());
+        setString(ps, i + 6, transaccion.getMotivoAnomalia());
+    }
+}
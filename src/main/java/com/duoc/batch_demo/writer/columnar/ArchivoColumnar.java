@@ -0,0 +1,311 @@
+package com.duoc.batch_demo.writer.columnar;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * Escribe un archivo columnar (.bcol) por grupos de filas.
+ *
+ * Formato:
+ * <pre>
+ * "BCOL" version
+ * grupo 1: columna 1 (deflate) | columna 2 (deflate) | ...
+ * grupo 2: ...
+ * pie: esquema, por grupo y columna: offset, largos, nulos, min, max
+ * largo del pie (int) "BCOL"
+ * </pre>
+ * Cada columna de un grupo es: bitmap de nulos + valores no nulos (long de 8
+ * bytes, o largo + UTF-8 para TEXTO), comprimido con Deflater. Con las
+ * estadísticas del pie un lector descarta grupos sin descomprimirlos.
+ *
+ * Se escribe a "&lt;archivo&gt;.tmp" mediante un FileChannel con buffer directo y
+ * se renombra al cerrar, así un archivo .bcol siempre está completo.
+ * No es thread-safe.
+ */
+public class ArchivoColumnar<T> implements Closeable {
+
+    static final byte[] MAGICO = "BCOL".getBytes(StandardCharsets.US_ASCII);
+    static final byte VERSION = 1;
+
+    private final Path destino;
+    private final Path temporal;
+    private final EsquemaColumnar<T> esquema;
+    private final int filasPorGrupo;
+    private final FileChannel canal;
+    private final ByteBuffer buffer;
+    private final Deflater deflater;
+    private final List<T> grupoActual;
+    private final List<MetadatosGrupo> grupos = new ArrayList<>();
+    private final ByteArrayOutputStream bytesColumna = new ByteArrayOutputStream(64 * 1024);
+    private byte[] comprimido = new byte[64 * 1024];
+    private long posicion;
+    private long filas;
+    private long bytesSinComprimir;
+    private boolean cerrado;
+
+    public ArchivoColumnar(Path destino, EsquemaColumnar<T> esquema, int filasPorGrupo,
+                           int nivelCompresion, int bytesBuffer) throws IOException {
+        if (filasPorGrupo < 1) {
+            throw new IllegalArgumentException("filasPorGrupo debe ser mayor a 0: " + filasPorGrupo);
+        }
+        this.destino = destino;
+        this.temporal = destino.resolveSibling(destino.getFileName() + ".tmp");
+        this.esquema = esquema;
+        this.filasPorGrupo = filasPorGrupo;
+        this.grupoActual = new ArrayList<>(Math.min(filasPorGrupo, 65_536));
+        this.deflater = new Deflater(nivelCompresion);
+        this.buffer = ByteBuffer.allocateDirect(bytesBuffer);
+
+        Files.createDirectories(destino.toAbsolutePath().getParent());
+        this.canal = FileChannel.open(temporal, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+        escribir(MAGICO, 0, MAGICO.length);
+        escribir(new byte[]{VERSION}, 0, 1);
+    }
+
+    public void agregar(T item) throws IOException {
+        grupoActual.add(item);
+        filas++;
+        if (grupoActual.size() >= filasPorGrupo) {
+            escribirGrupo();
+        }
+    }
+
+    public long getFilas() {
+        return filas;
+    }
+
+    public int getGrupos() {
+        return grupos.size() + (grupoActual.isEmpty() ? 0 : 1);
+    }
+
+    public long getBytesSinComprimir() {
+        return bytesSinComprimir;
+    }
+
+    public long getBytesArchivo() {
+        return posicion + buffer.position();
+    }
+
+    public Path getDestino() {
+        return destino;
+    }
+
+    /**
+     * Escribe el grupo pendiente y el pie, sincroniza a disco y publica el archivo.
+     */
+    @Override
+    public void close() throws IOException {
+        if (cerrado) {
+            return;
+        }
+        cerrado = true;
+        try {
+            if (!grupoActual.isEmpty()) {
+                escribirGrupo();
+            }
+            byte[] pie = serializarPie();
+            escribir(pie, 0, pie.length);
+            byte[] cola = ByteBuffer.allocate(4 + MAGICO.length).putInt(pie.length).put(MAGICO).array();
+            escribir(cola, 0, cola.length);
+            vaciarBuffer();
+            canal.force(true);
+        } finally {
+            deflater.end();
+            canal.close();
+        }
+        Files.move(temporal, destino, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Cierra sin publicar y borra el temporal: el archivo queda como si no se
+     * hubiera escrito.
+     */
+    public void descartar() throws IOException {
+        try {
+            if (!cerrado) {
+                cerrado = true;
+                deflater.end();
+                canal.close();
+            }
+        } finally {
+            // También tras un close() fallido antes de publicar
+            Files.deleteIfExists(temporal);
+        }
+    }
+
+    private void escribirGrupo() throws IOException {
+        MetadatosGrupo grupo = new MetadatosGrupo(grupoActual.size());
+        for (ColumnaColumnar<T> columna : esquema.getColumnas()) {
+            grupo.columnas.add(escribirColumna(columna));
+        }
+        grupos.add(grupo);
+        grupoActual.clear();
+    }
+
+    private MetadatosColumna escribirColumna(ColumnaColumnar<T> columna) throws IOException {
+        MetadatosColumna metadatos = new MetadatosColumna();
+        bytesColumna.reset();
+        DataOutputStream salida = new DataOutputStream(bytesColumna);
+
+        int n = grupoActual.size();
+        byte[] nulos = new byte[(n + 7) / 8];
+        for (int i = 0; i < n; i++) {
+            if (columna.esNulo(grupoActual.get(i))) {
+                nulos[i >>> 3] |= (byte) (1 << (i & 7));
+                metadatos.nulos++;
+            }
+        }
+        salida.write(nulos);
+
+        for (int i = 0; i < n; i++) {
+            if ((nulos[i >>> 3] & (1 << (i & 7))) != 0) {
+                continue;
+            }
+            T item = grupoActual.get(i);
+            if (columna.getTipo().esNumerico()) {
+                long valor = columna.numero(item);
+                salida.writeLong(valor);
+                metadatos.registrar(valor);
+            } else {
+                String valor = columna.texto(item);
+                byte[] utf8 = valor.getBytes(StandardCharsets.UTF_8);
+                salida.writeInt(utf8.length);
+                salida.write(utf8);
+                metadatos.registrar(valor);
+            }
+        }
+        salida.flush();
+
+        byte[] original = bytesColumna.toByteArray();
+        deflater.reset();
+        deflater.setInput(original);
+        deflater.finish();
+        if (comprimido.length < original.length + 64) {
+            comprimido = new byte[original.length + original.length / 2 + 64];
+        }
+        int largo = 0;
+        while (!deflater.finished()) {
+            largo += deflater.deflate(comprimido, largo, comprimido.length - largo);
+            if (largo == comprimido.length) {
+                comprimido = Arrays.copyOf(comprimido, comprimido.length * 2);
+            }
+        }
+
+        metadatos.offset = getBytesArchivo();
+        metadatos.largoComprimido = largo;
+        metadatos.largoOriginal = original.length;
+        bytesSinComprimir += original.length;
+        escribir(comprimido, 0, largo);
+        return metadatos;
+    }
+
+    private byte[] serializarPie() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+        DataOutputStream pie = new DataOutputStream(bytes);
+        pie.writeUTF(esquema.getTabla());
+        pie.writeInt(esquema.getColumnas().size());
+        for (ColumnaColumnar<T> columna : esquema.getColumnas()) {
+            pie.writeUTF(columna.getNombre());
+            pie.writeByte(columna.getTipo().ordinal());
+            pie.writeByte(columna.getEscala());
+        }
+        pie.writeInt(grupos.size());
+        for (MetadatosGrupo grupo : grupos) {
+            pie.writeInt(grupo.filas);
+            for (int c = 0; c < grupo.columnas.size(); c++) {
+                MetadatosColumna columna = grupo.columnas.get(c);
+                pie.writeLong(columna.offset);
+                pie.writeInt(columna.largoComprimido);
+                pie.writeInt(columna.largoOriginal);
+                pie.writeInt(columna.nulos);
+                boolean conEstadisticas = columna.conValores;
+                pie.writeBoolean(conEstadisticas);
+                if (!conEstadisticas) {
+                    continue;
+                }
+                if (esquema.getColumnas().get(c).getTipo().esNumerico()) {
+                    pie.writeLong(columna.minimo);
+                    pie.writeLong(columna.maximo);
+                } else {
+                    pie.writeUTF(columna.minimoTexto);
+                    pie.writeUTF(columna.maximoTexto);
+                }
+            }
+        }
+        pie.flush();
+        return bytes.toByteArray();
+    }
+
+    private void escribir(byte[] datos, int desde, int largo) throws IOException {
+        while (largo > 0) {
+            if (!buffer.hasRemaining()) {
+                vaciarBuffer();
+            }
+            int parte = Math.min(largo, buffer.remaining());
+            buffer.put(datos, desde, parte);
+            desde += parte;
+            largo -= parte;
+        }
+    }
+
+    private void vaciarBuffer() throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            posicion += canal.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static final class MetadatosGrupo {
+        private final int filas;
+        private final List<MetadatosColumna> columnas = new ArrayList<>();
+
+        private MetadatosGrupo(int filas) {
+            this.filas = filas;
+        }
+    }
+
+    private static final class MetadatosColumna {
+        private long offset;
+        private int largoComprimido;
+        private int largoOriginal;
+        private int nulos;
+        private boolean conValores;
+        private long minimo = Long.MAX_VALUE;
+        private long maximo = Long.MIN_VALUE;
+        private String minimoTexto;
+        private String maximoTexto;
+
+        private void registrar(long valor) {
+            conValores = true;
+            minimo = Math.min(minimo, valor);
+            maximo = Math.max(maximo, valor);
+        }
+
+        private void registrar(String valor) {
+            conValores = true;
+            // Estadísticas de texto truncadas: writeUTF admite hasta 64 KB y el pie debe ser chico
+            String acotado = valor.length() > 64 ? valor.substring(0, 64) : valor;
+            if (minimoTexto == null || acotado.compareTo(minimoTexto) < 0) {
+                minimoTexto = acotado;
+            }
+            if (maximoTexto == null || valor.compareTo(maximoTexto) > 0) {
+                maximoTexto = valor.length() > 64 ? valor.substring(0, 63) + Character.MAX_VALUE : valor;
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.duoc.batch_demo.writer.columnar;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.function.Function;
+
+/**
+ * Columna de un esquema columnar: nombre, tipo físico y cómo extraer el valor del item.
+ */
+public final class ColumnaColumnar<T> {
+
+    private final String nombre;
+    private final TipoColumna tipo;
+    private final int escala;
+    private final Function<T, ?> extractor;
+
+    private ColumnaColumnar(String nombre, TipoColumna tipo, int escala, Function<T, ?> extractor) {
+        this.nombre = nombre;
+        this.tipo = tipo;
+        this.escala = escala;
+        this.extractor = extractor;
+    }
+
+    public static <T> ColumnaColumnar<T> entero(String nombre, Function<T, ? extends Number> extractor) {
+        return new ColumnaColumnar<>(nombre, TipoColumna.ENTERO, 0, extractor);
+    }
+
+    public static <T> ColumnaColumnar<T> decimal(String nombre, int escala, Function<T, BigDecimal> extractor) {
+        return new ColumnaColumnar<>(nombre, TipoColumna.DECIMAL, escala, extractor);
+    }
+
+    public static <T> ColumnaColumnar<T> fechaHora(String nombre, Function<T, LocalDateTime> extractor) {
+        return new ColumnaColumnar<>(nombre, TipoColumna.FECHA_HORA, 0, extractor);
+    }
+
+    public static <T> ColumnaColumnar<T> texto(String nombre, Function<T, String> extractor) {
+        return new ColumnaColumnar<>(nombre, TipoColumna.TEXTO, 0, extractor);
+    }
+
+    public String getNombre() {
+        return nombre;
+    }
+
+    public TipoColumna getTipo() {
+        return tipo;
+    }
+
+    public int getEscala() {
+        return escala;
+    }
+
+    String texto(T item) {
+        return (String) extractor.apply(item);
+    }
+
+    /**
+     * Valor numérico físico; solo válido si el valor no es nulo.
+     */
+    long numero(T item) {
+        Object valor = extractor.apply(item);
+        switch (tipo) {
+            case ENTERO:
+                return ((Number) valor).longValue();
+            case DECIMAL:
+                return ((BigDecimal) valor).setScale(escala, RoundingMode.HALF_EVEN).unscaledValue().longValueExact();
+            case FECHA_HORA:
+                LocalDateTime fecha = (LocalDateTime) valor;
+                return fecha.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + fecha.getNano() / 1_000;
+            default:
+                throw new IllegalStateException("La columna " + nombre + " no es numérica");
+        }
+    }
+
+    boolean esNulo(T item) {
+        return extractor.apply(item) == null;
+    }
+}
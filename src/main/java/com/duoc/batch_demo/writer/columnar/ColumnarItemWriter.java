@@ -0,0 +1,228 @@
+package com.duoc.batch_demo.writer.columnar;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Writer que exporta resultados a archivos columnares (.bcol) en vez de MySQL.
+ *
+ * Genera un archivo por StepExecution (cada partición escribe el suyo):
+ *   &lt;directorio&gt;/&lt;tabla&gt;/&lt;step&gt;-&lt;stepExecutionId&gt;.bcol
+ * Las filas de un chunk se agregan al archivo en beforeCommit: un error de E/S
+ * hace rollback del chunk y el step falla sin avanzar el checkpoint.
+ *
+ * El archivo se publica en afterStep solo si el step terminó COMPLETED; si no,
+ * se descarta. Como hasta entonces las filas no son visibles, el checkpoint
+ * que se persiste es el del inicio de la StepExecution (update() restaura el
+ * ExecutionContext recibido en open()): un reinicio vuelve a leer todo lo de
+ * la ejecución fallida y lo escribe en su propio archivo, sin perder filas.
+ */
+public class ColumnarItemWriter<T> implements ItemWriter<T>, ItemStream, StepExecutionListener {
+
+    private final EsquemaColumnar<T> esquema;
+    private final Path directorio;
+    private final int filasPorGrupo;
+    private final int nivelCompresion;
+    private final int bytesBuffer;
+    private final Map<Long, Salida<T>> salidas = new ConcurrentHashMap<>();
+
+    public ColumnarItemWriter(EsquemaColumnar<T> esquema, Path directorio, int filasPorGrupo,
+                              int nivelCompresion, int bytesBuffer) {
+        this.esquema = esquema;
+        this.directorio = directorio;
+        this.filasPorGrupo = filasPorGrupo;
+        this.nivelCompresion = nivelCompresion;
+        this.bytesBuffer = bytesBuffer;
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        StepExecution stepExecution = stepActual().getStepExecution();
+        String nombre = stepExecution.getStepName().replaceAll("[^A-Za-z0-9_-]", "_") + "-" + stepExecution.getId() + ".bcol";
+        Path destino = directorio.resolve(esquema.getTabla()).resolve(nombre);
+        try {
+            salidas.put(stepExecution.getId(), new Salida<>(
+                    new ArchivoColumnar<>(destino, esquema, filasPorGrupo, nivelCompresion, bytesBuffer),
+                    copiar(executionContext)));
+        } catch (IOException e) {
+            throw new ItemStreamException("No se pudo crear el archivo columnar " + destino, e);
+        }
+    }
+
+    @Override
+    public void write(Chunk<? extends T> chunk) throws Exception {
+        Salida<T> salida = salidas.get(stepActual().getStepExecution().getId());
+        if (salida == null) {
+            throw new IllegalStateException("ColumnarItemWriter no fue abierto para este step");
+        }
+        if (salida.error != null) {
+            throw new ItemStreamException("Error previo escribiendo " + salida.archivo.getDestino(), salida.error);
+        }
+        List<T> items = new ArrayList<>(chunk.getItems());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            salida.agregar(items);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            private boolean agregado;
+
+            @Override
+            public void beforeCommit(boolean readOnly) {
+                // Una excepción aquí hace rollback del chunk
+                salida.agregar(items);
+                agregado = true;
+            }
+
+            @Override
+            public void afterCompletion(int status) {
+                if (agregado && status != STATUS_COMMITTED) {
+                    salida.fallar(new IllegalStateException("El commit del chunk falló después de agregar sus filas a "
+                            + salida.archivo.getDestino()));
+                }
+            }
+        });
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        Salida<T> salida = salidas.get(stepActual().getStepExecution().getId());
+        if (salida == null) {
+            return;
+        }
+        for (Map.Entry<String, Object> entrada : new ArrayList<>(executionContext.entrySet())) {
+            if (!salida.inicio.containsKey(entrada.getKey())) {
+                executionContext.remove(entrada.getKey());
+            }
+        }
+        salida.inicio.forEach(executionContext::put);
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        Salida<T> salida = salidas.remove(stepExecution.getId());
+        if (salida == null) {
+            return null;
+        }
+        if (salida.error == null && stepExecution.getStatus() != BatchStatus.COMPLETED) {
+            // Step fallido o detenido: el reinicio vuelve a escribir estas filas
+            salida.descartar();
+            return null;
+        }
+        if (salida.error == null) {
+            try {
+                salida.cerrar();
+            } catch (IOException | UncheckedIOException e) {
+                salida.fallar(e);
+            }
+        }
+        if (salida.error != null) {
+            salida.descartar();
+            stepExecution.setStatus(BatchStatus.FAILED);
+            stepExecution.addFailureException(salida.error);
+            return ExitStatus.FAILED.addExitDescription(salida.error);
+        }
+        ArchivoColumnar<T> archivo = salida.archivo;
+        System.out.printf("🗂️ Archivo columnar %s: %d filas, %d grupos, %d bytes (%.1fx compresión)%n",
+                archivo.getDestino(), archivo.getFilas(), archivo.getGrupos(), archivo.getBytesArchivo(),
+                archivo.getBytesArchivo() > 0 ? (double) archivo.getBytesSinComprimir() / archivo.getBytesArchivo() : 0.0);
+        return null;
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        // Respaldo si afterStep no llegó a ejecutarse para este step
+        StepContext contexto = StepSynchronizationManager.getContext();
+        if (contexto == null) {
+            return;
+        }
+        Salida<T> salida = salidas.remove(contexto.getStepExecution().getId());
+        if (salida != null) {
+            // Sin afterStep no se sabe si el step terminó bien: el archivo no se publica
+            salida.descartar();
+        }
+    }
+
+    private static StepContext stepActual() {
+        StepContext contexto = StepSynchronizationManager.getContext();
+        if (contexto == null) {
+            throw new IllegalStateException("ColumnarItemWriter requiere ejecutarse dentro de un step");
+        }
+        return contexto;
+    }
+
+    private static Map<String, Object> copiar(ExecutionContext executionContext) {
+        Map<String, Object> copia = new HashMap<>();
+        for (Map.Entry<String, Object> entrada : executionContext.entrySet()) {
+            copia.put(entrada.getKey(), entrada.getValue());
+        }
+        return copia;
+    }
+
+    private static final class Salida<T> {
+        private final ArchivoColumnar<T> archivo;
+        private final Map<String, Object> inicio;
+        private volatile Exception error;
+
+        private Salida(ArchivoColumnar<T> archivo, Map<String, Object> inicio) {
+            this.archivo = archivo;
+            this.inicio = inicio;
+        }
+
+        // Los commits de un step multi-hilo llegan desde varios hilos
+        private synchronized void agregar(List<T> items) {
+            if (error != null) {
+                throw new ItemStreamException("Error previo escribiendo " + archivo.getDestino(), error);
+            }
+            try {
+                for (T item : items) {
+                    archivo.agregar(item);
+                }
+            } catch (IOException e) {
+                // El grupo en memoria puede tener parte del chunk: el archivo ya no es confiable
+                error = e;
+                throw new ItemStreamException("No se pudieron agregar filas a " + archivo.getDestino(), e);
+            } catch (RuntimeException e) {
+                error = e;
+                throw e;
+            }
+        }
+
+        private synchronized void fallar(Exception e) {
+            if (error == null) {
+                error = e;
+            }
+        }
+
+        private synchronized void cerrar() throws IOException {
+            archivo.close();
+        }
+
+        private synchronized void descartar() {
+            try {
+                archivo.descartar();
+            } catch (IOException e) {
+                fallar(e);
+            }
+        }
+    }
+}
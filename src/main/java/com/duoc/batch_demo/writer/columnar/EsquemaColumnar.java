@@ -0,0 +1,64 @@
+package com.duoc.batch_demo.writer.columnar;
+
+import java.util.List;
+
+import com.duoc.batch_demo.model.AnomaliaTransaccion;
+import com.duoc.batch_demo.model.EstadoCuentaAnual;
+import com.duoc.batch_demo.model.InteresCalculado;
+
+/**
+ * Esquema de un archivo columnar: nombre lógico (la tabla que reemplaza) y columnas en orden.
+ * Incluye los esquemas de los resultados batch que se pueden exportar en este formato.
+ */
+public final class EsquemaColumnar<T> {
+
+    private final String tabla;
+    private final List<ColumnaColumnar<T>> columnas;
+
+    public EsquemaColumnar(String tabla, List<ColumnaColumnar<T>> columnas) {
+        this.tabla = tabla;
+        this.columnas = List.copyOf(columnas);
+    }
+
+    public String getTabla() {
+        return tabla;
+    }
+
+    public List<ColumnaColumnar<T>> getColumnas() {
+        return columnas;
+    }
+
+    public static EsquemaColumnar<EstadoCuentaAnual> estadosCuentaAnuales() {
+        return new EsquemaColumnar<>("estados_cuenta_anuales", List.of(
+                ColumnaColumnar.entero("cuenta_id", EstadoCuentaAnual::getCuentaId),
+                ColumnaColumnar.texto("nombre", EstadoCuentaAnual::getNombre),
+                ColumnaColumnar.decimal("total_depositos", 2, EstadoCuentaAnual::getTotalDepositos),
+                ColumnaColumnar.decimal("total_retiros", 2, EstadoCuentaAnual::getTotalRetiros),
+                ColumnaColumnar.decimal("saldo_inicial", 2, EstadoCuentaAnual::getSaldoInicial),
+                ColumnaColumnar.decimal("saldo_final", 2, EstadoCuentaAnual::getSaldoFinal),
+                ColumnaColumnar.entero("total_transacciones", EstadoCuentaAnual::getTotalTransacciones),
+                ColumnaColumnar.decimal("intereses_ganados", 2, EstadoCuentaAnual::getInteresesGanados),
+                ColumnaColumnar.entero("año", EstadoCuentaAnual::getAño),
+                ColumnaColumnar.fechaHora("fecha_generacion", EstadoCuentaAnual::getFechaGeneracion)));
+    }
+
+    public static EsquemaColumnar<InteresCalculado> interesesCalculados() {
+        return new EsquemaColumnar<>("intereses_calculados", List.of(
+                ColumnaColumnar.entero("cuenta_id", InteresCalculado::getCuentaId),
+                ColumnaColumnar.decimal("saldo_anterior", 2, InteresCalculado::getSaldoAnterior),
+                ColumnaColumnar.decimal("tasa_interes", 4, InteresCalculado::getTasaInteres),
+                ColumnaColumnar.decimal("interes_calculado", 2, InteresCalculado::getInteresCalculado),
+                ColumnaColumnar.decimal("saldo_nuevo", 2, InteresCalculado::getSaldoNuevo),
+                ColumnaColumnar.fechaHora("fecha_calculo", InteresCalculado::getFechaCalculo),
+                ColumnaColumnar.texto("tipo_cuenta", InteresCalculado::getTipoCuenta)));
+    }
+
+    public static EsquemaColumnar<AnomaliaTransaccion> anomaliasTransacciones() {
+        return new EsquemaColumnar<>("anomalias_transacciones", List.of(
+                ColumnaColumnar.entero("transaccion_id", AnomaliaTransaccion::getTransaccionId),
+                ColumnaColumnar.texto("tipo_anomalia", AnomaliaTransaccion::getTipoAnomalia),
+                ColumnaColumnar.texto("descripcion", AnomaliaTransaccion::getDescripcion),
+                ColumnaColumnar.fechaHora("fecha_deteccion", AnomaliaTransaccion::getFechaDeteccion),
+                ColumnaColumnar.texto("severidad", AnomaliaTransaccion::getSeveridad)));
+    }
+}
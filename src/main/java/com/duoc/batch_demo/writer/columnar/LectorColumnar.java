@@ -0,0 +1,200 @@
+package com.duoc.batch_demo.writer.columnar;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Lector mínimo de archivos .bcol: pie con esquema y estadísticas por grupo,
+ * y decodificación de una columna de un grupo. Pensado para análisis y
+ * verificación, no para uso en los steps.
+ */
+public final class LectorColumnar {
+
+    private LectorColumnar() {
+    }
+
+    public static Pie leerPie(Path archivo) throws IOException {
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            long tamano = canal.size();
+            ByteBuffer cola = leer(canal, tamano - 8, 8);
+            int largoPie = cola.getInt();
+            byte[] magico = new byte[4];
+            cola.get(magico);
+            if (!Arrays.equals(magico, ArchivoColumnar.MAGICO)) {
+                throw new IOException("No es un archivo columnar completo: " + archivo);
+            }
+            ByteBuffer bytesPie = leer(canal, tamano - 8 - largoPie, largoPie);
+            DataInputStream pie = new DataInputStream(new ByteArrayInputStream(bytesPie.array()));
+
+            String tabla = pie.readUTF();
+            int cantidadColumnas = pie.readInt();
+            List<Columna> columnas = new ArrayList<>(cantidadColumnas);
+            for (int c = 0; c < cantidadColumnas; c++) {
+                columnas.add(new Columna(pie.readUTF(), TipoColumna.values()[pie.readByte()], pie.readByte()));
+            }
+            int cantidadGrupos = pie.readInt();
+            List<Grupo> grupos = new ArrayList<>(cantidadGrupos);
+            for (int g = 0; g < cantidadGrupos; g++) {
+                int filas = pie.readInt();
+                List<Fragmento> fragmentos = new ArrayList<>(cantidadColumnas);
+                for (int c = 0; c < cantidadColumnas; c++) {
+                    long offset = pie.readLong();
+                    int comprimido = pie.readInt();
+                    int original = pie.readInt();
+                    int nulos = pie.readInt();
+                    Object minimo = null;
+                    Object maximo = null;
+                    if (pie.readBoolean()) {
+                        if (columnas.get(c).tipo.esNumerico()) {
+                            minimo = pie.readLong();
+                            maximo = pie.readLong();
+                        } else {
+                            minimo = pie.readUTF();
+                            maximo = pie.readUTF();
+                        }
+                    }
+                    fragmentos.add(new Fragmento(offset, comprimido, original, nulos, minimo, maximo));
+                }
+                grupos.add(new Grupo(filas, fragmentos));
+            }
+            return new Pie(tabla, columnas, grupos);
+        }
+    }
+
+    /**
+     * Decodifica la columna indicada de un grupo: Long, BigDecimal, LocalDateTime o String (null si es nulo).
+     */
+    public static List<Object> leerColumna(Path archivo, Pie pie, int grupo, int columna) throws IOException {
+        Columna definicion = pie.columnas.get(columna);
+        Grupo datosGrupo = pie.grupos.get(grupo);
+        Fragmento fragmento = datosGrupo.fragmentos.get(columna);
+
+        byte[] original = new byte[fragmento.largoOriginal];
+        try (FileChannel canal = FileChannel.open(archivo, StandardOpenOption.READ)) {
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(leer(canal, fragmento.offset, fragmento.largoComprimido).array());
+                inflater.inflate(original);
+            } catch (DataFormatException e) {
+                throw new IOException("Columna " + definicion.nombre + " corrupta en el grupo " + grupo, e);
+            } finally {
+                inflater.end();
+            }
+        }
+
+        DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(original));
+        int filas = datosGrupo.filas;
+        byte[] nulos = new byte[(filas + 7) / 8];
+        entrada.readFully(nulos);
+        List<Object> valores = new ArrayList<>(filas);
+        for (int i = 0; i < filas; i++) {
+            if ((nulos[i >>> 3] & (1 << (i & 7))) != 0) {
+                valores.add(null);
+                continue;
+            }
+            switch (definicion.tipo) {
+                case ENTERO:
+                    valores.add(entrada.readLong());
+                    break;
+                case DECIMAL:
+                    valores.add(BigDecimal.valueOf(entrada.readLong(), definicion.escala));
+                    break;
+                case FECHA_HORA:
+                    long micros = entrada.readLong();
+                    valores.add(LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                            (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC));
+                    break;
+                default:
+                    byte[] utf8 = new byte[entrada.readInt()];
+                    entrada.readFully(utf8);
+                    valores.add(new String(utf8, StandardCharsets.UTF_8));
+            }
+        }
+        return valores;
+    }
+
+    private static ByteBuffer leer(FileChannel canal, long desde, int largo) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(largo);
+        while (buffer.hasRemaining()) {
+            if (canal.read(buffer, desde + buffer.position()) < 0) {
+                throw new IOException("Archivo columnar truncado");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    public static final class Pie {
+        public final String tabla;
+        public final List<Columna> columnas;
+        public final List<Grupo> grupos;
+
+        private Pie(String tabla, List<Columna> columnas, List<Grupo> grupos) {
+            this.tabla = tabla;
+            this.columnas = Collections.unmodifiableList(columnas);
+            this.grupos = Collections.unmodifiableList(grupos);
+        }
+
+        public long filas() {
+            return grupos.stream().mapToLong(g -> g.filas).sum();
+        }
+    }
+
+    public static final class Columna {
+        public final String nombre;
+        public final TipoColumna tipo;
+        public final int escala;
+
+        private Columna(String nombre, TipoColumna tipo, int escala) {
+            this.nombre = nombre;
+            this.tipo = tipo;
+            this.escala = escala;
+        }
+    }
+
+    public static final class Grupo {
+        public final int filas;
+        public final List<Fragmento> fragmentos;
+
+        private Grupo(int filas, List<Fragmento> fragmentos) {
+            this.filas = filas;
+            this.fragmentos = Collections.unmodifiableList(fragmentos);
+        }
+    }
+
+    /**
+     * Una columna dentro de un grupo: ubicación, largos y estadísticas (min/max en valor físico).
+     */
+    public static final class Fragmento {
+        public final long offset;
+        public final int largoComprimido;
+        public final int largoOriginal;
+        public final int nulos;
+        public final Object minimo;
+        public final Object maximo;
+
+        private Fragmento(long offset, int largoComprimido, int largoOriginal, int nulos, Object minimo, Object maximo) {
+            this.offset = offset;
+            this.largoComprimido = largoComprimido;
+            this.largoOriginal = largoOriginal;
+            this.nulos = nulos;
+            this.minimo = minimo;
+            this.maximo = maximo;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.duoc.batch_demo.writer.columnar;
+
+/**
+ * Tipos físicos del formato columnar. Los numéricos y las fechas se guardan
+ * como long (DECIMAL como valor sin escala, FECHA_HORA como microsegundos
+ * desde 1970-01-01T00:00 en hora local), lo que permite estadísticas min/max
+ * comparables sin decodificar; TEXTO se guarda como UTF-8 con largo.
+ */
+public enum TipoColumna {
+    ENTERO,
+    DECIMAL,
+    FECHA_HORA,
+    TEXTO;
+
+    public boolean esNumerico() {
+        return this != TEXTO;
+    }
+}
@@ -33,6 +33,35 @@ CREATE TABLE IF NOT EXISTS cuentas_anuales (
     PRIMARY KEY (cuenta_id, fecha, transaccion, monto)
 );
 
+-- Huella (FNV-1a 64) de las columnas de negocio por transacción
+-- (banco.batch.writer.transacciones.delta=true): evita reescribir filas sin cambios.
+CREATE TABLE IF NOT EXISTS transacciones_huella (
+    id BIGINT PRIMARY KEY,
+    huella BIGINT NOT NULL
+);
+
+-- Staging del merge por conjuntos de cuentas (banco.batch.writer.cuentas.modo=staging).
+-- Filas por step/partición; se vacía al aplicar el merge en cuentas. Sin índices secundarios.
+CREATE TABLE IF NOT EXISTS cuentas_staging (
+    paso VARCHAR(100) NOT NULL,
+    cuenta_id BIGINT NOT NULL,
+    nombre VARCHAR(100),
+    saldo DECIMAL(15,2),
+    edad INTEGER,
+    tipo VARCHAR(20),
+    fecha_actualizacion TIMESTAMP NULL,
+    PRIMARY KEY (paso, cuenta_id)
+);
+
+-- Marca de agua por job del modo incremental (banco.batch.incremental.enabled=true):
+-- última transacción procesada en orden (fecha_procesamiento, id)
+CREATE TABLE IF NOT EXISTS batch_watermarks (
+    job_name VARCHAR(100) PRIMARY KEY,
+    fecha_procesamiento TIMESTAMP NULL,
+    ultimo_id BIGINT NOT NULL,
+    fecha_actualizacion TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
 -- Tablas adicionales para reportes y anomalías
 CREATE TABLE IF NOT EXISTS intereses_calculados (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
@@ -169,6 +198,8 @@ INSERT IGNORE INTO BATCH_STEP_EXECUTION_SEQ (ID, UNIQUE_KEY) VALUES (0, '0');
 -- Índices para mejorar rendimiento (MySQL no soporta IF NOT EXISTS para índices)
 CREATE INDEX idx_transacciones_fecha ON transacciones(fecha);
 CREATE INDEX idx_transacciones_tipo ON transacciones(tipo);
+-- Lectura incremental por marca de agua: rango sobre (fecha_procesamiento, id) ya ordenado
+CREATE INDEX idx_transacciones_procesamiento ON transacciones(fecha_procesamiento, id);
 CREATE INDEX idx_cuentas_tipo ON cuentas(tipo);
 CREATE INDEX idx_cuentas_anuales_cuenta ON cuentas_anuales(cuenta_id);
 CREATE INDEX idx_cuentas_anuales_fecha ON cuentas_anuales(fecha);
@@ -0,0 +1,84 @@
+package com.duoc.batch_demo.deadletter;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import com.duoc.batch_demo.model.Transaccion;
+
+/**
+ * Omisiones de escritura en modo asíncrono: el dead-letter guarda el item del
+ * Future de AsyncItemProcessor para que el job de reproceso lo pueda leer.
+ */
+class DeadLetterSkipListenerTest {
+
+	@TempDir
+	Path directorio;
+
+	private final List<CodificadorDeadLetter<?>> codificadores = List.of(new TransaccionDeadLetterCodificador());
+	private DeadLetterSkipListener listener;
+	private StepExecution stepExecution;
+
+	@BeforeEach
+	void setUp() {
+		listener = new DeadLetterSkipListener(directorio, codificadores);
+		JobExecution jobExecution = new JobExecution(new JobInstance(1L, "job"), 1L, new JobParameters());
+		stepExecution = jobExecution.createStepExecution("transaccionesStep");
+		stepExecution.setId(7L);
+		StepSynchronizationManager.register(stepExecution);
+	}
+
+	@AfterEach
+	void tearDown() {
+		StepSynchronizationManager.close();
+	}
+
+	@Test
+	void guardaElItemDeUnFutureCompletado() throws IOException {
+		Transaccion transaccion = new Transaccion(42L, LocalDate.of(2024, 1, 1), new BigDecimal("-1.00"), "CREDITO");
+
+		listener.onSkipInWrite(CompletableFuture.completedFuture(transaccion), new DataIntegrityViolationException("monto"));
+		listener.afterStep(stepExecution);
+
+		RegistroDeadLetter registro = unicoRegistro();
+		assertEquals(RegistroDeadLetter.Fase.ESCRITURA, registro.getFase());
+		assertEquals(42L, ((Transaccion) registro.getItem()).getId());
+	}
+
+	@Test
+	void fallaDelProcessorQuedaSinItem() throws IOException {
+		IllegalStateException error = new IllegalStateException("processor");
+
+		listener.onSkipInWrite(CompletableFuture.failedFuture(error), error);
+		listener.afterStep(stepExecution);
+
+		RegistroDeadLetter registro = unicoRegistro();
+		assertEquals(IllegalStateException.class.getName(), registro.getExcepcion());
+		assertNull(registro.getItem());
+	}
+
+	private RegistroDeadLetter unicoRegistro() throws IOException {
+		try (LectorDeadLetter lector = new LectorDeadLetter(directorio.resolve("transaccionesStep-7.dlq"), codificadores)) {
+			RegistroDeadLetter registro = lector.siguiente();
+			assertNull(lector.siguiente());
+			return registro;
+		}
+	}
+}
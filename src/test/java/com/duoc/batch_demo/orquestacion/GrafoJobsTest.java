@@ -0,0 +1,68 @@
+package com.duoc.batch_demo.orquestacion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Validación del DAG de jobs (ciclos, dependencias desconocidas) y prioridad
+ * por cadena de dependientes más larga.
+ */
+class GrafoJobsTest {
+
+	@Test
+	void detectaCiclos() {
+		GrafoJobs.Builder builder = GrafoJobs.builder()
+				.job("independiente", 1)
+				.job("a", 1, "c")
+				.job("b", 1, "a")
+				.job("c", 1, "b");
+
+		IllegalStateException error = assertThrows(IllegalStateException.class, builder::build);
+
+		assertTrue(error.getMessage().contains("[a, b, c]"), error.getMessage());
+		assertFalse(error.getMessage().contains("independiente"), error.getMessage());
+	}
+
+	@Test
+	void detectaDependenciasDesconocidas() {
+		GrafoJobs.Builder builder = GrafoJobs.builder()
+				.job("transacciones", 1)
+				.job("intereses", 1, "transacciones", "cuentas");
+
+		IllegalStateException error = assertThrows(IllegalStateException.class, builder::build);
+
+		assertTrue(error.getMessage().contains("cuentas"), error.getMessage());
+	}
+
+	@Test
+	void rechazaJobsRepetidosYSinConexiones() {
+		assertThrows(IllegalArgumentException.class, () -> GrafoJobs.builder().job("a", 1).job("a", 2));
+		assertThrows(IllegalArgumentException.class, () -> GrafoJobs.builder().job("a", 0));
+	}
+
+	@Test
+	void prioridadEsLaCadenaDeDependientesMasLarga() {
+		// a -> b -> d y a -> c; e suelto
+		GrafoJobs grafo = GrafoJobs.builder()
+				.job("d", 1, "b")
+				.job("a", 1)
+				.job("b", 1, "a")
+				.job("c", 1, "a")
+				.job("e", 1)
+				.build();
+
+		assertEquals(2, grafo.getNodo("a").getPrioridad());
+		assertEquals(1, grafo.getNodo("b").getPrioridad());
+		assertEquals(0, grafo.getNodo("c").getPrioridad());
+		assertEquals(0, grafo.getNodo("d").getPrioridad());
+		assertEquals(0, grafo.getNodo("e").getPrioridad());
+		assertEquals(List.of("b", "c", "d"), grafo.descendientes("a").stream().sorted().toList());
+		assertEquals(List.of(), grafo.descendientes("e"));
+	}
+}
@@ -0,0 +1,190 @@
+package com.duoc.batch_demo.orquestacion;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.JobParametersBuilder;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.UnexpectedJobExecutionException;
+import org.springframework.batch.core.launch.JobLauncher;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+
+/**
+ * Ciclo de jobs con un JobLauncher de prueba: camino crítico primero,
+ * relleno dentro del presupuesto de conexiones, dependientes omitidos tras un
+ * fallo y reinicio con jobs ya completados.
+ */
+class OrquestadorJobsTaskletTest {
+
+	private static final long INSTANCIA_ORQUESTADOR = 99L;
+
+	private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+	private final List<String> lanzados = new CopyOnWriteArrayList<>();
+	private final Set<String> fallan = ConcurrentHashMap.newKeySet();
+	private final Set<String> yaCompletados = ConcurrentHashMap.newKeySet();
+	private final AtomicLong ejecuciones = new AtomicLong();
+	private StepExecution stepExecution;
+
+	@BeforeEach
+	void setUp() {
+		JobParameters parametros = new JobParametersBuilder().addString("fecha", "2024-01-31").toJobParameters();
+		JobExecution jobExecution = new JobExecution(new JobInstance(INSTANCIA_ORQUESTADOR, "cicloJob"), 1L, parametros);
+		stepExecution = jobExecution.createStepExecution("cicloStep");
+	}
+
+	@Test
+	void lanzaPrimeroElCaminoCritico() throws Exception {
+		GrafoJobs grafo = GrafoJobs.builder()
+				.job("suelto", 1)
+				.job("a", 1)
+				.job("b", 1, "a")
+				.job("c", 1, "b")
+				.build();
+
+		ejecutar(grafo, lanzador(), new SyncTaskExecutor(), 1);
+
+		assertEquals(List.of("a", "b", "suelto", "c"), lanzados);
+	}
+
+	@Test
+	void rellenaConLosJobsQueCabenEnElPresupuesto() throws Exception {
+		GrafoJobs grafo = GrafoJobs.builder()
+				.job("grande", 3)
+				.job("mediano", 2)
+				.job("chico", 1)
+				.job("final", 2, "grande")
+				.build();
+
+		ejecutar(grafo, lanzador(), new SyncTaskExecutor(), 4);
+
+		// grande (camino crítico) deja 1 libre: mediano no cabe, chico sí. Al
+		// terminar grande quedan 3: mediano entra y final espera a que haya 2
+		assertEquals(List.of("grande", "chico", "mediano", "final"), lanzados);
+	}
+
+	@Test
+	void nuncaSuperaElPresupuestoConJobsEnParalelo() throws Exception {
+		GrafoJobs.Builder builder = GrafoJobs.builder();
+		for (int i = 0; i < 12; i++) {
+			builder.job("job" + i, 1 + i % 3);
+		}
+		builder.job("enorme", 10, "job0");
+		GrafoJobs grafo = builder.build();
+		AtomicInteger enUso = new AtomicInteger();
+		AtomicInteger maximo = new AtomicInteger();
+		JobLauncher lanzador = (job, parametros) -> {
+			int conexiones = Math.min(grafo.getNodo(job.getName()).getConexiones(), 5);
+			maximo.accumulateAndGet(enUso.addAndGet(conexiones), Math::max);
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			enUso.addAndGet(-conexiones);
+			return lanzador().run(job, parametros);
+		};
+
+		ejecutar(grafo, lanzador, new SimpleAsyncTaskExecutor("ciclo-"), 5);
+
+		assertEquals(13, lanzados.size());
+		assertTrue(maximo.get() <= 5, "conexiones en uso: " + maximo.get());
+	}
+
+	@Test
+	void omiteLosDependientesDeUnJobFallido() {
+		fallan.add("a");
+		GrafoJobs grafo = GrafoJobs.builder()
+				.job("a", 1)
+				.job("b", 1, "a")
+				.job("c", 1, "b")
+				.job("d", 1)
+				.build();
+
+		UnexpectedJobExecutionException error = assertThrows(UnexpectedJobExecutionException.class,
+				() -> ejecutar(grafo, lanzador(), new SyncTaskExecutor(), 2));
+
+		assertEquals(Set.of("a", "d"), Set.copyOf(lanzados));
+		assertTrue(error.getMessage().contains("a=FALLIDO"), error.getMessage());
+		assertTrue(error.getMessage().contains("b=OMITIDO"), error.getMessage());
+		assertTrue(error.getMessage().contains("c=OMITIDO"), error.getMessage());
+	}
+
+	@Test
+	void alReiniciarDaPorHechosLosJobsYaCompletados() throws Exception {
+		yaCompletados.add("a");
+		GrafoJobs grafo = GrafoJobs.builder()
+				.job("a", 1)
+				.job("b", 1, "a")
+				.build();
+		List<JobParameters> recibidos = new CopyOnWriteArrayList<>();
+		JobLauncher lanzador = (job, parametros) -> {
+			recibidos.add(parametros);
+			return lanzador().run(job, parametros);
+		};
+
+		RepeatStatus estado = ejecutar(grafo, lanzador, new SyncTaskExecutor(), 1);
+
+		assertEquals(RepeatStatus.FINISHED, estado);
+		assertEquals(List.of("a", "b"), lanzados);
+		// Los hijos ven el ciclo del orquestador para ser la misma JobInstance al reiniciar
+		recibidos.forEach(parametros -> {
+			assertEquals(INSTANCIA_ORQUESTADOR, parametros.getLong(OrquestadorJobsTasklet.PARAMETRO_CICLO));
+			assertEquals("2024-01-31", parametros.getString("fecha"));
+		});
+		assertTrue(stepExecution.getExecutionContext().containsKey("ciclo.b.ejecucion"));
+		assertFalse(stepExecution.getExecutionContext().containsKey("ciclo.a.ejecucion"));
+	}
+
+	private RepeatStatus ejecutar(GrafoJobs grafo, JobLauncher lanzador, TaskExecutor taskExecutor, int presupuesto)
+			throws Exception {
+		OrquestadorJobsTasklet orquestador = new OrquestadorJobsTasklet(grafo, this::job, lanzador, taskExecutor, presupuesto);
+		return orquestador.execute(stepExecution.createStepContribution(), new ChunkContext(new StepContext(stepExecution)));
+	}
+
+	/** JobLauncher síncrono de prueba: anota el lanzamiento y completa o falla según el job. */
+	private JobLauncher lanzador() {
+		return (job, parametros) -> {
+			lanzados.add(job.getName());
+			if (yaCompletados.contains(job.getName())) {
+				throw new JobInstanceAlreadyCompleteException("ya completado: " + job.getName());
+			}
+			JobExecution ejecucion = new JobExecution(new JobInstance(ejecuciones.incrementAndGet(), job.getName()),
+					ejecuciones.get(), parametros);
+			ejecucion.setStatus(fallan.contains(job.getName()) ? BatchStatus.FAILED : BatchStatus.COMPLETED);
+			return ejecucion;
+		};
+	}
+
+	private Job job(String nombre) {
+		return jobs.computeIfAbsent(nombre, clave -> {
+			Job job = mock(Job.class);
+			when(job.getName()).thenReturn(clave);
+			return job;
+		});
+	}
+}
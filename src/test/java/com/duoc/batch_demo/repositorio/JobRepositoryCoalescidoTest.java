@@ -0,0 +1,181 @@
+package com.duoc.batch_demo.repositorio;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Checkpoint coalescido: escrituras cada N chunks o T ms dentro de la
+ * transacción del chunk, forzadas al terminar, fallar o detener el step, y
+ * conteo exacto con varios hilos actualizando la misma StepExecution.
+ */
+class JobRepositoryCoalescidoTest {
+
+	private static final long SIN_INTERVALO = 3_600_000L;
+
+	private final TransactionTemplate transaccion = new TransactionTemplate(new ResourcelessTransactionManager());
+	private JobRepository delegado;
+	private StepExecution stepExecution;
+
+	@BeforeEach
+	void setUp() {
+		delegado = mock(JobRepository.class);
+		JobExecution jobExecution = new JobExecution(new JobInstance(1L, "job"), 1L, new JobParameters());
+		stepExecution = jobExecution.createStepExecution("transaccionesStep");
+		stepExecution.setId(10L);
+		stepExecution.setStatus(BatchStatus.STARTED);
+	}
+
+	@Test
+	void escribeCadaNChunks() {
+		JobRepositoryCoalescido repositorio = repositorio(3, SIN_INTERVALO);
+
+		for (int chunk = 0; chunk < 7; chunk++) {
+			commitDeChunk(repositorio, stepExecution);
+		}
+
+		// Chunks 3 y 6; el séptimo queda pendiente
+		verify(delegado, times(2)).updateExecutionContext(stepExecution);
+		verify(delegado, times(2)).update(stepExecution);
+	}
+
+	@Test
+	void escribeCuandoVenceElIntervalo() throws InterruptedException {
+		JobRepositoryCoalescido repositorio = repositorio(1000, 50);
+
+		commitDeChunk(repositorio, stepExecution);
+		verify(delegado, never()).update(stepExecution);
+
+		Thread.sleep(80);
+		commitDeChunk(repositorio, stepExecution);
+		verify(delegado, times(1)).updateExecutionContext(stepExecution);
+		verify(delegado, times(1)).update(stepExecution);
+	}
+
+	@Test
+	void fuerzaLaEscrituraAlTerminarElStep() {
+		JobRepositoryCoalescido repositorio = repositorio(20, SIN_INTERVALO);
+		commitDeChunk(repositorio, stepExecution);
+		commitDeChunk(repositorio, stepExecution);
+		verify(delegado, never()).update(stepExecution);
+
+		// TaskletStep actualiza el estado final fuera de la transacción del chunk
+		stepExecution.setStatus(BatchStatus.COMPLETED);
+		repositorio.update(stepExecution);
+
+		InOrder orden = inOrder(delegado);
+		orden.verify(delegado).updateExecutionContext(stepExecution);
+		orden.verify(delegado).update(stepExecution);
+	}
+
+	@Test
+	void fuerzaLaEscrituraAlFallarDentroDeLaTransaccion() {
+		JobRepositoryCoalescido repositorio = repositorio(20, SIN_INTERVALO);
+		commitDeChunk(repositorio, stepExecution);
+
+		stepExecution.setStatus(BatchStatus.FAILED);
+		transaccion.executeWithoutResult(estado -> repositorio.update(stepExecution));
+
+		verify(delegado, times(1)).updateExecutionContext(stepExecution);
+		verify(delegado, times(1)).update(stepExecution);
+	}
+
+	@Test
+	void fuerzaLaEscrituraAlDetenerElStep() {
+		JobRepositoryCoalescido repositorio = repositorio(20, SIN_INTERVALO);
+		commitDeChunk(repositorio, stepExecution);
+
+		stepExecution.setTerminateOnly();
+		commitDeChunk(repositorio, stepExecution);
+
+		// El contexto pendiente del primer chunk y el del chunk de la detención
+		verify(delegado, times(2)).updateExecutionContext(stepExecution);
+		verify(delegado, times(1)).update(stepExecution);
+	}
+
+	@Test
+	void noCoalesceStepsNoListados() {
+		JobRepositoryCoalescido repositorio = repositorio(20, SIN_INTERVALO);
+		StepExecution otro = stepExecution.getJobExecution().createStepExecution("cuentasAnualesStep");
+		otro.setId(11L);
+		otro.setStatus(BatchStatus.STARTED);
+
+		for (int chunk = 0; chunk < 3; chunk++) {
+			commitDeChunk(repositorio, otro);
+		}
+
+		verify(delegado, times(3)).updateExecutionContext(otro);
+		verify(delegado, times(3)).update(otro);
+	}
+
+	@Test
+	void variosHilosSobreLaMismaStepExecution() throws Exception {
+		int hilos = 8;
+		int chunksPorHilo = 250;
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		JobRepositoryCoalescido repositorio = new JobRepositoryCoalescido(delegado, Set.of("transaccionesStep"),
+				10, SIN_INTERVALO, registry);
+
+		ExecutorService executor = Executors.newFixedThreadPool(hilos);
+		try {
+			List<Future<?>> tareas = new ArrayList<>();
+			for (int hilo = 0; hilo < hilos; hilo++) {
+				tareas.add(executor.submit(() -> {
+					for (int chunk = 0; chunk < chunksPorHilo; chunk++) {
+						commitDeChunk(repositorio, stepExecution);
+					}
+				}));
+			}
+			for (Future<?> tarea : tareas) {
+				tarea.get();
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		int chunks = hilos * chunksPorHilo;
+		verify(delegado, times(chunks / 10)).update(stepExecution);
+		verify(delegado, times(chunks / 10)).updateExecutionContext(stepExecution);
+		assertEquals(chunks / 10, registry.get("banco.batch.repositorio.actualizaciones")
+				.tag("resultado", "escrita").counter().count());
+		assertEquals(chunks - chunks / 10, registry.get("banco.batch.repositorio.actualizaciones")
+				.tag("resultado", "coalescida").counter().count());
+	}
+
+	private JobRepositoryCoalescido repositorio(int chunks, long intervaloMs) {
+		return new JobRepositoryCoalescido(delegado, Set.of("transaccionesStep"), chunks, intervaloMs,
+				new SimpleMeterRegistry());
+	}
+
+	/** Lo que TaskletStep hace al confirmar un chunk. */
+	private void commitDeChunk(JobRepositoryCoalescido repositorio, StepExecution ejecucion) {
+		transaccion.executeWithoutResult(estado -> {
+			repositorio.updateExecutionContext(ejecucion);
+			repositorio.update(ejecucion);
+		});
+	}
+}
@@ -0,0 +1,172 @@
+package com.duoc.batch_demo.resiliencia;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Map;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Lazo de control de admisión: frenado por paso, liberación por medio paso,
+ * banda de histéresis y muestras contadas sobre la ventana del p99 (el
+ * tráfico esporádico no bloquea la liberación).
+ */
+class ControlAdmisionBatchTest {
+
+	private static final long INTERVALO_MS = 2000;
+	private static final long VENTANA_MS = 30_000;
+	private static final double SLO_ATM_MS = 300;
+
+	private LatenciasFijas latencias;
+	private RelojManual reloj;
+	private ControlAdmisionBatch control;
+
+	@BeforeEach
+	void setUp() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		latencias = new LatenciasFijas(registry);
+		reloj = new RelojManual();
+		control = new ControlAdmisionBatch(latencias, Map.of("atm", SLO_ATM_MS), null, true,
+				20, 50, 0.2, 0.9, 0.8, 5000, VENTANA_MS, reloj, registry);
+	}
+
+	@Test
+	void frenaUnPasoPorIntervaloHastaElMaximo() {
+		double[] esperados = {0.2, 0.4, 0.6, 0.8, 0.9, 0.9};
+		for (double esperado : esperados) {
+			intervalo(50, 500);
+			assertEquals(esperado, control.getFreno(), 1e-9);
+		}
+	}
+
+	@Test
+	void liberaMedioPasoBajoElSloPorHisteresis() {
+		intervalo(50, 500);
+		intervalo(50, 500);
+		assertEquals(0.4, control.getFreno(), 1e-9);
+
+		// Entre SLO × histéresis (240 ms) y el SLO: se mantiene
+		intervalo(50, 280);
+		assertEquals(0.4, control.getFreno(), 1e-9);
+
+		intervalo(50, 100);
+		assertEquals(0.3, control.getFreno(), 1e-9);
+		intervalo(50, 100);
+		intervalo(50, 100);
+		intervalo(50, 100);
+		assertEquals(0.0, control.getFreno(), 1e-9);
+	}
+
+	@Test
+	void traficoEsporadicoNoImpideLiberar() {
+		intervalo(50, 500);
+		intervalo(50, 500);
+		assertEquals(0.4, control.getFreno(), 1e-9);
+
+		// Cajeros de madrugada: una petición lenta por intervalo (15 por ventana,
+		// bajo el mínimo de 20). En cuanto las peticiones intensas salen de la
+		// ventana el canal es neutro y el freno se libera
+		for (int i = 0; i < 30; i++) {
+			intervalo(1, 500);
+		}
+		assertEquals(0.0, control.getFreno(), 1e-9);
+	}
+
+	@Test
+	void sinTraficoLibera() {
+		intervalo(50, 500);
+		latencias.p99 = Double.NaN;
+		for (int i = 0; i < 20; i++) {
+			reloj.avanzar(INTERVALO_MS);
+			control.evaluar();
+		}
+		assertEquals(0.0, control.getFreno(), 1e-9);
+	}
+
+	@Test
+	void cuentaLasMuestrasSobreLaVentana() {
+		// 2 peticiones por intervalo: no alcanzan el mínimo (20) en un intervalo,
+		// pero sí acumuladas en la ventana de 30 s
+		for (int i = 0; i < 9; i++) {
+			intervalo(2, 500);
+			assertEquals(0.0, control.getFreno(), 1e-9);
+		}
+		intervalo(2, 500);
+		assertEquals(0.2, control.getFreno(), 1e-9);
+	}
+
+	@Test
+	void deshabilitadoNoFrena() {
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		ControlAdmisionBatch apagado = new ControlAdmisionBatch(latencias, Map.of("atm", SLO_ATM_MS), null, false,
+				20, 50, 0.2, 0.9, 0.8, 5000, VENTANA_MS, reloj, registry);
+		intervalo(50, 500);
+		apagado.evaluar();
+		assertEquals(0.0, apagado.getFreno(), 1e-9);
+	}
+
+	/** Avanza un intervalo con nuevas peticiones ATM y el p99 dado, y evalúa. */
+	private void intervalo(int peticiones, double p99Ms) {
+		reloj.avanzar(INTERVALO_MS);
+		latencias.total += peticiones;
+		latencias.p99 = p99Ms;
+		control.evaluar();
+	}
+
+	private static final class LatenciasFijas extends LatenciaBffFilter {
+
+		private long total;
+		private double p99 = Double.NaN;
+
+		private LatenciasFijas(SimpleMeterRegistry registry) {
+			super(Duration.ofMillis(VENTANA_MS), registry);
+		}
+
+		@Override
+		public double p99Ms(String canal) {
+			return p99;
+		}
+
+		@Override
+		public long peticiones(String canal) {
+			return total;
+		}
+	}
+
+	private static final class RelojManual extends Clock {
+
+		private long millis = 1_000_000;
+
+		private void avanzar(long ms) {
+			millis += ms;
+		}
+
+		@Override
+		public long millis() {
+			return millis;
+		}
+
+		@Override
+		public Instant instant() {
+			return Instant.ofEpochMilli(millis);
+		}
+
+		@Override
+		public ZoneId getZone() {
+			return ZoneOffset.UTC;
+		}
+
+		@Override
+		public Clock withZone(ZoneId zone) {
+			return this;
+		}
+	}
+}
@@ -0,0 +1,181 @@
+package com.duoc.batch_demo.writer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.SkipListener;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.JobRepositoryFactoryBean;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.core.step.skip.SkipPolicy;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+
+import com.duoc.batch_demo.model.Transaccion;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Bisección en un step tolerante a fallos real sobre H2: aísla las k filas que
+ * violan una restricción, escribe el resto, y los write skips del step son
+ * exactamente k aunque el step sea multi-hilo y un chunk haga rollback y se
+ * reintente después de aislar sus filas.
+ */
+class BiseccionItemWriterTest {
+
+	private static final int ITEMS = 200;
+	private static final int CHUNK = 10;
+	private static final Set<Long> MALAS = Set.of(3L, 17L, 18L, 55L, 101L, 150L, 199L);
+
+	private EmbeddedDatabase dataSource;
+	private JdbcTransactionManager transactionManager;
+	private JobRepository jobRepository;
+	private JdbcTemplate jdbcTemplate;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		dataSource = new EmbeddedDatabaseBuilder()
+				.setType(EmbeddedDatabaseType.H2)
+				.generateUniqueName(true)
+				.addScript("org/springframework/batch/core/schema-h2.sql")
+				.build();
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		jdbcTemplate.execute("CREATE TABLE transacciones (id BIGINT PRIMARY KEY, fecha DATE NOT NULL, "
+				+ "monto DECIMAL(15,2) NOT NULL CHECK (monto >= 0), tipo VARCHAR(20) NOT NULL, "
+				+ "fecha_procesamiento TIMESTAMP, es_anomalia BOOLEAN DEFAULT FALSE, motivo_anomalia VARCHAR(500))");
+		transactionManager = new JdbcTransactionManager(dataSource);
+		JobRepositoryFactoryBean factory = new JobRepositoryFactoryBean();
+		factory.setDataSource(dataSource);
+		factory.setTransactionManager(transactionManager);
+		factory.afterPropertiesSet();
+		jobRepository = factory.getObject();
+	}
+
+	@AfterEach
+	void tearDown() {
+		dataSource.shutdown();
+	}
+
+	@Test
+	void aislaLasFilasMalasYCuentaCadaOmisionUnaVez() throws Exception {
+		List<Long> totalesVistos = new CopyOnWriteArrayList<>();
+		SkipPolicy politica = (error, totalOmisiones) -> {
+			totalesVistos.add(totalOmisiones);
+			return error instanceof DataIntegrityViolationException;
+		};
+		Set<Long> notificadas = ConcurrentHashMap.newKeySet();
+		SkipListener<Object, Transaccion> deadLetter = new SkipListener<>() {
+			@Override
+			public void onSkipInWrite(Transaccion item, Throwable t) {
+				assertTrue(notificadas.add(item.getId()), "omisión notificada dos veces: " + item.getId());
+			}
+		};
+		BiseccionItemWriter<Transaccion> biseccion = new BiseccionItemWriter<>(jdbcWriter(), transactionManager,
+				Map.of("transaccionesStep", politica), deadLetter, "transacciones", new SimpleMeterRegistry());
+
+		// El primer chunk con filas malas falla después de aislarlas: rollback y reintento
+		AtomicBoolean fallar = new AtomicBoolean(true);
+		ItemWriter<Transaccion> writer = chunk -> {
+			int antes = chunk.size();
+			biseccion.write(chunk);
+			if (chunk.size() < antes && fallar.compareAndSet(true, false)) {
+				throw new TransientDataAccessResourceException("bloqueo");
+			}
+		};
+
+		StepExecution step = ejecutar(writer, politica);
+
+		assertEquals(BatchStatus.COMPLETED, step.getStatus());
+		assertEquals(MALAS.size(), step.getWriteSkipCount());
+		assertEquals(ITEMS - MALAS.size(), step.getWriteCount());
+		assertEquals(1, step.getRollbackCount());
+		assertEquals(ITEMS - MALAS.size(), jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transacciones", Integer.class));
+		assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transacciones WHERE monto < 0", Integer.class));
+		assertEquals(MALAS, notificadas);
+		// Cada decisión ve el total del step: las omisiones del chunk revertido no cuentan
+		assertTrue(totalesVistos.size() > MALAS.size(), totalesVistos.toString());
+		assertTrue(totalesVistos.stream().allMatch(total -> total < MALAS.size()), totalesVistos.toString());
+		assertTrue(totalesVistos.contains((long) MALAS.size() - 1), totalesVistos.toString());
+	}
+
+	private StepExecution ejecutar(ItemWriter<Transaccion> writer, SkipPolicy politica) throws Exception {
+		SimpleAsyncTaskExecutor taskExecutor = new SimpleAsyncTaskExecutor("biseccion-");
+		taskExecutor.setConcurrencyLimit(3);
+		Job job = new JobBuilder("biseccionJob", jobRepository)
+				.start(new StepBuilder("transaccionesStep", jobRepository)
+						.<Transaccion, Transaccion>chunk(CHUNK, transactionManager)
+						.reader(lector())
+						.writer(writer)
+						.taskExecutor(taskExecutor)
+						.faultTolerant()
+						.retryPolicy(new SimpleRetryPolicy(3, Map.of(TransientDataAccessResourceException.class, true)))
+						.skipPolicy(politica)
+						.build())
+				.build();
+		TaskExecutorJobLauncher launcher = new TaskExecutorJobLauncher();
+		launcher.setJobRepository(jobRepository);
+		launcher.afterPropertiesSet();
+		JobExecution ejecucion = launcher.run(job, new JobParameters());
+		return ejecucion.getStepExecutions().iterator().next();
+	}
+
+	private ItemWriter<Transaccion> jdbcWriter() {
+		return new JdbcBatchItemWriterBuilder<Transaccion>()
+				.dataSource(dataSource)
+				.sql("INSERT INTO transacciones (id, fecha, monto, tipo, fecha_procesamiento, es_anomalia, motivo_anomalia) "
+						+ "VALUES (?, ?, ?, ?, ?, ?, ?)")
+				.itemPreparedStatementSetter(new TransaccionPreparedStatementSetter())
+				.assertUpdates(false)
+				.build();
+	}
+
+	private static ItemReader<Transaccion> lector() {
+		List<Transaccion> items = new ArrayList<>();
+		LocalDateTime ahora = LocalDateTime.now();
+		for (long id = 1; id <= ITEMS; id++) {
+			BigDecimal monto = MALAS.contains(id) ? new BigDecimal("-1.00") : BigDecimal.valueOf(1000 + id, 2);
+			Transaccion transaccion = new Transaccion(id, LocalDate.of(2024, 1, 1), monto, "CREDITO");
+			transaccion.setFechaProcesamiento(ahora);
+			items.add(transaccion);
+		}
+		Iterator<Transaccion> iterador = Collections.synchronizedList(items).iterator();
+		return () -> {
+			synchronized (iterador) {
+				return iterador.hasNext() ? iterador.next() : null;
+			}
+		};
+	}
+}
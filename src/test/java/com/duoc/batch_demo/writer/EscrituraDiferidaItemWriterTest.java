@@ -0,0 +1,141 @@
+package com.duoc.batch_demo.writer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.ItemWriteListener;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.JobRepositoryFactoryBean;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.core.env.StandardEnvironment;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+
+import com.duoc.batch_demo.config.AsyncProcessingConfig;
+import com.duoc.batch_demo.config.FaultToleranceConfig;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Un error de la escritura diferida hace fallar el step en el chunk siguiente,
+ * sin reintentos ni omisiones, con las políticas reales de los steps.
+ */
+class EscrituraDiferidaItemWriterTest {
+
+	private static final int CHUNK = 10;
+
+	private EmbeddedDatabase dataSource;
+	private JdbcTransactionManager transactionManager;
+	private JobRepository jobRepository;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		dataSource = new EmbeddedDatabaseBuilder()
+				.setType(EmbeddedDatabaseType.H2)
+				.generateUniqueName(true)
+				.addScript("org/springframework/batch/core/schema-h2.sql")
+				.build();
+		transactionManager = new JdbcTransactionManager(dataSource);
+		JobRepositoryFactoryBean factory = new JobRepositoryFactoryBean();
+		factory.setDataSource(dataSource);
+		factory.setTransactionManager(transactionManager);
+		factory.afterPropertiesSet();
+		jobRepository = factory.getObject();
+	}
+
+	@AfterEach
+	void tearDown() {
+		dataSource.shutdown();
+	}
+
+	@Test
+	void errorEnSegundoPlanoFallaElStepSinReintentosNiOmisiones() throws Exception {
+		CountDownLatch fallo = new CountDownLatch(1);
+		ItemWriter<Integer> delegado = chunk -> {
+			fallo.countDown();
+			throw new DataIntegrityViolationException("restricción violada");
+		};
+		// El segundo chunk se procesa recién cuando la escritura del primero ya falló
+		ItemProcessor<Integer, Integer> processor = item -> {
+			if (item == CHUNK + 1) {
+				assertTrue(fallo.await(10, TimeUnit.SECONDS));
+				Thread.sleep(300);
+			}
+			return item;
+		};
+		AtomicInteger intentos = new AtomicInteger();
+		ItemWriteListener<Integer> contador = new ItemWriteListener<>() {
+			@Override
+			public void beforeWrite(Chunk<? extends Integer> items) {
+				intentos.incrementAndGet();
+			}
+		};
+
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		AsyncProcessingConfig asyncProcessingConfig = new AsyncProcessingConfig(false, new SyncTaskExecutor(),
+				true, 4, 1, false, new StandardEnvironment(), registry);
+		FaultToleranceConfig faultTolerance = new FaultToleranceConfig();
+		@SuppressWarnings("unchecked")
+		SimpleStepBuilder<Integer, Integer> builder = (SimpleStepBuilder<Integer, Integer>) asyncProcessingConfig
+				.chunk(new StepBuilder("transaccionesStep", jobRepository), CHUNK, transactionManager, processor, delegado);
+		Job job = new JobBuilder("escrituraDiferidaJob", jobRepository)
+				.start(builder
+						.reader(lector(5 * CHUNK))
+						.listener(contador)
+						.faultTolerant()
+						.retryPolicy(faultTolerance.transaccionesRetryPolicy())
+						.skipPolicy(faultTolerance.transaccionesSkipPolicy())
+						.build())
+				.build();
+		TaskExecutorJobLauncher launcher = new TaskExecutorJobLauncher();
+		launcher.setJobRepository(jobRepository);
+		launcher.afterPropertiesSet();
+
+		JobExecution ejecucion = launcher.run(job, new JobParameters());
+		StepExecution step = ejecucion.getStepExecutions().iterator().next();
+
+		assertEquals(BatchStatus.FAILED, step.getStatus());
+		// Primer chunk encolado y un único intento del segundo: sin reintentos ni chunks posteriores
+		assertEquals(2, intentos.get());
+		assertEquals(0, step.getSkipCount());
+		assertEquals(1, step.getCommitCount());
+		assertTrue(step.getFailureExceptions().stream()
+						.anyMatch(error -> error.getCause() instanceof EscrituraDiferidaException),
+				step.getFailureExceptions().toString());
+	}
+
+	private static ItemReader<Integer> lector(int items) {
+		List<Integer> lista = new ArrayList<>();
+		for (int i = 1; i <= items; i++) {
+			lista.add(i);
+		}
+		Iterator<Integer> iterador = lista.iterator();
+		return () -> iterador.hasNext() ? iterador.next() : null;
+	}
+}
@@ -0,0 +1,240 @@
+package com.duoc.batch_demo.writer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
+import org.springframework.batch.item.database.builder.JdbcBatchItemWriterBuilder;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.duoc.batch_demo.model.EstadoCuentaAnual;
+import com.duoc.batch_demo.model.Transaccion;
+import com.duoc.batch_demo.writer.columnar.ColumnarItemWriter;
+import com.duoc.batch_demo.writer.columnar.EsquemaColumnar;
+import com.duoc.batch_demo.writer.columnar.LectorColumnar;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Benchmark de throughput de writers sobre H2 en modo MySQL: compara el
+ * enlace por propiedades de bean con los setters posicionales precalculados
+ * y con las sentencias multi-fila por dialecto, y el writer columnar frente a JDBC.
+ * Solo verifica lo escrito; los tiempos se informan por consola.
+ */
+class WriterThroughputBenchmarkTest {
+
+	private static final int CHUNK = 100;
+	private static final int ITEMS = 20_000;
+	private static final int RONDAS = 3;
+
+	private DriverManagerDataSource dataSource;
+	private JdbcTemplate jdbcTemplate;
+	private TransactionTemplate transactionTemplate;
+
+	@BeforeEach
+	void setUp() {
+		dataSource = new DriverManagerDataSource("jdbc:h2:mem:writer-benchmark;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "");
+		jdbcTemplate = new JdbcTemplate(dataSource);
+		transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+		jdbcTemplate.execute("DROP TABLE IF EXISTS transacciones");
+		jdbcTemplate.execute("CREATE TABLE transacciones (id BIGINT PRIMARY KEY, fecha DATE NOT NULL, monto DECIMAL(15,2) NOT NULL, "
+				+ "tipo VARCHAR(20) NOT NULL, fecha_procesamiento TIMESTAMP, es_anomalia BOOLEAN DEFAULT FALSE, motivo_anomalia VARCHAR(500))");
+	}
+
+	@Test
+	void comparaEnlaceBeanContraPosicional() throws Exception {
+		List<Transaccion> items = crearTransacciones();
+
+		JdbcBatchItemWriter<Transaccion> beanWriter = new JdbcBatchItemWriterBuilder<Transaccion>()
+				.dataSource(dataSource)
+				.sql("INSERT INTO transacciones (id, fecha, monto, tipo, fecha_procesamiento, es_anomalia, motivo_anomalia) "
+						+ "VALUES (:id, :fecha, :monto, :tipo, :fechaProcesamiento, :esAnomalia, :motivoAnomalia) "
+						+ "ON DUPLICATE KEY UPDATE monto = :monto, tipo = :tipo, fecha_procesamiento = :fechaProcesamiento, "
+						+ "es_anomalia = :esAnomalia, motivo_anomalia = :motivoAnomalia")
+				.beanMapped()
+				.assertUpdates(false)
+				.build();
+		JdbcBatchItemWriter<Transaccion> posicionalWriter = new JdbcBatchItemWriterBuilder<Transaccion>()
+				.dataSource(dataSource)
+				.sql(TransaccionPreparedStatementSetter.SQL)
+				.itemPreparedStatementSetter(new TransaccionPreparedStatementSetter())
+				.assertUpdates(false)
+				.build();
+		beanWriter.afterPropertiesSet();
+		posicionalWriter.afterPropertiesSet();
+
+		long mejorBean = Long.MAX_VALUE;
+		long mejorPosicional = Long.MAX_VALUE;
+		for (int ronda = 0; ronda < RONDAS; ronda++) {
+			mejorBean = Math.min(mejorBean, escribir(beanWriter, items));
+			mejorPosicional = Math.min(mejorPosicional, escribir(posicionalWriter, items));
+		}
+
+		System.out.printf("Writer transacciones (%d items, chunk %d): bean %.0f items/s, posicional %.0f items/s%n",
+				ITEMS, CHUNK, ITEMS * 1e9 / mejorBean, ITEMS * 1e9 / mejorPosicional);
+
+		assertEquals(ITEMS, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transacciones", Integer.class));
+		assertEquals(new BigDecimal("10.01"),
+				jdbcTemplate.queryForObject("SELECT monto FROM transacciones WHERE id = 1", BigDecimal.class));
+	}
+
+	@Test
+	void multiFilaReduceSentenciasPorChunk() throws Exception {
+		List<Transaccion> items = crearTransacciones();
+		TablaMultiFila tabla = TablaMultiFila.upsert("transacciones",
+				List.of("id", "fecha", "monto", "tipo", "fecha_procesamiento", "es_anomalia", "motivo_anomalia"),
+				List.of("id"),
+				List.of("monto", "tipo", "fecha_procesamiento", "es_anomalia", "motivo_anomalia"));
+
+		for (DialectoSql dialecto : List.of(DialectoSql.MYSQL, DialectoSql.H2)) {
+			SimpleMeterRegistry registry = new SimpleMeterRegistry();
+			MultiFilaItemWriter<Transaccion> writer = new MultiFilaItemWriter<>(dataSource, dialecto, tabla,
+					new TransaccionPreparedStatementSetter(), 1000, 1024 * 1024, registry);
+
+			long mejor = Long.MAX_VALUE;
+			for (int ronda = 0; ronda < RONDAS; ronda++) {
+				mejor = Math.min(mejor, escribir(writer, items));
+			}
+			// Upsert sobre filas existentes: mismo conteo, monto actualizado
+			items.get(0).setMonto(new BigDecimal("99.99"));
+			escribir(writer, items.subList(0, CHUNK), false);
+			items.get(0).setMonto(new BigDecimal("10.01"));
+
+			long sentencias = registry.get("banco.batch.writer.sentencia").timer().count();
+			System.out.printf("Writer transacciones multi-fila %s (%d items, chunk %d): %.0f items/s, %d sentencias%n",
+					dialecto, ITEMS, CHUNK, ITEMS * 1e9 / mejor, sentencias);
+
+			assertEquals((long) RONDAS * ITEMS / CHUNK + 1, sentencias);
+			assertEquals(ITEMS, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transacciones", Integer.class));
+			assertEquals(new BigDecimal("99.99"),
+					jdbcTemplate.queryForObject("SELECT monto FROM transacciones WHERE id = 1", BigDecimal.class));
+		}
+	}
+
+	@Test
+	void columnarContraJdbcEnEstadosCuenta(@TempDir Path directorio) throws Exception {
+		jdbcTemplate.execute("DROP TABLE IF EXISTS estados_cuenta_anuales");
+		jdbcTemplate.execute("CREATE TABLE estados_cuenta_anuales (id BIGINT AUTO_INCREMENT PRIMARY KEY, cuenta_id BIGINT NOT NULL, "
+				+ "nombre VARCHAR(100), total_depositos DECIMAL(15,2), total_retiros DECIMAL(15,2), saldo_inicial DECIMAL(15,2), "
+				+ "saldo_final DECIMAL(15,2), total_transacciones INTEGER, intereses_ganados DECIMAL(15,2), año INTEGER NOT NULL, "
+				+ "fecha_generacion TIMESTAMP)");
+		List<EstadoCuentaAnual> items = new ArrayList<>(ITEMS);
+		LocalDateTime ahora = LocalDateTime.of(2025, 1, 1, 8, 30);
+		for (long id = 1; id <= ITEMS; id++) {
+			BigDecimal saldo = BigDecimal.valueOf(100_000 + id, 2);
+			EstadoCuentaAnual estado = new EstadoCuentaAnual(id, "Cliente " + (id % 500));
+			estado.setTotalDepositos(saldo);
+			estado.setTotalRetiros(BigDecimal.valueOf(id % 97, 2));
+			estado.setSaldoInicial(saldo);
+			estado.setSaldoFinal(saldo);
+			estado.setTotalTransacciones((int) (id % 40));
+			estado.setInteresesGanados(BigDecimal.ZERO.setScale(2));
+			estado.setAño(2024);
+			estado.setFechaGeneracion(ahora);
+			items.add(estado);
+		}
+
+		JdbcBatchItemWriter<EstadoCuentaAnual> jdbcWriter = new JdbcBatchItemWriterBuilder<EstadoCuentaAnual>()
+				.dataSource(dataSource)
+				.sql(EstadoCuentaAnualPreparedStatementSetter.SQL)
+				.itemPreparedStatementSetter(new EstadoCuentaAnualPreparedStatementSetter())
+				.build();
+		jdbcWriter.afterPropertiesSet();
+		ColumnarItemWriter<EstadoCuentaAnual> columnarWriter = new ColumnarItemWriter<>(
+				EsquemaColumnar.estadosCuentaAnuales(), directorio, 8_192, 6, 1024 * 1024);
+
+		long mejorJdbc = Long.MAX_VALUE;
+		long mejorColumnar = Long.MAX_VALUE;
+		for (int ronda = 0; ronda < RONDAS; ronda++) {
+			jdbcTemplate.execute("DELETE FROM estados_cuenta_anuales");
+			mejorJdbc = Math.min(mejorJdbc, escribirEnChunks(jdbcWriter, items));
+
+			StepExecution stepExecution = new StepExecution("estadosCuentaStep", new JobExecution(1L), (long) ronda);
+			StepSynchronizationManager.register(stepExecution);
+			try {
+				long inicio = System.nanoTime();
+				columnarWriter.open(stepExecution.getExecutionContext());
+				escribirEnChunks(columnarWriter, items);
+				// Como AbstractStep: el writer solo publica el archivo de un step COMPLETED
+				stepExecution.setStatus(BatchStatus.COMPLETED);
+				assertNull(columnarWriter.afterStep(stepExecution));
+				mejorColumnar = Math.min(mejorColumnar, System.nanoTime() - inicio);
+			} finally {
+				StepSynchronizationManager.close();
+			}
+		}
+
+		Path archivo = directorio.resolve("estados_cuenta_anuales").resolve("estadosCuentaStep-0.bcol");
+		System.out.printf("Writer estados_cuenta_anuales (%d items, chunk %d): jdbc %.0f items/s, columnar %.0f items/s, %d bytes%n",
+				ITEMS, CHUNK, ITEMS * 1e9 / mejorJdbc, ITEMS * 1e9 / mejorColumnar, Files.size(archivo));
+
+		LectorColumnar.Pie pie = LectorColumnar.leerPie(archivo);
+		assertEquals(ITEMS, pie.filas());
+		assertEquals(3, pie.grupos.size());
+		assertEquals(1L, pie.grupos.get(0).fragmentos.get(0).minimo);
+		assertEquals(8_192L, pie.grupos.get(0).fragmentos.get(0).maximo);
+		List<Object> saldos = LectorColumnar.leerColumna(archivo, pie, 2, 5);
+		assertEquals(new BigDecimal("1200.00"), saldos.get(saldos.size() - 1));
+		assertEquals(ahora, LectorColumnar.leerColumna(archivo, pie, 1, 9).get(0));
+	}
+
+	private long escribir(ItemWriter<Transaccion> writer, List<Transaccion> items) {
+		return escribir(writer, items, true);
+	}
+
+	private long escribir(ItemWriter<Transaccion> writer, List<Transaccion> items, boolean limpiar) {
+		if (limpiar) {
+			jdbcTemplate.execute("DELETE FROM transacciones");
+		}
+		return escribirEnChunks(writer, items);
+	}
+
+	private <T> long escribirEnChunks(ItemWriter<T> writer, List<T> items) {
+		long inicio = System.nanoTime();
+		for (int desde = 0; desde < items.size(); desde += CHUNK) {
+			Chunk<T> chunk = new Chunk<>(items.subList(desde, Math.min(desde + CHUNK, items.size())));
+			transactionTemplate.executeWithoutResult(status -> {
+				try {
+					writer.write(chunk);
+				} catch (Exception e) {
+					throw new IllegalStateException(e);
+				}
+			});
+		}
+		return System.nanoTime() - inicio;
+	}
+
+	private static List<Transaccion> crearTransacciones() {
+		List<Transaccion> items = new ArrayList<>(ITEMS);
+		LocalDateTime ahora = LocalDateTime.now();
+		for (long id = 1; id <= ITEMS; id++) {
+			Transaccion transaccion = new Transaccion(id, LocalDate.of(2024, 1, 1).plusDays(id % 365),
+					BigDecimal.valueOf(1000 + id, 2), id % 2 == 0 ? "DEBITO" : "CREDITO");
+			transaccion.setFechaProcesamiento(ahora);
+			transaccion.setEsAnomalia(id % 50 == 0);
+			transaccion.setMotivoAnomalia(id % 50 == 0 ? "Monto excede límite diario (50000); " : null);
+			items.add(transaccion);
+		}
+		return items;
+	}
+}
@@ -0,0 +1,148 @@
+package com.duoc.batch_demo.writer.columnar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.job.builder.JobBuilder;
+import org.springframework.batch.core.launch.support.TaskExecutorJobLauncher;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.JobRepositoryFactoryBean;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.jdbc.support.JdbcTransactionManager;
+
+/**
+ * Un error de E/S al agregar filas hace rollback del chunk y descarta el
+ * archivo; el reinicio escribe todas las filas de la ejecución fallida.
+ */
+class ColumnarItemWriterTest {
+
+	private static final int ITEMS = 50;
+
+	@TempDir
+	Path directorio;
+
+	private EmbeddedDatabase dataSource;
+	private JdbcTransactionManager transactionManager;
+	private JobRepository jobRepository;
+
+	@BeforeEach
+	void setUp() throws Exception {
+		dataSource = new EmbeddedDatabaseBuilder()
+				.setType(EmbeddedDatabaseType.H2)
+				.generateUniqueName(true)
+				.addScript("org/springframework/batch/core/schema-h2.sql")
+				.build();
+		transactionManager = new JdbcTransactionManager(dataSource);
+		JobRepositoryFactoryBean factory = new JobRepositoryFactoryBean();
+		factory.setDataSource(dataSource);
+		factory.setTransactionManager(transactionManager);
+		factory.afterPropertiesSet();
+		jobRepository = factory.getObject();
+	}
+
+	@AfterEach
+	void tearDown() {
+		dataSource.shutdown();
+	}
+
+	@Test
+	void errorDeEscrituraDescartaElArchivoYElReinicioNoPierdeFilas() throws Exception {
+		AtomicBoolean fallar = new AtomicBoolean(true);
+		EsquemaColumnar<Long> esquema = new EsquemaColumnar<>("numeros", List.of(
+				ColumnaColumnar.<Long>entero("id", id -> {
+					if (id == 27 && fallar.get()) {
+						throw new UncheckedIOException(new IOException("disco lleno"));
+					}
+					return id;
+				})));
+		Job job = new JobBuilder("columnarJob", jobRepository)
+				.start(new StepBuilder("numerosStep", jobRepository)
+						.<Long, Long>chunk(10, transactionManager)
+						.reader(new Numeros())
+						.writer(new ColumnarItemWriter<>(esquema, directorio, 5, 6, 4096))
+						.build())
+				.build();
+
+		StepExecution fallida = ejecutar(job);
+
+		assertEquals(BatchStatus.FAILED, fallida.getStatus());
+		assertEquals(2, fallida.getCommitCount());
+		assertEquals(1, fallida.getRollbackCount());
+		// Checkpoint del inicio: las filas confirmadas no llegaron a un archivo publicado
+		assertEquals(0, fallida.getExecutionContext().getInt("numeros.read.count", 0));
+		assertEquals(List.of(), archivos());
+
+		fallar.set(false);
+		StepExecution reinicio = ejecutar(job);
+
+		assertEquals(BatchStatus.COMPLETED, reinicio.getStatus());
+		List<Path> publicados = archivos();
+		assertEquals(1, publicados.size());
+		assertEquals(ITEMS, LectorColumnar.leerPie(publicados.get(0)).filas());
+	}
+
+	private StepExecution ejecutar(Job job) throws Exception {
+		TaskExecutorJobLauncher launcher = new TaskExecutorJobLauncher();
+		launcher.setJobRepository(jobRepository);
+		launcher.afterPropertiesSet();
+		return launcher.run(job, new JobParameters()).getStepExecutions().iterator().next();
+	}
+
+	/** Archivos en el directorio de la tabla, publicados o temporales. */
+	private List<Path> archivos() throws IOException {
+		Path tabla = directorio.resolve("numeros");
+		if (!Files.exists(tabla)) {
+			return List.of();
+		}
+		try (Stream<Path> archivos = Files.list(tabla)) {
+			return archivos.toList();
+		}
+	}
+
+	private static final class Numeros extends AbstractItemCountingItemStreamItemReader<Long> {
+
+		private long siguiente;
+
+		private Numeros() {
+			setName("numeros");
+		}
+
+		@Override
+		protected Long doRead() {
+			return siguiente < ITEMS ? ++siguiente : null;
+		}
+
+		@Override
+		protected void jumpToItem(int itemIndex) {
+			siguiente = itemIndex;
+		}
+
+		@Override
+		protected void doOpen() {
+			siguiente = 0;
+		}
+
+		@Override
+		protected void doClose() {
+		}
+	}
+}